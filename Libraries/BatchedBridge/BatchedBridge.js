@@ -21,6 +21,7 @@ const BatchedBridge = new MessageQueue(
 
 // TODO: Move these around to solve the cycle in a cleaner way.
 
+const ErrorUtils = require('ErrorUtils');
 const Systrace = require('Systrace');
 const JSTimersExecution = require('JSTimersExecution');
 
@@ -28,6 +29,29 @@ BatchedBridge.registerCallableModule('Systrace', Systrace);
 BatchedBridge.registerCallableModule('JSTimersExecution', JSTimersExecution);
 BatchedBridge.registerCallableModule('HeapCapture', require('HeapCapture'));
 
+// Native sends batches of calls and callbacks as one call to this module, see
+// JavaScriptCallBatcher.java. Entries are [module, method, args] for function
+// calls and [callbackID, args] for callbacks, and run in order. Each entry runs
+// as if it had been sent on its own: an entry that throws is reported without
+// dropping the rest of the batch, and immediates run after every entry.
+BatchedBridge.registerCallableModule('BatchedCalls', {
+  callFunctions(calls) {
+    for (let i = 0; i < calls.length; i++) {
+      const call = calls[i];
+      try {
+        if (typeof call[0] === 'number') {
+          BatchedBridge.__invokeCallback(call[0], call[1]);
+        } else {
+          BatchedBridge.__callFunction(call[0], call[1], call[2]);
+        }
+      } catch (error) {
+        ErrorUtils.reportFatalError(error);
+      }
+      BatchedBridge.__callImmediates();
+    }
+  },
+});
+
 if (__DEV__) {
   BatchedBridge.registerCallableModule('HMRClient', require('HMRClient'));
 }
@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ *
+ */
+'use strict';
+
+jest.unmock('BatchedBridge');
+jest.unmock('MessageQueue');
+
+let BatchedBridge;
+let ErrorUtils;
+let JSTimersExecution;
+
+const callBatch = (calls) => {
+  BatchedBridge.__callFunction('BatchedCalls', 'callFunctions', [calls]);
+};
+
+describe('BatchedCalls', () => {
+  let log;
+
+  beforeEach(() => {
+    jest.resetModuleRegistry();
+    BatchedBridge = require('BatchedBridge');
+    ErrorUtils = require('ErrorUtils');
+    JSTimersExecution = require('JSTimersExecution');
+    ErrorUtils.reportFatalError = jest.fn();
+
+    log = [];
+    BatchedBridge.registerCallableModule('TestModule', {
+      log: (message) => log.push(message),
+      fail: () => {
+        throw new Error('fail');
+      },
+    });
+  });
+
+  it('runs the calls in order', () => {
+    callBatch([
+      ['TestModule', 'log', ['first']],
+      ['TestModule', 'log', ['second']],
+    ]);
+    expect(log).toEqual(['first', 'second']);
+  });
+
+  it('runs the rest of the batch when a call throws', () => {
+    callBatch([
+      ['TestModule', 'log', ['first']],
+      ['TestModule', 'fail', []],
+      ['TestModule', 'log', ['last']],
+    ]);
+    expect(log).toEqual(['first', 'last']);
+    expect(ErrorUtils.reportFatalError.mock.calls.length).toBe(1);
+  });
+
+  it('runs the rest of the batch when a callback is missing', () => {
+    callBatch([
+      [42, []],
+      ['TestModule', 'log', ['last']],
+    ]);
+    expect(log).toEqual(['last']);
+  });
+
+  it('runs immediates after every call, like unbatched calls', () => {
+    JSTimersExecution.callImmediates.mockImplementation(
+      () => log.push('immediates')
+    );
+    callBatch([
+      ['TestModule', 'log', ['first']],
+      ['TestModule', 'log', ['second']],
+    ]);
+    expect(log).toEqual(['first', 'immediates', 'second', 'immediates']);
+  });
+});
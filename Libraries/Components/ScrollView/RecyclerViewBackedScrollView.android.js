@@ -5,6 +5,7 @@
  */
 'use strict';
 
+var Image = require('Image');
 var React = require('React');
 var ScrollResponder = require('ScrollResponder');
 var ScrollView = require('ScrollView');
@@ -13,8 +14,13 @@ var StyleSheet = require('StyleSheet');
 
 var requireNativeComponent = require('requireNativeComponent');
 
+var PropTypes = React.PropTypes;
+
 var INNERVIEW = 'InnerView';
 
+// Prefetch ids are shared by all the lists, see Image.prefetchImages
+var nextPrefetchId = 1;
+
 /**
  * Wrapper around android native recycler view.
  *
@@ -49,17 +55,83 @@ var INNERVIEW = 'InnerView';
  *   );
  * },
  * ```
+ *
+ * For long lists, set `virtualizeRows` so that only the rows that are visible
+ * and the `rowsBuffer` rows on each side of them stay mounted. The rows above
+ * and below them are replaced with one empty spacer view each, as tall as
+ * those rows were last laid out, which lets their native views be dropped and
+ * recycled as the list scrolls.
+ *
+ * Set `getRowImageUri` to prefetch the images of the rows about to be scrolled
+ * into view.
  */
 var RecyclerViewBackedScrollView = React.createClass({
 
   propTypes: {
     ...ScrollView.propTypes,
+    /**
+     * Only keep the rows around the visible ones mounted.
+     */
+    virtualizeRows: PropTypes.bool,
+    /**
+     * Number of rows kept mounted on each side of the visible ones when
+     * `virtualizeRows` is set. Defaults to 10.
+     */
+    rowsBuffer: PropTypes.number,
+    /**
+     * Called with the indices of the first and last visible rows when they
+     * change, e.g. to load the data of the rows about to be shown.
+     */
+    onVisibleRowsChange: PropTypes.func,
+    /**
+     * Returns the uri of the image shown by the row at the given index, if
+     * any, so that it is prefetched as the row gets close to the screen. Rows
+     * within `rowsBuffer` rows of the visible ones are prefetched first, then
+     * the rows within twice that, and the prefetches of rows further away are
+     * cancelled.
+     */
+    getRowImageUri: PropTypes.func,
   },
 
   mixins: [ScrollResponder.Mixin],
 
+  getDefaultProps: function() {
+    return {
+      rowsBuffer: 10,
+    };
+  },
+
   getInitialState: function() {
-    return this.scrollResponderMixinGetInitialState();
+    return {
+      ...this.scrollResponderMixinGetInitialState(),
+      firstMountedRow: 0,
+      lastMountedRow: 2 * this.props.rowsBuffer,
+    };
+  },
+
+  componentWillMount: function() {
+    // Heights of the rows that have been laid out, used for the spacers once
+    // they are unmounted, and an estimate for the rows that never were.
+    this._rowHeights = [];
+    this._estimatedRowHeight = 0;
+    // Rows mounted by the last render, between the spacers.
+    this._renderedRows = {firstMountedRow: 0, lastMountedRow: -1};
+    this._rowCount = 0;
+    // Native events only tell which spacer is visible, so while one is the
+    // visible rows are worked out from the scroll offset instead.
+    this._spacerVisible = false;
+    this._scrollOffset = 0;
+    this._viewportHeight = 0;
+    this._firstVisibleRow = -1;
+    this._lastVisibleRow = -1;
+    // Prefetches of the images of the rows around the visible ones, by row,
+    // with their id, uri and priority.
+    this._prefetches = {};
+  },
+
+  componentWillUnmount: function() {
+    this._cancelPrefetches(this._prefetches);
+    this._prefetches = {};
   },
 
   getScrollResponder: function() {
@@ -75,6 +147,155 @@ var RecyclerViewBackedScrollView = React.createClass({
     this.props.onContentSizeChange(width, height);
   },
 
+  _handleVisibleRowsChange: function(event) {
+    var {firstVisibleRow, lastVisibleRow} = event.nativeEvent;
+    if (this.props.virtualizeRows) {
+      // The native side reports the positions of the rendered items, which
+      // only match row indices between the spacers
+      firstVisibleRow = this._getRowOfItem(firstVisibleRow);
+      lastVisibleRow = this._getRowOfItem(lastVisibleRow);
+      this._spacerVisible = firstVisibleRow === null || lastVisibleRow === null;
+      if (this._spacerVisible) {
+        firstVisibleRow = this._getRowAtOffset(this._scrollOffset);
+        lastVisibleRow = this._getRowAtOffset(this._scrollOffset + this._viewportHeight);
+      }
+    }
+    this._onVisibleRowsChange(firstVisibleRow, lastVisibleRow);
+  },
+
+  _handleScroll: function(event) {
+    var {contentOffset, layoutMeasurement} = event.nativeEvent;
+    this._scrollOffset = contentOffset.y;
+    this._viewportHeight = layoutMeasurement.height;
+    if (this.props.virtualizeRows && this._spacerVisible) {
+      this._onVisibleRowsChange(
+        this._getRowAtOffset(this._scrollOffset),
+        this._getRowAtOffset(this._scrollOffset + this._viewportHeight)
+      );
+    }
+    this.scrollResponderHandleScroll(event);
+  },
+
+  _onVisibleRowsChange: function(firstVisibleRow, lastVisibleRow) {
+    if (firstVisibleRow === this._firstVisibleRow &&
+        lastVisibleRow === this._lastVisibleRow) {
+      return;
+    }
+    this._firstVisibleRow = firstVisibleRow;
+    this._lastVisibleRow = lastVisibleRow;
+    if (this.props.onVisibleRowsChange) {
+      this.props.onVisibleRowsChange(firstVisibleRow, lastVisibleRow);
+    }
+    if (this.props.getRowImageUri) {
+      this._prefetchRowImages(firstVisibleRow, lastVisibleRow);
+    }
+    if (!this.props.virtualizeRows) {
+      return;
+    }
+    // Only move the mounted rows once the visible ones get within half a
+    // buffer of their edges, rather than re-rendering for every row scrolled
+    var {firstMountedRow, lastMountedRow} = this.state;
+    var buffer = this.props.rowsBuffer;
+    if ((firstMountedRow === 0 || firstVisibleRow - firstMountedRow >= buffer / 2) &&
+        (lastMountedRow >= this._rowCount - 1 || lastMountedRow - lastVisibleRow >= buffer / 2)) {
+      return;
+    }
+    this.setState({
+      firstMountedRow: Math.max(0, firstVisibleRow - buffer),
+      lastMountedRow: lastVisibleRow + buffer,
+    });
+  },
+
+  /**
+   * Prefetches the images of the rows around the visible ones, with a
+   * priority depending on how close they are, and cancels the prefetches of
+   * the rows that are now too far away. Requests are only sent for rows whose
+   * uri or priority changed; a row keeps its prefetch id, so that the native
+   * side updates the request if it is still waiting.
+   */
+  _prefetchRowImages: function(firstVisibleRow, lastVisibleRow) {
+    var buffer = this.props.rowsBuffer;
+    var lastRow = Math.min(this._rowCount - 1, lastVisibleRow + 2 * buffer);
+    var requests = [];
+    var prefetches = {};
+    for (var row = Math.max(0, firstVisibleRow - 2 * buffer); row <= lastRow; row++) {
+      var uri = this.props.getRowImageUri(row);
+      if (!uri) {
+        continue;
+      }
+      var distance = Math.max(firstVisibleRow - row, row - lastVisibleRow, 0);
+      var priority = distance === 0 ? 'visible' : distance <= buffer ? 'near' : 'speculative';
+      var prefetch = this._prefetches[row];
+      if (prefetch) {
+        delete this._prefetches[row];
+      }
+      if (!prefetch || prefetch.uri !== uri || prefetch.priority !== priority) {
+        prefetch = {id: prefetch ? prefetch.id : nextPrefetchId++, uri, priority};
+        requests.push(prefetch);
+      }
+      prefetches[row] = prefetch;
+    }
+    this._cancelPrefetches(this._prefetches);
+    this._prefetches = prefetches;
+    if (requests.length) {
+      // A failed prefetch only means that the row loads its image once shown
+      Image.prefetchImages(requests).catch(() => {});
+    }
+  },
+
+  _cancelPrefetches: function(prefetches) {
+    var ids = Object.keys(prefetches).map((row) => prefetches[row].id);
+    if (ids.length) {
+      Image.cancelPrefetches(ids);
+    }
+  },
+
+  /**
+   * Returns the row rendered at the given item position, or null if the item
+   * is one of the spacers.
+   */
+  _getRowOfItem: function(item) {
+    var {firstMountedRow, lastMountedRow} = this._renderedRows;
+    var row = firstMountedRow > 0 ? firstMountedRow + item - 1 : item;
+    return row < firstMountedRow || row > lastMountedRow ? null : row;
+  },
+
+  _getRowHeight: function(index) {
+    var height = this._rowHeights[index];
+    return height === undefined ? this._estimatedRowHeight : height;
+  },
+
+  _getRowsHeight: function(firstRow, lastRow) {
+    var height = 0;
+    for (var row = firstRow; row <= lastRow; row++) {
+      height += this._getRowHeight(row);
+    }
+    return height;
+  },
+
+  /**
+   * Returns the row at the given offset from the top of the list, based on the
+   * heights the rows were last laid out with.
+   */
+  _getRowAtOffset: function(offset) {
+    var top = 0;
+    for (var row = 0; row < this._rowCount - 1; row++) {
+      top += this._getRowHeight(row);
+      if (top > offset) {
+        return row;
+      }
+    }
+    return Math.max(0, this._rowCount - 1);
+  },
+
+  _handleRowLayout: function(index, event) {
+    var height = event.nativeEvent.layout.height;
+    this._rowHeights[index] = height;
+    if (!this._estimatedRowHeight) {
+      this._estimatedRowHeight = height;
+    }
+  },
+
   render: function() {
     var props = {
       ...this.props,
@@ -91,7 +312,7 @@ var RecyclerViewBackedScrollView = React.createClass({
       onResponderGrant: this.scrollResponderHandleResponderGrant,
       onResponderRelease: this.scrollResponderHandleResponderRelease,
       onResponderReject: this.scrollResponderHandleResponderReject,
-      onScroll: this.scrollResponderHandleScroll,
+      onScroll: this._handleScroll,
       style: ([{flex: 1}, this.props.style]: ?Array<any>),
       ref: INNERVIEW,
     };
@@ -100,18 +321,65 @@ var RecyclerViewBackedScrollView = React.createClass({
       props.onContentSizeChange = this._handleContentSizeChange;
     }
 
-    var wrappedChildren = React.Children.map(this.props.children, (child) => {
-      if (!child) {
-        return null;
-      }
-      return (
+    var virtualizeRows = this.props.virtualizeRows;
+    if (virtualizeRows || this.props.onVisibleRowsChange || this.props.getRowImageUri) {
+      props.onVisibleRowsChange = this._handleVisibleRowsChange;
+    }
+
+    var children = React.Children.toArray(this.props.children);
+    this._rowCount = children.length;
+    var wrappedChildren;
+    if (!virtualizeRows) {
+      wrappedChildren = children.map((child) => (
         <View
+          key={child.key}
           collapsable={false}
           style={styles.absolute}>
           {child}
         </View>
-      );
-    });
+      ));
+    } else {
+      var lastRow = children.length - 1;
+      var firstMountedRow = Math.max(0, Math.min(this.state.firstMountedRow, lastRow));
+      var lastMountedRow = Math.min(this.state.lastMountedRow, lastRow);
+      this._renderedRows = {firstMountedRow, lastMountedRow};
+      wrappedChildren = [];
+      if (firstMountedRow > 0) {
+        wrappedChildren.push(
+          <View
+            key="topSpacer"
+            collapsable={false}
+            style={[
+              styles.absolute,
+              {height: this._getRowsHeight(0, firstMountedRow - 1)},
+            ]}
+          />
+        );
+      }
+      for (var index = firstMountedRow; index <= lastMountedRow; index++) {
+        wrappedChildren.push(
+          <View
+            key={children[index].key}
+            collapsable={false}
+            onLayout={this._handleRowLayout.bind(this, index)}
+            style={styles.absolute}>
+            {children[index]}
+          </View>
+        );
+      }
+      if (lastMountedRow < lastRow) {
+        wrappedChildren.push(
+          <View
+            key="bottomSpacer"
+            collapsable={false}
+            style={[
+              styles.absolute,
+              {height: this._getRowsHeight(lastMountedRow + 1, lastRow)},
+            ]}
+          />
+        );
+      }
+    }
 
     return (
       <NativeAndroidRecyclerView {...props}>
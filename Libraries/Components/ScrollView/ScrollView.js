@@ -233,7 +233,8 @@ const ScrollView = React.createClass({
      * scroll position tracking, set this value higher to limit the information
      * being sent across the bridge. The default value is zero, which results in
      * the scroll event being sent only once each time the view is scrolled.
-     * @platform ios
+     * On Android, the default value of zero results in the scroll event being
+     * sent once per frame, and drag and momentum events are never throttled.
      */
     scrollEventThrottle: PropTypes.number,
     /**
@@ -331,6 +332,18 @@ const ScrollView = React.createClass({
      * @platform android
      */
     scrollPerfTag: PropTypes.string,
+
+    /**
+     * Maximum number of rows whose native views are created ahead of time,
+     * while the UI thread is idle, when scrolling fast towards the end of the
+     * content (e.g. in a `ListView` rendering more rows as it is scrolled).
+     * The last row is used as a sample of the views that rows are made of,
+     * and only the views whose manager recycles them (e.g. `View`) are
+     * created ahead of time.
+     * The default value is zero, which disables it.
+     * @platform android
+     */
+    prefetchRows: PropTypes.number,
   },
 
   mixins: [ScrollResponder.Mixin],
@@ -114,7 +114,13 @@ var Image = React.createClass({
      */
     onLoadStart: PropTypes.func,
     /**
-     * Invoked when load completes successfully
+     * Invoked when load completes successfully. `e.nativeEvent.decodedBytes` is how much
+     * memory the image uses once decoded. Images are decoded at about the size of the view
+     * showing them, or smaller when the app is running low on memory. This only applies to
+     * JPEGs, unless downsampling is enabled in the app's Fresco config.
+     *
+     * The event always has a `nativeEvent` object now, with `decodedBytes` set. It used to be
+     * null unless the event also had a `uri`.
      */
     onLoad: PropTypes.func,
     /**
@@ -151,6 +157,42 @@ var Image = React.createClass({
     prefetch(url: string) {
       return ImageLoader.prefetchImage(url);
     },
+
+    /**
+     * Prefetches a batch of remote images, at most a few at a time so that
+     * images already on screen keep loading quickly. Each request has:
+     *
+     * - `id`: a number identifying the request, to cancel it or change its
+     *   priority by prefetching it again while it is waiting
+     * - `uri`: the image to prefetch
+     * - `priority`: `'visible'`, `'near'` or `'speculative'` (the default);
+     *   requests are started in order of priority, and only one speculative
+     *   request runs at a time
+     * - `cache`: `'disk'` (the default) to download the image to the disk
+     *   cache, or `'memory'` to also keep it in memory, ready to be decoded
+     *
+     * Lists can prefetch the images of their upcoming rows as they scroll,
+     * raising the priority of rows as they get close to the screen and
+     * cancelling the requests of rows that have been scrolled past.
+     *
+     * Returns a promise resolved once all the requests are finished, with an
+     * object mapping their ids to whether they succeeded.
+     */
+    prefetchImages(requests: Array<{
+      id: number,
+      uri: string,
+      priority?: 'visible' | 'near' | 'speculative',
+      cache?: 'disk' | 'memory',
+    }>) {
+      return ImageLoader.prefetchImages(requests);
+    },
+
+    /**
+     * Cancels the requests started by `prefetchImages` with the given ids.
+     */
+    cancelPrefetches(ids: Array<number>) {
+      ImageLoader.cancelPrefetches(ids);
+    },
   },
 
   mixins: [NativeMethodsMixin],
@@ -26,6 +26,20 @@ function convertHeadersMapToArray(headers: Object): Array<Header> {
   return headerArray;
 }
 
+function convertRequestData(data: any): any {
+  if (typeof data === 'string') {
+    return {string: data};
+  } else if (data instanceof FormData) {
+    return {
+      formData: data.getParts().map((part) => {
+        part.headers = convertHeadersMapToArray(part.headers);
+        return part;
+      }),
+    };
+  }
+  return data;
+}
+
 let _requestId = 1;
 function generateRequestId() {
   return _requestId++;
@@ -41,30 +55,55 @@ class RCTNetworking extends NativeEventEmitter {
     super(RCTNetworkingNative);
   }
 
-  sendRequest(method, url, headers, data, incrementalUpdates, timeout, callback) {
-    if (typeof data === 'string') {
-      data = {string: data};
-    } else if (data instanceof FormData) {
-      data = {
-        formData: data.getParts().map((part) => {
-          part.headers = convertHeadersMapToArray(part.headers);
-          return part;
-        }),
-      };
-    }
+  /**
+   * `priority` is one of 'high', 'normal' or 'low'. Each priority has its own
+   * limit on concurrent requests, so low priority traffic cannot hold up
+   * requests the user is waiting for. Requests without a priority share the
+   * default client.
+   */
+  sendRequest(method, url, headers, data, incrementalUpdates, timeout, callback, priority) {
     const requestId = generateRequestId();
     RCTNetworkingNative.sendRequest(
       method,
       url,
       requestId,
       convertHeadersMapToArray(headers),
-      data,
+      convertRequestData(data),
       incrementalUpdates,
-      timeout
+      timeout,
+      priority || null
+    );
+    callback(requestId);
+  }
+
+  /**
+   * Like `sendRequest`, but the native side writes the response body into a
+   * file (a new temporary file if `destinationPath` is null) instead of
+   * sending it over the bridge. Listen for `didReceiveNetworkFile` to get the
+   * file's URI and size in bytes.
+   */
+  sendRequestToFile(method, url, headers, data, timeout, destinationPath, callback, priority) {
+    const requestId = generateRequestId();
+    RCTNetworkingNative.sendRequestToFile(
+      method,
+      url,
+      requestId,
+      convertHeadersMapToArray(headers),
+      convertRequestData(data),
+      timeout,
+      destinationPath,
+      priority || null
     );
     callback(requestId);
   }
 
+  /**
+   * Calls back with the queueing delay statistics of each request priority.
+   */
+  getQueueingStats(callback) {
+    RCTNetworkingNative.getQueueingStats(callback);
+  }
+
   abortRequest(requestId) {
     RCTNetworkingNative.abortRequest(requestId);
   }
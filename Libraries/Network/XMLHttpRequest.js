@@ -272,6 +272,22 @@ class XMLHttpRequest extends EventTarget(...XHR_EVENTS) {
     }
   }
 
+  // exposed for testing
+  __didReceiveDataProgress(
+    requestId: number,
+    loaded: number,
+    total: number
+  ): void {
+    if (requestId === this._requestId) {
+      this.dispatchEvent({
+        type: 'progress',
+        lengthComputable: total >= 0,
+        loaded,
+        total,
+      });
+    }
+  }
+
   // exposed for testing
   __didCompleteResponse(
     requestId: number,
@@ -361,6 +377,10 @@ class XMLHttpRequest extends EventTarget(...XHR_EVENTS) {
       'didReceiveNetworkData',
       (args) =>  this.__didReceiveData(...args)
     ));
+    this._subscriptions.push(RCTNetworking.addListener(
+      'didReceiveNetworkDataProgress',
+      (args) =>  this.__didReceiveDataProgress(...args)
+    ));
     this._subscriptions.push(RCTNetworking.addListener(
       'didCompleteNetworkResponse',
       (args) => this.__didCompleteResponse(...args)
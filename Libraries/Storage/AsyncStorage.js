@@ -238,6 +238,56 @@ var AsyncStorage = {
     });
   },
 
+  /**
+   * Gets one page of keys, in ascending order, optionally limited to keys
+   * starting with `prefix`. Pass the returned `cursor` back in to fetch the
+   * next page; it is `null` once the last page has been returned.
+   * Returns a `Promise` object resolving to `{keys, cursor}`.
+   *
+   * Only available on platforms whose native storage supports paging.
+   */
+  getKeysPage: function(
+    prefix: ?string,
+    cursor: ?string,
+    pageSize: number,
+    callback?: ?(error: ?Error, keys: ?Array<string>, cursor: ?string) => void
+  ): Promise {
+    return new Promise((resolve, reject) => {
+      RCTAsyncStorage.getKeysPage(prefix, cursor, pageSize, function(error, keys, nextCursor) {
+        callback && callback(convertError(error), keys, nextCursor);
+        if (error) {
+          reject(convertError(error));
+        } else {
+          resolve({keys, cursor: nextCursor});
+        }
+      });
+    });
+  },
+
+  /**
+   * Like `getKeysPage`, but fetches `[key, value]` pairs in the same format as
+   * `multiGet`. Returns a `Promise` object resolving to `{stores, cursor}`.
+   *
+   * Only available on platforms whose native storage supports paging.
+   */
+  multiGetPage: function(
+    prefix: ?string,
+    cursor: ?string,
+    pageSize: number,
+    callback?: ?(error: ?Error, stores: ?Array<Array<string>>, cursor: ?string) => void
+  ): Promise {
+    return new Promise((resolve, reject) => {
+      RCTAsyncStorage.multiGetPage(prefix, cursor, pageSize, function(error, stores, nextCursor) {
+        callback && callback(convertError(error), stores, nextCursor);
+        if (error) {
+          reject(convertError(error));
+        } else {
+          resolve({stores, cursor: nextCursor});
+        }
+      });
+    });
+  },
+
   /**
    * The following batched functions are useful for executing a lot of
    * operations at once, allowing for native optimizations and provide the
@@ -488,6 +538,12 @@ if (!RCTAsyncStorage.multiMerge) {
   delete AsyncStorage.multiMerge;
 }
 
+// Not all native implementations support paging.
+if (!RCTAsyncStorage.getKeysPage) {
+  delete AsyncStorage.getKeysPage;
+  delete AsyncStorage.multiGetPage;
+}
+
 function convertErrors(errs) {
   if (!errs) {
     return null;
@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.tests;
+
+import javax.annotation.Nullable;
+
+import android.test.AndroidTestCase;
+import android.util.Log;
+
+import com.facebook.react.modules.storage.AsyncStorageBackend;
+import com.facebook.react.modules.storage.MappedLogStorageBackend;
+import com.facebook.react.modules.storage.ReactDatabaseSupplier;
+import com.facebook.react.modules.storage.SQLiteStorageBackend;
+
+import org.json.JSONObject;
+
+/**
+ * Benchmark comparing the SQLite and mapped log {@link AsyncStorageBackend}s on set, get and merge
+ * workloads, which logs the time each of them takes on the device. It runs on a device rather
+ * than in the unit tests so that both go through the device's SQLite and file system.
+ */
+public class AsyncStorageBackendBenchmarkTestCase extends AndroidTestCase {
+
+  private static final String TAG = "AsyncStorageBenchmark";
+  private static final int KEY_COUNT = 2000;
+  private static final int BATCH_SIZE = 50;
+  private static final int VALUE_FIELDS = 40;
+  private static final int RUNS = 3;
+
+  @Override
+  protected void tearDown() throws Exception {
+    ReactDatabaseSupplier.deleteInstance();
+    MappedLogStorageBackend.deleteInstance();
+    super.tearDown();
+  }
+
+  public void testBackends() throws Exception {
+    for (int run = 0; run < RUNS; run++) {
+      long sqliteChecksum = runWorkloads("SQLite", new SQLiteStorageBackend(getContext()));
+      long logChecksum =
+          runWorkloads("MappedLog", MappedLogStorageBackend.getInstance(getContext()));
+      assertEquals("Both backends should store the same data", sqliteChecksum, logChecksum);
+    }
+  }
+
+  /**
+   * Sets, gets and merges every key in batches, logs how long each took, and returns a checksum
+   * of the stored data.
+   */
+  private static long runWorkloads(String name, AsyncStorageBackend backend) throws Exception {
+    assertTrue(backend.ensureStorage());
+    backend.clear();
+    String[] keys = new String[KEY_COUNT];
+    String[] values = new String[KEY_COUNT];
+    String[] deltas = new String[KEY_COUNT];
+    for (int i = 0; i < KEY_COUNT; i++) {
+      keys[i] = "key" + i;
+      values[i] = createValue(i, "value");
+      deltas[i] = createValue(i, "delta");
+    }
+
+    long start = System.nanoTime();
+    for (int batchStart = 0; batchStart < KEY_COUNT; batchStart += BATCH_SIZE) {
+      backend.multiSet(slice(keys, batchStart), slice(values, batchStart));
+    }
+    long setNanos = System.nanoTime() - start;
+
+    final long[] checksum = new long[1];
+    AsyncStorageBackend.RowReader reader = new AsyncStorageBackend.RowReader() {
+      @Override
+      public void onRow(String key, @Nullable String value) {
+        // Order independent, since backends may return multiGet rows in any order
+        checksum[0] += 31 * key.hashCode() + (value != null ? value.hashCode() : 0);
+      }
+    };
+    start = System.nanoTime();
+    for (int batchStart = 0; batchStart < KEY_COUNT; batchStart += BATCH_SIZE) {
+      backend.multiGet(slice(keys, batchStart), reader);
+    }
+    long getNanos = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    for (int batchStart = 0; batchStart < KEY_COUNT; batchStart += BATCH_SIZE) {
+      backend.multiMerge(slice(keys, batchStart), slice(deltas, batchStart));
+    }
+    long mergeNanos = System.nanoTime() - start;
+
+    backend.readRows(null, null, AsyncStorageBackend.NO_LIMIT, true, reader);
+    backend.clearAndClose();
+
+    Log.i(
+        TAG,
+        name + ": set " + setNanos / 1000000 + "ms, get " + getNanos / 1000000 +
+            "ms, merge " + mergeNanos / 1000000 + "ms for " + KEY_COUNT + " keys");
+    return checksum[0];
+  }
+
+  private static String createValue(int index, String prefix) throws Exception {
+    JSONObject value = new JSONObject();
+    for (int field = 0; field < VALUE_FIELDS; field++) {
+      value.put(prefix + field, "some moderately long string " + index + "/" + field);
+    }
+    return value.toString();
+  }
+
+  private static String[] slice(String[] array, int start) {
+    String[] slice = new String[Math.min(BATCH_SIZE, array.length - start)];
+    System.arraycopy(array, start, slice, 0, slice.length);
+    return slice;
+  }
+}
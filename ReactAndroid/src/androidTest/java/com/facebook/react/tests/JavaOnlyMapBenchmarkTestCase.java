@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.tests;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import android.test.AndroidTestCase;
+import android.util.Log;
+
+import com.facebook.react.bridge.JavaOnlyArray;
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.bridge.ReadableMapKeySetIterator;
+
+/**
+ * Benchmark comparing putting, getting and iterating numbers in a {@link JavaOnlyMap} and a
+ * {@link JavaOnlyArray}, reused through clear() the way PropsAnimatedNode reuses its props map,
+ * with doing the same on a HashMap and an ArrayList of boxed values, which is what those classes
+ * used to be backed by. It logs the time each of them takes on the device.
+ */
+public class JavaOnlyMapBenchmarkTestCase extends AndroidTestCase {
+
+  private static final String TAG = "JavaOnlyMapBenchmark";
+  private static final String[] KEYS = {
+    "opacity", "translateX", "translateY", "scaleX", "scaleY", "rotation", "width", "height",
+  };
+  private static final int ARRAY_SIZE = 16;
+  private static final int WARMUP_ITERATIONS = 200000;
+  private static final int ITERATIONS = 1000000;
+
+  private double mSink;
+
+  public void testCollections() {
+    Map<String, Object> hashMap = new HashMap<>();
+    JavaOnlyMap javaOnlyMap = new JavaOnlyMap();
+    List<Object> arrayList = new ArrayList<>();
+    JavaOnlyArray javaOnlyArray = new JavaOnlyArray();
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      runHashMap(hashMap, i);
+      runJavaOnlyMap(javaOnlyMap, i);
+      runArrayList(arrayList, i);
+      runJavaOnlyArray(javaOnlyArray, i);
+    }
+
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      runHashMap(hashMap, i);
+    }
+    long hashMapNanos = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      runJavaOnlyMap(javaOnlyMap, i);
+    }
+    long javaOnlyMapNanos = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      runArrayList(arrayList, i);
+    }
+    long arrayListNanos = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      runJavaOnlyArray(javaOnlyArray, i);
+    }
+    long javaOnlyArrayNanos = System.nanoTime() - start;
+
+    // Both sides of each comparison hold the same entries once done
+    assertEquals(hashMap.size(), javaOnlyMap.size());
+    assertEquals(arrayList.size(), javaOnlyArray.size());
+    Log.i(
+        TAG,
+        "HashMap of boxed values: " + hashMapNanos / ITERATIONS + "ns, reused JavaOnlyMap: " +
+            javaOnlyMapNanos / ITERATIONS + "ns, ArrayList of boxed values: " +
+            arrayListNanos / ITERATIONS + "ns, reused JavaOnlyArray: " +
+            javaOnlyArrayNanos / ITERATIONS + "ns per iteration (checksum " + mSink + ")");
+  }
+
+  private void runHashMap(Map<String, Object> map, int iteration) {
+    map.clear();
+    for (int i = 0; i < KEYS.length; i++) {
+      map.put(KEYS[i], (double) (iteration + i));
+    }
+    double sum = 0;
+    for (String key : map.keySet()) {
+      sum += (Double) map.get(key);
+    }
+    mSink += sum;
+  }
+
+  private void runJavaOnlyMap(JavaOnlyMap map, int iteration) {
+    map.clear();
+    for (int i = 0; i < KEYS.length; i++) {
+      map.putDouble(KEYS[i], iteration + i);
+    }
+    double sum = 0;
+    ReadableMapKeySetIterator iterator = map.keySetIterator();
+    while (iterator.hasNextKey()) {
+      sum += map.getDouble(iterator.nextKey());
+    }
+    mSink += sum;
+  }
+
+  private void runArrayList(List<Object> list, int iteration) {
+    list.clear();
+    for (int i = 0; i < ARRAY_SIZE; i++) {
+      list.add((double) (iteration + i));
+    }
+    double sum = 0;
+    for (int i = 0; i < list.size(); i++) {
+      sum += (Double) list.get(i);
+    }
+    mSink += sum;
+  }
+
+  private void runJavaOnlyArray(JavaOnlyArray array, int iteration) {
+    array.clear();
+    for (int i = 0; i < ARRAY_SIZE; i++) {
+      array.pushDouble(iteration + i);
+    }
+    double sum = 0;
+    for (int i = 0; i < array.size(); i++) {
+      sum += array.getDouble(i);
+    }
+    mSink += sum;
+  }
+}
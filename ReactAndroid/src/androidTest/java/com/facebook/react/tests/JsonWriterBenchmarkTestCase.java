@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.tests;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import android.test.AndroidTestCase;
+import android.util.Log;
+
+import com.facebook.react.bridge.JsonWriter;
+import com.facebook.react.bridge.Utf8ByteBufferWriter;
+
+/**
+ * Benchmark comparing writing a module config sized document through a {@link StringWriter} and
+ * turning it into a String, as CatalystInstanceImpl used to, with writing it into a reused
+ * {@link Utf8ByteBufferWriter}, which logs the time each of them takes on the device.
+ */
+public class JsonWriterBenchmarkTestCase extends AndroidTestCase {
+
+  private static final String TAG = "JsonWriterBenchmark";
+  private static final int MODULE_COUNT = 60;
+  private static final int METHODS_PER_MODULE = 12;
+  private static final int CONSTANTS_PER_MODULE = 150;
+  private static final int WARMUP_ITERATIONS = 50;
+  private static final int ITERATIONS = 200;
+
+  public void testWriters() throws IOException {
+    Utf8ByteBufferWriter byteBufferWriter = new Utf8ByteBufferWriter();
+    String document = null;
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      document = writeToString();
+      byteBufferWriter.reset();
+      writeModuleConfig(new JsonWriter(byteBufferWriter));
+    }
+    assertEquals(
+        "Both writers should produce the same document",
+        document,
+        byteBufferWriter.toString());
+
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      writeToString();
+    }
+    long stringWriterNanos = (System.nanoTime() - start) / ITERATIONS;
+
+    start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      byteBufferWriter.reset();
+      writeModuleConfig(new JsonWriter(byteBufferWriter));
+    }
+    long byteBufferWriterNanos = (System.nanoTime() - start) / ITERATIONS;
+
+    Log.i(
+        TAG,
+        "StringWriter + toString: " + stringWriterNanos / 1000 + "us, reused " +
+            "Utf8ByteBufferWriter: " + byteBufferWriterNanos / 1000 + "us for a " +
+            byteBufferWriter.size() + " byte document");
+  }
+
+  private static String writeToString() throws IOException {
+    StringWriter stringWriter = new StringWriter();
+    writeModuleConfig(new JsonWriter(stringWriter));
+    return stringWriter.toString();
+  }
+
+  private static void writeModuleConfig(JsonWriter writer) throws IOException {
+    writer.beginObject();
+    writer.name("remoteModuleConfig").beginObject();
+    for (int module = 0; module < MODULE_COUNT; module++) {
+      writer.name("SomeNativeModule" + module).beginObject();
+      writer.name("moduleID").value(module);
+      writer.name("supportsWebWorkers").value(false);
+      writer.name("methods").beginObject();
+      for (int method = 0; method < METHODS_PER_MODULE; method++) {
+        writer.name("someMethod" + method).beginObject();
+        writer.name("methodID").value(method);
+        writer.name("type").value("remote");
+        writer.endObject();
+      }
+      writer.endObject();
+      writer.name("constants").beginObject();
+      for (int constant = 0; constant < CONSTANTS_PER_MODULE; constant++) {
+        writer.name("SOME_CONSTANT_" + constant);
+        if (constant % 3 == 0) {
+          writer.value(constant * 31L);
+        } else if (constant % 3 == 1) {
+          writer.value(constant / 7.0);
+        } else {
+          writer.value("someConstantValue\t" + constant);
+        }
+      }
+      writer.endObject();
+      writer.endObject();
+    }
+    writer.endObject();
+    writer.endObject();
+    writer.close();
+  }
+}
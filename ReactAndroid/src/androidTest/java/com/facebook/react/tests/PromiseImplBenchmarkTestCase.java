@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.tests;
+
+import android.support.v4.util.Pools;
+import android.test.AndroidTestCase;
+import android.util.Log;
+
+import com.facebook.react.bridge.Callback;
+import com.facebook.react.bridge.CallbackImpl;
+import com.facebook.react.bridge.PromiseImpl;
+
+/**
+ * Benchmark for the two callbacks and the promise BaseJavaModule creates for each call to a
+ * promise-returning method. It compares allocating them, as BaseJavaModule does, with acquiring
+ * and releasing three objects from a {@link Pools.SynchronizedPool}, which is the least a pool of
+ * them would cost before any checks for callbacks used after they were released. Allocated bytes
+ * are estimated from the growth of the heap over batches of calls, skipping batches during which
+ * a GC ran. It logs both on the device.
+ */
+public class PromiseImplBenchmarkTestCase extends AndroidTestCase {
+
+  private static final String TAG = "PromiseImplBenchmark";
+  private static final int CALLS = 100000;
+  private static final int BATCH_SIZE = 1000;
+
+  private static class PooledObject {
+    private int mId;
+  }
+
+  private final Pools.SynchronizedPool<PooledObject> mPool =
+      new Pools.SynchronizedPool<>(3);
+  private Object mSink;
+
+  public void testAllocatingAndPooling() {
+    Runnable allocate = new Runnable() {
+      @Override
+      public void run() {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+          Callback resolve = new CallbackImpl(null, null, i);
+          Callback reject = new CallbackImpl(null, null, i + 1);
+          mSink = new PromiseImpl(resolve, reject);
+        }
+      }
+    };
+    Runnable pool = new Runnable() {
+      @Override
+      public void run() {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+          PooledObject resolve = acquire(i);
+          PooledObject reject = acquire(i + 1);
+          PooledObject promise = acquire(i);
+          mSink = promise;
+          mPool.release(resolve);
+          mPool.release(reject);
+          mPool.release(promise);
+        }
+      }
+    };
+    for (int i = 0; i < CALLS / BATCH_SIZE; i++) {
+      allocate.run();
+      pool.run();
+    }
+
+    report("Allocated", allocate);
+    report("Pooled", pool);
+    assertNotNull(mSink);
+  }
+
+  private PooledObject acquire(int id) {
+    PooledObject object = mPool.acquire();
+    if (object == null) {
+      object = new PooledObject();
+    }
+    object.mId = id;
+    return object;
+  }
+
+  private static void report(String name, Runnable batch) {
+    Runtime runtime = Runtime.getRuntime();
+    long allocatedBytes = 0;
+    int measuredBatches = 0;
+    long start = System.nanoTime();
+    for (int i = 0; i < CALLS / BATCH_SIZE; i++) {
+      long usedBefore = runtime.totalMemory() - runtime.freeMemory();
+      batch.run();
+      long usedAfter = runtime.totalMemory() - runtime.freeMemory();
+      if (usedAfter >= usedBefore) {
+        allocatedBytes += usedAfter - usedBefore;
+        measuredBatches++;
+      }
+    }
+    long elapsedNanos = System.nanoTime() - start;
+
+    long estimatedBytes =
+        measuredBatches == 0 ? 0 : allocatedBytes * (CALLS / BATCH_SIZE) / measuredBatches;
+    Log.i(
+        TAG,
+        name + ": " + elapsedNanos / CALLS + "ns per call, ~" + estimatedBytes / 1024 +
+            "KB for " + CALLS + " calls");
+  }
+}
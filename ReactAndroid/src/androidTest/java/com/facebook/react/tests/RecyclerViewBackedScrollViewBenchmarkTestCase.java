@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2014-present, Facebook, Inc.
+ * All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.tests;
+
+import java.util.List;
+
+import android.os.Debug;
+import android.util.Log;
+import android.view.Choreographer;
+
+import com.facebook.react.bridge.JavaScriptModule;
+import com.facebook.react.modules.debug.FpsDebugFrameCallback;
+import com.facebook.react.testing.IntRecordingModule;
+import com.facebook.react.testing.ReactAppInstrumentationTestCase;
+import com.facebook.react.testing.ReactInstanceSpecForTest;
+
+/**
+ * Benchmark for scrolling through a 10k rows RecyclerViewBackedScrollView, with and without
+ * virtualizeRows, which reports the heap used and the frames dropped while scrolling.
+ * See RecyclerViewBenchmarkTestModule.js
+ */
+public class RecyclerViewBackedScrollViewBenchmarkTestCase extends ReactAppInstrumentationTestCase {
+
+  private static final String TAG = "RecyclerViewBenchmark";
+  private static final int NUM_ROWS = 10000;
+  private static final int NUM_FLINGS = 20;
+
+  private interface RecyclerViewBenchmarkTestModule extends JavaScriptModule {
+    public void setVirtualizeRows(boolean virtualizeRows);
+    public void recordMountedRows();
+  }
+
+  private IntRecordingModule mRecordingModule;
+
+  @Override
+  protected String getReactApplicationKeyUnderTest() {
+    return "RecyclerViewBenchmarkTestApp";
+  }
+
+  @Override
+  protected ReactInstanceSpecForTest createReactInstanceSpecForTest() {
+    mRecordingModule = new IntRecordingModule();
+    return super.createReactInstanceSpecForTest()
+        .addNativeModule(mRecordingModule)
+        .addJSModule(RecyclerViewBenchmarkTestModule.class);
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    waitForBridgeAndUIIdle(60000);
+    super.tearDown();
+  }
+
+  public void testVirtualizedRows() throws Throwable {
+    int mountedRows = runBenchmark("virtualized");
+    assertTrue(
+        "Expected only the rows around the visible ones to be mounted, got " + mountedRows,
+        mountedRows < NUM_ROWS / 10);
+  }
+
+  public void testAllRowsMounted() throws Throwable {
+    getJSModule().setVirtualizeRows(false);
+    waitForBridgeAndUIIdle(60000);
+    runBenchmark("all rows mounted");
+  }
+
+  /**
+   * Flings through the list, logs the heap used and the frames dropped, and returns the number of
+   * rows left mounted.
+   */
+  private int runBenchmark(String name) throws Throwable {
+    final FpsDebugFrameCallback[] fpsCallback = new FpsDebugFrameCallback[1];
+    runTestOnUiThread(new Runnable() {
+      @Override
+      public void run() {
+        fpsCallback[0] = new FpsDebugFrameCallback(Choreographer.getInstance(), getReactContext());
+        fpsCallback[0].start();
+      }
+    });
+
+    for (int i = 0; i < NUM_FLINGS; i++) {
+      createGestureGenerator()
+          .startGesture(200, 500)
+          .dragTo(200, 100, 5, 50)
+          .endGesture(200, 100);
+    }
+    waitForBridgeAndUIIdle(60000);
+
+    runTestOnUiThread(new Runnable() {
+      @Override
+      public void run() {
+        fpsCallback[0].stop();
+      }
+    });
+
+    Runtime runtime = Runtime.getRuntime();
+    runtime.gc();
+    long javaHeapKb = (runtime.totalMemory() - runtime.freeMemory()) / 1024;
+    long nativeHeapKb = Debug.getNativeHeapAllocatedSize() / 1024;
+
+    getJSModule().recordMountedRows();
+    mRecordingModule.waitForFirstCall();
+    List<Integer> calls = mRecordingModule.getCalls();
+    int mountedRows = calls.get(calls.size() - 1);
+
+    Log.i(
+        TAG,
+        name + ": " + mountedRows + " rows mounted, " +
+            javaHeapKb + "kB java heap, " + nativeHeapKb + "kB native heap, " +
+            fpsCallback[0].getFPS() + " fps, " +
+            fpsCallback[0].get4PlusFrameStutters() + " 4+ frame stutters");
+    return mountedRows;
+  }
+
+  private RecyclerViewBenchmarkTestModule getJSModule() {
+    return getReactContext().getCatalystInstance().getJSModule(
+        RecyclerViewBenchmarkTestModule.class);
+  }
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2013-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ *
+ * @providesModule RecyclerViewBenchmarkTestModule
+ */
+
+'use strict';
+
+var BatchedBridge = require('BatchedBridge');
+var React = require('React');
+var RecyclerViewBackedScrollView = require('RecyclerViewBackedScrollView');
+var StyleSheet = require('StyleSheet');
+var Text = require('Text');
+var View = require('View');
+var Recording = require('NativeModules').Recording;
+
+var NUM_ROWS = 10000;
+
+// Used by the benchmark for RecyclerViewBackedScrollView with and without
+// virtualizeRows, see RecyclerViewBackedScrollViewBenchmarkTestCase.java
+
+var mountedRows = 0;
+var benchmarkApp;
+
+var Row = React.createClass({
+  componentDidMount: function() {
+    mountedRows++;
+  },
+
+  componentWillUnmount: function() {
+    mountedRows--;
+  },
+
+  render: function() {
+    return (
+      <View style={styles.row}>
+        <View style={styles.thumbnail} />
+        <Text style={styles.text}>{'Row ' + this.props.index}</Text>
+      </View>
+    );
+  },
+});
+
+var RecyclerViewBenchmarkTestApp = React.createClass({
+  getInitialState: function() {
+    return {
+      virtualizeRows: true,
+    };
+  },
+
+  render: function() {
+    benchmarkApp = this;
+    var rows = [];
+    for (var i = 0; i < NUM_ROWS; i++) {
+      rows.push(<Row key={i} index={i} />);
+    }
+    return (
+      <RecyclerViewBackedScrollView
+        key={this.state.virtualizeRows ? 'virtualized' : 'all'}
+        virtualizeRows={this.state.virtualizeRows}>
+        {rows}
+      </RecyclerViewBackedScrollView>
+    );
+  },
+});
+
+var styles = StyleSheet.create({
+  row: {
+    flexDirection: 'row',
+    padding: 10,
+    backgroundColor: '#ffffff',
+  },
+  thumbnail: {
+    width: 40,
+    height: 40,
+    backgroundColor: '#cccccc',
+  },
+  text: {
+    flex: 1,
+    fontSize: 16,
+    marginLeft: 10,
+  },
+});
+
+var RecyclerViewBenchmarkTestModule = {
+  RecyclerViewBenchmarkTestApp: RecyclerViewBenchmarkTestApp,
+  setVirtualizeRows: function(virtualizeRows) {
+    benchmarkApp.setState({virtualizeRows: virtualizeRows});
+  },
+  recordMountedRows: function() {
+    Recording.record(mountedRows);
+  },
+};
+
+BatchedBridge.registerCallableModule(
+  'RecyclerViewBenchmarkTestModule',
+  RecyclerViewBenchmarkTestModule
+);
+
+module.exports = RecyclerViewBenchmarkTestModule;
@@ -24,6 +24,7 @@ require('CatalystRootViewTestModule');
 require('DatePickerDialogTestModule');
 require('MeasureLayoutTestModule');
 require('PickerAndroidTestModule');
+require('RecyclerViewBenchmarkTestModule');
 require('ScrollViewTestModule');
 require('SwipeRefreshLayoutTestModule');
 require('TextInputTestModule');
@@ -70,6 +71,10 @@ var apps = [
   appKey: 'PickerAndroidTestApp',
   component: () => require('PickerAndroidTestModule').PickerAndroidTestApp,
 },
+{
+  appKey: 'RecyclerViewBenchmarkTestApp',
+  component: () => require('RecyclerViewBenchmarkTestModule').RecyclerViewBenchmarkTestApp,
+},
 {
   appKey: 'ScrollViewTestApp',
   component: () => require('ScrollViewTestModule').ScrollViewTestApp,
@@ -742,6 +742,8 @@ import static com.facebook.react.bridge.ReactMarkerConstants.RUN_JS_BUNDLE_START
     catalystInstance.initialize();
     mDevSupportManager.onNewReactContextCreated(reactContext);
     mMemoryPressureRouter.addMemoryPressureListener(catalystInstance);
+    mMemoryPressureRouter.addMemoryPressureListener(
+        catalystInstance.getNativeModule(UIManagerModule.class));
     moveReactContextToCurrentLifecycleState();
 
     for (ReactRootView rootView : mAttachedRootViews) {
@@ -799,6 +801,8 @@ import static com.facebook.react.bridge.ReactMarkerConstants.RUN_JS_BUNDLE_START
     reactContext.destroy();
     mDevSupportManager.onReactInstanceDestroyed(reactContext);
     mMemoryPressureRouter.removeMemoryPressureListener(reactContext.getCatalystInstance());
+    mMemoryPressureRouter.removeMemoryPressureListener(
+        reactContext.getCatalystInstance().getNativeModule(UIManagerModule.class));
   }
 
   /**
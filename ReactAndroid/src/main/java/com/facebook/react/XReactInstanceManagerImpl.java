@@ -729,6 +729,8 @@ import static com.facebook.systrace.Systrace.TRACE_TAG_REACT_JAVA_BRIDGE;
     catalystInstance.initialize();
     mDevSupportManager.onNewReactContextCreated(reactContext);
     mMemoryPressureRouter.addMemoryPressureListener(catalystInstance);
+    mMemoryPressureRouter.addMemoryPressureListener(
+        catalystInstance.getNativeModule(UIManagerModule.class));
     moveReactContextToCurrentLifecycleState();
 
     for (ReactRootView rootView : mAttachedRootViews) {
@@ -787,6 +789,8 @@ import static com.facebook.systrace.Systrace.TRACE_TAG_REACT_JAVA_BRIDGE;
     reactContext.destroy();
     mDevSupportManager.onReactInstanceDestroyed(reactContext);
     mMemoryPressureRouter.removeMemoryPressureListener(reactContext.getCatalystInstance());
+    mMemoryPressureRouter.removeMemoryPressureListener(
+        reactContext.getCatalystInstance().getNativeModule(UIManagerModule.class));
   }
 
   /**
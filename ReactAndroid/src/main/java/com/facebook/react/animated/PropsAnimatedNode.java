@@ -16,6 +16,7 @@ import com.facebook.react.uimanager.NativeViewHierarchyManager;
 import com.facebook.react.uimanager.ReactStylesDiffMap;
 import com.facebook.react.uimanager.UIImplementation;
 import com.facebook.react.uimanager.UIManagerModule;
+import com.facebook.react.uimanager.ViewProps;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -29,10 +30,23 @@ import javax.annotation.Nullable;
  */
 /*package*/ class PropsAnimatedNode extends AnimatedNode {
 
+  // Style nodes set the transform flattened, one key per component
+  private static final String[] LAYER_PROPS = {
+      ViewProps.OPACITY,
+      ViewProps.TRANSFORM,
+      ViewProps.SCALE_X,
+      ViewProps.SCALE_Y,
+      ViewProps.TRANSLATE_X,
+      ViewProps.TRANSLATE_Y,
+      ViewProps.ROTATION,
+  };
+
   /*package*/ int mConnectedViewTag = -1;
 
   private final NativeAnimatedNodesManager mNativeAnimatedNodesManager;
   private final Map<String, Integer> mPropMapping;
+  // Reused across frames, updating view props doesn't retain a reference to it
+  private final JavaOnlyMap mPropsMap = new JavaOnlyMap();
 
   PropsAnimatedNode(ReadableMap config, NativeAnimatedNodesManager nativeAnimatedNodesManager) {
     ReadableMap props = config.getMap("props");
@@ -50,7 +64,8 @@ import javax.annotation.Nullable;
     if (mConnectedViewTag == -1) {
       throw new IllegalStateException("Node has not been attached to a view");
     }
-    JavaOnlyMap propsMap = new JavaOnlyMap();
+    JavaOnlyMap propsMap = mPropsMap;
+    propsMap.clear();
     for (Map.Entry<String, Integer> entry : mPropMapping.entrySet()) {
       @Nullable AnimatedNode node = mNativeAnimatedNodesManager.getNodeById(entry.getValue());
       if (node == null) {
@@ -64,12 +79,26 @@ import javax.annotation.Nullable;
             node.getClass());
       }
     }
-    // TODO: Reuse propsMap and stylesDiffMap objects - note that in subsequent animation steps
-    // for a given node most of the time we will be creating the same set of props (just with
-    // different values). We can take advantage on that and optimize the way we allocate property
-    // maps (we also know that updating view props doesn't retain a reference to the styles object).
+    // TODO: Reuse the stylesDiffMap object too, updating view props doesn't retain a reference to
+    // it either.
     uiImplementation.synchronouslyUpdateViewOnUIThread(
       mConnectedViewTag,
       new ReactStylesDiffMap(propsMap));
+    if (hasLayerProps(propsMap)) {
+      uiImplementation.onViewAnimationFrameOnUIThread(mConnectedViewTag);
+    }
+  }
+
+  /**
+   * @return whether the given props change something that a hardware layer can animate without
+   * redrawing the view, see {@link com.facebook.react.uimanager.HardwareLayerManager}
+   */
+  private static boolean hasLayerProps(JavaOnlyMap propsMap) {
+    for (int i = 0; i < LAYER_PROPS.length; i++) {
+      if (propsMap.hasKey(LAYER_PROPS[i])) {
+        return true;
+      }
+    }
+    return false;
   }
 }
@@ -449,7 +449,13 @@ public abstract class BaseJavaModule implements NativeModule {
 
   @Override
   public final void writeConstantsField(JsonWriter writer, String fieldName) throws IOException {
-    Map<String, Object> constants = getConstants();
+    writeConstants(writer, fieldName, getConstants());
+  }
+
+  /* package */ static void writeConstants(
+      JsonWriter writer,
+      String fieldName,
+      @Nullable Map<String, Object> constants) throws IOException {
     if (constants == null || constants.isEmpty()) {
       return;
     }
@@ -34,6 +34,13 @@ public interface CatalystInstance extends MemoryPressureListener {
       String method,
       NativeArray arguments,
       String tracingName);
+  /**
+   * Starts batching the JS function calls and callbacks made from the current thread. They are sent
+   * to JS together, in order, when the matching {@link #endJSCallBatch} is called. Batches nest.
+   */
+  void beginJSCallBatch();
+  void endJSCallBatch();
+
   /**
    * Destroys this catalyst instance, waiting for any other threads in ReactQueueConfiguration
    * (besides the UI thread) to finish running. Must be called from the UI thread so that we can
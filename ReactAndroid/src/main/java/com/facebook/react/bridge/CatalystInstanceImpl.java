@@ -12,7 +12,7 @@ package com.facebook.react.bridge;
 import javax.annotation.Nullable;
 
 import java.io.IOException;
-import java.io.StringWriter;
+import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -21,6 +21,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import com.facebook.common.logging.FLog;
 import com.facebook.infer.annotation.Assertions;
 import com.facebook.proguard.annotations.DoNotStrip;
+import com.facebook.react.bridge.queue.MessageQueueThread;
 import com.facebook.react.bridge.queue.ReactQueueConfiguration;
 import com.facebook.react.bridge.queue.ReactQueueConfigurationImpl;
 import com.facebook.react.bridge.queue.ReactQueueConfigurationSpec;
@@ -38,6 +39,12 @@ import com.facebook.systrace.TraceListener;
 @DoNotStrip
 public class CatalystInstanceImpl implements CatalystInstance {
 
+  // The modules config of the last instance, reused by the next one if its modules would write
+  // exactly the same config, as is usually the case when reloading
+  private static final Object sModulesConfigCacheLock = new Object();
+  private static @Nullable NativeModuleRegistry.ModuleDescriptionsKey sCachedModulesConfigKey;
+  private static @Nullable ByteBuffer sCachedModulesConfig;
+
   private static final AtomicInteger sNextInstanceIdForTrace = new AtomicInteger(1);
 
   // Access from any thread
@@ -51,6 +58,7 @@ public class CatalystInstanceImpl implements CatalystInstance {
   private final TraceListener mTraceListener;
   private final JavaScriptModuleRegistry mJSModuleRegistry;
   private final JSBundleLoader mJSBundleLoader;
+  private final JavaScriptCallBatcher mJSCallBatcher;
   private @Nullable ExecutorToken mMainExecutorToken;
 
   // These locks prevent additional calls from going JS<->Java after the bridge has been torn down.
@@ -64,6 +72,7 @@ public class CatalystInstanceImpl implements CatalystInstance {
   private final NativeModuleRegistry mJavaRegistry;
   private final NativeModuleCallExceptionHandler mNativeModuleCallExceptionHandler;
   private boolean mInitialized = false;
+  private boolean mIsBatchingNativeModuleCalls = false;
 
   // Access from JS thread
   private final ReactBridge mBridge;
@@ -86,6 +95,18 @@ public class CatalystInstanceImpl implements CatalystInstance {
     mJSBundleLoader = jsBundleLoader;
     mNativeModuleCallExceptionHandler = nativeModuleCallExceptionHandler;
     mTraceListener = new JSProfilerTraceListener();
+    mJSCallBatcher = new JavaScriptCallBatcher(
+        new JavaScriptCallBatcher.CallTarget() {
+          @Override
+          public void callFunctionNow(
+              ExecutorToken executorToken,
+              String module,
+              String method,
+              NativeArray arguments,
+              String tracingName) {
+            callFunctionUnbatched(executorToken, module, method, arguments, tracingName);
+          }
+        });
 
     try {
       mBridge = mReactQueueConfiguration.getJSQueueThread().callOnQueue(
@@ -123,9 +144,11 @@ public class CatalystInstanceImpl implements CatalystInstance {
 
     Systrace.beginSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "setBatchedBridgeConfig");
     try {
-      bridge.setGlobalVariable(
+      ByteBuffer modulesConfig = buildModulesConfigJSONProperty(mJavaRegistry);
+      bridge.setGlobalVariableUTF8(
           "__fbBatchedBridgeConfig",
-          buildModulesConfigJSONProperty(mJavaRegistry));
+          modulesConfig,
+          modulesConfig.limit());
       bridge.setGlobalVariable(
           "__RCTProfileIsProfiling",
           Systrace.isTracing(Systrace.TRACE_TAG_REACT_APPS) ? "true" : "false");
@@ -170,6 +193,17 @@ public class CatalystInstanceImpl implements CatalystInstance {
       FLog.w(ReactConstants.TAG, "Calling JS function after bridge has been destroyed.");
       return;
     }
+    if (!mJSCallBatcher.addCall(executorToken, module, method, arguments)) {
+      callFunctionUnbatched(executorToken, module, method, arguments, tracingName);
+    }
+  }
+
+  private void callFunctionUnbatched(
+      ExecutorToken executorToken,
+      String module,
+      String method,
+      NativeArray arguments,
+      String tracingName) {
     synchronized (mJavaToJSCallsTeardownLock) {
       if (mDestroyed) {
         FLog.w(ReactConstants.TAG, "Calling JS function after bridge has been destroyed.");
@@ -193,6 +227,9 @@ public class CatalystInstanceImpl implements CatalystInstance {
       FLog.w(ReactConstants.TAG, "Invoking JS callback after bridge has been destroyed.");
       return;
     }
+    if (mJSCallBatcher.addCallback(executorToken, callbackID, arguments)) {
+      return;
+    }
     synchronized (mJavaToJSCallsTeardownLock) {
       if (mDestroyed) {
         FLog.w(ReactConstants.TAG, "Invoking JS callback after bridge has been destroyed.");
@@ -205,6 +242,23 @@ public class CatalystInstanceImpl implements CatalystInstance {
     }
   }
 
+  @Override
+  public void beginJSCallBatch() {
+    mJSCallBatcher.beginBatch();
+  }
+
+  @Override
+  public void endJSCallBatch() {
+    mJSCallBatcher.endBatch();
+  }
+
+  /**
+   * Exposes how much batching of JS calls has saved, see {@link JavaScriptCallBatcher}.
+   */
+  public JavaScriptCallBatcher getJSCallBatcher() {
+    return mJSCallBatcher;
+  }
+
   /**
    * Destroys this catalyst instance, waiting for any other threads in ReactQueueConfiguration
    * (besides the UI thread) to finish running. Must be called from the UI thread so that we can
@@ -217,6 +271,7 @@ public class CatalystInstanceImpl implements CatalystInstance {
     // This ordering is important. A JS to Java call that triggers a Java to JS call will also
     // acquire these locks in the same order
     mIsBeingDestroyed = true;
+    mJSCallBatcher.shutdown();
     synchronized (mJSToJavaCallsTeardownLock) {
       synchronized (mJavaToJSCallsTeardownLock) {
         if (mDestroyed) {
@@ -359,15 +414,47 @@ public class CatalystInstanceImpl implements CatalystInstance {
     mBridge.setGlobalVariable(propName, jsonValue);
   }
 
-  private String buildModulesConfigJSONProperty(NativeModuleRegistry nativeModuleRegistry) {
-    StringWriter stringWriter = new StringWriter();
-    JsonWriter writer = new JsonWriter(stringWriter);
+  private ByteBuffer buildModulesConfigJSONProperty(NativeModuleRegistry nativeModuleRegistry) {
+    ReactMarker.logMarker(ReactMarkerConstants.BUILD_NATIVE_MODULES_CONFIG_START);
+    try {
+      NativeModuleRegistry.ModuleDescriptionsKey key =
+          nativeModuleRegistry.getModuleDescriptionsKey();
+      if (key != null) {
+        synchronized (sModulesConfigCacheLock) {
+          if (key.equals(sCachedModulesConfigKey)) {
+            ReactMarker.logMarker(ReactMarkerConstants.NATIVE_MODULES_CONFIG_CACHE_HIT);
+            return Assertions.assertNotNull(sCachedModulesConfig);
+          }
+        }
+      }
+
+      ByteBuffer modulesConfig = writeModulesConfigJSONProperty(nativeModuleRegistry, key);
+      if (key != null) {
+        synchronized (sModulesConfigCacheLock) {
+          sCachedModulesConfigKey = key;
+          sCachedModulesConfig = modulesConfig;
+        }
+      }
+      return modulesConfig;
+    } finally {
+      ReactMarker.logMarker(ReactMarkerConstants.BUILD_NATIVE_MODULES_CONFIG_END);
+    }
+  }
+
+  /**
+   * @return the config as UTF-8, in a direct buffer that native code can read without a copy
+   */
+  private static ByteBuffer writeModulesConfigJSONProperty(
+      NativeModuleRegistry nativeModuleRegistry,
+      @Nullable NativeModuleRegistry.ModuleDescriptionsKey key) {
+    Utf8ByteBufferWriter byteBufferWriter = new Utf8ByteBufferWriter();
+    JsonWriter writer = new JsonWriter(byteBufferWriter);
     try {
       writer.beginObject();
       writer.name("remoteModuleConfig");
-      nativeModuleRegistry.writeModuleDescriptions(writer);
+      nativeModuleRegistry.writeModuleDescriptions(writer, key);
       writer.endObject();
-      return stringWriter.toString();
+      return byteBufferWriter.getBuffer();
     } catch (IOException ioe) {
       throw new RuntimeException("Unable to serialize JavaScript module declaration", ioe);
     } finally {
@@ -418,14 +505,61 @@ public class CatalystInstanceImpl implements CatalystInstance {
   private class NativeModulesReactCallback implements ReactCallback {
 
     @Override
-    public void call(ExecutorToken executorToken, int moduleId, int methodId, ReadableNativeArray parameters) {
+    public void call(
+        final ExecutorToken executorToken,
+        final int moduleId,
+        final int methodId,
+        final ReadableNativeArray parameters) {
       mReactQueueConfiguration.getNativeModulesQueueThread().assertIsOnThread();
 
       if (mIsBeingDestroyed) {
         return;
       }
+      String queueName = mJavaRegistry.getModuleQueueName(moduleId);
+      if (queueName != null) {
+        MessageQueueThread moduleQueueThread =
+            mReactQueueConfiguration.getNativeModulesQueueThread(queueName);
+        if (!moduleQueueThread.isOnThread()) {
+          // Keeps the bridge from looking idle until the call has run on the module's queue.
+          incrementPendingJSCalls();
+          moduleQueueThread.runOnQueue(
+              new Runnable() {
+                @Override
+                public void run() {
+                  try {
+                    callOnModuleQueue(executorToken, moduleId, methodId, parameters);
+                  } finally {
+                    decrementPendingJSCalls();
+                  }
+                }
+              });
+          return;
+        }
+      }
       synchronized (mJSToJavaCallsTeardownLock) {
         // Suppress any callbacks if destroyed - will only lead to sadness.
+        if (mDestroyed) {
+          return;
+        }
+        // Calls back into JS made by the native modules while handling this batch are sent to JS
+        // together once the batch is complete.
+        if (!mIsBatchingNativeModuleCalls) {
+          mIsBatchingNativeModuleCalls = true;
+          mJSCallBatcher.beginBatch();
+        }
+        mJavaRegistry.call(CatalystInstanceImpl.this, executorToken, moduleId, methodId, parameters);
+      }
+    }
+
+    private void callOnModuleQueue(
+        ExecutorToken executorToken,
+        int moduleId,
+        int methodId,
+        ReadableNativeArray parameters) {
+      if (mIsBeingDestroyed) {
+        return;
+      }
+      synchronized (mJSToJavaCallsTeardownLock) {
         if (mDestroyed) {
           return;
         }
@@ -452,6 +586,10 @@ public class CatalystInstanceImpl implements CatalystInstance {
         try {
           mJavaRegistry.onBatchComplete();
         } finally {
+          if (mIsBatchingNativeModuleCalls) {
+            mIsBatchingNativeModuleCalls = false;
+            mJSCallBatcher.endBatch();
+          }
           Systrace.endSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE);
         }
       }
@@ -0,0 +1,28 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.bridge;
+
+/**
+ * Interface for a module whose methods should be invoked on one of the named native modules queues
+ * of {@link com.facebook.react.bridge.queue.ReactQueueConfigurationSpec} instead of the default
+ * native modules queue, e.g. a module that does blocking disk or network I/O. If the
+ * configuration has no queue by that name, the module runs on the default native modules queue.
+ *
+ * Calls from JS are still invoked in order, but no longer within the batch they came in, so
+ * {@link OnBatchCompleteListener#onBatchComplete} may run before them.
+ */
+public interface CustomQueueModule {
+
+  /**
+   * @return the name of the queue to invoke this module's methods on, e.g.
+   * {@link com.facebook.react.bridge.queue.ReactQueueConfigurationSpec#IO_QUEUE_NAME}
+   */
+  String getQueueName();
+}
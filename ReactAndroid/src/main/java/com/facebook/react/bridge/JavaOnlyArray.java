@@ -9,12 +9,21 @@
 
 package com.facebook.react.bridge;
 
-import java.util.ArrayList;
+import javax.annotation.Nullable;
+
 import java.util.Arrays;
 import java.util.List;
 
+import static com.facebook.react.bridge.JavaOnlyValues.TYPE_ARRAY;
+import static com.facebook.react.bridge.JavaOnlyValues.TYPE_BOOLEAN;
+import static com.facebook.react.bridge.JavaOnlyValues.TYPE_DOUBLE;
+import static com.facebook.react.bridge.JavaOnlyValues.TYPE_INT;
+import static com.facebook.react.bridge.JavaOnlyValues.TYPE_MAP;
+import static com.facebook.react.bridge.JavaOnlyValues.TYPE_NULL;
+import static com.facebook.react.bridge.JavaOnlyValues.TYPE_STRING;
+
 /**
- * Java {@link ArrayList} backed impementation of {@link ReadableArray} and {@link WritableArray}
+ * Java-only implementation of {@link ReadableArray} and {@link WritableArray}.
  * Instances of this class SHOULD NOT be used for communication between java and JS, use instances
  * of {@link WritableNativeArray} created via {@link Arguments#createArray} or just
  * {@link ReadableArray} interface if you want your "native" module method to take an array from JS
@@ -23,13 +32,22 @@ import java.util.List;
  * Main purpose for this class is to be used in java-only unit tests, but could also be used outside
  * of tests in the code that operates only in java and needs to communicate with RN modules via
  * their JS-exposed API.
+ *
+ * Values are kept in parallel arrays of type tags, doubles (for booleans and numbers, which are
+ * therefore never boxed) and objects (for strings, maps and arrays). Call {@link #clear} to reuse
+ * an array and its storage.
  */
 public class JavaOnlyArray implements ReadableArray, WritableArray {
 
-  private final List mBackingList;
+  private static final int MIN_CAPACITY = 8;
+
+  private byte[] mTypes;
+  private double[] mNumbers;
+  private Object[] mObjects;
+  private int mSize;
 
   public static JavaOnlyArray from(List list) {
-    return new JavaOnlyArray(list);
+    return new JavaOnlyArray(list.toArray());
   }
 
   public static JavaOnlyArray of(Object... values) {
@@ -37,117 +55,142 @@ public class JavaOnlyArray implements ReadableArray, WritableArray {
   }
 
   private JavaOnlyArray(Object... values) {
-    mBackingList = Arrays.asList(values);
+    this(values.length);
+    for (Object value : values) {
+      pushObject(value);
+    }
   }
 
-  private JavaOnlyArray(List list) {
-    mBackingList = new ArrayList(list);
+  private JavaOnlyArray(int capacity) {
+    capacity = Math.max(capacity, MIN_CAPACITY);
+    mTypes = new byte[capacity];
+    mNumbers = new double[capacity];
+    mObjects = new Object[capacity];
   }
 
   public JavaOnlyArray() {
-    mBackingList = new ArrayList();
+    this(MIN_CAPACITY);
   }
 
   @Override
   public int size() {
-    return mBackingList.size();
+    return mSize;
   }
 
   @Override
   public boolean isNull(int index) {
-    return mBackingList.get(index) == null;
+    return mTypes[checkIndex(index)] == TYPE_NULL;
   }
 
   @Override
   public double getDouble(int index) {
-    return (Double) mBackingList.get(index);
+    checkIndex(index);
+    return JavaOnlyValues.getNumber(mTypes[index], mNumbers[index], index);
   }
 
   @Override
   public int getInt(int index) {
-    return (Integer) mBackingList.get(index);
+    checkIndex(index);
+    return (int) JavaOnlyValues.getNumber(mTypes[index], mNumbers[index], index);
   }
 
   @Override
   public String getString(int index) {
-    return (String) mBackingList.get(index);
+    checkIndex(index);
+    return (String) JavaOnlyValues.getObject(
+        mTypes[index],
+        mObjects[index],
+        TYPE_STRING,
+        "a string",
+        index);
   }
 
   @Override
   public JavaOnlyArray getArray(int index) {
-    return (JavaOnlyArray) mBackingList.get(index);
+    checkIndex(index);
+    return (JavaOnlyArray) JavaOnlyValues.getObject(
+        mTypes[index],
+        mObjects[index],
+        TYPE_ARRAY,
+        "an array",
+        index);
   }
 
   @Override
   public boolean getBoolean(int index) {
-    return (Boolean) mBackingList.get(index);
+    checkIndex(index);
+    return JavaOnlyValues.getBoolean(mTypes[index], mNumbers[index], index);
   }
 
   @Override
   public JavaOnlyMap getMap(int index) {
-    return (JavaOnlyMap) mBackingList.get(index);
+    checkIndex(index);
+    return (JavaOnlyMap) JavaOnlyValues.getObject(
+        mTypes[index],
+        mObjects[index],
+        TYPE_MAP,
+        "a map",
+        index);
   }
 
   @Override
   public ReadableType getType(int index) {
-    Object object = mBackingList.get(index);
-
-    if (object == null) {
-      return ReadableType.Null;
-    } else if (object instanceof Boolean) {
-      return ReadableType.Boolean;
-    } else if (object instanceof Double ||
-        object instanceof Float ||
-        object instanceof Integer) {
-      return ReadableType.Number;
-    } else if (object instanceof String) {
-      return ReadableType.String;
-    } else if (object instanceof ReadableArray) {
-      return ReadableType.Array;
-    } else if (object instanceof ReadableMap) {
-      return ReadableType.Map;
-    }
-    return null;
+    return JavaOnlyValues.toReadableType(mTypes[checkIndex(index)]);
+  }
+
+  /**
+   * Removes all values, keeping the storage so that refilling the array doesn't allocate.
+   */
+  public void clear() {
+    Arrays.fill(mObjects, 0, mSize, null);
+    mSize = 0;
   }
 
   @Override
   public void pushBoolean(boolean value) {
-    mBackingList.add(value);
+    push(TYPE_BOOLEAN, value ? 1 : 0, null);
   }
 
   @Override
   public void pushDouble(double value) {
-    mBackingList.add(value);
+    push(TYPE_DOUBLE, value, null);
   }
 
   @Override
   public void pushInt(int value) {
-    mBackingList.add(value);
+    push(TYPE_INT, value, null);
   }
 
   @Override
   public void pushString(String value) {
-    mBackingList.add(value);
+    push(value == null ? TYPE_NULL : TYPE_STRING, 0, value);
   }
 
   @Override
   public void pushArray(WritableArray array) {
-    mBackingList.add(array);
+    push(array == null ? TYPE_NULL : TYPE_ARRAY, 0, array);
   }
 
   @Override
   public void pushMap(WritableMap map) {
-    mBackingList.add(map);
+    push(map == null ? TYPE_NULL : TYPE_MAP, 0, map);
   }
 
   @Override
   public void pushNull() {
-    mBackingList.add(null);
+    push(TYPE_NULL, 0, null);
   }
 
   @Override
   public String toString() {
-    return mBackingList.toString();
+    StringBuilder builder = new StringBuilder("[");
+    for (int i = 0; i < mSize; i++) {
+      if (i > 0) {
+        builder.append(", ");
+      }
+      JavaOnlyValues.appendValue(builder, mTypes[i], mNumbers[i], mObjects[i]);
+    }
+    return builder.append(']').toString();
   }
 
   @Override
@@ -157,14 +200,58 @@ public class JavaOnlyArray implements ReadableArray, WritableArray {
 
     JavaOnlyArray that = (JavaOnlyArray) o;
 
-    if (mBackingList != null ? !mBackingList.equals(that.mBackingList) : that.mBackingList != null)
-      return false;
+    if (mSize != that.mSize) return false;
+    for (int i = 0; i < mSize; i++) {
+      if (mTypes[i] != that.mTypes[i] ||
+          !JavaOnlyValues.valuesEqual(
+              mTypes[i],
+              mNumbers[i],
+              mObjects[i],
+              that.mNumbers[i],
+              that.mObjects[i])) {
+        return false;
+      }
+    }
 
     return true;
   }
 
   @Override
   public int hashCode() {
-    return mBackingList != null ? mBackingList.hashCode() : 0;
+    // Same as List#hashCode
+    int hashCode = 1;
+    for (int i = 0; i < mSize; i++) {
+      hashCode = 31 * hashCode + JavaOnlyValues.valueHashCode(mTypes[i], mNumbers[i], mObjects[i]);
+    }
+    return hashCode;
+  }
+
+  private int checkIndex(int index) {
+    if (index < 0 || index >= mSize) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+    }
+    return index;
+  }
+
+  private void pushObject(@Nullable Object value) {
+    byte type = JavaOnlyValues.typeOf(value);
+    if (JavaOnlyValues.isPrimitive(type)) {
+      push(type, JavaOnlyValues.toNumberSlot(value, type), null);
+    } else {
+      push(type, 0, value);
+    }
+  }
+
+  private void push(byte type, double number, @Nullable Object object) {
+    if (mSize == mTypes.length) {
+      int capacity = mSize * 2;
+      mTypes = Arrays.copyOf(mTypes, capacity);
+      mNumbers = Arrays.copyOf(mNumbers, capacity);
+      mObjects = Arrays.copyOf(mObjects, capacity);
+    }
+    mTypes[mSize] = type;
+    mNumbers[mSize] = number;
+    mObjects[mSize] = object;
+    mSize++;
   }
 }
@@ -9,12 +9,18 @@
 
 package com.facebook.react.bridge;
 
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.Map;
+import javax.annotation.Nullable;
+
+import static com.facebook.react.bridge.JavaOnlyValues.TYPE_ARRAY;
+import static com.facebook.react.bridge.JavaOnlyValues.TYPE_BOOLEAN;
+import static com.facebook.react.bridge.JavaOnlyValues.TYPE_DOUBLE;
+import static com.facebook.react.bridge.JavaOnlyValues.TYPE_INT;
+import static com.facebook.react.bridge.JavaOnlyValues.TYPE_MAP;
+import static com.facebook.react.bridge.JavaOnlyValues.TYPE_NULL;
+import static com.facebook.react.bridge.JavaOnlyValues.TYPE_STRING;
 
 /**
- * Java {@link HashMap} backed impementation of {@link ReadableMap} and {@link WritableMap}
+ * Java-only implementation of {@link ReadableMap} and {@link WritableMap}.
  * Instances of this class SHOULD NOT be used for communication between java and JS, use instances
  * of {@link WritableNativeMap} created via {@link Arguments#createMap} or just {@link ReadableMap}
  * interface if you want your "native" module method to take a map from JS as an argument.
@@ -22,10 +28,24 @@ import java.util.Map;
  * Main purpose for this class is to be used in java-only unit tests, but could also be used outside
  * of tests in the code that operates only in java and needs to communicate with RN modules via
  * their JS-exposed API.
+ *
+ * Entries live in an open addressing table with linear probing. Each slot has a type tag next to
+ * a double (for booleans and numbers, which are therefore never boxed) and an object (for strings,
+ * maps and arrays), so puts and gets don't allocate once the table is big enough. Keys are
+ * iterated in insertion order. Call {@link #clear} to reuse a map and its table.
  */
 public class JavaOnlyMap implements ReadableMap, WritableMap {
 
-  private final Map mBackingMap;
+  private static final int MIN_CAPACITY = 8;
+
+  // Slot table, its length is a power of two and at least twice the size
+  private String[] mKeys;
+  private byte[] mTypes;
+  private double[] mNumbers;
+  private Object[] mObjects;
+  // Slots in insertion order
+  private int[] mOrder;
+  private int mSize;
 
   public static JavaOnlyMap of(Object... keysAndValues) {
     return new JavaOnlyMap(keysAndValues);
@@ -38,121 +58,202 @@ public class JavaOnlyMap implements ReadableMap, WritableMap {
     if (keysAndValues.length % 2 != 0) {
       throw new IllegalArgumentException("You must provide the same number of keys and values");
     }
-    mBackingMap = new HashMap();
+    allocate(capacityFor(keysAndValues.length / 2));
     for (int i = 0; i < keysAndValues.length; i += 2) {
-      mBackingMap.put(keysAndValues[i], keysAndValues[i + 1]);
+      putObject((String) keysAndValues[i], keysAndValues[i + 1]);
     }
   }
 
   public JavaOnlyMap() {
-    mBackingMap = new HashMap();
+    allocate(MIN_CAPACITY);
   }
 
   @Override
   public boolean hasKey(String name) {
-    return mBackingMap.containsKey(name);
+    return findSlot(name) >= 0;
   }
 
   @Override
   public boolean isNull(String name) {
-    return mBackingMap.get(name) == null;
+    int slot = findSlot(name);
+    return slot < 0 || mTypes[slot] == TYPE_NULL;
   }
 
   @Override
   public boolean getBoolean(String name) {
-    return (Boolean) mBackingMap.get(name);
+    int slot = getExistingSlot(name);
+    return JavaOnlyValues.getBoolean(mTypes[slot], mNumbers[slot], name);
   }
 
   @Override
   public double getDouble(String name) {
-    return (Double) mBackingMap.get(name);
+    int slot = getExistingSlot(name);
+    return JavaOnlyValues.getNumber(mTypes[slot], mNumbers[slot], name);
   }
 
   @Override
   public int getInt(String name) {
-    return (Integer) mBackingMap.get(name);
+    int slot = getExistingSlot(name);
+    return (int) JavaOnlyValues.getNumber(mTypes[slot], mNumbers[slot], name);
   }
 
   @Override
   public String getString(String name) {
-    return (String) mBackingMap.get(name);
+    int slot = getExistingSlot(name);
+    return (String) JavaOnlyValues.getObject(
+        mTypes[slot],
+        mObjects[slot],
+        TYPE_STRING,
+        "a string",
+        name);
   }
 
   @Override
   public JavaOnlyMap getMap(String name) {
-    return (JavaOnlyMap) mBackingMap.get(name);
+    int slot = getExistingSlot(name);
+    return (JavaOnlyMap) JavaOnlyValues.getObject(
+        mTypes[slot],
+        mObjects[slot],
+        TYPE_MAP,
+        "a map",
+        name);
   }
 
   @Override
   public JavaOnlyArray getArray(String name) {
-    return (JavaOnlyArray) mBackingMap.get(name);
+    int slot = getExistingSlot(name);
+    return (JavaOnlyArray) JavaOnlyValues.getObject(
+        mTypes[slot],
+        mObjects[slot],
+        TYPE_ARRAY,
+        "an array",
+        name);
   }
 
   @Override
   public ReadableType getType(String name) {
-    throw new UnsupportedOperationException("Method not implemented");
+    return JavaOnlyValues.toReadableType(mTypes[getExistingSlot(name)]);
   }
 
   @Override
   public ReadableMapKeySetIterator keySetIterator() {
     return new ReadableMapKeySetIterator() {
-      Iterator<String> mIterator = mBackingMap.keySet().iterator();
+      int mIndex = 0;
 
       @Override
       public boolean hasNextKey() {
-        return mIterator.hasNext();
+        return mIndex < mSize;
       }
 
       @Override
       public String nextKey() {
-        return mIterator.next();
+        if (mIndex >= mSize) {
+          throw new InvalidIteratorException("No more keys in the map");
+        }
+        return mKeys[mOrder[mIndex++]];
       }
     };
   }
 
+  public int size() {
+    return mSize;
+  }
+
+  /**
+   * Removes all entries, keeping the table so that refilling the map doesn't allocate.
+   */
+  public void clear() {
+    for (int i = 0; i < mSize; i++) {
+      int slot = mOrder[i];
+      mKeys[slot] = null;
+      mObjects[slot] = null;
+    }
+    mSize = 0;
+  }
+
   @Override
   public void putBoolean(String key, boolean value) {
-    mBackingMap.put(key, value);
+    put(key, TYPE_BOOLEAN, value ? 1 : 0, null);
   }
 
   @Override
   public void putDouble(String key, double value) {
-    mBackingMap.put(key, value);
+    put(key, TYPE_DOUBLE, value, null);
   }
 
   @Override
   public void putInt(String key, int value) {
-    mBackingMap.put(key, value);
+    put(key, TYPE_INT, value, null);
   }
 
   @Override
   public void putString(String key, String value) {
-    mBackingMap.put(key, value);
+    put(key, value == null ? TYPE_NULL : TYPE_STRING, 0, value);
   }
 
   @Override
   public void putNull(String key) {
-    mBackingMap.put(key, null);
+    put(key, TYPE_NULL, 0, null);
   }
 
   @Override
   public void putMap(String key, WritableMap value) {
-    mBackingMap.put(key, value);
+    put(key, value == null ? TYPE_NULL : TYPE_MAP, 0, value);
   }
 
   @Override
   public void merge(ReadableMap source) {
-    mBackingMap.putAll(((JavaOnlyMap) source).mBackingMap);
+    if (source instanceof JavaOnlyMap) {
+      JavaOnlyMap map = (JavaOnlyMap) source;
+      for (int i = 0; i < map.mSize; i++) {
+        int slot = map.mOrder[i];
+        put(map.mKeys[slot], map.mTypes[slot], map.mNumbers[slot], map.mObjects[slot]);
+      }
+      return;
+    }
+    ReadableMapKeySetIterator iterator = source.keySetIterator();
+    while (iterator.hasNextKey()) {
+      String key = iterator.nextKey();
+      switch (source.getType(key)) {
+        case Null:
+          putNull(key);
+          break;
+        case Boolean:
+          putBoolean(key, source.getBoolean(key));
+          break;
+        case Number:
+          putDouble(key, source.getDouble(key));
+          break;
+        case String:
+          putString(key, source.getString(key));
+          break;
+        case Map:
+          put(key, TYPE_MAP, 0, JavaOnlyValues.toJavaOnlyMap(source.getMap(key)));
+          break;
+        case Array:
+          put(key, TYPE_ARRAY, 0, JavaOnlyValues.toJavaOnlyArray(source.getArray(key)));
+          break;
+      }
+    }
   }
 
   @Override
   public void putArray(String key, WritableArray value) {
-    mBackingMap.put(key, value);
+    put(key, value == null ? TYPE_NULL : TYPE_ARRAY, 0, value);
   }
 
   @Override
   public String toString() {
-    return mBackingMap.toString();
+    StringBuilder builder = new StringBuilder("{");
+    for (int i = 0; i < mSize; i++) {
+      int slot = mOrder[i];
+      if (i > 0) {
+        builder.append(", ");
+      }
+      builder.append(mKeys[slot]).append('=');
+      JavaOnlyValues.appendValue(builder, mTypes[slot], mNumbers[slot], mObjects[slot]);
+    }
+    return builder.append('}').toString();
   }
 
   @Override
@@ -162,14 +263,115 @@ public class JavaOnlyMap implements ReadableMap, WritableMap {
 
     JavaOnlyMap that = (JavaOnlyMap) o;
 
-    if (mBackingMap != null ? !mBackingMap.equals(that.mBackingMap) : that.mBackingMap != null)
-      return false;
+    if (mSize != that.mSize) return false;
+    for (int i = 0; i < mSize; i++) {
+      int slot = mOrder[i];
+      int thatSlot = that.findSlot(mKeys[slot]);
+      if (thatSlot < 0 ||
+          mTypes[slot] != that.mTypes[thatSlot] ||
+          !JavaOnlyValues.valuesEqual(
+              mTypes[slot],
+              mNumbers[slot],
+              mObjects[slot],
+              that.mNumbers[thatSlot],
+              that.mObjects[thatSlot])) {
+        return false;
+      }
+    }
 
     return true;
   }
 
   @Override
   public int hashCode() {
-    return mBackingMap != null ? mBackingMap.hashCode() : 0;
+    // Order independent, like HashMap#hashCode
+    int hashCode = 0;
+    for (int i = 0; i < mSize; i++) {
+      int slot = mOrder[i];
+      hashCode += mKeys[slot].hashCode() ^
+          JavaOnlyValues.valueHashCode(mTypes[slot], mNumbers[slot], mObjects[slot]);
+    }
+    return hashCode;
+  }
+
+  private int getExistingSlot(String name) {
+    int slot = findSlot(name);
+    if (slot < 0) {
+      throw new NoSuchKeyException(name);
+    }
+    return slot;
+  }
+
+  private void putObject(String key, @Nullable Object value) {
+    byte type = JavaOnlyValues.typeOf(value);
+    if (JavaOnlyValues.isPrimitive(type)) {
+      put(key, type, JavaOnlyValues.toNumberSlot(value, type), null);
+    } else {
+      put(key, type, 0, value);
+    }
+  }
+
+  private void put(String key, byte type, double number, @Nullable Object object) {
+    int slot = findSlot(key);
+    if (slot < 0) {
+      if ((mSize + 1) * 2 > mKeys.length) {
+        allocate(mKeys.length * 2);
+        slot = findSlot(key);
+      }
+      slot = ~slot;
+      mKeys[slot] = key;
+      mOrder[mSize++] = slot;
+    }
+    mTypes[slot] = type;
+    mNumbers[slot] = number;
+    mObjects[slot] = object;
+  }
+
+  /**
+   * @return the slot holding the key, or the bitwise complement of the empty slot it would go to
+   */
+  private int findSlot(String key) {
+    int mask = mKeys.length - 1;
+    int hash = key.hashCode();
+    int slot = (hash ^ (hash >>> 16)) & mask;
+    String slotKey;
+    while ((slotKey = mKeys[slot]) != null) {
+      if (slotKey == key || slotKey.equals(key)) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return ~slot;
+  }
+
+  /**
+   * Allocates a table of the given capacity and moves the current entries into it.
+   */
+  private void allocate(int capacity) {
+    String[] keys = mKeys;
+    byte[] types = mTypes;
+    double[] numbers = mNumbers;
+    Object[] objects = mObjects;
+    int[] order = mOrder;
+    int size = mSize;
+
+    mKeys = new String[capacity];
+    mTypes = new byte[capacity];
+    mNumbers = new double[capacity];
+    mObjects = new Object[capacity];
+    mOrder = new int[capacity / 2];
+    mSize = 0;
+    for (int i = 0; i < size; i++) {
+      int slot = order[i];
+      put(keys[slot], types[slot], numbers[slot], objects[slot]);
+    }
+  }
+
+  private static int capacityFor(int size) {
+    int capacity = MIN_CAPACITY;
+    while (capacity < size * 2) {
+      capacity *= 2;
+    }
+    return capacity;
   }
 }
@@ -0,0 +1,215 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.bridge;
+
+import javax.annotation.Nullable;
+
+/**
+ * Type tags and helpers shared by {@link JavaOnlyMap} and {@link JavaOnlyArray}, which store each
+ * value as a tag plus either a double slot (booleans and numbers, so they are never boxed) or an
+ * object slot (strings, maps and arrays).
+ */
+/* package */ class JavaOnlyValues {
+
+  static final byte TYPE_NULL = 0;
+  static final byte TYPE_BOOLEAN = 1;
+  static final byte TYPE_INT = 2;
+  static final byte TYPE_DOUBLE = 3;
+  static final byte TYPE_STRING = 4;
+  static final byte TYPE_MAP = 5;
+  static final byte TYPE_ARRAY = 6;
+  // Anything else passed to of() or from(), kept as is and reported with a null ReadableType
+  static final byte TYPE_OTHER = 7;
+
+  private JavaOnlyValues() {
+  }
+
+  static byte typeOf(@Nullable Object value) {
+    if (value == null) {
+      return TYPE_NULL;
+    } else if (value instanceof Boolean) {
+      return TYPE_BOOLEAN;
+    } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+      return TYPE_INT;
+    } else if (value instanceof Number) {
+      return TYPE_DOUBLE;
+    } else if (value instanceof String) {
+      return TYPE_STRING;
+    } else if (value instanceof ReadableMap) {
+      return TYPE_MAP;
+    } else if (value instanceof ReadableArray) {
+      return TYPE_ARRAY;
+    }
+    return TYPE_OTHER;
+  }
+
+  static boolean isPrimitive(byte type) {
+    return type == TYPE_BOOLEAN || type == TYPE_INT || type == TYPE_DOUBLE;
+  }
+
+  /**
+   * @return the double slot value of a boxed boolean or number
+   */
+  static double toNumberSlot(Object value, byte type) {
+    if (type == TYPE_BOOLEAN) {
+      return ((Boolean) value) ? 1 : 0;
+    }
+    return ((Number) value).doubleValue();
+  }
+
+  static @Nullable ReadableType toReadableType(byte type) {
+    switch (type) {
+      case TYPE_NULL:
+        return ReadableType.Null;
+      case TYPE_BOOLEAN:
+        return ReadableType.Boolean;
+      case TYPE_INT:
+      case TYPE_DOUBLE:
+        return ReadableType.Number;
+      case TYPE_STRING:
+        return ReadableType.String;
+      case TYPE_MAP:
+        return ReadableType.Map;
+      case TYPE_ARRAY:
+        return ReadableType.Array;
+      default:
+        return null;
+    }
+  }
+
+  static boolean getBoolean(byte type, double number, Object name) {
+    if (type != TYPE_BOOLEAN) {
+      throw new UnexpectedNativeTypeException("Value for " + name + " is not a boolean");
+    }
+    return number != 0;
+  }
+
+  /**
+   * Ints and doubles can be read as either, like numbers coming from JS.
+   */
+  static double getNumber(byte type, double number, Object name) {
+    if (type != TYPE_INT && type != TYPE_DOUBLE) {
+      throw new UnexpectedNativeTypeException("Value for " + name + " is not a number");
+    }
+    return number;
+  }
+
+  /**
+   * @return the object slot value of a string, map or array of the given type, or null for null
+   */
+  static @Nullable Object getObject(
+      byte type,
+      @Nullable Object object,
+      byte expectedType,
+      String expectedTypeName,
+      Object name) {
+    if (type != expectedType && type != TYPE_NULL) {
+      throw new UnexpectedNativeTypeException(
+          "Value for " + name + " is not " + expectedTypeName);
+    }
+    return object;
+  }
+
+  static boolean valuesEqual(
+      byte type,
+      double number,
+      @Nullable Object object,
+      double otherNumber,
+      @Nullable Object otherObject) {
+    if (isPrimitive(type)) {
+      return Double.doubleToLongBits(number) == Double.doubleToLongBits(otherNumber);
+    }
+    return object == null ? otherObject == null : object.equals(otherObject);
+  }
+
+  /**
+   * @return the same hash code the boxed value would have, so that maps and arrays hash like the
+   * HashMap and ArrayList they used to be backed by
+   */
+  static int valueHashCode(byte type, double number, @Nullable Object object) {
+    switch (type) {
+      case TYPE_BOOLEAN:
+        return number != 0 ? 1231 : 1237;
+      case TYPE_INT:
+        return (int) number;
+      case TYPE_DOUBLE:
+        long bits = Double.doubleToLongBits(number);
+        return (int) (bits ^ (bits >>> 32));
+      default:
+        return object == null ? 0 : object.hashCode();
+    }
+  }
+
+  /**
+   * @return the map itself if it is a JavaOnlyMap, or else a deep copy of it, since getMap() and
+   * getArray() of JavaOnly containers only return JavaOnly ones
+   */
+  static JavaOnlyMap toJavaOnlyMap(ReadableMap map) {
+    if (map instanceof JavaOnlyMap) {
+      return (JavaOnlyMap) map;
+    }
+    JavaOnlyMap copy = new JavaOnlyMap();
+    copy.merge(map);
+    return copy;
+  }
+
+  /**
+   * @return the array itself if it is a JavaOnlyArray, or else a deep copy of it
+   */
+  static JavaOnlyArray toJavaOnlyArray(ReadableArray array) {
+    if (array instanceof JavaOnlyArray) {
+      return (JavaOnlyArray) array;
+    }
+    JavaOnlyArray copy = new JavaOnlyArray();
+    for (int i = 0; i < array.size(); i++) {
+      switch (array.getType(i)) {
+        case Null:
+          copy.pushNull();
+          break;
+        case Boolean:
+          copy.pushBoolean(array.getBoolean(i));
+          break;
+        case Number:
+          copy.pushDouble(array.getDouble(i));
+          break;
+        case String:
+          copy.pushString(array.getString(i));
+          break;
+        case Map:
+          copy.pushMap(toJavaOnlyMap(array.getMap(i)));
+          break;
+        case Array:
+          copy.pushArray(toJavaOnlyArray(array.getArray(i)));
+          break;
+      }
+    }
+    return copy;
+  }
+
+  static void appendValue(
+      StringBuilder builder,
+      byte type,
+      double number,
+      @Nullable Object object) {
+    switch (type) {
+      case TYPE_BOOLEAN:
+        builder.append(number != 0);
+        break;
+      case TYPE_INT:
+        builder.append((int) number);
+        break;
+      case TYPE_DOUBLE:
+        builder.append(number);
+        break;
+      default:
+        builder.append(object);
+    }
+  }
+}
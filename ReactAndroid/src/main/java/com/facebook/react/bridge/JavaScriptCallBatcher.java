@@ -0,0 +1,280 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.bridge;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Accumulates the JS function calls and callback invocations a thread makes between
+ * {@link #beginBatch} and {@link #endBatch}, and hands them to the bridge as a single call to the
+ * BatchedCalls JS module, which runs them in order. That is one JNI transition and one JS turn for
+ * the whole batch, rather than one per call.
+ *
+ * Batches are per thread, so calls from other threads are never held up by a batch they are not
+ * part of. Within a thread, order is preserved: a call that can't be batched flushes the pending
+ * batch before it goes to the bridge on its own. A batch is also flushed when it reaches its
+ * maximum size, and when the calls switch to a different {@link ExecutorToken}.
+ *
+ * Once {@link #shutdown} has been called, calls are no longer batched and the calls still pending
+ * in batches are dropped, like any other call made while the bridge is being destroyed.
+ */
+public class JavaScriptCallBatcher {
+
+  /**
+   * Sends a call to the bridge without batching it.
+   */
+  public interface CallTarget {
+    void callFunctionNow(
+        ExecutorToken executorToken,
+        String module,
+        String method,
+        NativeArray arguments,
+        String tracingName);
+  }
+
+  /**
+   * A JS function call or callback invocation waiting in a batch.
+   */
+  /* package */ static class BatchedCall {
+    private final @Nullable String mModule;
+    private final @Nullable String mMethod;
+    private final int mCallbackID;
+    private final WritableNativeArray mArguments;
+
+    private BatchedCall(
+        @Nullable String module,
+        @Nullable String method,
+        int callbackID,
+        WritableNativeArray arguments) {
+      mModule = module;
+      mMethod = method;
+      mCallbackID = callbackID;
+      mArguments = arguments;
+    }
+
+    /* package */ boolean isCallback() {
+      return mModule == null;
+    }
+
+    /* package */ @Nullable String getModule() {
+      return mModule;
+    }
+
+    /* package */ @Nullable String getMethod() {
+      return mMethod;
+    }
+
+    /* package */ int getCallbackID() {
+      return mCallbackID;
+    }
+
+    /* package */ WritableNativeArray getArguments() {
+      return mArguments;
+    }
+  }
+
+  public static final int DEFAULT_MAX_BATCH_SIZE = 64;
+
+  private static final String BATCH_MODULE = "BatchedCalls";
+  private static final String BATCH_METHOD = "callFunctions";
+  private static final String BATCH_TRACING_NAME = "JSCall__BatchedCalls_callFunctions";
+
+  private final CallTarget mCallTarget;
+  private final int mMaxBatchSize;
+  private final ThreadLocal<Batch> mBatch = new ThreadLocal<Batch>() {
+    @Override
+    protected Batch initialValue() {
+      return new Batch();
+    }
+  };
+  private final AtomicLong mFlushedBatches = new AtomicLong();
+  private final AtomicLong mBatchedCalls = new AtomicLong();
+  private volatile boolean mShutDown;
+
+  private static class Batch {
+    private int mDepth;
+    private @Nullable ExecutorToken mExecutorToken;
+    private final ArrayList<BatchedCall> mCalls = new ArrayList<>();
+  }
+
+  public JavaScriptCallBatcher(CallTarget callTarget) {
+    this(callTarget, DEFAULT_MAX_BATCH_SIZE);
+  }
+
+  public JavaScriptCallBatcher(CallTarget callTarget, int maxBatchSize) {
+    mCallTarget = callTarget;
+    mMaxBatchSize = maxBatchSize;
+  }
+
+  /**
+   * Starts batching the calls made on the current thread. Batches nest: the calls are flushed when
+   * the outermost batch ends.
+   */
+  public void beginBatch() {
+    mBatch.get().mDepth++;
+  }
+
+  public void endBatch() {
+    Batch batch = mBatch.get();
+    if (batch.mDepth == 0) {
+      throw new IllegalStateException("endBatch called without a matching beginBatch");
+    }
+    batch.mDepth--;
+    if (batch.mDepth == 0) {
+      flush(batch);
+    }
+  }
+
+  /**
+   * Stops batching calls, e.g. as the bridge is being destroyed. The calls still pending in
+   * batches are dropped instead of being flushed when their batch ends.
+   */
+  public void shutdown() {
+    mShutDown = true;
+  }
+
+  /**
+   * @return true if the call was added to the current thread's batch, false if the caller has to
+   * send it to the bridge itself
+   */
+  public boolean addCall(
+      ExecutorToken executorToken,
+      String module,
+      String method,
+      NativeArray arguments) {
+    Batch batch = prepareBatch(executorToken, arguments);
+    if (batch == null) {
+      return false;
+    }
+    addToBatch(batch, new BatchedCall(module, method, 0, (WritableNativeArray) arguments));
+    return true;
+  }
+
+  /**
+   * @return true if the callback was added to the current thread's batch, false if the caller has
+   * to send it to the bridge itself
+   */
+  public boolean addCallback(ExecutorToken executorToken, int callbackID, NativeArray arguments) {
+    Batch batch = prepareBatch(executorToken, arguments);
+    if (batch == null) {
+      return false;
+    }
+    addToBatch(batch, new BatchedCall(null, null, callbackID, (WritableNativeArray) arguments));
+    return true;
+  }
+
+  /**
+   * @return the number of batches sent to the bridge so far
+   */
+  public long getFlushedBatchCount() {
+    return mFlushedBatches.get();
+  }
+
+  /**
+   * @return the number of calls and callbacks that were sent as part of a batch so far
+   */
+  public long getBatchedCallCount() {
+    return mBatchedCalls.get();
+  }
+
+  /**
+   * @return the number of bridge calls, and hence JNI transitions, batching has saved so far
+   */
+  public long getSavedTransitionCount() {
+    return mBatchedCalls.get() - mFlushedBatches.get();
+  }
+
+  /**
+   * @return the average number of calls per batch so far
+   */
+  public double getAverageBatchSize() {
+    long flushedBatches = mFlushedBatches.get();
+    return flushedBatches == 0 ? 0 : (double) mBatchedCalls.get() / flushedBatches;
+  }
+
+  /**
+   * Builds the arguments of the call to BatchedCalls.callFunctions: an array with the array of
+   * calls, [module, method, args] for function calls and [callbackID, args] for callbacks.
+   */
+  /* package */ NativeArray createBatchArguments(List<BatchedCall> calls) {
+    WritableNativeArray batch = new WritableNativeArray();
+    for (int i = 0; i < calls.size(); i++) {
+      BatchedCall call = calls.get(i);
+      WritableNativeArray entry = new WritableNativeArray();
+      if (call.isCallback()) {
+        entry.pushDouble(call.getCallbackID());
+      } else {
+        entry.pushString(call.getModule());
+        entry.pushString(call.getMethod());
+      }
+      entry.pushArray(call.getArguments());
+      batch.pushArray(entry);
+    }
+    WritableNativeArray arguments = new WritableNativeArray();
+    arguments.pushArray(batch);
+    return arguments;
+  }
+
+  private @Nullable Batch prepareBatch(ExecutorToken executorToken, NativeArray arguments) {
+    Batch batch = mBatch.get();
+    if (batch.mDepth == 0) {
+      return null;
+    }
+    if (mShutDown || !(arguments instanceof WritableNativeArray)) {
+      // Only writable arrays can be moved into the batch. Flush so this call stays in order.
+      flush(batch);
+      return null;
+    }
+    if (batch.mExecutorToken != null && batch.mExecutorToken != executorToken) {
+      flush(batch);
+    }
+    batch.mExecutorToken = executorToken;
+    return batch;
+  }
+
+  private void addToBatch(Batch batch, BatchedCall call) {
+    batch.mCalls.add(call);
+    if (batch.mCalls.size() >= mMaxBatchSize) {
+      flush(batch);
+    }
+  }
+
+  private void flush(Batch batch) {
+    ExecutorToken executorToken = batch.mExecutorToken;
+    batch.mExecutorToken = null;
+    if (batch.mCalls.isEmpty() || executorToken == null) {
+      return;
+    }
+    if (mShutDown) {
+      batch.mCalls.clear();
+      return;
+    }
+
+    int size = batch.mCalls.size();
+    NativeArray arguments;
+    try {
+      arguments = createBatchArguments(batch.mCalls);
+    } finally {
+      batch.mCalls.clear();
+    }
+    mFlushedBatches.incrementAndGet();
+    mBatchedCalls.addAndGet(size);
+    mCallTarget.callFunctionNow(
+        executorToken,
+        BATCH_MODULE,
+        BATCH_METHOD,
+        arguments,
+        BATCH_TRACING_NAME);
+  }
+}
@@ -13,12 +13,14 @@ import javax.annotation.Nullable;
 
 import java.lang.ref.WeakReference;
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.facebook.common.logging.FLog;
 import com.facebook.infer.annotation.Assertions;
@@ -26,13 +28,20 @@ import com.facebook.react.common.ReactConstants;
 
 /**
  * Class responsible for holding all the {@link JavaScriptModule}s registered to this
- * {@link CatalystInstance}. Uses Java proxy objects to dispatch method calls on JavaScriptModules
- * to the bridge using the corresponding module and method ids so the proper function is executed in
- * JavaScript.
+ * {@link CatalystInstance}. Dispatches method calls on JavaScriptModules to the bridge using the
+ * corresponding module and method ids so the proper function is executed in JavaScript. Uses the
+ * {@link JavaScriptModuleStub} generated for a module interface if there is one, and a Java proxy
+ * object otherwise. Stubs are only generated by the Buck build, which runs
+ * JavaScriptModuleProcessor on the libraries that depend on the bridge; Gradle builds always use
+ * proxies.
+ *
+ * Module instances are cached per {@link ExecutorToken}. Looking up a module for the most recently
+ * used token, which is the only one unless web workers are used, does not take a lock.
  */
 public class JavaScriptModuleRegistry {
-  private final WeakHashMap<ExecutorToken, HashMap<Class<? extends JavaScriptModule>, JavaScriptModule>> mModuleInstances;
+  private final WeakHashMap<ExecutorToken, ConcurrentHashMap<Class<? extends JavaScriptModule>, JavaScriptModule>> mModuleInstances;
   private final HashMap<Class<? extends JavaScriptModule>, JavaScriptModuleRegistration> mModuleRegistrations;
+  private volatile @Nullable TokenModules mLastUsedTokenModules;
 
   public JavaScriptModuleRegistry(List<JavaScriptModuleRegistration> config) {
     mModuleInstances = new WeakHashMap<>();
@@ -42,32 +51,71 @@ public class JavaScriptModuleRegistry {
     }
   }
 
-  public synchronized <T extends JavaScriptModule> T getJavaScriptModule(
+  public <T extends JavaScriptModule> T getJavaScriptModule(
     CatalystInstance instance,
     ExecutorToken executorToken,
     Class<T> moduleInterface) {
-    HashMap<Class<? extends JavaScriptModule>, JavaScriptModule> instancesForContext =
-        mModuleInstances.get(executorToken);
-    if (instancesForContext == null) {
-      instancesForContext = new HashMap<>();
-      mModuleInstances.put(executorToken, instancesForContext);
-    }
+    TokenModules lastUsed = mLastUsedTokenModules;
+    ConcurrentHashMap<Class<? extends JavaScriptModule>, JavaScriptModule> instancesForContext =
+        lastUsed != null && lastUsed.mExecutorToken.get() == executorToken ?
+            lastUsed.mModules :
+            getInstancesForContext(executorToken);
 
     JavaScriptModule module = instancesForContext.get(moduleInterface);
     if (module != null) {
       return (T) module;
     }
 
+    // mModuleRegistrations is never modified after construction, so it's safe to read here.
     JavaScriptModuleRegistration registration =
         Assertions.assertNotNull(
             mModuleRegistrations.get(moduleInterface),
             "JS module " + moduleInterface.getSimpleName() + " hasn't been registered!");
-    JavaScriptModule interfaceProxy = (JavaScriptModule) Proxy.newProxyInstance(
+    module = createModule(executorToken, instance, registration);
+    JavaScriptModule existing = instancesForContext.putIfAbsent(moduleInterface, module);
+    return (T) (existing != null ? existing : module);
+  }
+
+  private synchronized ConcurrentHashMap<Class<? extends JavaScriptModule>, JavaScriptModule>
+      getInstancesForContext(ExecutorToken executorToken) {
+    ConcurrentHashMap<Class<? extends JavaScriptModule>, JavaScriptModule> instancesForContext =
+        mModuleInstances.get(executorToken);
+    if (instancesForContext == null) {
+      instancesForContext = new ConcurrentHashMap<>();
+      mModuleInstances.put(executorToken, instancesForContext);
+    }
+    mLastUsedTokenModules = new TokenModules(executorToken, instancesForContext);
+    return instancesForContext;
+  }
+
+  private static JavaScriptModule createModule(
+      ExecutorToken executorToken,
+      CatalystInstance instance,
+      JavaScriptModuleRegistration registration) {
+    Class<? extends JavaScriptModule> moduleInterface = registration.getModuleInterface();
+    try {
+      Class<?> stubClass =
+          Class.forName(moduleInterface.getName() + JavaScriptModuleStub.STUB_SUFFIX);
+      return (JavaScriptModule) stubClass
+          .getConstructor(
+              ExecutorToken.class,
+              CatalystInstance.class,
+              JavaScriptModuleRegistration.class)
+          .newInstance(executorToken, instance, registration);
+    } catch (ClassNotFoundException e) {
+      // The module was not compiled with the annotation processor, fall back to a proxy.
+    } catch (NoSuchMethodException |
+        InstantiationException |
+        IllegalAccessException |
+        InvocationTargetException e) {
+      throw new RuntimeException(
+          "Unable to instantiate generated stub for " + moduleInterface.getName(),
+          e);
+    }
+    return (JavaScriptModule) Proxy.newProxyInstance(
         moduleInterface.getClassLoader(),
         new Class[]{moduleInterface},
         new JavaScriptModuleInvocationHandler(executorToken, instance, registration));
-    instancesForContext.put(moduleInterface, interfaceProxy);
-    return (T) interfaceProxy;
   }
 
   public static class Builder {
@@ -84,6 +132,18 @@ public class JavaScriptModuleRegistry {
     }
   }
 
+  private static class TokenModules {
+    private final WeakReference<ExecutorToken> mExecutorToken;
+    private final ConcurrentHashMap<Class<? extends JavaScriptModule>, JavaScriptModule> mModules;
+
+    private TokenModules(
+        ExecutorToken executorToken,
+        ConcurrentHashMap<Class<? extends JavaScriptModule>, JavaScriptModule> modules) {
+      mExecutorToken = new WeakReference<>(executorToken);
+      mModules = modules;
+    }
+  }
+
   private static class JavaScriptModuleInvocationHandler implements InvocationHandler {
 
     private final WeakReference<ExecutorToken> mExecutorToken;
@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.bridge;
+
+import javax.annotation.Nullable;
+
+import java.lang.ref.WeakReference;
+
+import com.facebook.common.logging.FLog;
+import com.facebook.proguard.annotations.DoNotStrip;
+import com.facebook.react.common.ReactConstants;
+
+/**
+ * Base class of the {@link JavaScriptModule} implementations generated by
+ * com.facebook.react.processing.JavaScriptModuleProcessor, named
+ * {@code <interface name>$$JSModuleStub}. The generated methods write their arguments straight into
+ * a {@link WritableNativeArray} and call {@link #callFunction}, instead of going through a
+ * {@link java.lang.reflect.Proxy} that boxes every argument and converts it by reflection.
+ */
+@DoNotStrip
+public abstract class JavaScriptModuleStub {
+
+  /* package */ static final String STUB_SUFFIX = "$$JSModuleStub";
+
+  private final WeakReference<ExecutorToken> mExecutorToken;
+  private final CatalystInstance mCatalystInstance;
+  private final String mModuleName;
+
+  protected JavaScriptModuleStub(
+      ExecutorToken executorToken,
+      CatalystInstance catalystInstance,
+      JavaScriptModuleRegistration moduleRegistration) {
+    mExecutorToken = new WeakReference<>(executorToken);
+    mCatalystInstance = catalystInstance;
+    mModuleName = moduleRegistration.getName();
+  }
+
+  protected final void callFunction(String method, String tracingName, NativeArray arguments) {
+    ExecutorToken executorToken = mExecutorToken.get();
+    if (executorToken == null) {
+      FLog.w(ReactConstants.TAG, "Dropping JS call, ExecutorToken went away...");
+      return;
+    }
+    mCatalystInstance.callFunction(executorToken, mModuleName, method, arguments, tracingName);
+  }
+
+  protected static void pushString(WritableNativeArray arguments, @Nullable String value) {
+    if (value == null) {
+      arguments.pushNull();
+    } else {
+      arguments.pushString(value);
+    }
+  }
+
+  protected static void pushMap(WritableNativeArray arguments, @Nullable WritableMap value) {
+    if (value == null) {
+      arguments.pushNull();
+    } else {
+      arguments.pushMap(value);
+    }
+  }
+
+  protected static void pushArray(WritableNativeArray arguments, @Nullable WritableArray value) {
+    if (value == null) {
+      arguments.pushNull();
+    } else {
+      arguments.pushArray(value);
+    }
+  }
+
+  /**
+   * For arguments whose type is only known at runtime, converted like
+   * {@link Arguments#fromJavaArgs}.
+   */
+  protected static void pushObject(WritableNativeArray arguments, @Nullable Object value) {
+    Arguments.pushJavaArg(arguments, value);
+  }
+}
@@ -15,15 +15,21 @@ import java.io.Writer;
 import java.util.ArrayDeque;
 import java.util.Deque;
 
+import javax.annotation.Nullable;
+
 /**
- * Simple Json generator that does no validation.
+ * Simple Json generator that does no validation. Given a {@link Utf8ByteBufferWriter} it writes
+ * numbers without going through Strings.
  */
 public class JsonWriter implements Closeable {
   private final Writer mWriter;
+  private final @Nullable Utf8ByteBufferWriter mByteBufferWriter;
   private final Deque<Scope> mScopes;
 
   public JsonWriter(Writer writer) {
     mWriter = writer;
+    mByteBufferWriter =
+        writer instanceof Utf8ByteBufferWriter ? (Utf8ByteBufferWriter) writer : null;
     mScopes = new ArrayDeque<>();
   }
 
@@ -92,7 +98,11 @@ public class JsonWriter implements Closeable {
 
   public JsonWriter value(long value) throws IOException {
     beforeValue();
-    mWriter.write(Long.toString(value));
+    if (mByteBufferWriter != null) {
+      mByteBufferWriter.writeLong(value);
+    } else {
+      mWriter.write(Long.toString(value));
+    }
     return this;
   }
 
@@ -100,6 +110,9 @@ public class JsonWriter implements Closeable {
     if (value == null) {
       return nullValue();
     }
+    if (value instanceof Integer || value instanceof Long) {
+      return value(value.longValue());
+    }
     beforeValue();
     mWriter.append(value.toString());
     return this;
@@ -157,8 +170,17 @@ public class JsonWriter implements Closeable {
 
   private void string(String string) throws IOException {
     mWriter.write('"');
+    // Runs of characters that need no escaping are written in one go
+    int runStart = 0;
     for (int i = 0, length = string.length(); i < length; i++) {
       char c = string.charAt(i);
+      if (c > 0x1F && c != '"' && c != '\\' && c != '\u2028' && c != '\u2029') {
+        continue;
+      }
+      if (i > runStart) {
+        mWriter.write(string, runStart, i - runStart);
+      }
+      runStart = i + 1;
       switch (c) {
         case '\t':
           mWriter.write("\\t");
@@ -192,15 +214,14 @@ public class JsonWriter implements Closeable {
           break;
 
         default:
-          if (c <= 0x1F) {
-            mWriter.write(String.format("\\u%04x", (int) c));
-          } else {
-            mWriter.write(c);
-          }
+          mWriter.write(String.format("\\u%04x", (int) c));
           break;
       }
 
     }
+    if (string.length() > runStart) {
+      mWriter.write(string, runStart, string.length() - runStart);
+    }
     mWriter.write('"');
   }
 
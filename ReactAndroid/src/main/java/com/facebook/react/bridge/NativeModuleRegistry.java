@@ -13,9 +13,12 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import javax.annotation.Nullable;
+
 import com.facebook.react.common.MapBuilder;
 import com.facebook.infer.annotation.Assertions;
 import com.facebook.systrace.Systrace;
@@ -62,11 +65,53 @@ public class NativeModuleRegistry {
     definition.call(catalystInstance, executorToken, methodId, parameters);
   }
 
+  /**
+   * @return the queue the module asked to be invoked on, see {@link CustomQueueModule}, or null
+   * for the default native modules queue
+   */
+  /* package */ @Nullable String getModuleQueueName(int moduleId) {
+    ModuleDefinition definition = mModuleTable.get(moduleId);
+    return definition == null ? null : definition.queueName;
+  }
+
+  /**
+   * @return everything the module descriptions are written from, so that two registries with equal
+   * keys write the same descriptions, or null if some module writes its constants itself, in which
+   * case they can't be compared
+   */
+  /* package */ @Nullable ModuleDescriptionsKey getModuleDescriptionsKey() {
+    for (ModuleDefinition moduleDef : mModuleTable) {
+      if (!(moduleDef.target instanceof BaseJavaModule)) {
+        return null;
+      }
+    }
+    ModuleDescriptionsKey key = new ModuleDescriptionsKey();
+    for (ModuleDefinition moduleDef : mModuleTable) {
+      key.mModules.add(moduleDef.name);
+      key.mModules.add(moduleDef.target.getClass());
+      key.mModules.add(moduleDef.target.supportsWebWorkers());
+      key.mConstants.add(
+          ModuleDescriptionsKey.copyConstants(
+              ((BaseJavaModule) moduleDef.target).getConstants()));
+    }
+    return key;
+  }
+
   /* package */ void writeModuleDescriptions(JsonWriter writer) throws IOException {
+    writeModuleDescriptions(writer, null);
+  }
+
+  /**
+   * @param key if not null, the constants are taken from it rather than asked from the modules again
+   */
+  /* package */ void writeModuleDescriptions(
+      JsonWriter writer,
+      @Nullable ModuleDescriptionsKey key) throws IOException {
     Systrace.beginSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "CreateJSON");
     try {
       writer.beginObject();
-      for (ModuleDefinition moduleDef : mModuleTable) {
+      for (int moduleIdx = 0; moduleIdx < mModuleTable.size(); moduleIdx++) {
+        ModuleDefinition moduleDef = mModuleTable.get(moduleIdx);
         writer.name(moduleDef.name).beginObject();
         writer.name("moduleID").value(moduleDef.id);
         writer.name("supportsWebWorkers").value(moduleDef.target.supportsWebWorkers());
@@ -79,7 +124,11 @@ public class NativeModuleRegistry {
           writer.endObject();
         }
         writer.endObject();
-        moduleDef.target.writeConstantsField(writer, "constants");
+        if (key != null) {
+          BaseJavaModule.writeConstants(writer, "constants", key.mConstants.get(moduleIdx));
+        } else {
+          moduleDef.target.writeConstantsField(writer, "constants");
+        }
         writer.endObject();
       }
       writer.endObject();
@@ -156,16 +205,80 @@ public class NativeModuleRegistry {
     return mModuleInstances.values();
   }
 
+  /**
+   * Everything the modules config is written from, compared by value. Constants hold the values
+   * {@link JsonWriterHelper} can write: maps, lists (JS arrays), strings, numbers, booleans and
+   * nulls, which all compare by value. Java arrays are not compared by value, as they can't be
+   * written to the config in the first place.
+   */
+  /* package */ static class ModuleDescriptionsKey {
+    // The name, class and web worker support of each module, in module table order
+    private final List<Object> mModules = new ArrayList<>();
+    // Copies, as a module may return the same map every time and change it in between
+    private final List<Map<String, Object>> mConstants = new ArrayList<>();
+
+    private static @Nullable Map<String, Object> copyConstants(
+        @Nullable Map<String, Object> constants) {
+      if (constants == null) {
+        return null;
+      }
+      Map<String, Object> copy = new LinkedHashMap<>();
+      for (Map.Entry<String, Object> entry : constants.entrySet()) {
+        copy.put(entry.getKey(), copyConstantsValue(entry.getValue()));
+      }
+      return copy;
+    }
+
+    private static Object copyConstantsValue(Object value) {
+      if (value instanceof Map) {
+        Map<Object, Object> copy = new LinkedHashMap<>();
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+          copy.put(entry.getKey(), copyConstantsValue(entry.getValue()));
+        }
+        return copy;
+      } else if (value instanceof List) {
+        List<Object> copy = new ArrayList<>();
+        for (Object item : (List<?>) value) {
+          copy.add(copyConstantsValue(item));
+        }
+        return copy;
+      }
+      // Strings, numbers and booleans can't change
+      return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof ModuleDescriptionsKey)) {
+        return false;
+      }
+      ModuleDescriptionsKey other = (ModuleDescriptionsKey) o;
+      return mModules.equals(other.mModules) && mConstants.equals(other.mConstants);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * mModules.hashCode() + mConstants.hashCode();
+    }
+  }
+
   private static class ModuleDefinition {
     public final int id;
     public final String name;
     public final NativeModule target;
+    public final @Nullable String queueName;
     public final ArrayList<MethodRegistration> methods;
 
     public ModuleDefinition(int id, String name, NativeModule target) {
       this.id = id;
       this.name = name;
       this.target = target;
+      this.queueName = target instanceof CustomQueueModule ?
+          ((CustomQueueModule) target).getQueueName() :
+          null;
       this.methods = new ArrayList<MethodRegistration>();
 
       for (Map.Entry<String, NativeModule.NativeMethod> entry : target.getMethods().entrySet()) {
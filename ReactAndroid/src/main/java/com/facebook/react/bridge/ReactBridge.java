@@ -11,6 +11,8 @@ package com.facebook.react.bridge;
 
 import javax.annotation.Nullable;
 
+import java.nio.ByteBuffer;
+
 import android.content.res.AssetManager;
 
 import com.facebook.react.bridge.queue.MessageQueueThread;
@@ -91,6 +93,16 @@ public class ReactBridge extends Countable {
   public native void callFunction(ExecutorToken executorToken, String module, String method, NativeArray arguments, String tracingName);
   public native void invokeCallback(ExecutorToken executorToken, int callbackID, NativeArray arguments);
   public native void setGlobalVariable(String propertyName, String jsonEncodedArgument);
+  /**
+   * Like {@link #setGlobalVariable}, with the JSON encoded as UTF-8 in the first {@code length}
+   * bytes of a direct buffer followed by a zero byte, e.g. one from
+   * {@link Utf8ByteBufferWriter#getBuffer}. The JS thread reads the JSON straight from the
+   * buffer, so it must not change afterwards.
+   */
+  public native void setGlobalVariableUTF8(
+      String propertyName,
+      ByteBuffer jsonEncodedArgument,
+      int length);
   public native boolean supportsProfiling();
   public native void startProfiler(String title);
   public native void stopProfiler(String title, String filename);
@@ -223,6 +223,13 @@ public class ReactContext extends ContextWrapper {
     Assertions.assertNotNull(mUiMessageQueueThread).runOnQueue(runnable);
   }
 
+  /**
+   * @see MessageQueueThread#runOnQueueCoalesced
+   */
+  public boolean runOnUiQueueThreadCoalesced(Object token, Runnable runnable) {
+    return Assertions.assertNotNull(mUiMessageQueueThread).runOnQueueCoalesced(token, runnable);
+  }
+
   public void assertOnNativeModulesQueueThread() {
     Assertions.assertNotNull(mNativeModulesMessageQueueThread).assertIsOnThread();
   }
@@ -235,6 +242,14 @@ public class ReactContext extends ContextWrapper {
     Assertions.assertNotNull(mNativeModulesMessageQueueThread).runOnQueue(runnable);
   }
 
+  /**
+   * @see MessageQueueThread#runOnQueueCoalesced
+   */
+  public boolean runOnNativeModulesQueueThreadCoalesced(Object token, Runnable runnable) {
+    return Assertions.assertNotNull(mNativeModulesMessageQueueThread)
+        .runOnQueueCoalesced(token, runnable);
+  }
+
   public void assertOnJSQueueThread() {
     Assertions.assertNotNull(mJSMessageQueueThread).assertIsOnThread();
   }
@@ -247,6 +262,13 @@ public class ReactContext extends ContextWrapper {
     Assertions.assertNotNull(mJSMessageQueueThread).runOnQueue(runnable);
   }
 
+  /**
+   * @see MessageQueueThread#runOnQueueCoalesced
+   */
+  public boolean runOnJSQueueThreadCoalesced(Object token, Runnable runnable) {
+    return Assertions.assertNotNull(mJSMessageQueueThread).runOnQueueCoalesced(token, runnable);
+  }
+
   /**
    * Passes the given exception to the current
    * {@link com.facebook.react.bridge.NativeModuleCallExceptionHandler} if one exists, rethrowing
@@ -17,6 +17,10 @@ public class ReactMarkerConstants {
       "BUILD_NATIVE_MODULE_REGISTRY_END";
   public static final String BUILD_JS_MODULE_CONFIG_START = "BUILD_JS_MODULE_CONFIG_START";
   public static final String BUILD_JS_MODULE_CONFIG_END = "BUILD_JS_MODULE_CONFIG_END";
+  public static final String BUILD_NATIVE_MODULES_CONFIG_START =
+      "BUILD_NATIVE_MODULES_CONFIG_START";
+  public static final String BUILD_NATIVE_MODULES_CONFIG_END = "BUILD_NATIVE_MODULES_CONFIG_END";
+  public static final String NATIVE_MODULES_CONFIG_CACHE_HIT = "NATIVE_MODULES_CONFIG_CACHE_HIT";
   public static final String CREATE_CATALYST_INSTANCE_START = "CREATE_CATALYST_INSTANCE_START";
   public static final String CREATE_CATALYST_INSTANCE_END = "CREATE_CATALYST_INSTANCE_END";
   public static final String RUN_JS_BUNDLE_START = "RUN_JS_BUNDLE_START";
@@ -20,7 +20,10 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
  * In order to support remote debugging, both the method args and return type must be serializable
  * to JSON: this means that we only support the same args as {@link ReactMethod}, and the hook can
  * only be void or return JSON values (e.g. bool, number, String, {@link WritableMap}, or
- * {@link WritableArray}).
+ * {@link WritableArray}). Maps and arrays have to be created by {@link Arguments#createMap} and
+ * {@link Arguments#createArray}. Primitive return values are passed back to JS without being boxed.
+ *
+ * Calls are traced, and calls that block the JS thread for 5ms or more are logged as warnings.
  *
  * In the vast majority of cases, you should use {@link ReactMethod} which allows your native module
  * methods to be called asynchronously: calling methods synchronously can have strong performance
@@ -0,0 +1,208 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.bridge;
+
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * Writer that encodes what is written to it as UTF-8 straight into a direct {@link ByteBuffer},
+ * which grows as needed and can be handed to native code without copying, see
+ * {@link ReactBridge#setGlobalVariableUTF8}. Used with {@link JsonWriter} it avoids the char
+ * buffers and the String that a {@link java.io.StringWriter} builds up. Call {@link #reset} to
+ * reuse the buffer for the next document.
+ *
+ * Not thread safe.
+ */
+public class Utf8ByteBufferWriter extends Writer {
+
+  private static final int DEFAULT_INITIAL_CAPACITY = 16 * 1024;
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private ByteBuffer mBuffer;
+  // Pending high surrogate of a pair split across two writes
+  private char mHighSurrogate;
+
+  public Utf8ByteBufferWriter() {
+    this(DEFAULT_INITIAL_CAPACITY);
+  }
+
+  public Utf8ByteBufferWriter(int initialCapacity) {
+    mBuffer = ByteBuffer.allocateDirect(initialCapacity);
+  }
+
+  @Override
+  public void write(int c) {
+    writeChar((char) c);
+  }
+
+  @Override
+  public void write(char[] chars, int offset, int count) {
+    ensureCapacity(count);
+    int end = offset + count;
+    int i = offset;
+    // ASCII fast path
+    while (i < end && mHighSurrogate == 0) {
+      char c = chars[i];
+      if (c >= 0x80) {
+        break;
+      }
+      mBuffer.put((byte) c);
+      i++;
+    }
+    for (; i < end; i++) {
+      writeChar(chars[i]);
+    }
+  }
+
+  @Override
+  public void write(String string, int offset, int count) {
+    ensureCapacity(count);
+    int end = offset + count;
+    int i = offset;
+    // ASCII fast path
+    while (i < end && mHighSurrogate == 0) {
+      char c = string.charAt(i);
+      if (c >= 0x80) {
+        break;
+      }
+      mBuffer.put((byte) c);
+      i++;
+    }
+    for (; i < end; i++) {
+      writeChar(string.charAt(i));
+    }
+  }
+
+  @Override
+  public void write(String string) {
+    write(string, 0, string.length());
+  }
+
+  /**
+   * Writes the decimal digits of a number, without going through {@link Long#toString}.
+   */
+  public void writeLong(long value) {
+    if (value == Long.MIN_VALUE) {
+      write(Long.toString(value));
+      return;
+    }
+    ensureCapacity(20);
+    if (value < 0) {
+      mBuffer.put((byte) '-');
+      value = -value;
+    }
+    int start = mBuffer.position();
+    do {
+      mBuffer.put((byte) ('0' + (value % 10)));
+      value /= 10;
+    } while (value != 0);
+    // The digits went in least significant first
+    for (int i = start, j = mBuffer.position() - 1; i < j; i++, j--) {
+      byte digit = mBuffer.get(i);
+      mBuffer.put(i, mBuffer.get(j));
+      mBuffer.put(j, digit);
+    }
+  }
+
+  /**
+   * @return the number of bytes written since the last reset
+   */
+  public int size() {
+    return mBuffer.position();
+  }
+
+  /**
+   * @return a view of the bytes written since the last reset, from position zero up to its limit.
+   * The byte right after the limit is zero, so native code can read the content as a C string in
+   * place. It shares the buffer's content, so it is only valid until the next write or reset.
+   */
+  public ByteBuffer getBuffer() {
+    ensureCapacity(1);
+    mBuffer.put(mBuffer.position(), (byte) 0);
+    ByteBuffer buffer = mBuffer.duplicate();
+    buffer.flip();
+    return buffer;
+  }
+
+  /**
+   * Discards what was written, keeping the buffer for reuse.
+   */
+  public void reset() {
+    mBuffer.clear();
+    mHighSurrogate = 0;
+  }
+
+  @Override
+  public void flush() {
+  }
+
+  @Override
+  public void close() {
+  }
+
+  /**
+   * Decodes what was written, mostly useful for debugging and tests.
+   */
+  @Override
+  public String toString() {
+    return UTF_8.decode(getBuffer()).toString();
+  }
+
+  private void writeChar(char c) {
+    if (mHighSurrogate != 0) {
+      char high = mHighSurrogate;
+      mHighSurrogate = 0;
+      if (Character.isLowSurrogate(c)) {
+        writeCodePoint(Character.toCodePoint(high, c));
+        return;
+      }
+      writeCodePoint('?');
+    }
+    if (Character.isHighSurrogate(c)) {
+      mHighSurrogate = c;
+    } else if (Character.isLowSurrogate(c)) {
+      writeCodePoint('?');
+    } else {
+      writeCodePoint(c);
+    }
+  }
+
+  private void writeCodePoint(int codePoint) {
+    ensureCapacity(4);
+    if (codePoint < 0x80) {
+      mBuffer.put((byte) codePoint);
+    } else if (codePoint < 0x800) {
+      mBuffer.put((byte) (0xc0 | (codePoint >> 6)));
+      mBuffer.put((byte) (0x80 | (codePoint & 0x3f)));
+    } else if (codePoint < 0x10000) {
+      mBuffer.put((byte) (0xe0 | (codePoint >> 12)));
+      mBuffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3f)));
+      mBuffer.put((byte) (0x80 | (codePoint & 0x3f)));
+    } else {
+      mBuffer.put((byte) (0xf0 | (codePoint >> 18)));
+      mBuffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3f)));
+      mBuffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3f)));
+      mBuffer.put((byte) (0x80 | (codePoint & 0x3f)));
+    }
+  }
+
+  private void ensureCapacity(int additionalBytes) {
+    if (mBuffer.remaining() >= additionalBytes) {
+      return;
+    }
+    int capacity = Math.max(mBuffer.capacity() * 2, mBuffer.position() + additionalBytes);
+    ByteBuffer buffer = ByteBuffer.allocateDirect(capacity);
+    mBuffer.flip();
+    buffer.put(mBuffer);
+    mBuffer = buffer;
+  }
+}
@@ -26,6 +26,17 @@ public interface MessageQueueThread {
   @DoNotStrip
   void runOnQueue(Runnable runnable);
 
+  /**
+   * Runs the given Runnable on this Thread, unless a Runnable submitted with the same token is
+   * still waiting to run, in which case that one will do and nothing is enqueued. A Runnable stops
+   * waiting as soon as it starts running, so a submission made while it runs is enqueued again.
+   * Use this for idempotent tasks that may be requested many times before they get to run.
+   *
+   * @return whether the Runnable was enqueued
+   */
+  @DoNotStrip
+  boolean runOnQueueCoalesced(Object token, Runnable runnable);
+
   /**
    * Runs the given Callable on this Thread. It will be submitted to the end of the event queue even
    * if it is being submitted from the same queue Thread.
@@ -12,21 +12,103 @@ package com.facebook.react.bridge.queue;
 import android.os.Handler;
 import android.os.Looper;
 import android.os.Message;
+import android.os.MessageQueue;
+import android.os.SystemClock;
 
 /**
- * Handler that can catch and dispatch Exceptions to an Exception handler.
+ * Handler that catches exceptions thrown by the tasks it runs and hands them to the
+ * {@link QueueThreadExceptionHandler}. It also keeps count of the tasks waiting to run, and times
+ * them while a {@link MessageQueueThreadPerfMonitor.PerfStatsListener} is set.
  */
 public class MessageQueueThreadHandler extends Handler {
 
   private final QueueThreadExceptionHandler mExceptionHandler;
+  private final MessageQueueThreadPerfRecorder mPerfRecorder;
+  private final MessageQueue.IdleHandler mQueueDepthSyncer = new MessageQueue.IdleHandler() {
+    @Override
+    public boolean queueIdle() {
+      syncQueueDepth();
+      return true;
+    }
+  };
+  // Only accessed from the looper thread
+  private boolean mQueueDepthSyncerAdded;
 
   public MessageQueueThreadHandler(Looper looper, QueueThreadExceptionHandler exceptionHandler) {
+    this(looper, exceptionHandler, looper.getThread().getName());
+  }
+
+  /* package */ MessageQueueThreadHandler(
+      Looper looper,
+      QueueThreadExceptionHandler exceptionHandler,
+      String queueName) {
     super(looper);
     mExceptionHandler = exceptionHandler;
+    mPerfRecorder = new MessageQueueThreadPerfRecorder(queueName);
+  }
+
+  /**
+   * @return the number of tasks waiting to run
+   */
+  public int getQueueDepth() {
+    return mPerfRecorder.getQueueDepth();
+  }
+
+  /**
+   * Handler doesn't let subclasses see the tasks that are removed from the queue without running,
+   * e.g. with removeCallbacks or when the looper quits. So that they aren't counted as waiting
+   * forever, the count is reset whenever the queue has no task of this handler left. This is done
+   * when the looper goes idle, and may be done on quit.
+   */
+  /* package */ void syncQueueDepth() {
+    int queueDepth = mPerfRecorder.getQueueDepth();
+    // Tasks are posted Runnables, which are messages with a what of 0
+    if (queueDepth != 0 && !hasMessages(0)) {
+      // Unless a task was counted meanwhile, in which case it is in the queue
+      mPerfRecorder.resetQueueDepth(queueDepth);
+    }
+  }
+
+  @Override
+  public boolean sendMessageAtTime(Message msg, long uptimeMillis) {
+    boolean enqueued = super.sendMessageAtTime(msg, uptimeMillis);
+    if (enqueued) {
+      // Counted once enqueued, so that syncQueueDepth can't drop a task it hasn't seen in the
+      // queue. The task may already have run, which the count tolerates.
+      mPerfRecorder.onTaskEnqueued();
+    }
+    return enqueued;
   }
 
   @Override
   public void dispatchMessage(Message msg) {
+    if (!mQueueDepthSyncerAdded) {
+      // Looper#getQueue needs API 23, so this has to be done from the looper thread
+      Looper.myQueue().addIdleHandler(mQueueDepthSyncer);
+      mQueueDepthSyncerAdded = true;
+    }
+    int queueDepth = mPerfRecorder.onTaskDequeued() + 1;
+    MessageQueueThreadPerfMonitor.PerfStatsListener listener =
+        MessageQueueThreadPerfMonitor.getPerfStatsListener();
+    if (listener == null) {
+      dispatchMessageSafely(msg);
+      return;
+    }
+
+    long startMs = SystemClock.uptimeMillis();
+    long latencyMs = startMs - msg.getWhen();
+    long startNs = System.nanoTime();
+    dispatchMessageSafely(msg);
+    long executionNs = System.nanoTime() - startNs;
+    mPerfRecorder.recordTask(
+        startMs + executionNs / 1000000,
+        latencyMs,
+        executionNs,
+        queueDepth,
+        listener);
+  }
+
+  private void dispatchMessageSafely(Message msg) {
     try {
       super.dispatchMessage(msg);
     } catch (Exception e) {
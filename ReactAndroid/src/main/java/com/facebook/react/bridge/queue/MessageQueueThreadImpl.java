@@ -9,7 +9,10 @@
 
 package com.facebook.react.bridge.queue;
 
+import java.util.Collections;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
 
 import android.os.Looper;
@@ -33,6 +36,8 @@ public class MessageQueueThreadImpl implements MessageQueueThread {
   private final Looper mLooper;
   private final MessageQueueThreadHandler mHandler;
   private final String mAssertionErrorMessage;
+  private final Set<Object> mPendingCoalescedTokens =
+      Collections.newSetFromMap(new ConcurrentHashMap<Object, Boolean>());
   private volatile boolean mIsFinished = false;
 
   private MessageQueueThreadImpl(
@@ -41,7 +46,7 @@ public class MessageQueueThreadImpl implements MessageQueueThread {
       QueueThreadExceptionHandler exceptionHandler) {
     mName = name;
     mLooper = looper;
-    mHandler = new MessageQueueThreadHandler(looper, exceptionHandler);
+    mHandler = new MessageQueueThreadHandler(looper, exceptionHandler, name);
     mAssertionErrorMessage = "Expected to be called from the '" + getName() + "' thread!";
   }
 
@@ -52,16 +57,31 @@ public class MessageQueueThreadImpl implements MessageQueueThread {
   @DoNotStrip
   @Override
   public void runOnQueue(Runnable runnable) {
-    if (mIsFinished) {
-      FLog.w(
-          ReactConstants.TAG,
-          "Tried to enqueue runnable on already finished thread: '" + getName() +
-              "... dropping Runnable.");
-    }
-    mHandler.post(runnable);
+    postOnQueue(runnable);
   }
 
 
+  @DoNotStrip
+  @Override
+  public boolean runOnQueueCoalesced(final Object token, final Runnable runnable) {
+    if (!mPendingCoalescedTokens.add(token)) {
+      return false;
+    }
+    boolean enqueued = postOnQueue(
+        new Runnable() {
+          @Override
+          public void run() {
+            mPendingCoalescedTokens.remove(token);
+            runnable.run();
+          }
+        });
+    if (!enqueued) {
+      // Nothing is waiting to run for this token, so later submissions mustn't be coalesced
+      mPendingCoalescedTokens.remove(token);
+    }
+    return enqueued;
+  }
+
   @DoNotStrip
   @Override
   public <T> Future<T> callOnQueue(final Callable<T> callable) {
@@ -80,6 +100,19 @@ public class MessageQueueThreadImpl implements MessageQueueThread {
     return future;
   }
 
+  /**
+   * @return whether the Runnable was enqueued, which it isn't once the Looper has quit
+   */
+  private boolean postOnQueue(Runnable runnable) {
+    if (mIsFinished) {
+      FLog.w(
+          ReactConstants.TAG,
+          "Tried to enqueue runnable on already finished thread: '" + getName() +
+              "... dropping Runnable.");
+    }
+    return mHandler.post(runnable);
+  }
+
   /**
    * @return whether the current Thread is also the Thread associated with this MessageQueueThread.
    */
@@ -108,6 +141,9 @@ public class MessageQueueThreadImpl implements MessageQueueThread {
   public void quitSynchronous() {
     mIsFinished = true;
     mLooper.quit();
+    // The tasks still in the queue were dropped
+    mHandler.syncQueueDepth();
+    mPendingCoalescedTokens.clear();
     if (mLooper.getThread() != Thread.currentThread()) {
       try {
         mLooper.getThread().join();
@@ -121,6 +157,14 @@ public class MessageQueueThreadImpl implements MessageQueueThread {
     return mLooper;
   }
 
+  /**
+   * @return the number of tasks waiting to run on this queue, see
+   * {@link MessageQueueThreadPerfMonitor} for more detailed stats
+   */
+  public int getQueueDepth() {
+    return mHandler.getQueueDepth();
+  }
+
   public String getName() {
     return mName;
   }
@@ -132,7 +176,11 @@ public class MessageQueueThreadImpl implements MessageQueueThread {
       case MAIN_UI:
         return createForMainThread(spec.getName(), exceptionHandler);
       case NEW_BACKGROUND:
-        return startNewBackgroundThread(spec.getName(), spec.getStackSize(), exceptionHandler);
+        return startNewBackgroundThread(
+            spec.getName(),
+            spec.getStackSize(),
+            spec.getThreadPriority(),
+            exceptionHandler);
       default:
         throw new RuntimeException("Unknown thread type: " + spec.getThreadType());
     }
@@ -173,14 +221,27 @@ public class MessageQueueThreadImpl implements MessageQueueThread {
         exceptionHandler);
   }
 
+  public static MessageQueueThreadImpl startNewBackgroundThread(
+      final String name,
+      long stackSize,
+      QueueThreadExceptionHandler exceptionHandler) {
+    return startNewBackgroundThread(
+        name,
+        stackSize,
+        MessageQueueThreadSpec.INHERIT_THREAD_PRIORITY,
+        exceptionHandler);
+  }
+
   /**
    * Creates and starts a new MessageQueueThreadImpl encapsulating a new Thread with a new Looper
-   * running on it. Give it a name for easier debugging and optionally a suggested stack size.
-   * When this method exits, the new MessageQueueThreadImpl is ready to receive events.
+   * running on it. Give it a name for easier debugging and optionally a suggested stack size and a
+   * thread priority. When this method exits, the new MessageQueueThreadImpl is ready to receive
+   * events.
    */
   public static MessageQueueThreadImpl startNewBackgroundThread(
       final String name,
       long stackSize,
+      final int threadPriority,
       QueueThreadExceptionHandler exceptionHandler) {
     final SimpleSettableFuture<Looper> looperFuture = new SimpleSettableFuture<>();
     final SimpleSettableFuture<MessageQueueThread> mqtFuture = new SimpleSettableFuture<>();
@@ -188,6 +249,9 @@ public class MessageQueueThreadImpl implements MessageQueueThread {
         new Runnable() {
           @Override
           public void run() {
+            if (threadPriority != MessageQueueThreadSpec.INHERIT_THREAD_PRIORITY) {
+              Process.setThreadPriority(threadPriority);
+            }
             Looper.prepare();
 
             looperFuture.set(Looper.myLooper());
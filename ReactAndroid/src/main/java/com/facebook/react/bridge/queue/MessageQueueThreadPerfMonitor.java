@@ -0,0 +1,40 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.bridge.queue;
+
+import javax.annotation.Nullable;
+
+/**
+ * Static class that allows the queueing and execution times of the {@link MessageQueueThread}s to
+ * be reported to a configurable listener.
+ *
+ * While no listener is set, the queue threads only keep count of their pending tasks. Once one is
+ * set, each queue thread also times the tasks it runs, and every {@link #REPORT_INTERVAL_MS} it
+ * sends the listener a {@link MessageQueueThreadPerfStats} for that interval, from the queue
+ * thread itself. A queue that runs no tasks doesn't report.
+ */
+public class MessageQueueThreadPerfMonitor {
+
+  public static final long REPORT_INTERVAL_MS = 5000;
+
+  public interface PerfStatsListener {
+    void onPerfStats(MessageQueueThreadPerfStats stats);
+  }
+
+  private static volatile @Nullable PerfStatsListener sPerfStatsListener = null;
+
+  public static void setPerfStatsListener(@Nullable PerfStatsListener listener) {
+    sPerfStatsListener = listener;
+  }
+
+  /* package */ static @Nullable PerfStatsListener getPerfStatsListener() {
+    return sPerfStatsListener;
+  }
+}
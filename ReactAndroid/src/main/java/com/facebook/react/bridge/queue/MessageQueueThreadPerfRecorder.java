@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.bridge.queue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps the numbers behind {@link MessageQueueThreadPerfStats} for one queue. The queue depth is
+ * updated from any thread, everything else only from the queue thread, so recording a task costs
+ * no more than a few array increments.
+ */
+/* package */ class MessageQueueThreadPerfRecorder {
+
+  private final String mQueueName;
+  private final AtomicInteger mQueueDepth = new AtomicInteger();
+  private final int[] mLatencyHistogram =
+      new int[MessageQueueThreadPerfStats.HISTOGRAM_BUCKET_COUNT];
+  private final int[] mExecutionHistogram =
+      new int[MessageQueueThreadPerfStats.HISTOGRAM_BUCKET_COUNT];
+
+  private long mIntervalStartMs = -1;
+  private int mTaskCount;
+  private long mTotalLatencyMs;
+  private long mTotalExecutionNs;
+  private long mLongestTaskNs;
+  private int mMaxQueueDepth;
+
+  /* package */ MessageQueueThreadPerfRecorder(String queueName) {
+    mQueueName = queueName;
+  }
+
+  /* package */ void onTaskEnqueued() {
+    mQueueDepth.incrementAndGet();
+  }
+
+  /**
+   * @return the number of tasks still waiting behind the one that is about to run
+   */
+  /* package */ int onTaskDequeued() {
+    return Math.max(mQueueDepth.decrementAndGet(), 0);
+  }
+
+  /**
+   * Forgets the tasks that have left the queue without running, unless the depth has changed from
+   * the given one meanwhile.
+   */
+  /* package */ void resetQueueDepth(int expectedQueueDepth) {
+    mQueueDepth.compareAndSet(expectedQueueDepth, 0);
+  }
+
+  /* package */ int getQueueDepth() {
+    // A task that runs before it is counted makes the depth go below 0 for a moment
+    return Math.max(mQueueDepth.get(), 0);
+  }
+
+  /**
+   * Records a task that has run, and sends the listener the stats for the interval if it is over.
+   *
+   * @param queueDepth the number of tasks that were waiting when the task started, including it
+   */
+  /* package */ void recordTask(
+      long nowMs,
+      long latencyMs,
+      long executionNs,
+      int queueDepth,
+      MessageQueueThreadPerfMonitor.PerfStatsListener listener) {
+    if (mIntervalStartMs < 0) {
+      mIntervalStartMs = nowMs;
+    }
+    mTaskCount++;
+    mLatencyHistogram[MessageQueueThreadPerfStats.getHistogramBucket(latencyMs)]++;
+    mExecutionHistogram[MessageQueueThreadPerfStats.getHistogramBucket(executionNs / 1000000)]++;
+    mTotalLatencyMs += latencyMs;
+    mTotalExecutionNs += executionNs;
+    mLongestTaskNs = Math.max(mLongestTaskNs, executionNs);
+    mMaxQueueDepth = Math.max(mMaxQueueDepth, queueDepth);
+
+    if (nowMs - mIntervalStartMs >= MessageQueueThreadPerfMonitor.REPORT_INTERVAL_MS) {
+      listener.onPerfStats(new MessageQueueThreadPerfStats(
+          mQueueName,
+          nowMs - mIntervalStartMs,
+          mTaskCount,
+          mLatencyHistogram.clone(),
+          mExecutionHistogram.clone(),
+          mTotalLatencyMs,
+          mTotalExecutionNs,
+          mLongestTaskNs,
+          mMaxQueueDepth,
+          getQueueDepth()));
+      reset(nowMs);
+    }
+  }
+
+  private void reset(long nowMs) {
+    mIntervalStartMs = nowMs;
+    mTaskCount = 0;
+    mTotalLatencyMs = 0;
+    mTotalExecutionNs = 0;
+    mLongestTaskNs = 0;
+    mMaxQueueDepth = 0;
+    for (int i = 0; i < MessageQueueThreadPerfStats.HISTOGRAM_BUCKET_COUNT; i++) {
+      mLatencyHistogram[i] = 0;
+      mExecutionHistogram[i] = 0;
+    }
+  }
+}
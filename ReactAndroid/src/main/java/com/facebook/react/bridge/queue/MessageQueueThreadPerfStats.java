@@ -0,0 +1,121 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.bridge.queue;
+
+/**
+ * What a {@link MessageQueueThread} did over one reporting interval of
+ * {@link MessageQueueThreadPerfMonitor}.
+ *
+ * Queueing latency is the time from when a task was submitted to when it started to run, execution
+ * time is the time it took to run. Both are kept as histograms with {@link #HISTOGRAM_BUCKET_COUNT}
+ * buckets: bucket 0 counts the tasks that took less than a millisecond, bucket i the ones that took
+ * from 2^(i-1) up to 2^i milliseconds, and the last bucket everything longer.
+ */
+public class MessageQueueThreadPerfStats {
+
+  public static final int HISTOGRAM_BUCKET_COUNT = 12;
+
+  private final String mQueueName;
+  private final long mIntervalMs;
+  private final int mTaskCount;
+  private final int[] mLatencyHistogram;
+  private final int[] mExecutionHistogram;
+  private final long mTotalLatencyMs;
+  private final long mTotalExecutionNs;
+  private final long mLongestTaskNs;
+  private final int mMaxQueueDepth;
+  private final int mQueueDepth;
+
+  /* package */ MessageQueueThreadPerfStats(
+      String queueName,
+      long intervalMs,
+      int taskCount,
+      int[] latencyHistogram,
+      int[] executionHistogram,
+      long totalLatencyMs,
+      long totalExecutionNs,
+      long longestTaskNs,
+      int maxQueueDepth,
+      int queueDepth) {
+    mQueueName = queueName;
+    mIntervalMs = intervalMs;
+    mTaskCount = taskCount;
+    mLatencyHistogram = latencyHistogram;
+    mExecutionHistogram = executionHistogram;
+    mTotalLatencyMs = totalLatencyMs;
+    mTotalExecutionNs = totalExecutionNs;
+    mLongestTaskNs = longestTaskNs;
+    mMaxQueueDepth = maxQueueDepth;
+    mQueueDepth = queueDepth;
+  }
+
+  /**
+   * @return the histogram bucket that a duration in milliseconds falls into
+   */
+  public static int getHistogramBucket(long durationMs) {
+    if (durationMs <= 0) {
+      return 0;
+    }
+    return Math.min(64 - Long.numberOfLeadingZeros(durationMs), HISTOGRAM_BUCKET_COUNT - 1);
+  }
+
+  public String getQueueName() {
+    return mQueueName;
+  }
+
+  public long getIntervalMs() {
+    return mIntervalMs;
+  }
+
+  public int getTaskCount() {
+    return mTaskCount;
+  }
+
+  public int getLatencyCount(int bucket) {
+    return mLatencyHistogram[bucket];
+  }
+
+  public int getExecutionCount(int bucket) {
+    return mExecutionHistogram[bucket];
+  }
+
+  public double getAverageLatencyMs() {
+    return mTaskCount == 0 ? 0 : (double) mTotalLatencyMs / mTaskCount;
+  }
+
+  public double getAverageExecutionMs() {
+    return mTaskCount == 0 ? 0 : mTotalExecutionNs / 1000000.0 / mTaskCount;
+  }
+
+  /**
+   * @return the fraction of the interval the queue thread spent running tasks
+   */
+  public double getUtilization() {
+    return mIntervalMs == 0 ? 0 : mTotalExecutionNs / 1000000.0 / mIntervalMs;
+  }
+
+  public double getLongestTaskMs() {
+    return mLongestTaskNs / 1000000.0;
+  }
+
+  /**
+   * @return the most tasks that were waiting when one of them started to run
+   */
+  public int getMaxQueueDepth() {
+    return mMaxQueueDepth;
+  }
+
+  /**
+   * @return the number of tasks waiting at the end of the interval
+   */
+  public int getQueueDepth() {
+    return mQueueDepth;
+  }
+}
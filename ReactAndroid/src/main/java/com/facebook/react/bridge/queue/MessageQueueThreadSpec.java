@@ -20,6 +20,9 @@ public class MessageQueueThreadSpec {
   // The Thread constructor interprets zero the same as not specifying a stack size
   public static final long DEFAULT_STACK_SIZE_BYTES = 0;
 
+  // Leaves the thread at the priority it inherits from the thread that starts it
+  public static final int INHERIT_THREAD_PRIORITY = Integer.MIN_VALUE;
+
   protected static enum ThreadType {
     MAIN_UI,
     NEW_BACKGROUND,
@@ -33,6 +36,19 @@ public class MessageQueueThreadSpec {
     return new MessageQueueThreadSpec(ThreadType.NEW_BACKGROUND, name, stackSize);
   }
 
+  /**
+   * @param threadPriority a Linux thread priority as used by
+   *   {@link android.os.Process#setThreadPriority}, e.g.
+   *   {@link android.os.Process#THREAD_PRIORITY_BACKGROUND}. It is set by the new thread before it
+   *   starts processing messages.
+   */
+  public static MessageQueueThreadSpec newBackgroundThreadSpec(
+      String name,
+      long stackSize,
+      int threadPriority) {
+    return new MessageQueueThreadSpec(ThreadType.NEW_BACKGROUND, name, stackSize, threadPriority);
+  }
+
   public static MessageQueueThreadSpec mainThreadSpec() {
     return MAIN_UI_SPEC;
   }
@@ -40,15 +56,25 @@ public class MessageQueueThreadSpec {
   private final ThreadType mThreadType;
   private final String mName;
   private final long mStackSize;
+  private final int mThreadPriority;
 
   private MessageQueueThreadSpec(ThreadType threadType, String name) {
     this(threadType, name, DEFAULT_STACK_SIZE_BYTES);
   }
 
   private MessageQueueThreadSpec(ThreadType threadType, String name, long stackSize) {
+    this(threadType, name, stackSize, INHERIT_THREAD_PRIORITY);
+  }
+
+  private MessageQueueThreadSpec(
+      ThreadType threadType,
+      String name,
+      long stackSize,
+      int threadPriority) {
     mThreadType = threadType;
     mName = name;
     mStackSize = stackSize;
+    mThreadPriority = threadPriority;
   }
 
   public ThreadType getThreadType() {
@@ -62,4 +88,8 @@ public class MessageQueueThreadSpec {
   public long getStackSize() {
     return mStackSize;
   }
+
+  public int getThreadPriority() {
+    return mThreadPriority;
+  }
 }
@@ -17,9 +17,17 @@ package com.facebook.react.bridge.queue;
  * UI Queue Thread: The standard Android main UI thread and Looper. Not configurable.
  * Native Modules Queue Thread: The thread and Looper that native modules are invoked on.
  * JS Queue Thread: The thread and Looper that JS is executed on.
+ * Named Native Modules Queue Threads: Optional additional threads that native modules can ask to
+ * be invoked on instead, see {@link ReactQueueConfigurationSpec}.
  */
 public interface ReactQueueConfiguration {
   MessageQueueThread getUIQueueThread();
   MessageQueueThread getNativeModulesQueueThread();
+
+  /**
+   * @return the native modules queue with the given name, or the default native modules queue if
+   * there is no such queue
+   */
+  MessageQueueThread getNativeModulesQueueThread(String queueName);
   MessageQueueThread getJSQueueThread();
 }
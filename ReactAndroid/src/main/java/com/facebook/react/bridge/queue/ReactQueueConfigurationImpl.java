@@ -9,7 +9,9 @@
 
 package com.facebook.react.bridge.queue;
 
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import android.os.Looper;
 
@@ -20,14 +22,17 @@ public class ReactQueueConfigurationImpl implements ReactQueueConfiguration {
   private final MessageQueueThreadImpl mUIQueueThread;
   private final MessageQueueThreadImpl mNativeModulesQueueThread;
   private final MessageQueueThreadImpl mJSQueueThread;
+  private final Map<String, MessageQueueThreadImpl> mNamedNativeModulesQueueThreads;
 
   private ReactQueueConfigurationImpl(
       MessageQueueThreadImpl uiQueueThread,
       MessageQueueThreadImpl nativeModulesQueueThread,
-      MessageQueueThreadImpl jsQueueThread) {
+      MessageQueueThreadImpl jsQueueThread,
+      Map<String, MessageQueueThreadImpl> namedNativeModulesQueueThreads) {
     mUIQueueThread = uiQueueThread;
     mNativeModulesQueueThread = nativeModulesQueueThread;
     mJSQueueThread = jsQueueThread;
+    mNamedNativeModulesQueueThreads = namedNativeModulesQueueThreads;
   }
 
   @Override
@@ -40,6 +45,12 @@ public class ReactQueueConfigurationImpl implements ReactQueueConfiguration {
     return mNativeModulesQueueThread;
   }
 
+  @Override
+  public MessageQueueThread getNativeModulesQueueThread(String queueName) {
+    MessageQueueThreadImpl queueThread = mNamedNativeModulesQueueThreads.get(queueName);
+    return queueThread != null ? queueThread : mNativeModulesQueueThread;
+  }
+
   @Override
   public MessageQueueThread getJSQueueThread() {
     return mJSQueueThread;
@@ -56,6 +67,15 @@ public class ReactQueueConfigurationImpl implements ReactQueueConfiguration {
     if (mJSQueueThread.getLooper() != Looper.getMainLooper()) {
       mJSQueueThread.quitSynchronous();
     }
+    // Named queues may share their thread with each other or with the queues above
+    Set<MessageQueueThreadImpl> quitThreads = new HashSet<>();
+    quitThreads.add(mNativeModulesQueueThread);
+    quitThreads.add(mJSQueueThread);
+    for (MessageQueueThreadImpl queueThread : mNamedNativeModulesQueueThreads.values()) {
+      if (queueThread.getLooper() != Looper.getMainLooper() && quitThreads.add(queueThread)) {
+        queueThread.quitSynchronous();
+      }
+    }
   }
 
   public static ReactQueueConfigurationImpl create(
@@ -80,6 +100,23 @@ public class ReactQueueConfigurationImpl implements ReactQueueConfiguration {
           MessageQueueThreadImpl.create(spec.getNativeModulesQueueThreadSpec(), exceptionHandler);
     }
 
-    return new ReactQueueConfigurationImpl(uiThread, nativeModulesThread, jsThread);
+    // Only named queues share their thread with other named queues that have the same spec, the
+    // JS and native modules queues get their own threads even if they have the same spec
+    Map<String, MessageQueueThreadImpl> namedNativeModulesThreads = MapBuilder.newHashMap();
+    for (Map.Entry<String, MessageQueueThreadSpec> entry :
+        spec.getNamedNativeModulesQueueThreadSpecs().entrySet()) {
+      MessageQueueThreadImpl queueThread = specsToThreads.get(entry.getValue());
+      if (queueThread == null) {
+        queueThread = MessageQueueThreadImpl.create(entry.getValue(), exceptionHandler);
+        specsToThreads.put(entry.getValue(), queueThread);
+      }
+      namedNativeModulesThreads.put(entry.getKey(), queueThread);
+    }
+
+    return new ReactQueueConfigurationImpl(
+        uiThread,
+        nativeModulesThread,
+        jsThread,
+        namedNativeModulesThreads);
   }
 }
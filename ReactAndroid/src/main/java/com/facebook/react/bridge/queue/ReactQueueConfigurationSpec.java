@@ -13,26 +13,44 @@ import android.os.Build;
 
 import javax.annotation.Nullable;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
 import com.facebook.infer.annotation.Assertions;
+import com.facebook.react.common.MapBuilder;
 
 /**
  * Spec for creating a ReactQueueConfiguration. This exists so that CatalystInstance is able to
  * set Exception handlers on the MessageQueueThreads it uses and it would not be super clean if the
  * threads were configured, then passed to CatalystInstance where they are configured more. These
  * specs allows the Threads to be created fully configured.
+ *
+ * Besides the default native modules queue, a spec can name additional native modules queues, e.g.
+ * {@link #IO_QUEUE_NAME} for modules that block on disk or network, so that they don't hold up the
+ * modules that JS is waiting on. Native modules pick their queue by implementing
+ * {@link com.facebook.react.bridge.CustomQueueModule}; a module whose queue is not in the spec runs
+ * on the default native modules queue.
  */
 public class ReactQueueConfigurationSpec {
 
+  public static final String IO_QUEUE_NAME = "io";
+  public static final String LAYOUT_QUEUE_NAME = "layout";
+
   private static final long LEGACY_STACK_SIZE_BYTES = 2000000;
 
   private final MessageQueueThreadSpec mNativeModulesQueueThreadSpec;
   private final MessageQueueThreadSpec mJSQueueThreadSpec;
+  private final Map<String, MessageQueueThreadSpec> mNamedNativeModulesQueueThreadSpecs;
 
   private ReactQueueConfigurationSpec(
       MessageQueueThreadSpec nativeModulesQueueThreadSpec,
-      MessageQueueThreadSpec jsQueueThreadSpec) {
+      MessageQueueThreadSpec jsQueueThreadSpec,
+      Map<String, MessageQueueThreadSpec> namedNativeModulesQueueThreadSpecs) {
     mNativeModulesQueueThreadSpec = nativeModulesQueueThreadSpec;
     mJSQueueThreadSpec = jsQueueThreadSpec;
+    mNamedNativeModulesQueueThreadSpecs =
+        Collections.unmodifiableMap(namedNativeModulesQueueThreadSpecs);
   }
 
   public MessageQueueThreadSpec getNativeModulesQueueThreadSpec() {
@@ -43,6 +61,13 @@ public class ReactQueueConfigurationSpec {
     return mJSQueueThreadSpec;
   }
 
+  /**
+   * @return the specs of the additional native modules queues, by queue name
+   */
+  public Map<String, MessageQueueThreadSpec> getNamedNativeModulesQueueThreadSpecs() {
+    return mNamedNativeModulesQueueThreadSpecs;
+  }
+
   public static Builder builder() {
     return new Builder();
   }
@@ -61,6 +86,8 @@ public class ReactQueueConfigurationSpec {
 
     private @Nullable MessageQueueThreadSpec mNativeModulesQueueSpec;
     private @Nullable MessageQueueThreadSpec mJSQueueSpec;
+    private final Map<String, MessageQueueThreadSpec> mNamedNativeModulesQueueSpecs =
+        MapBuilder.newHashMap();
 
     public Builder setNativeModulesQueueThreadSpec(MessageQueueThreadSpec spec) {
       Assertions.assertCondition(
@@ -76,10 +103,24 @@ public class ReactQueueConfigurationSpec {
       return this;
     }
 
+    /**
+     * Adds a native modules queue that modules can ask for by name. The same spec may be given to
+     * several names to have them share a thread, which is never the JS or default native modules
+     * queue thread.
+     */
+    public Builder addNativeModulesQueueThreadSpec(String queueName, MessageQueueThreadSpec spec) {
+      Assertions.assertCondition(
+          !mNamedNativeModulesQueueSpecs.containsKey(queueName),
+          "Setting native modules queue spec '" + queueName + "' multiple times!");
+      mNamedNativeModulesQueueSpecs.put(queueName, spec);
+      return this;
+    }
+
     public ReactQueueConfigurationSpec build() {
       return new ReactQueueConfigurationSpec(
           Assertions.assertNotNull(mNativeModulesQueueSpec),
-          Assertions.assertNotNull(mJSQueueSpec));
+          Assertions.assertNotNull(mJSQueueSpec),
+          new HashMap<>(mNamedNativeModulesQueueSpecs));
     }
   }
 }
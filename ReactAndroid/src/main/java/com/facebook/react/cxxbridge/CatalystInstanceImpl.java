@@ -22,6 +22,7 @@ import com.facebook.common.logging.FLog;
 import com.facebook.jni.HybridData;
 import com.facebook.react.bridge.CatalystInstance;
 import com.facebook.react.bridge.ExecutorToken;
+import com.facebook.react.bridge.JavaScriptCallBatcher;
 import com.facebook.react.bridge.JavaScriptModule;
 import com.facebook.react.bridge.JavaScriptModuleRegistry;
 import com.facebook.react.bridge.MemoryPressure;
@@ -70,6 +71,7 @@ public class CatalystInstanceImpl implements CatalystInstance {
   private final TraceListener mTraceListener;
   private final JavaScriptModuleRegistry mJSModuleRegistry;
   private final JSBundleLoader mJSBundleLoader;
+  private final JavaScriptCallBatcher mJSCallBatcher;
   private ExecutorToken mMainExecutorToken;
 
   private final NativeModuleRegistry mJavaRegistry;
@@ -102,13 +104,30 @@ public class CatalystInstanceImpl implements CatalystInstance {
     mJSBundleLoader = jsBundleLoader;
     mNativeModuleCallExceptionHandler = nativeModuleCallExceptionHandler;
     mTraceListener = new JSProfilerTraceListener(this);
-
+    mJSCallBatcher = new JavaScriptCallBatcher(
+        new JavaScriptCallBatcher.CallTarget() {
+          @Override
+          public void callFunctionNow(
+              ExecutorToken executorToken,
+              String module,
+              String method,
+              NativeArray arguments,
+              String tracingName) {
+            if (mDestroyed) {
+              FLog.w(ReactConstants.TAG, "Calling JS function after bridge has been destroyed.");
+              return;
+            }
+            callJSFunction(executorToken, module, method, arguments, tracingName);
+          }
+        });
+
+    BridgeCallback bridgeCallback = new BridgeCallback(this);
     initializeBridge(
-      new BridgeCallback(this),
+      bridgeCallback,
       jsExecutor,
       mReactQueueConfiguration.getJSQueueThread(),
       mReactQueueConfiguration.getNativeModulesQueueThread(),
-      mJavaRegistry.getModuleRegistryHolder(this));
+      mJavaRegistry.getModuleRegistryHolder(this, bridgeCallback));
     mMainExecutorToken = getMainExecutorToken();
   }
 
@@ -200,7 +219,9 @@ public class CatalystInstanceImpl implements CatalystInstance {
       throw new RuntimeException("Attempt to call JS function before JS bundle is loaded.");
     }
 
-    callJSFunction(executorToken, module, method, arguments, tracingName);
+    if (!mJSCallBatcher.addCall(executorToken, module, method, arguments)) {
+      callJSFunction(executorToken, module, method, arguments, tracingName);
+    }
   }
 
   private native void callJSCallback(ExecutorToken executorToken, int callbackID, NativeArray arguments);
@@ -212,7 +233,26 @@ public class CatalystInstanceImpl implements CatalystInstance {
       return;
     }
 
-    callJSCallback(executorToken, callbackID, arguments);
+    if (!mJSCallBatcher.addCallback(executorToken, callbackID, arguments)) {
+      callJSCallback(executorToken, callbackID, arguments);
+    }
+  }
+
+  @Override
+  public void beginJSCallBatch() {
+    mJSCallBatcher.beginBatch();
+  }
+
+  @Override
+  public void endJSCallBatch() {
+    mJSCallBatcher.endBatch();
+  }
+
+  /**
+   * Exposes how much batching of JS calls has saved, see {@link JavaScriptCallBatcher}.
+   */
+  public JavaScriptCallBatcher getJSCallBatcher() {
+    return mJSCallBatcher;
   }
 
   /**
@@ -230,6 +270,7 @@ public class CatalystInstanceImpl implements CatalystInstance {
 
     // TODO: tell all APIs to shut down
     mDestroyed = true;
+    mJSCallBatcher.shutdown();
     mHybridData.resetNative();
     mJavaRegistry.notifyCatalystInstanceDestroy();
     boolean wasIdle = (mPendingJSCalls.getAndSet(0) == 0);
@@ -18,10 +18,12 @@ import com.facebook.proguard.annotations.DoNotStrip;
 
 import com.facebook.react.bridge.BaseJavaModule;
 import com.facebook.react.bridge.CatalystInstance;
+import com.facebook.react.bridge.CustomQueueModule;
 import com.facebook.react.bridge.ExecutorToken;
 import com.facebook.react.bridge.NativeArray;
 import com.facebook.react.bridge.ReadableNativeArray;
 import com.facebook.react.bridge.WritableNativeArray;
+import com.facebook.react.bridge.queue.MessageQueueThread;
 
 /**
  * This is part of the glue which wraps a java BaseJavaModule in a C++
@@ -45,11 +47,16 @@ import com.facebook.react.bridge.WritableNativeArray;
   }
 
   private final CatalystInstance mCatalystInstance;
+  private final ReactCallback mBridgeCallback;
   private final BaseJavaModule mModule;
   private final ArrayList<BaseJavaModule.JavaMethod> mMethods;
 
-  public JavaModuleWrapper(CatalystInstance catalystinstance, BaseJavaModule module) {
+  public JavaModuleWrapper(
+      CatalystInstance catalystinstance,
+      ReactCallback bridgeCallback,
+      BaseJavaModule module) {
     mCatalystInstance = catalystinstance;
+    mBridgeCallback = bridgeCallback;
     mModule = module;
     mMethods = new ArrayList<BaseJavaModule.JavaMethod>();
   }
@@ -131,11 +138,38 @@ import com.facebook.react.bridge.WritableNativeArray;
   }
 
   @DoNotStrip
-  public void invoke(ExecutorToken token, int methodId, ReadableNativeArray parameters) {
+  public void invoke(
+      final ExecutorToken token,
+      final int methodId,
+      final ReadableNativeArray parameters) {
     if (mMethods == null || methodId >= mMethods.size()) {
       return;
     }
 
+    if (mModule instanceof CustomQueueModule) {
+      MessageQueueThread moduleQueueThread = mCatalystInstance.getReactQueueConfiguration()
+          .getNativeModulesQueueThread(((CustomQueueModule) mModule).getQueueName());
+      if (!moduleQueueThread.isOnThread()) {
+        // Keeps the bridge from looking idle until the call has run on the module's queue, like
+        // the legacy bridge does
+        mBridgeCallback.incrementPendingJSCalls();
+        moduleQueueThread.runOnQueue(
+            new Runnable() {
+              @Override
+              public void run() {
+                try {
+                  if (!mCatalystInstance.isDestroyed()) {
+                    mMethods.get(methodId).invoke(mCatalystInstance, token, parameters);
+                  }
+                } finally {
+                  mBridgeCallback.decrementPendingJSCalls();
+                }
+              }
+            });
+        return;
+      }
+    }
+
     mMethods.get(methodId).invoke(mCatalystInstance, token, parameters);
   }
 }
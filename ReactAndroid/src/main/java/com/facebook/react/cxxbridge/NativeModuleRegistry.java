@@ -48,12 +48,14 @@ public class NativeModuleRegistry {
   }
 
   /* package */ ModuleRegistryHolder getModuleRegistryHolder(
-      CatalystInstanceImpl catalystInstanceImpl) {
+      CatalystInstanceImpl catalystInstanceImpl,
+      ReactCallback bridgeCallback) {
     ArrayList<JavaModuleWrapper> javaModules = new ArrayList<>();
     ArrayList<CxxModuleWrapper> cxxModules = new ArrayList<>();
     for (NativeModule module : mModuleInstances.values()) {
       if (module instanceof BaseJavaModule) {
-        javaModules.add(new JavaModuleWrapper(catalystInstanceImpl, (BaseJavaModule) module));
+        javaModules.add(
+            new JavaModuleWrapper(catalystInstanceImpl, bridgeCallback, (BaseJavaModule) module));
       } else if (module instanceof CxxModuleWrapper) {
         cxxModules.add((CxxModuleWrapper) module);
       } else {
@@ -92,6 +92,20 @@ public class FrescoModule extends ReactContextBaseJavaModule implements
       Context context,
       @Nullable RequestListener listener,
       @Nullable DiskCacheConfig diskCacheConfig) {
+    return getDefaultConfigBuilder(context, listener, diskCacheConfig).build();
+  }
+
+  /**
+   * Returns a builder set up with the default configuration, so that apps can change parts of it
+   * and pass the result to {@link #FrescoModule(ReactApplicationContext, ImagePipelineConfig)}.
+   * For example, images are only decoded at the size of the view showing them if they are JPEGs,
+   * unless downsampling is enabled with
+   * {@link ImagePipelineConfig.Builder#setDownsampleEnabled}, which applies to the whole app.
+   */
+  public static ImagePipelineConfig.Builder getDefaultConfigBuilder(
+      Context context,
+      @Nullable RequestListener listener,
+      @Nullable DiskCacheConfig diskCacheConfig) {
     HashSet<RequestListener> requestListeners = new HashSet<>();
     requestListeners.add(new SystraceRequestListener());
     if (listener != null) {
@@ -110,7 +124,7 @@ public class FrescoModule extends ReactContextBaseJavaModule implements
       builder.setMainDiskCacheConfig(diskCacheConfig);
     }
 
-    return builder.build();
+    return builder;
   }
 
   private static class FrescoHandler implements SoLoaderShim.Handler {
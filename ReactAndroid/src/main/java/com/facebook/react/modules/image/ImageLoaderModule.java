@@ -9,7 +9,12 @@
 
 package com.facebook.react.modules.image;
 
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+
 import android.net.Uri;
+import android.util.SparseArray;
 
 import com.facebook.common.executors.CallerThreadExecutor;
 import com.facebook.common.references.CloseableReference;
@@ -25,24 +30,47 @@ import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.WritableMap;
 
-public class ImageLoaderModule extends ReactContextBaseJavaModule {
+public class ImageLoaderModule extends ReactContextBaseJavaModule implements
+    ImagePrefetcher.OnPrefetchFinishedListener {
 
   private static final String ERROR_INVALID_URI = "E_INVALID_URI";
+  private static final String ERROR_INVALID_PREFETCH_REQUEST = "E_INVALID_PREFETCH_REQUEST";
   private static final String ERROR_PREFETCH_FAILURE = "E_PREFETCH_FAILURE";
   private static final String ERROR_GET_SIZE_FAILURE = "E_GET_SIZE_FAILURE";
 
+  /**
+   * Requests of a {@link #prefetchImages} call, whose promise is resolved once they are all
+   * finished.
+   */
+  private static class PrefetchBatch {
+    private final Promise mPromise;
+    private final WritableMap mResults = Arguments.createMap();
+    private int mPendingCount;
+
+    private PrefetchBatch(Promise promise) {
+      mPromise = promise;
+    }
+  }
+
   private final Object mCallerContext;
+  private final ImagePrefetcher mImagePrefetcher;
+  // Guarded by itself
+  private final SparseArray<ArrayList<PrefetchBatch>> mPrefetchBatches = new SparseArray<>();
 
   public ImageLoaderModule(ReactApplicationContext reactContext) {
     super(reactContext);
     mCallerContext = this;
+    mImagePrefetcher = new ImagePrefetcher(mCallerContext, this);
   }
 
   public ImageLoaderModule(ReactApplicationContext reactContext, Object callerContext) {
     super(reactContext);
     mCallerContext = callerContext;
+    mImagePrefetcher = new ImagePrefetcher(mCallerContext, this);
   }
 
   @Override
@@ -144,4 +172,146 @@ public class ImageLoaderModule extends ReactContextBaseJavaModule {
     };
     prefetchSource.subscribe(prefetchSubscriber, CallerThreadExecutor.getInstance());
   }
+
+  /**
+   * Prefetches a batch of images, at most a few at a time and in order of priority, see
+   * {@link ImagePrefetcher}. Submitting a request with the id of one still waiting to be started
+   * updates its priority, or replaces it if its uri changed, which lets a list keep prefetching in
+   * step with its scroll position.
+   *
+   * @param requests maps with the id (a number) and uri of the image to prefetch, and optionally
+   *                 its priority ("visible", "near" or "speculative", the default) and the cache
+   *                 to prefetch it to ("disk", the default, or "memory")
+   * @param promise the promise that is resolved once all the requests are finished, with a map
+   *                from their ids to whether they succeeded, or rejected if a request is invalid
+   */
+  @ReactMethod
+  public void prefetchImages(ReadableArray requests, final Promise promise) {
+    int[] ids = new int[requests.size()];
+    Uri[] uris = new Uri[requests.size()];
+    int[] priorities = new int[requests.size()];
+    int[] caches = new int[requests.size()];
+    for (int i = 0; i < requests.size(); i++) {
+      ReadableMap request = requests.getMap(i);
+      String uriString = request.hasKey("uri") ? request.getString("uri") : null;
+      if (uriString == null || uriString.isEmpty()) {
+        promise.reject(ERROR_INVALID_URI, "Cannot prefetch an image for an empty URI");
+        return;
+      }
+      @Nullable String priority = getOptionalString(request, "priority");
+      @Nullable String cache = getOptionalString(request, "cache");
+      if (!request.hasKey("id") ||
+          toPrefetchPriority(priority) < 0 ||
+          toPrefetchCache(cache) < 0) {
+        promise.reject(
+            ERROR_INVALID_PREFETCH_REQUEST,
+            "Invalid prefetch request for " + uriString + ", it needs an id, a priority of " +
+                "visible, near or speculative and a cache of disk or memory");
+        return;
+      }
+      ids[i] = request.getInt("id");
+      uris[i] = Uri.parse(uriString);
+      priorities[i] = toPrefetchPriority(priority);
+      caches[i] = toPrefetchCache(cache);
+    }
+
+    PrefetchBatch batch = new PrefetchBatch(promise);
+    synchronized (mPrefetchBatches) {
+      for (int id : ids) {
+        ArrayList<PrefetchBatch> batches = mPrefetchBatches.get(id);
+        if (batches == null) {
+          batches = new ArrayList<>();
+          mPrefetchBatches.put(id, batches);
+        }
+        if (!batches.contains(batch)) {
+          batches.add(batch);
+          batch.mPendingCount++;
+        }
+      }
+      if (batch.mPendingCount == 0) {
+        promise.resolve(batch.mResults);
+        return;
+      }
+    }
+    for (int i = 0; i < ids.length; i++) {
+      mImagePrefetcher.prefetch(ids[i], uris[i], priorities[i], caches[i]);
+    }
+  }
+
+  /**
+   * Cancels the prefetches started by {@link #prefetchImages} with the given ids. The promises
+   * of their batches report them as failed.
+   */
+  @ReactMethod
+  public void cancelPrefetches(ReadableArray ids) {
+    for (int i = 0; i < ids.size(); i++) {
+      mImagePrefetcher.cancel(ids.getInt(i));
+    }
+  }
+
+  @Override
+  public void onPrefetchFinished(int requestId, boolean success) {
+    ArrayList<PrefetchBatch> batches;
+    synchronized (mPrefetchBatches) {
+      batches = mPrefetchBatches.get(requestId);
+      if (batches == null) {
+        return;
+      }
+      mPrefetchBatches.remove(requestId);
+      for (int i = 0; i < batches.size(); i++) {
+        PrefetchBatch batch = batches.get(i);
+        batch.mResults.putBoolean(String.valueOf(requestId), success);
+        batch.mPendingCount--;
+      }
+    }
+    for (int i = 0; i < batches.size(); i++) {
+      PrefetchBatch batch = batches.get(i);
+      if (batch.mPendingCount == 0) {
+        batch.mPromise.resolve(batch.mResults);
+      }
+    }
+  }
+
+  @Override
+  public void onCatalystInstanceDestroy() {
+    super.onCatalystInstanceDestroy();
+    // There is no one left to resolve the promises of the prefetches for
+    synchronized (mPrefetchBatches) {
+      mPrefetchBatches.clear();
+    }
+    mImagePrefetcher.cancelAll();
+  }
+
+  private static @Nullable String getOptionalString(ReadableMap map, String key) {
+    return map.hasKey(key) && !map.isNull(key) ? map.getString(key) : null;
+  }
+
+  /**
+   * @return the {@link ImagePrefetcher} priority for the given JS one, or -1 if it is invalid
+   */
+  private static int toPrefetchPriority(@Nullable String priority) {
+    if (priority == null || "speculative".equals(priority)) {
+      return ImagePrefetcher.PRIORITY_SPECULATIVE;
+    }
+    if ("visible".equals(priority)) {
+      return ImagePrefetcher.PRIORITY_VISIBLE;
+    }
+    if ("near".equals(priority)) {
+      return ImagePrefetcher.PRIORITY_NEAR;
+    }
+    return -1;
+  }
+
+  /**
+   * @return the {@link ImagePrefetcher} cache for the given JS one, or -1 if it is invalid
+   */
+  private static int toPrefetchCache(@Nullable String cache) {
+    if (cache == null || "disk".equals(cache)) {
+      return ImagePrefetcher.CACHE_DISK;
+    }
+    if ("memory".equals(cache)) {
+      return ImagePrefetcher.CACHE_MEMORY;
+    }
+    return -1;
+  }
 }
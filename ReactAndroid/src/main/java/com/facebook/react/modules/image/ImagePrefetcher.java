@@ -0,0 +1,281 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.modules.image;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import android.net.Uri;
+
+import com.facebook.common.executors.CallerThreadExecutor;
+import com.facebook.datasource.BaseDataSubscriber;
+import com.facebook.datasource.DataSource;
+import com.facebook.drawee.backends.pipeline.Fresco;
+import com.facebook.imagepipeline.common.Priority;
+import com.facebook.imagepipeline.request.ImageRequest;
+import com.facebook.imagepipeline.request.ImageRequestBuilder;
+
+/**
+ * Prefetches images through Fresco's pipeline on behalf of {@link ImageLoaderModule}, so that the
+ * images of the next screen of a list are ready by the time it is scrolled into view without
+ * taking the network away from the images already on screen:
+ *  - at most a few prefetches run at a time, and only one of them may be speculative, the rest of
+ *    the requests wait in a queue ordered by priority, then by submission,
+ *  - submitting a request again with the same id changes its priority if it is still waiting, so
+ *    that a list can keep the priorities up to date with its scroll position, or replaces it if
+ *    its uri changed, e.g. as the row it was for now shows other data,
+ *  - requests can be cancelled by id, e.g. once the rows they were for have been scrolled past.
+ *
+ * Images are either only fetched to the disk cache, or also kept in the encoded memory cache so
+ * that showing them only takes decoding them at the size of their view.
+ */
+@ThreadSafe
+/* package */ class ImagePrefetcher {
+
+  public static final int PRIORITY_VISIBLE = 0;
+  public static final int PRIORITY_NEAR = 1;
+  public static final int PRIORITY_SPECULATIVE = 2;
+
+  public static final int CACHE_DISK = 0;
+  public static final int CACHE_MEMORY = 1;
+
+  private static final int MAX_RUNNING_PREFETCHES = 3;
+  private static final int MAX_RUNNING_SPECULATIVE_PREFETCHES = 1;
+
+  /**
+   * Called once for each request, when it succeeds, fails or is cancelled. May be called from any
+   * thread.
+   */
+  public interface OnPrefetchFinishedListener {
+    void onPrefetchFinished(int requestId, boolean success);
+  }
+
+  private static class Request {
+    private final int mId;
+    private final Uri mUri;
+    private int mPriority;
+    private int mCache;
+    private @Nullable DataSource<?> mDataSource;
+
+    private Request(int id, Uri uri, int priority, int cache) {
+      mId = id;
+      mUri = uri;
+      mPriority = priority;
+      mCache = cache;
+    }
+  }
+
+  private final Object mCallerContext;
+  private final OnPrefetchFinishedListener mListener;
+  // Kept in submission order
+  private final Map<Integer, Request> mPendingRequests = new LinkedHashMap<>();
+  private final Map<Integer, Request> mRunningRequests = new LinkedHashMap<>();
+  private int mRunningSpeculativeCount;
+
+  public ImagePrefetcher(Object callerContext, OnPrefetchFinishedListener listener) {
+    mCallerContext = callerContext;
+    mListener = listener;
+  }
+
+  /**
+   * Queues a prefetch, or updates the priority and cache of the prefetch with the same id if it
+   * is still waiting. A waiting prefetch of another uri is replaced, keeping its place in the
+   * queue, while a running one is left to finish.
+   *
+   * @param priority one of {@link #PRIORITY_VISIBLE}, {@link #PRIORITY_NEAR} or
+   * {@link #PRIORITY_SPECULATIVE}
+   * @param cache one of {@link #CACHE_DISK} or {@link #CACHE_MEMORY}
+   */
+  public void prefetch(int id, Uri uri, int priority, int cache) {
+    synchronized (this) {
+      if (mRunningRequests.containsKey(id)) {
+        return;
+      }
+      Request request = mPendingRequests.get(id);
+      if (request == null || !request.mUri.equals(uri)) {
+        mPendingRequests.put(id, new Request(id, uri, priority, cache));
+      } else {
+        request.mPriority = priority;
+        request.mCache = cache;
+      }
+    }
+    startPendingRequests();
+  }
+
+  public void cancel(int id) {
+    @Nullable Request request;
+    synchronized (this) {
+      request = mPendingRequests.remove(id);
+      if (request == null) {
+        request = removeRunningRequest(id);
+      }
+    }
+    if (request != null) {
+      finish(request, false);
+      startPendingRequests();
+    }
+  }
+
+  public void cancelAll() {
+    ArrayList<Request> requests;
+    synchronized (this) {
+      requests = new ArrayList<>(mPendingRequests.values());
+      mPendingRequests.clear();
+      for (Integer id : new ArrayList<>(mRunningRequests.keySet())) {
+        requests.add(removeRunningRequest(id));
+      }
+    }
+    for (int i = 0; i < requests.size(); i++) {
+      finish(requests.get(i), false);
+    }
+  }
+
+  public synchronized int getPendingCount() {
+    return mPendingRequests.size();
+  }
+
+  public synchronized int getRunningCount() {
+    return mRunningRequests.size();
+  }
+
+  /**
+   * Starts fetching the given image into the given cache.
+   */
+  protected DataSource<?> fetch(Uri uri, int priority, int cache) {
+    ImageRequest imageRequest = ImageRequestBuilder.newBuilderWithSource(uri)
+        .setRequestPriority(toFrescoPriority(priority))
+        .build();
+    if (cache == CACHE_MEMORY) {
+      // The encoded image, rather than a decoded bitmap, as the views that will show it decode it
+      // at their own size
+      return Fresco.getImagePipeline().fetchEncodedImage(imageRequest, mCallerContext);
+    }
+    return Fresco.getImagePipeline().prefetchToDiskCache(imageRequest, mCallerContext);
+  }
+
+  private void startPendingRequests() {
+    while (true) {
+      Request request;
+      synchronized (this) {
+        request = pollNextRequest();
+        if (request == null) {
+          return;
+        }
+        mRunningRequests.put(request.mId, request);
+        if (request.mPriority == PRIORITY_SPECULATIVE) {
+          mRunningSpeculativeCount++;
+        }
+      }
+      // Outside of the lock as the data source may call us back right away, e.g. on a cache hit
+      start(request);
+    }
+  }
+
+  /**
+   * @return the waiting request to start next, if one can be started
+   */
+  private @Nullable Request pollNextRequest() {
+    if (mRunningRequests.size() >= MAX_RUNNING_PREFETCHES) {
+      return null;
+    }
+    boolean canStartSpeculative = mRunningSpeculativeCount < MAX_RUNNING_SPECULATIVE_PREFETCHES;
+    Request nextRequest = null;
+    for (Request request : mPendingRequests.values()) {
+      if (request.mPriority == PRIORITY_SPECULATIVE && !canStartSpeculative) {
+        continue;
+      }
+      if (nextRequest == null || request.mPriority < nextRequest.mPriority) {
+        nextRequest = request;
+      }
+    }
+    if (nextRequest != null) {
+      mPendingRequests.remove(nextRequest.mId);
+    }
+    return nextRequest;
+  }
+
+  private void start(final Request request) {
+    DataSource<?> dataSource = fetch(request.mUri, request.mPriority, request.mCache);
+    synchronized (this) {
+      if (mRunningRequests.get(request.mId) != request) {
+        // Cancelled meanwhile
+        dataSource.close();
+        return;
+      }
+      request.mDataSource = dataSource;
+    }
+    subscribe(dataSource, request);
+  }
+
+  private <T> void subscribe(DataSource<T> dataSource, final Request request) {
+    dataSource.subscribe(
+        new BaseDataSubscriber<T>() {
+          @Override
+          protected void onNewResultImpl(DataSource<T> dataSource) {
+            if (dataSource.isFinished()) {
+              onRequestFinished(request, true);
+            }
+          }
+
+          @Override
+          protected void onFailureImpl(DataSource<T> dataSource) {
+            onRequestFinished(request, false);
+          }
+        },
+        CallerThreadExecutor.getInstance());
+  }
+
+  private void onRequestFinished(Request request, boolean success) {
+    synchronized (this) {
+      if (mRunningRequests.get(request.mId) != request) {
+        // Cancelled meanwhile
+        return;
+      }
+      removeRunningRequest(request.mId);
+    }
+    finish(request, success);
+    startPendingRequests();
+  }
+
+  /**
+   * Must be called with the lock held.
+   */
+  private @Nullable Request removeRunningRequest(int id) {
+    Request request = mRunningRequests.remove(id);
+    if (request != null && request.mPriority == PRIORITY_SPECULATIVE) {
+      mRunningSpeculativeCount--;
+    }
+    return request;
+  }
+
+  private void finish(Request request, boolean success) {
+    if (request.mDataSource != null) {
+      // Releases the fetched image, or cancels the fetch if it is still going on
+      request.mDataSource.close();
+      request.mDataSource = null;
+    }
+    mListener.onPrefetchFinished(request.mId, success);
+  }
+
+  private static Priority toFrescoPriority(int priority) {
+    switch (priority) {
+      case PRIORITY_VISIBLE:
+        return Priority.HIGH;
+      case PRIORITY_NEAR:
+        return Priority.MEDIUM;
+      default:
+        return Priority.LOW;
+    }
+  }
+}
@@ -0,0 +1,222 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.modules.network;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Dispatcher;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Hands out the {@link OkHttpClient} to run a request on, given its priority and timeout.
+ *
+ * Requests without a priority run on the base client, as they always have. Each priority level
+ * gets a client of its own, derived from the base client so that connections, cookies and
+ * interceptors are shared, but with a separate {@link Dispatcher}. That way low priority requests
+ * such as analytics beacons and image prefetches can never take up more than their own small
+ * share of concurrent requests, and high priority requests never queue behind them. The time
+ * prioritized requests spend waiting in their Dispatcher is recorded per level.
+ *
+ * Clients with a non-default timeout are cached, so that they are only built once per
+ * (priority, timeout) pair. Only the most recently used ones are kept, as JS may pass any timeout.
+ */
+/* package */ class HttpClientPool {
+
+  /* package */ static final String PRIORITY_HIGH = "high";
+  /* package */ static final String PRIORITY_NORMAL = "normal";
+  /* package */ static final String PRIORITY_LOW = "low";
+
+  private static final String[] PRIORITY_NAMES = {PRIORITY_HIGH, PRIORITY_NORMAL, PRIORITY_LOW};
+  private static final int LEVEL_HIGH = 0;
+  private static final int LEVEL_NORMAL = 1;
+  private static final int LEVEL_LOW = 2;
+  private static final int LEVEL_DEFAULT = 3;
+  /* package */ static final int MAX_TIMEOUT_CLIENTS = 16;
+
+  private final OkHttpClient mBaseClient;
+  private final OkHttpClient[] mPriorityClients = new OkHttpClient[PRIORITY_NAMES.length];
+  private final Map<Long, OkHttpClient> mTimeoutClients =
+      new LinkedHashMap<Long, OkHttpClient>(MAX_TIMEOUT_CLIENTS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, OkHttpClient> eldest) {
+          return size() > MAX_TIMEOUT_CLIENTS;
+        }
+      };
+  private final int[] mMaxRequests = {64, 32, 4};
+  private final int[] mMaxRequestsPerHost = {5, 5, 2};
+  private final Map<Request, Long> mEnqueueTimes =
+      Collections.synchronizedMap(new WeakHashMap<Request, Long>());
+  private final long[] mStartedRequests = new long[PRIORITY_NAMES.length];
+  private final long[] mTotalQueueingNs = new long[PRIORITY_NAMES.length];
+  private final long[] mMaxQueueingNs = new long[PRIORITY_NAMES.length];
+
+  /**
+   * Queueing delay statistics of one priority level.
+   */
+  /* package */ static class QueueingStats {
+    public final long startedRequests;
+    public final long totalQueueingNs;
+    public final long maxQueueingNs;
+    public final int queuedRequests;
+
+    private QueueingStats(
+        long startedRequests,
+        long totalQueueingNs,
+        long maxQueueingNs,
+        int queuedRequests) {
+      this.startedRequests = startedRequests;
+      this.totalQueueingNs = totalQueueingNs;
+      this.maxQueueingNs = maxQueueingNs;
+      this.queuedRequests = queuedRequests;
+    }
+  }
+
+  /* package */ HttpClientPool(OkHttpClient baseClient) {
+    mBaseClient = baseClient;
+  }
+
+  /* package */ static String[] getPriorities() {
+    return PRIORITY_NAMES.clone();
+  }
+
+  /**
+   * Sets how many requests of the given priority may run at once, in total and per host. Only
+   * applies to clients that have not been created yet.
+   */
+  /* package */ synchronized void setMaxRequests(
+      String priority,
+      int maxRequests,
+      int maxRequestsPerHost) {
+    int level = getLevel(priority);
+    mMaxRequests[level] = maxRequests;
+    mMaxRequestsPerHost[level] = maxRequestsPerHost;
+  }
+
+  /**
+   * @param priority one of the PRIORITY_ constants, or null for the base client. Unknown priorities
+   * are treated as normal.
+   */
+  /* package */ synchronized OkHttpClient getClient(@Nullable String priority, int timeout) {
+    int level = priority == null ? LEVEL_DEFAULT : getLevel(priority);
+    OkHttpClient client = level == LEVEL_DEFAULT ? mBaseClient : getPriorityClient(level);
+    if (timeout == client.readTimeoutMillis()) {
+      return client;
+    }
+    // Cloning a client is cheap as everything else is shared under the hood, but it still
+    // allocates, so keep the clone around for the next request with the same timeout.
+    // See https://github.com/square/okhttp/wiki/Recipes#per-call-configuration for more information
+    long key = ((long) level << 32) | (timeout & 0xffffffffL);
+    OkHttpClient timeoutClient = mTimeoutClients.get(key);
+    if (timeoutClient == null) {
+      timeoutClient = client.newBuilder()
+        .readTimeout(timeout, TimeUnit.MILLISECONDS)
+        .build();
+      mTimeoutClients.put(key, timeoutClient);
+    }
+    return timeoutClient;
+  }
+
+  /**
+   * @return a client for each {@link Dispatcher} requests may have been enqueued on so far, e.g. to
+   * cancel a request whose client is not known anymore. Clients with a non-default timeout share
+   * the Dispatcher of their priority, so they are not part of the result.
+   */
+  /* package */ synchronized List<OkHttpClient> getDispatcherClients() {
+    List<OkHttpClient> clients = new ArrayList<>(PRIORITY_NAMES.length + 1);
+    clients.add(mBaseClient);
+    for (OkHttpClient client : mPriorityClients) {
+      if (client != null) {
+        clients.add(client);
+      }
+    }
+    return clients;
+  }
+
+  /**
+   * Must be called right before the request is enqueued on a client returned by
+   * {@link #getClient}, so that its queueing delay can be measured.
+   */
+  /* package */ void onRequestEnqueued(Request request) {
+    mEnqueueTimes.put(request, System.nanoTime());
+  }
+
+  /* package */ synchronized QueueingStats getQueueingStats(String priority) {
+    int level = getLevel(priority);
+    OkHttpClient client = mPriorityClients[level];
+    return new QueueingStats(
+        mStartedRequests[level],
+        mTotalQueueingNs[level],
+        mMaxQueueingNs[level],
+        client != null ? client.dispatcher().queuedCallsCount() : 0);
+  }
+
+  private OkHttpClient getPriorityClient(int level) {
+    OkHttpClient client = mPriorityClients[level];
+    if (client == null) {
+      Dispatcher dispatcher = new Dispatcher();
+      dispatcher.setMaxRequests(mMaxRequests[level]);
+      dispatcher.setMaxRequestsPerHost(mMaxRequestsPerHost[level]);
+      client = mBaseClient.newBuilder()
+        .dispatcher(dispatcher)
+        .addInterceptor(new QueueingDelayInterceptor(level))
+        .build();
+      mPriorityClients[level] = client;
+    }
+    return client;
+  }
+
+  private synchronized void recordQueueingDelay(int level, long delayNs) {
+    mStartedRequests[level]++;
+    mTotalQueueingNs[level] += delayNs;
+    mMaxQueueingNs[level] = Math.max(mMaxQueueingNs[level], delayNs);
+  }
+
+  private static int getLevel(String priority) {
+    if (PRIORITY_HIGH.equals(priority)) {
+      return LEVEL_HIGH;
+    } else if (PRIORITY_LOW.equals(priority)) {
+      return LEVEL_LOW;
+    }
+    return LEVEL_NORMAL;
+  }
+
+  /**
+   * Application interceptors run on the Dispatcher's thread once the call has left the queue, so
+   * this is where the queueing delay ends.
+   */
+  private class QueueingDelayInterceptor implements Interceptor {
+    private final int mLevel;
+
+    private QueueingDelayInterceptor(int level) {
+      mLevel = level;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+      Long enqueueTime = mEnqueueTimes.remove(chain.request());
+      if (enqueueTime != null) {
+        recordQueueingDelay(mLevel, System.nanoTime() - enqueueTime);
+      }
+      return chain.proceed(chain.request());
+    }
+  }
+}
@@ -11,13 +11,20 @@ package com.facebook.react.modules.network;
 
 import javax.annotation.Nullable;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.TimeUnit;
+
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
 
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.ExecutorToken;
@@ -56,12 +63,17 @@ public final class NetworkingModule extends ReactContextBaseJavaModule {
   private static final String USER_AGENT_HEADER_NAME = "user-agent";
   private static final int CHUNK_TIMEOUT_NS = 100 * 1000000; // 100ms
   private static final int MAX_CHUNK_SIZE_BETWEEN_FLUSHES = 8 * 1024; // 8K
+  private static final int MAX_COALESCED_CHUNK_SIZE = 512 * 1024; // 512K chars
+  private static final String DOWNLOAD_FILE_PREFIX = "RCTNetworking";
 
   private final OkHttpClient mClient;
+  private final HttpClientPool mClientPool;
   private final ForwardingCookieHandler mCookieHandler;
   private final @Nullable String mDefaultUserAgent;
   private final CookieJarContainer mCookieJarContainer;
-  private final Set<Integer> mRequestIds;
+  private final Map<Integer, OkHttpClient> mRequestClients;
+  private final Set<ResponseDataCoalescer> mActiveCoalescers = new HashSet<>();
+  private final Handler mHandler = new Handler(Looper.getMainLooper());
   private boolean mShuttingDown;
 
   /* package */ NetworkingModule(
@@ -79,12 +91,13 @@ public final class NetworkingModule extends ReactContextBaseJavaModule {
       client = clientBuilder.build();
     }
     mClient = client;
+    mClientPool = new HttpClientPool(client);
     OkHttpClientProvider.replaceOkHttpClient(client);
     mCookieHandler = new ForwardingCookieHandler(reactContext);
     mCookieJarContainer = (CookieJarContainer) mClient.cookieJar();
     mShuttingDown = false;
     mDefaultUserAgent = defaultUserAgent;
-    mRequestIds = new HashSet<>();
+    mRequestClients = new HashMap<>();
   }
 
   /**
@@ -141,6 +154,7 @@ public final class NetworkingModule extends ReactContextBaseJavaModule {
   public void onCatalystInstanceDestroy() {
     mShuttingDown = true;
     cancelAllRequests();
+    cancelAllCoalescers();
 
     mCookieHandler.destroy();
     mCookieJarContainer.removeCookieJar();
@@ -149,6 +163,8 @@ public final class NetworkingModule extends ReactContextBaseJavaModule {
   @ReactMethod
   /**
    * @param timeout value of 0 results in no timeout
+   * @param priority "high", "normal" or "low" to run the request on the dispatcher of that
+   * priority, or null to run it on the shared client
    */
   public void sendRequest(
       final ExecutorToken executorToken,
@@ -158,29 +174,187 @@ public final class NetworkingModule extends ReactContextBaseJavaModule {
       ReadableArray headers,
       ReadableMap data,
       final boolean useIncrementalUpdates,
-      int timeout) {
+      int timeout,
+      @Nullable String priority) {
+    final RCTDeviceEventEmitter eventEmitter = getEventEmitter(executorToken);
+    Request request =
+        buildRequest(executorToken, eventEmitter, method, url, requestId, headers, data);
+    if (request == null) {
+      return;
+    }
+
+    enqueueRequest(
+        requestId,
+        request,
+        timeout,
+        priority,
+        new Callback() {
+          @Override
+          public void onFailure(Call call, IOException e) {
+            if (mShuttingDown) {
+              return;
+            }
+            removeRequest(requestId);
+            ResponseUtil.onRequestError(eventEmitter, requestId, e.getMessage(), e);
+          }
+
+          @Override
+          public void onResponse(Call call, Response response) throws IOException {
+            if (mShuttingDown) {
+              return;
+            }
+            // Before we touch the body send headers to JS
+            ResponseUtil.onResponseReceived(
+              eventEmitter,
+              requestId,
+              response.code(),
+              translateHeaders(response.headers()),
+              response.request().url().toString());
+
+            ResponseBody responseBody = response.body();
+            try {
+              if (useIncrementalUpdates) {
+                readWithProgress(eventEmitter, requestId, responseBody);
+                ResponseUtil.onRequestSuccess(eventEmitter, requestId);
+              } else {
+                ResponseUtil.onDataReceived(eventEmitter, requestId, responseBody.string());
+                ResponseUtil.onRequestSuccess(eventEmitter, requestId);
+              }
+            } catch (IOException e) {
+              ResponseUtil.onRequestError(eventEmitter, requestId, e.getMessage(), e);
+            } finally {
+              // Only now, so that the request can be aborted while its body is being read
+              removeRequest(requestId);
+            }
+          }
+        });
+  }
+
+  /**
+   * Like {@link #sendRequest}, but streams the response body into a file instead of sending it to
+   * JS, so that binary payloads are never decoded into Strings. Once the body has been written, a
+   * didReceiveNetworkFile event with the file:// URI of the file and its size in bytes is sent,
+   * followed by the usual didCompleteNetworkResponse event.
+   *
+   * @param destinationPath the path of the file to write to, or null to write to a new temporary
+   * file in the app's cache directory, which the caller is responsible for deleting
+   * @param priority see {@link #sendRequest}
+   */
+  @ReactMethod
+  public void sendRequestToFile(
+      final ExecutorToken executorToken,
+      String method,
+      String url,
+      final int requestId,
+      ReadableArray headers,
+      ReadableMap data,
+      int timeout,
+      final @Nullable String destinationPath,
+      @Nullable String priority) {
+    final RCTDeviceEventEmitter eventEmitter = getEventEmitter(executorToken);
+    Request request =
+        buildRequest(executorToken, eventEmitter, method, url, requestId, headers, data);
+    if (request == null) {
+      return;
+    }
+
+    enqueueRequest(
+        requestId,
+        request,
+        timeout,
+        priority,
+        new Callback() {
+          @Override
+          public void onFailure(Call call, IOException e) {
+            if (mShuttingDown) {
+              return;
+            }
+            removeRequest(requestId);
+            ResponseUtil.onRequestError(eventEmitter, requestId, e.getMessage(), e);
+          }
+
+          @Override
+          public void onResponse(Call call, Response response) throws IOException {
+            if (mShuttingDown) {
+              return;
+            }
+            ResponseUtil.onResponseReceived(
+              eventEmitter,
+              requestId,
+              response.code(),
+              translateHeaders(response.headers()),
+              response.request().url().toString());
+
+            ResponseBody responseBody = response.body();
+            File file = null;
+            try {
+              file = destinationPath != null ?
+                  new File(destinationPath) :
+                  File.createTempFile(
+                      DOWNLOAD_FILE_PREFIX,
+                      null,
+                      getReactApplicationContext().getCacheDir());
+              long byteCount = ResponseUtil.writeToFile(responseBody, file);
+              ResponseUtil.onFileReceived(
+                eventEmitter,
+                requestId,
+                Uri.fromFile(file).toString(),
+                byteCount);
+              ResponseUtil.onRequestSuccess(eventEmitter, requestId);
+            } catch (IOException e) {
+              if (file != null) {
+                file.delete();
+              }
+              ResponseUtil.onRequestError(eventEmitter, requestId, e.getMessage(), e);
+            } finally {
+              responseBody.close();
+              // Only now, so that the request can be aborted while its body is being written
+              removeRequest(requestId);
+            }
+          }
+        });
+  }
+
+  /**
+   * Enqueues the request on the client for its priority and timeout, and remembers that client so
+   * that the request can be cancelled later.
+   */
+  private void enqueueRequest(
+      int requestId,
+      Request request,
+      int timeout,
+      @Nullable String priority,
+      Callback callback) {
+    OkHttpClient client = mClientPool.getClient(priority, timeout);
+    addRequest(requestId, client);
+    if (priority != null) {
+      mClientPool.onRequestEnqueued(request);
+    }
+    client.newCall(request).enqueue(callback);
+  }
+
+  /**
+   * Builds the request described by the JS arguments. If they are invalid, this reports the error
+   * to JS and returns null.
+   */
+  private @Nullable Request buildRequest(
+      ExecutorToken executorToken,
+      final RCTDeviceEventEmitter eventEmitter,
+      String method,
+      String url,
+      final int requestId,
+      ReadableArray headers,
+      ReadableMap data) {
     Request.Builder requestBuilder = new Request.Builder().url(url);
 
     if (requestId != 0) {
       requestBuilder.tag(requestId);
     }
 
-    OkHttpClient client = mClient;
-    // If the current timeout does not equal the passed in timeout, we need to clone the existing
-    // client and set the timeout explicitly on the clone.  This is cheap as everything else is
-    // shared under the hood.
-    // See https://github.com/square/okhttp/wiki/Recipes#per-call-configuration for more information
-    if (timeout != mClient.connectTimeoutMillis()) {
-      client = mClient.newBuilder()
-        .readTimeout(timeout, TimeUnit.MILLISECONDS)
-        .build();
-    }
-
-    final RCTDeviceEventEmitter eventEmitter = getEventEmitter(executorToken);
     Headers requestHeaders = extractHeaders(headers, data);
     if (requestHeaders == null) {
       ResponseUtil.onRequestError(eventEmitter, requestId, "Unrecognized headers format", null);
-      return;
+      return null;
     }
     String contentType = requestHeaders.get(CONTENT_TYPE_HEADER_NAME);
     String contentEncoding = requestHeaders.get(CONTENT_ENCODING_HEADER_NAME);
@@ -195,7 +369,7 @@ public final class NetworkingModule extends ReactContextBaseJavaModule {
           requestId,
           "Payload is set but no content-type header specified",
           null);
-        return;
+        return null;
       }
       String body = data.getString(REQUEST_BODY_KEY_STRING);
       MediaType contentMediaType = MediaType.parse(contentType);
@@ -203,7 +377,7 @@ public final class NetworkingModule extends ReactContextBaseJavaModule {
         RequestBody requestBody = RequestBodyUtil.createGzip(contentMediaType, body);
         if (requestBody == null) {
           ResponseUtil.onRequestError(eventEmitter, requestId, "Failed to gzip request body", null);
-          return;
+          return null;
         }
         requestBuilder.method(method, requestBody);
       } else {
@@ -216,7 +390,7 @@ public final class NetworkingModule extends ReactContextBaseJavaModule {
           requestId,
           "Payload is set but no content-type header specified",
           null);
-        return;
+        return null;
       }
       String uri = data.getString(REQUEST_BODY_KEY_URI);
       InputStream fileInputStream =
@@ -227,7 +401,7 @@ public final class NetworkingModule extends ReactContextBaseJavaModule {
           requestId,
           "Could not retrieve file for uri " + uri,
           null);
-        return;
+        return null;
       }
       requestBuilder.method(
           method,
@@ -240,7 +414,7 @@ public final class NetworkingModule extends ReactContextBaseJavaModule {
       MultipartBody.Builder multipartBuilder =
           constructMultipartBody(executorToken, parts, contentType, requestId);
       if (multipartBuilder == null) {
-        return;
+        return null;
       }
 
       requestBuilder.method(
@@ -264,60 +438,32 @@ public final class NetworkingModule extends ReactContextBaseJavaModule {
       requestBuilder.method(method, RequestBodyUtil.getEmptyBody(method));
     }
 
-    addRequest(requestId);
-    client.newCall(requestBuilder.build()).enqueue(
-        new Callback() {
-          @Override
-          public void onFailure(Call call, IOException e) {
-            if (mShuttingDown) {
-              return;
-            }
-            removeRequest(requestId);
-            ResponseUtil.onRequestError(eventEmitter, requestId, e.getMessage(), e);
-          }
-
-          @Override
-          public void onResponse(Call call, Response response) throws IOException {
-            if (mShuttingDown) {
-              return;
-            }
-            removeRequest(requestId);
-            // Before we touch the body send headers to JS
-            ResponseUtil.onResponseReceived(
-              eventEmitter,
-              requestId,
-              response.code(),
-              translateHeaders(response.headers()),
-              response.request().url().toString());
-
-            ResponseBody responseBody = response.body();
-            try {
-              if (useIncrementalUpdates) {
-                readWithProgress(eventEmitter, requestId, responseBody);
-                ResponseUtil.onRequestSuccess(eventEmitter, requestId);
-              } else {
-                ResponseUtil.onDataReceived(eventEmitter, requestId, responseBody.string());
-                ResponseUtil.onRequestSuccess(eventEmitter, requestId);
-              }
-            } catch (IOException e) {
-              ResponseUtil.onRequestError(eventEmitter, requestId, e.getMessage(), e);
-            }
-          }
-        });
+    return requestBuilder.build();
   }
 
   private void readWithProgress(
       RCTDeviceEventEmitter eventEmitter,
       int requestId,
       ResponseBody responseBody) throws IOException {
-    Reader reader = responseBody.charStream();
+    ProgressResponseBody progressBody = new ProgressResponseBody(responseBody);
+    ResponseDataCoalescer coalescer = new ResponseDataCoalescer(
+        mHandler,
+        eventEmitter,
+        requestId,
+        progressBody,
+        CHUNK_TIMEOUT_NS,
+        MAX_COALESCED_CHUNK_SIZE);
+    addCoalescer(coalescer);
+    Reader reader = progressBody.charStream();
     try {
       char[] buffer = new char[MAX_CHUNK_SIZE_BETWEEN_FLUSHES];
       int read;
       while ((read = reader.read(buffer)) != -1) {
-        ResponseUtil.onDataReceived(eventEmitter, requestId, new String(buffer, 0, read));
+        coalescer.append(buffer, read);
       }
     } finally {
+      coalescer.finish();
+      removeCoalescer(coalescer);
       reader.close();
     }
   }
@@ -326,19 +472,41 @@ public final class NetworkingModule extends ReactContextBaseJavaModule {
     return last + CHUNK_TIMEOUT_NS < now;
   }
 
-  private synchronized void addRequest(int requestId) {
-    mRequestIds.add(requestId);
+  private synchronized void addRequest(int requestId, OkHttpClient client) {
+    mRequestClients.put(requestId, client);
+  }
+
+  private synchronized @Nullable OkHttpClient removeRequest(int requestId) {
+    return mRequestClients.remove(requestId);
   }
 
-  private synchronized void removeRequest(int requestId) {
-    mRequestIds.remove(requestId);
+  private synchronized void addCoalescer(ResponseDataCoalescer coalescer) {
+    if (mShuttingDown) {
+      coalescer.cancel();
+      return;
+    }
+    mActiveCoalescers.add(coalescer);
+  }
+
+  private synchronized void removeCoalescer(ResponseDataCoalescer coalescer) {
+    mActiveCoalescers.remove(coalescer);
+  }
+
+  /**
+   * So that data held back by the coalescers of the requests being read isn't sent after shutdown.
+   */
+  private synchronized void cancelAllCoalescers() {
+    for (ResponseDataCoalescer coalescer : mActiveCoalescers) {
+      coalescer.cancel();
+    }
+    mActiveCoalescers.clear();
   }
 
   private synchronized void cancelAllRequests() {
-    for (Integer requestId : mRequestIds) {
-      cancelRequest(requestId);
+    for (Map.Entry<Integer, OkHttpClient> request : mRequestClients.entrySet()) {
+      cancelRequest(Collections.singletonList(request.getValue()), request.getKey());
     }
-    mRequestIds.clear();
+    mRequestClients.clear();
   }
 
   private static WritableMap translateHeaders(Headers headers) {
@@ -359,17 +527,49 @@ public final class NetworkingModule extends ReactContextBaseJavaModule {
 
   @ReactMethod
   public void abortRequest(ExecutorToken executorToken, final int requestId) {
-    cancelRequest(requestId);
-    removeRequest(requestId);
+    OkHttpClient client = removeRequest(requestId);
+    // A request the module doesn't know about may still be running on any of the dispatchers,
+    // e.g. one that is about to call back with its response
+    cancelRequest(
+        client != null ? Collections.singletonList(client) : mClientPool.getDispatcherClients(),
+        requestId);
+  }
+
+  /**
+   * Returns how long requests of each priority waited for their dispatcher, as a map from priority
+   * to a map with the number of requests started so far, their average and maximum queueing delay
+   * in milliseconds, and the number of requests still queued.
+   */
+  @ReactMethod
+  public void getQueueingStats(
+      ExecutorToken executorToken,
+      com.facebook.react.bridge.Callback callback) {
+    WritableMap result = Arguments.createMap();
+    for (String priority : HttpClientPool.getPriorities()) {
+      HttpClientPool.QueueingStats stats = mClientPool.getQueueingStats(priority);
+      WritableMap priorityStats = Arguments.createMap();
+      priorityStats.putDouble("requests", stats.startedRequests);
+      priorityStats.putDouble(
+          "averageDelayMs",
+          stats.startedRequests == 0 ?
+              0 :
+              stats.totalQueueingNs / 1000000.0 / stats.startedRequests);
+      priorityStats.putDouble("maxDelayMs", stats.maxQueueingNs / 1000000.0);
+      priorityStats.putInt("queued", stats.queuedRequests);
+      result.putMap(priority, priorityStats);
+    }
+    callback.invoke(result);
   }
 
-  private void cancelRequest(final int requestId) {
+  private void cancelRequest(final List<OkHttpClient> clients, final int requestId) {
     // We have to use AsyncTask since this might trigger a NetworkOnMainThreadException, this is an
     // open issue on OkHttp: https://github.com/square/okhttp/issues/869
     new GuardedAsyncTask<Void, Void>(getReactApplicationContext()) {
       @Override
       protected void doInBackgroundGuarded(Void... params) {
-        OkHttpCallUtil.cancelTag(mClient, Integer.valueOf(requestId));
+        for (OkHttpClient client : clients) {
+          OkHttpCallUtil.cancelTag(client, Integer.valueOf(requestId));
+        }
       }
     }.execute();
   }
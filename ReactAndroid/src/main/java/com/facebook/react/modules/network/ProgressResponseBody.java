@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.modules.network;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+
+/**
+ * {@link ResponseBody} that counts the bytes read from the wrapped body, including those read
+ * through {@link #charStream()}.
+ */
+public class ProgressResponseBody extends ResponseBody {
+
+  private final ResponseBody mResponseBody;
+  private @Nullable BufferedSource mBufferedSource;
+  private volatile long mTotalBytesRead;
+
+  public ProgressResponseBody(ResponseBody responseBody) {
+    mResponseBody = responseBody;
+  }
+
+  @Override
+  public MediaType contentType() {
+    return mResponseBody.contentType();
+  }
+
+  @Override
+  public long contentLength() {
+    return mResponseBody.contentLength();
+  }
+
+  @Override
+  public BufferedSource source() {
+    if (mBufferedSource == null) {
+      mBufferedSource = Okio.buffer(new ForwardingSource(mResponseBody.source()) {
+        @Override
+        public long read(Buffer sink, long byteCount) throws IOException {
+          long bytesRead = super.read(sink, byteCount);
+          if (bytesRead != -1) {
+            mTotalBytesRead += bytesRead;
+          }
+          return bytesRead;
+        }
+      });
+    }
+    return mBufferedSource;
+  }
+
+  /**
+   * Returns the number of bytes read from the wrapped body so far. This may run ahead of what has
+   * been consumed from {@link #source()}, since the source is buffered.
+   */
+  public long totalBytesRead() {
+    return mTotalBytesRead;
+  }
+}
@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.modules.network;
+
+import android.os.Handler;
+
+import com.facebook.react.modules.core.DeviceEventManagerModule.RCTDeviceEventEmitter;
+
+/**
+ * Collects the chunks of an incrementally read response and sends them to JS as at most one
+ * didReceiveNetworkData and one didReceiveNetworkDataProgress event per flush interval, however
+ * fast the response comes in. The first chunk is sent right away. Chunks that arrive within the
+ * interval after a flush are held back and sent together, either when the interval is up or when
+ * they add up to the maximum event size, whichever comes first. A flush is posted to the given
+ * Handler so that held back data is not stuck waiting for the next chunk when the server pauses.
+ */
+/* package */ class ResponseDataCoalescer {
+
+  private final Handler mHandler;
+  private final RCTDeviceEventEmitter mEventEmitter;
+  private final int mRequestId;
+  private final ProgressResponseBody mResponseBody;
+  private final long mFlushIntervalNs;
+  private final int mMaxPendingChars;
+  private final StringBuilder mPending = new StringBuilder();
+  private final Runnable mFlushRunnable = new Runnable() {
+    @Override
+    public void run() {
+      synchronized (ResponseDataCoalescer.this) {
+        mFlushScheduled = false;
+        // May have been posted before the coalescer was cancelled, e.g. on shutdown
+        if (mFinished) {
+          return;
+        }
+        flush();
+      }
+    }
+  };
+
+  private long mLastFlushNs;
+  private boolean mFlushScheduled;
+  private boolean mFinished;
+
+  /* package */ ResponseDataCoalescer(
+      Handler handler,
+      RCTDeviceEventEmitter eventEmitter,
+      int requestId,
+      ProgressResponseBody responseBody,
+      long flushIntervalNs,
+      int maxPendingChars) {
+    mHandler = handler;
+    mEventEmitter = eventEmitter;
+    mRequestId = requestId;
+    mResponseBody = responseBody;
+    mFlushIntervalNs = flushIntervalNs;
+    mMaxPendingChars = maxPendingChars;
+    mLastFlushNs = System.nanoTime() - flushIntervalNs;
+  }
+
+  /* package */ synchronized void append(char[] buffer, int count) {
+    if (mFinished) {
+      return;
+    }
+    mPending.append(buffer, 0, count);
+    long delayNs = mLastFlushNs + mFlushIntervalNs - System.nanoTime();
+    if (delayNs <= 0 || mPending.length() >= mMaxPendingChars) {
+      flush();
+    } else if (!mFlushScheduled) {
+      mFlushScheduled = true;
+      mHandler.postDelayed(mFlushRunnable, delayNs / 1000000 + 1);
+    }
+  }
+
+  /**
+   * Sends whatever is still held back. Nothing is sent after this.
+   */
+  /* package */ synchronized void finish() {
+    if (mFlushScheduled) {
+      mHandler.removeCallbacks(mFlushRunnable);
+      mFlushScheduled = false;
+    }
+    flush();
+    mFinished = true;
+  }
+
+  /**
+   * Drops whatever is still held back, e.g. as the networking module is shutting down. Nothing is
+   * sent after this.
+   */
+  /* package */ synchronized void cancel() {
+    if (mFlushScheduled) {
+      mHandler.removeCallbacks(mFlushRunnable);
+      mFlushScheduled = false;
+    }
+    mPending.setLength(0);
+    mFinished = true;
+  }
+
+  private void flush() {
+    if (mFinished || mPending.length() == 0) {
+      return;
+    }
+    ResponseUtil.onDataReceived(mEventEmitter, mRequestId, mPending.toString());
+    ResponseUtil.onDataReceivedProgress(
+        mEventEmitter,
+        mRequestId,
+        mResponseBody.totalBytesRead(),
+        mResponseBody.contentLength());
+    mPending.setLength(0);
+    mLastFlushNs = System.nanoTime();
+  }
+}
@@ -9,6 +9,7 @@
 
 package com.facebook.react.modules.network;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.SocketTimeoutException;
 
@@ -17,6 +18,10 @@ import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.modules.core.DeviceEventManagerModule.RCTDeviceEventEmitter;
 
+import okhttp3.ResponseBody;
+import okio.Okio;
+import okio.Sink;
+
 /**
  * Util methods to send network responses to JS.
  */
@@ -44,6 +49,46 @@ public class ResponseUtil {
     eventEmitter.emit("didReceiveNetworkData", args);
   }
 
+  public static void onDataReceivedProgress(
+    RCTDeviceEventEmitter eventEmitter,
+    int requestId,
+    long progress,
+    long total) {
+    WritableArray args = Arguments.createArray();
+    args.pushInt(requestId);
+    args.pushDouble(progress);
+    args.pushDouble(total);
+
+    eventEmitter.emit("didReceiveNetworkDataProgress", args);
+  }
+
+  public static void onFileReceived(
+    RCTDeviceEventEmitter eventEmitter,
+    int requestId,
+    String fileUri,
+    long byteCount) {
+    WritableArray args = Arguments.createArray();
+    args.pushInt(requestId);
+    args.pushString(fileUri);
+    args.pushDouble(byteCount);
+
+    eventEmitter.emit("didReceiveNetworkFile", args);
+  }
+
+  /**
+   * Writes the response body into the given file and returns the number of bytes written. The
+   * body's buffered segments are handed to the file as they are, without being decoded or copied
+   * into intermediate arrays.
+   */
+  public static long writeToFile(ResponseBody responseBody, File file) throws IOException {
+    Sink sink = Okio.sink(file);
+    try {
+      return responseBody.source().readAll(sink);
+    } finally {
+      sink.close();
+    }
+  }
+
   public static void onRequestError(
     RCTDeviceEventEmitter eventEmitter,
     int requestId,
@@ -19,8 +19,6 @@ import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.text.TextUtils;
 
-import com.facebook.react.bridge.ReadableArray;
-
 import org.json.JSONException;
 import org.json.JSONObject;
 
@@ -45,16 +43,64 @@ import static com.facebook.react.modules.storage.ReactDatabaseSupplier.VALUE_COL
   }
 
   /**
-   * Build the String[] arguments needed for an SQL selection, i.e.:
-   *  {a, b, c}
-   * to be used in the SQL select statement: WHERE key in (?, ?, ?)
+   * Build the String required for an SQL select statement that pages through the keys in order:
+   *  WHERE key GLOB ? AND key > ?
+   * without 'WHERE', leaving out either clause when its argument is null. GLOB is used rather than
+   * LIKE since it is case sensitive, which lets SQLite turn the prefix match into a range scan over
+   * the primary key index. Returns null if there is nothing to select on.
    */
-  /* package */ static String[] buildKeySelectionArgs(ReadableArray keys, int start, int count) {
-    String[] selectionArgs = new String[count];
-    for (int keyIndex = 0; keyIndex < count; keyIndex++) {
-      selectionArgs[keyIndex] = keys.getString(start + keyIndex);
+  /* package */ static @Nullable String buildPageSelection(
+      @Nullable String prefix,
+      @Nullable String cursor) {
+    if (prefix == null && cursor == null) {
+      return null;
+    }
+    StringBuilder selection = new StringBuilder();
+    if (prefix != null) {
+      selection.append(KEY_COLUMN).append(" GLOB ?");
+    }
+    if (cursor != null) {
+      if (prefix != null) {
+        selection.append(" AND ");
+      }
+      selection.append(KEY_COLUMN).append(" > ?");
     }
-    return selectionArgs;
+    return selection.toString();
+  }
+
+  /**
+   * Build the String[] arguments matching {@link #buildPageSelection}.
+   */
+  /* package */ static @Nullable String[] buildPageSelectionArgs(
+      @Nullable String prefix,
+      @Nullable String cursor) {
+    if (prefix == null && cursor == null) {
+      return null;
+    }
+    if (prefix == null) {
+      return new String[] {cursor};
+    }
+    String pattern = escapeGlob(prefix) + "*";
+    if (cursor == null) {
+      return new String[] {pattern};
+    }
+    return new String[] {pattern, cursor};
+  }
+
+  /**
+   * Escapes the GLOB wildcards in the given String, so that it only matches itself.
+   */
+  /* package */ static String escapeGlob(String value) {
+    StringBuilder escaped = new StringBuilder(value.length());
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '*' || c == '?' || c == '[') {
+        escaped.append('[').append(c).append(']');
+      } else {
+        escaped.append(c);
+      }
+    }
+    return escaped.toString();
   }
 
   /**
@@ -108,19 +154,23 @@ import static com.facebook.react.modules.storage.ReactDatabaseSupplier.VALUE_COL
    */
   /* package */ static boolean mergeImpl(SQLiteDatabase db, String key, String value)
       throws JSONException {
-    String oldValue = getItemImpl(db, key);
-    String newValue;
+    String newValue = mergeValues(getItemImpl(db, key), value);
+    return setItemImpl(db, key, newValue);
+  }
 
+  /**
+   * Returns the result of deep merging the JSON object value into the stored JSON object oldValue,
+   * or value if nothing is stored.
+   */
+  /* package */ static String mergeValues(@Nullable String oldValue, String value)
+      throws JSONException {
     if (oldValue == null) {
-      newValue = value;
-    } else {
-      JSONObject oldJSON = new JSONObject(oldValue);
-      JSONObject newJSON = new JSONObject(value);
-      deepMergeInto(oldJSON, newJSON);
-      newValue = oldJSON.toString();
+      return value;
     }
-
-    return setItemImpl(db, key, newValue);
+    JSONObject oldJSON = new JSONObject(oldValue);
+    JSONObject newJSON = new JSONObject(value);
+    deepMergeInto(oldJSON, newJSON);
+    return oldJSON.toString();
   }
 
   /**
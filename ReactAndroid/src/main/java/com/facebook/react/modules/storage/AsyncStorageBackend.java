@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.modules.storage;
+
+import javax.annotation.Nullable;
+
+/**
+ * Key/value store that backs {@link AsyncStorageModule}. All methods are called from background
+ * threads, possibly concurrently, and must be thread safe. Arguments have already been validated
+ * by the module, so keys and values are never null. Failures are reported by throwing, and the
+ * module turns them into errors for the JS callback.
+ */
+public interface AsyncStorageBackend {
+
+  /**
+   * Passed as a limit to {@link #readRows} to read every matching row.
+   */
+  int NO_LIMIT = -1;
+
+  /**
+   * Receives the rows read from the store.
+   */
+  interface RowReader {
+    /**
+     * @param value the value stored for key, or null if values were not requested
+     */
+    void onRow(String key, @Nullable String value);
+  }
+
+  /**
+   * Verify the store exists and is open for reads and writes.
+   */
+  boolean ensureStorage();
+
+  /**
+   * Reads the (key, value) pairs for the keys that are found. Keys that are not found are skipped.
+   */
+  void multiGet(String[] keys, RowReader reader) throws Exception;
+
+  /**
+   * Sets the values of the given keys, replacing the existing values. Either all or none of the
+   * pairs are written.
+   */
+  void multiSet(String[] keys, String[] values) throws Exception;
+
+  /**
+   * Removes the given keys. Keys that are not found are ignored.
+   */
+  void multiRemove(String[] keys) throws Exception;
+
+  /**
+   * Deep merges the given JSON values into the stored values of the given keys, in order, see
+   * {@link AsyncLocalStorageUtil#mergeValues}. Either all or none of the pairs are written.
+   */
+  void multiMerge(String[] keys, String[] values) throws Exception;
+
+  /**
+   * Reads, in ascending key order, at most limit rows with keys that start with prefix (if
+   * non-null) and that sort strictly after afterKey (if non-null).
+   */
+  void readRows(
+      @Nullable String prefix,
+      @Nullable String afterKey,
+      int limit,
+      boolean withValues,
+      RowReader reader) throws Exception;
+
+  /**
+   * Removes all keys.
+   */
+  void clear() throws Exception;
+
+  /**
+   * Removes all keys and releases the store. If that fails, the store must be deleted instead, and
+   * a RuntimeException thrown if that fails too.
+   */
+  void clearAndClose() throws RuntimeException;
+}
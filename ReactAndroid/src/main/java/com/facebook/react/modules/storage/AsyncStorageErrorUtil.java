@@ -43,5 +43,8 @@ public class AsyncStorageErrorUtil {
     return getError(key, "Database Error");
   }
 
+  /* package */ static WritableMap getInvalidPageSizeError() {
+    return getError(null, "Invalid page size");
+  }
 
 }
@@ -9,10 +9,9 @@
 
 package com.facebook.react.modules.storage;
 
-import java.util.HashSet;
+import javax.annotation.Nullable;
 
-import android.database.Cursor;
-import android.database.sqlite.SQLiteStatement;
+import java.util.HashSet;
 
 import com.facebook.common.logging.FLog;
 import com.facebook.react.bridge.Arguments;
@@ -28,23 +27,23 @@ import com.facebook.react.common.ReactConstants;
 import com.facebook.react.common.SetBuilder;
 import com.facebook.react.modules.common.ModuleDataCleaner;
 
-import static com.facebook.react.modules.storage.ReactDatabaseSupplier.KEY_COLUMN;
-import static com.facebook.react.modules.storage.ReactDatabaseSupplier.TABLE_CATALYST;
-import static com.facebook.react.modules.storage.ReactDatabaseSupplier.VALUE_COLUMN;
-
 public final class AsyncStorageModule
     extends ReactContextBaseJavaModule implements ModuleDataCleaner.Cleanable {
 
-  // SQL variable number limit, defined by SQLITE_LIMIT_VARIABLE_NUMBER:
-  // https://raw.githubusercontent.com/android/platform_external_sqlite/master/dist/sqlite3.c
-  private static final int MAX_SQL_KEYS = 999;
-
-  private ReactDatabaseSupplier mReactDatabaseSupplier;
+  private final AsyncStorageBackend mBackend;
   private boolean mShuttingDown = false;
 
   public AsyncStorageModule(ReactApplicationContext reactContext) {
+    this(reactContext, new SQLiteStorageBackend(reactContext));
+  }
+
+  /**
+   * Creates a module that stores its data in the given backend, e.g. a
+   * {@link MappedLogStorageBackend} instead of the default SQLite database.
+   */
+  public AsyncStorageModule(ReactApplicationContext reactContext, AsyncStorageBackend backend) {
     super(reactContext);
-    mReactDatabaseSupplier = ReactDatabaseSupplier.getInstance(reactContext);
+    mBackend = backend;
   }
 
   @Override
@@ -68,7 +67,7 @@ public final class AsyncStorageModule
     // Clear local storage. If fails, crash, since the app is potentially in a bad state and could
     // cause a privacy violation. We're still not recovering from this well, but at least the error
     // will be reported to the server.
-    mReactDatabaseSupplier.clearAndCloseDatabase();
+    mBackend.clearAndClose();
   }
 
   /**
@@ -85,57 +84,44 @@ public final class AsyncStorageModule
     new GuardedAsyncTask<Void, Void>(getReactApplicationContext()) {
       @Override
       protected void doInBackgroundGuarded(Void... params) {
-        if (!ensureDatabase()) {
+        if (!ensureStorage()) {
           callback.invoke(AsyncStorageErrorUtil.getDBError(null), null);
           return;
         }
 
-        String[] columns = {KEY_COLUMN, VALUE_COLUMN};
-        HashSet<String> keysRemaining = SetBuilder.newHashSet();
-        WritableArray data = Arguments.createArray();
-        for (int keyStart = 0; keyStart < keys.size(); keyStart += MAX_SQL_KEYS) {
-          int keyCount = Math.min(keys.size() - keyStart, MAX_SQL_KEYS);
-          Cursor cursor = mReactDatabaseSupplier.get().query(
-              TABLE_CATALYST,
-              columns,
-              AsyncLocalStorageUtil.buildKeySelection(keyCount),
-              AsyncLocalStorageUtil.buildKeySelectionArgs(keys, keyStart, keyCount),
-              null,
-              null,
-              null);
-          keysRemaining.clear();
-          try {
-            if (cursor.getCount() != keys.size()) {
-              // some keys have not been found - insert them with null into the final array
-              for (int keyIndex = keyStart; keyIndex < keyStart + keyCount; keyIndex++) {
-                keysRemaining.add(keys.getString(keyIndex));
-              }
-            }
-
-            if (cursor.moveToFirst()) {
-              do {
-                WritableArray row = Arguments.createArray();
-                row.pushString(cursor.getString(0));
-                row.pushString(cursor.getString(1));
-                data.pushArray(row);
-                keysRemaining.remove(cursor.getString(0));
-              } while (cursor.moveToNext());
-            }
-          } catch (Exception e) {
-            FLog.w(ReactConstants.TAG, e.getMessage(), e);
-            callback.invoke(AsyncStorageErrorUtil.getError(null, e.getMessage()), null);
-            return;
-          } finally {
-            cursor.close();
-          }
+        String[] keyStrings = new String[keys.size()];
+        final HashSet<String> keysRemaining = SetBuilder.newHashSet();
+        for (int keyIndex = 0; keyIndex < keys.size(); keyIndex++) {
+          keyStrings[keyIndex] = keys.getString(keyIndex);
+          keysRemaining.add(keyStrings[keyIndex]);
+        }
 
-          for (String key : keysRemaining) {
-            WritableArray row = Arguments.createArray();
-            row.pushString(key);
-            row.pushNull();
-            data.pushArray(row);
-          }
-          keysRemaining.clear();
+        final WritableArray data = Arguments.createArray();
+        try {
+          mBackend.multiGet(
+              keyStrings,
+              new AsyncStorageBackend.RowReader() {
+                @Override
+                public void onRow(String key, @Nullable String value) {
+                  WritableArray row = Arguments.createArray();
+                  row.pushString(key);
+                  row.pushString(value);
+                  data.pushArray(row);
+                  keysRemaining.remove(key);
+                }
+              });
+        } catch (Exception e) {
+          FLog.w(ReactConstants.TAG, e.getMessage(), e);
+          callback.invoke(AsyncStorageErrorUtil.getError(null, e.getMessage()), null);
+          return;
+        }
+
+        // some keys have not been found - insert them with null into the final array
+        for (String key : keysRemaining) {
+          WritableArray row = Arguments.createArray();
+          row.pushString(key);
+          row.pushNull();
+          data.pushArray(row);
         }
 
         callback.invoke(null, data);
@@ -145,7 +131,7 @@ public final class AsyncStorageModule
 
   /**
    * Inserts multiple (key, value) pairs. If one or more of the pairs cannot be inserted, this will
-   * return AsyncLocalStorageFailure, but all other pairs will have been inserted.
+   * return AsyncLocalStorageFailure, and none of the pairs will have been inserted.
    * The insertion will replace conflicting (key, value) pairs.
    */
   @ReactMethod
@@ -158,47 +144,20 @@ public final class AsyncStorageModule
     new GuardedAsyncTask<Void, Void>(getReactApplicationContext()) {
       @Override
       protected void doInBackgroundGuarded(Void... params) {
-        if (!ensureDatabase()) {
+        if (!ensureStorage()) {
           callback.invoke(AsyncStorageErrorUtil.getDBError(null));
           return;
         }
 
-        String sql = "INSERT OR REPLACE INTO " + TABLE_CATALYST + " VALUES (?, ?);";
-        SQLiteStatement statement = mReactDatabaseSupplier.get().compileStatement(sql);
-        WritableMap error = null;
-        try {
-          mReactDatabaseSupplier.get().beginTransaction();
-          for (int idx=0; idx < keyValueArray.size(); idx++) {
-            if (keyValueArray.getArray(idx).size() != 2) {
-              error = AsyncStorageErrorUtil.getInvalidValueError(null);
-              return;
-            }
-            if (keyValueArray.getArray(idx).getString(0) == null) {
-              error = AsyncStorageErrorUtil.getInvalidKeyError(null);
-              return;
-            }
-            if (keyValueArray.getArray(idx).getString(1) == null) {
-              error = AsyncStorageErrorUtil.getInvalidValueError(null);
-              return;
-            }
-
-            statement.clearBindings();
-            statement.bindString(1, keyValueArray.getArray(idx).getString(0));
-            statement.bindString(2, keyValueArray.getArray(idx).getString(1));
-            statement.execute();
-          }
-          mReactDatabaseSupplier.get().setTransactionSuccessful();
-        } catch (Exception e) {
-          FLog.w(ReactConstants.TAG, e.getMessage(), e);
-          error = AsyncStorageErrorUtil.getError(null, e.getMessage());
-        } finally {
+        String[] keys = new String[keyValueArray.size()];
+        String[] values = new String[keyValueArray.size()];
+        WritableMap error = extractKeyValuePairs(keyValueArray, keys, values);
+        if (error == null) {
           try {
-            mReactDatabaseSupplier.get().endTransaction();
+            mBackend.multiSet(keys, values);
           } catch (Exception e) {
             FLog.w(ReactConstants.TAG, e.getMessage(), e);
-            if (error == null) {
-              error = AsyncStorageErrorUtil.getError(null, e.getMessage());
-            }
+            error = AsyncStorageErrorUtil.getError(null, e.getMessage());
           }
         }
         if (error != null) {
@@ -223,40 +182,23 @@ public final class AsyncStorageModule
     new GuardedAsyncTask<Void, Void>(getReactApplicationContext()) {
       @Override
       protected void doInBackgroundGuarded(Void... params) {
-        if (!ensureDatabase()) {
+        if (!ensureStorage()) {
           callback.invoke(AsyncStorageErrorUtil.getDBError(null));
           return;
         }
 
-        WritableMap error = null;
+        String[] keyStrings = new String[keys.size()];
+        for (int keyIndex = 0; keyIndex < keys.size(); keyIndex++) {
+          keyStrings[keyIndex] = keys.getString(keyIndex);
+        }
         try {
-          mReactDatabaseSupplier.get().beginTransaction();
-          for (int keyStart = 0; keyStart < keys.size(); keyStart += MAX_SQL_KEYS) {
-            int keyCount = Math.min(keys.size() - keyStart, MAX_SQL_KEYS);
-            mReactDatabaseSupplier.get().delete(
-                TABLE_CATALYST,
-                AsyncLocalStorageUtil.buildKeySelection(keyCount),
-                AsyncLocalStorageUtil.buildKeySelectionArgs(keys, keyStart, keyCount));
-          }
-          mReactDatabaseSupplier.get().setTransactionSuccessful();
+          mBackend.multiRemove(keyStrings);
         } catch (Exception e) {
           FLog.w(ReactConstants.TAG, e.getMessage(), e);
-          error = AsyncStorageErrorUtil.getError(null, e.getMessage());
-        } finally {
-          try {
-          mReactDatabaseSupplier.get().endTransaction();
-          } catch (Exception e) {
-            FLog.w(ReactConstants.TAG, e.getMessage(), e);
-            if (error == null) {
-              error = AsyncStorageErrorUtil.getError(null, e.getMessage());
-            }
-          }
-        }
-        if (error != null) {
-          callback.invoke(error);
-        } else {
-          callback.invoke();
+          callback.invoke(AsyncStorageErrorUtil.getError(null, e.getMessage()));
+          return;
         }
+        callback.invoke();
       }
     }.execute();
   }
@@ -270,49 +212,20 @@ public final class AsyncStorageModule
     new GuardedAsyncTask<Void, Void>(getReactApplicationContext()) {
       @Override
       protected void doInBackgroundGuarded(Void... params) {
-        if (!ensureDatabase()) {
+        if (!ensureStorage()) {
           callback.invoke(AsyncStorageErrorUtil.getDBError(null));
           return;
         }
-        WritableMap error = null;
-        try {
-          mReactDatabaseSupplier.get().beginTransaction();
-          for (int idx = 0; idx < keyValueArray.size(); idx++) {
-            if (keyValueArray.getArray(idx).size() != 2) {
-              error = AsyncStorageErrorUtil.getInvalidValueError(null);
-              return;
-            }
-
-            if (keyValueArray.getArray(idx).getString(0) == null) {
-              error = AsyncStorageErrorUtil.getInvalidKeyError(null);
-              return;
-            }
-
-            if (keyValueArray.getArray(idx).getString(1) == null) {
-              error = AsyncStorageErrorUtil.getInvalidValueError(null);
-              return;
-            }
-
-            if (!AsyncLocalStorageUtil.mergeImpl(
-                mReactDatabaseSupplier.get(),
-                keyValueArray.getArray(idx).getString(0),
-                keyValueArray.getArray(idx).getString(1))) {
-              error = AsyncStorageErrorUtil.getDBError(null);
-              return;
-            }
-          }
-          mReactDatabaseSupplier.get().setTransactionSuccessful();
-        } catch (Exception e) {
-          FLog.w(ReactConstants.TAG, e.getMessage(), e);
-          error = AsyncStorageErrorUtil.getError(null, e.getMessage());
-        } finally {
+
+        String[] keys = new String[keyValueArray.size()];
+        String[] values = new String[keyValueArray.size()];
+        WritableMap error = extractKeyValuePairs(keyValueArray, keys, values);
+        if (error == null) {
           try {
-            mReactDatabaseSupplier.get().endTransaction();
+            mBackend.multiMerge(keys, values);
           } catch (Exception e) {
             FLog.w(ReactConstants.TAG, e.getMessage(), e);
-            if (error == null) {
-              error = AsyncStorageErrorUtil.getError(null, e.getMessage());
-            }
+            error = AsyncStorageErrorUtil.getError(null, e.getMessage());
           }
         }
         if (error != null) {
@@ -332,12 +245,12 @@ public final class AsyncStorageModule
     new GuardedAsyncTask<Void, Void>(getReactApplicationContext()) {
       @Override
       protected void doInBackgroundGuarded(Void... params) {
-        if (!mReactDatabaseSupplier.ensureDatabase()) {
+        if (!mBackend.ensureStorage()) {
           callback.invoke(AsyncStorageErrorUtil.getDBError(null));
           return;
         }
         try {
-          mReactDatabaseSupplier.clear();
+          mBackend.clear();
           callback.invoke();
         } catch (Exception e) {
           FLog.w(ReactConstants.TAG, e.getMessage(), e);
@@ -355,26 +268,27 @@ public final class AsyncStorageModule
     new GuardedAsyncTask<Void, Void>(getReactApplicationContext()) {
       @Override
       protected void doInBackgroundGuarded(Void... params) {
-        if (!ensureDatabase()) {
+        if (!ensureStorage()) {
           callback.invoke(AsyncStorageErrorUtil.getDBError(null), null);
           return;
         }
-        WritableArray data = Arguments.createArray();
-        String[] columns = {KEY_COLUMN};
-        Cursor cursor = mReactDatabaseSupplier.get()
-            .query(TABLE_CATALYST, columns, null, null, null, null, null);
+        final WritableArray data = Arguments.createArray();
         try {
-          if (cursor.moveToFirst()) {
-            do {
-              data.pushString(cursor.getString(0));
-            } while (cursor.moveToNext());
-          }
+          mBackend.readRows(
+              null,
+              null,
+              AsyncStorageBackend.NO_LIMIT,
+              false,
+              new AsyncStorageBackend.RowReader() {
+                @Override
+                public void onRow(String key, @Nullable String value) {
+                  data.pushString(key);
+                }
+              });
         } catch (Exception e) {
           FLog.w(ReactConstants.TAG, e.getMessage(), e);
           callback.invoke(AsyncStorageErrorUtil.getError(null, e.getMessage()), null);
           return;
-        } finally {
-          cursor.close();
         }
         callback.invoke(null, data);
       }
@@ -382,9 +296,116 @@ public final class AsyncStorageModule
   }
 
   /**
-   * Verify the database is open for reads and writes.
+   * Returns a page of at most pageSize keys, in ascending order, that start with the given prefix
+   * (or all keys if prefix is null) and come after the given cursor (or from the first key if the
+   * cursor is null). The callback receives the keys and the cursor to pass in to get the next page,
+   * which is null once the last page has been returned.
+   */
+  @ReactMethod
+  public void getKeysPage(
+      final @Nullable String prefix,
+      final @Nullable String cursor,
+      final int pageSize,
+      final Callback callback) {
+    readPage(prefix, cursor, pageSize, false, callback);
+  }
+
+  /**
+   * Like {@link #getKeysPage}, but returns (key, value) pairs in the same format as multiGet.
+   */
+  @ReactMethod
+  public void multiGetPage(
+      final @Nullable String prefix,
+      final @Nullable String cursor,
+      final int pageSize,
+      final Callback callback) {
+    readPage(prefix, cursor, pageSize, true, callback);
+  }
+
+  private void readPage(
+      final @Nullable String prefix,
+      final @Nullable String cursor,
+      final int pageSize,
+      final boolean withValues,
+      final Callback callback) {
+    if (pageSize <= 0) {
+      callback.invoke(AsyncStorageErrorUtil.getInvalidPageSizeError(), null, null);
+      return;
+    }
+
+    new GuardedAsyncTask<Void, Void>(getReactApplicationContext()) {
+      @Override
+      protected void doInBackgroundGuarded(Void... params) {
+        if (!ensureStorage()) {
+          callback.invoke(AsyncStorageErrorUtil.getDBError(null), null, null);
+          return;
+        }
+        final WritableArray data = Arguments.createArray();
+        final String[] lastKey = new String[1];
+        final int[] rowCount = new int[1];
+        try {
+          // Ask for one more row than needed, so we know whether there is a next page.
+          mBackend.readRows(
+              prefix,
+              cursor,
+              pageSize + 1,
+              withValues,
+              new AsyncStorageBackend.RowReader() {
+                @Override
+                public void onRow(String key, @Nullable String value) {
+                  if (rowCount[0]++ == pageSize) {
+                    return;
+                  }
+                  lastKey[0] = key;
+                  if (withValues) {
+                    WritableArray row = Arguments.createArray();
+                    row.pushString(key);
+                    row.pushString(value);
+                    data.pushArray(row);
+                  } else {
+                    data.pushString(key);
+                  }
+                }
+              });
+        } catch (Exception e) {
+          FLog.w(ReactConstants.TAG, e.getMessage(), e);
+          callback.invoke(AsyncStorageErrorUtil.getError(null, e.getMessage()), null, null);
+          return;
+        }
+        callback.invoke(null, data, rowCount[0] > pageSize ? lastKey[0] : null);
+      }
+    }.execute();
+  }
+
+  /**
+   * Copies the (key, value) pairs of keyValueArray into keys and values, returning the error to
+   * report if any of them is invalid.
+   */
+  private static @Nullable WritableMap extractKeyValuePairs(
+      ReadableArray keyValueArray,
+      String[] keys,
+      String[] values) {
+    for (int idx = 0; idx < keyValueArray.size(); idx++) {
+      ReadableArray pair = keyValueArray.getArray(idx);
+      if (pair.size() != 2) {
+        return AsyncStorageErrorUtil.getInvalidValueError(null);
+      }
+      if (pair.getString(0) == null) {
+        return AsyncStorageErrorUtil.getInvalidKeyError(null);
+      }
+      if (pair.getString(1) == null) {
+        return AsyncStorageErrorUtil.getInvalidValueError(null);
+      }
+      keys[idx] = pair.getString(0);
+      values[idx] = pair.getString(1);
+    }
+    return null;
+  }
+
+  /**
+   * Verify the storage is open for reads and writes.
    */
-  private boolean ensureDatabase() {
-    return !mShuttingDown && mReactDatabaseSupplier.ensureDatabase();
+  private boolean ensureStorage() {
+    return !mShuttingDown && mBackend.ensureStorage();
   }
 }
@@ -0,0 +1,621 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.modules.storage;
+
+import javax.annotation.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+import android.content.Context;
+import android.os.AsyncTask;
+
+import com.facebook.common.logging.FLog;
+import com.facebook.infer.annotation.Assertions;
+import com.facebook.react.common.ReactConstants;
+import com.facebook.react.common.annotations.VisibleForTesting;
+
+/**
+ * {@link AsyncStorageBackend} that appends every write to a memory-mapped log file and keeps an
+ * in-memory index from each key to the location of its latest value in the log. Writes are a
+ * single copy into the mapping and reads decode the value straight from it, which makes both
+ * cheaper than going through SQLite for large values.
+ *
+ * File layout: a header holding a magic number, the format version and the offset of the end of
+ * the last complete batch, followed by records of (type, key length, value length, CRC32, key,
+ * value). The end offset is only updated once every record of a batch has been written, so a
+ * batch is either fully visible or not at all after the process dies. Writes are not synced to
+ * disk, so they survive the app being killed but not necessarily the device losing power.
+ *
+ * Overwritten and removed values stay in the log until it is compacted: once more than half of
+ * the log is garbage, or the log nears its maximum size with enough garbage to be worth it, the
+ * live records are copied into a new file on a background thread and the new file replaces the
+ * log.
+ *
+ * Keys are ordered by their UTF-8 bytes, like SQLite orders them, so that paged reads return the
+ * same rows from both backends.
+ */
+public class MappedLogStorageBackend implements AsyncStorageBackend {
+
+  // VisibleForTesting
+  public static final String FILE_NAME = "RKStorageLog";
+
+  private static final int MAGIC = 0x524b4c47;
+  private static final int VERSION = 1;
+  private static final int TAIL_OFFSET = 8;
+  private static final int HEADER_SIZE = 16;
+  private static final int RECORD_HEADER_SIZE = 13;
+  private static final byte RECORD_PUT = 1;
+  private static final byte RECORD_REMOVE = 2;
+  private static final int INITIAL_CAPACITY = 64 * 1024;
+  private static final int MIN_COMPACTION_GARBAGE = 256 * 1024;
+  // Fraction of the maximum size that has to be garbage for compacting a full log to be worth it
+  private static final int MIN_FULL_COMPACTION_GARBAGE_DIVISOR = 8;
+  // Fraction of the maximum size that is left when compacting in the background ahead of time
+  private static final int NEAR_FULL_HEADROOM_DIVISOR = 4;
+  private static final String COMPACTION_SUFFIX = ".compact";
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  /**
+   * Orders Strings by code point, which is also the order of their UTF-8 bytes, unlike
+   * {@link String#compareTo} which orders supplementary characters (as surrogate pairs) before
+   * the characters from U+E000 to U+FFFF.
+   */
+  /* package */ static final Comparator<String> UTF8_ORDER = new Comparator<String>() {
+    @Override
+    public int compare(String lhs, String rhs) {
+      int length = Math.min(lhs.length(), rhs.length());
+      for (int i = 0; i < length; i++) {
+        char lhsChar = lhs.charAt(i);
+        char rhsChar = rhs.charAt(i);
+        if (lhsChar != rhsChar) {
+          return toCodePointOrder(lhsChar) - toCodePointOrder(rhsChar);
+        }
+      }
+      return lhs.length() - rhs.length();
+    }
+
+    /**
+     * Moves surrogates after U+FFFF and the characters after them down to make room.
+     */
+    private int toCodePointOrder(char c) {
+      if (c < Character.MIN_SURROGATE) {
+        return c;
+      }
+      return c > Character.MAX_SURROGATE ? c - 0x800 : c + 0x2000;
+    }
+  };
+
+  private static @Nullable MappedLogStorageBackend sMappedLogStorageBackendInstance;
+
+  private final File mFile;
+  private final TreeMap<String, Entry> mIndex = new TreeMap<>(UTF8_ORDER);
+  private final CRC32 mChecksum = new CRC32();
+  private @Nullable RandomAccessFile mRandomAccessFile;
+  private @Nullable MappedByteBuffer mBuffer;
+  private long mMaximumSize = 6L * 1024L * 1024L; // 6 MB in bytes
+  private int mTail;
+  private int mLiveBytes;
+  private int mGeneration;
+  private boolean mCompactionScheduled;
+
+  /**
+   * Location of a value in the log.
+   */
+  private static class Entry {
+    final int recordOffset;
+    final int keyLength;
+    final int valueLength;
+
+    Entry(int recordOffset, int keyLength, int valueLength) {
+      this.recordOffset = recordOffset;
+      this.keyLength = keyLength;
+      this.valueLength = valueLength;
+    }
+
+    int valueOffset() {
+      return recordOffset + RECORD_HEADER_SIZE + keyLength;
+    }
+
+    int size() {
+      return RECORD_HEADER_SIZE + keyLength + valueLength;
+    }
+  }
+
+  @VisibleForTesting
+  /* package */ MappedLogStorageBackend(File file) {
+    mFile = file;
+  }
+
+  public static synchronized MappedLogStorageBackend getInstance(Context context) {
+    if (sMappedLogStorageBackendInstance == null) {
+      sMappedLogStorageBackendInstance = new MappedLogStorageBackend(
+          new File(context.getApplicationContext().getFilesDir(), FILE_NAME));
+    }
+    return sMappedLogStorageBackendInstance;
+  }
+
+  // For testing purposes only!
+  public static synchronized void deleteInstance() {
+    sMappedLogStorageBackendInstance = null;
+  }
+
+  /**
+   * Sets the maximum size the log will grow to. Writes that would grow it further fail, unless
+   * compacting the log frees enough room, which is only tried once at least an eighth of the
+   * maximum size is garbage.
+   */
+  public synchronized void setMaximumSize(long size) {
+    mMaximumSize = size;
+  }
+
+  @Override
+  public synchronized boolean ensureStorage() {
+    if (mBuffer != null) {
+      return true;
+    }
+    // Like the SQLite database, retry once after deleting the file if it can't be opened.
+    try {
+      open();
+    } catch (IOException e) {
+      FLog.w(ReactConstants.TAG, "Failed to open " + mFile + ", deleting it", e);
+      close();
+      if (!mFile.delete()) {
+        throw new RuntimeException("Deleting " + mFile + " failed", e);
+      }
+      try {
+        open();
+      } catch (IOException retryException) {
+        close();
+        throw new RuntimeException("Opening " + mFile + " failed", retryException);
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public synchronized void multiGet(String[] keys, RowReader reader) {
+    ensureStorage();
+    HashSet<String> keysRead = new HashSet<>();
+    for (String key : keys) {
+      Entry entry = mIndex.get(key);
+      if (entry != null && keysRead.add(key)) {
+        reader.onRow(key, readValue(entry));
+      }
+    }
+  }
+
+  @Override
+  public synchronized void multiSet(String[] keys, String[] values) throws IOException {
+    ensureStorage();
+    byte[] types = new byte[keys.length];
+    for (int i = 0; i < types.length; i++) {
+      types[i] = RECORD_PUT;
+    }
+    writeBatch(types, keys, values);
+  }
+
+  @Override
+  public synchronized void multiRemove(String[] keys) throws IOException {
+    ensureStorage();
+    List<String> keysFound = new ArrayList<>();
+    for (String key : keys) {
+      if (mIndex.containsKey(key)) {
+        keysFound.add(key);
+      }
+    }
+    if (keysFound.isEmpty()) {
+      return;
+    }
+    byte[] types = new byte[keysFound.size()];
+    String[] values = new String[keysFound.size()];
+    for (int i = 0; i < types.length; i++) {
+      types[i] = RECORD_REMOVE;
+      values[i] = "";
+    }
+    writeBatch(types, keysFound.toArray(new String[keysFound.size()]), values);
+  }
+
+  @Override
+  public synchronized void multiMerge(String[] keys, String[] values) throws Exception {
+    ensureStorage();
+    // The same key may be merged several times in one batch.
+    LinkedHashMap<String, String> mergedValues = new LinkedHashMap<>();
+    for (int i = 0; i < keys.length; i++) {
+      String oldValue;
+      if (mergedValues.containsKey(keys[i])) {
+        oldValue = mergedValues.get(keys[i]);
+      } else {
+        Entry entry = mIndex.get(keys[i]);
+        oldValue = entry != null ? readValue(entry) : null;
+      }
+      mergedValues.put(keys[i], AsyncLocalStorageUtil.mergeValues(oldValue, values[i]));
+    }
+    byte[] types = new byte[mergedValues.size()];
+    String[] mergedKeys = new String[mergedValues.size()];
+    String[] newValues = new String[mergedValues.size()];
+    int i = 0;
+    for (Map.Entry<String, String> mergedValue : mergedValues.entrySet()) {
+      types[i] = RECORD_PUT;
+      mergedKeys[i] = mergedValue.getKey();
+      newValues[i] = mergedValue.getValue();
+      i++;
+    }
+    writeBatch(types, mergedKeys, newValues);
+  }
+
+  @Override
+  public synchronized void readRows(
+      @Nullable String prefix,
+      @Nullable String afterKey,
+      int limit,
+      boolean withValues,
+      RowReader reader) {
+    ensureStorage();
+    NavigableMap<String, Entry> rows;
+    if (afterKey != null && (prefix == null || UTF8_ORDER.compare(afterKey, prefix) >= 0)) {
+      rows = mIndex.tailMap(afterKey, false);
+    } else if (prefix != null) {
+      rows = mIndex.tailMap(prefix, true);
+    } else {
+      rows = mIndex;
+    }
+    int rowCount = 0;
+    for (Map.Entry<String, Entry> row : rows.entrySet()) {
+      if ((limit != NO_LIMIT && rowCount == limit) ||
+          (prefix != null && !row.getKey().startsWith(prefix))) {
+        break;
+      }
+      reader.onRow(row.getKey(), withValues ? readValue(row.getValue()) : null);
+      rowCount++;
+    }
+  }
+
+  @Override
+  public synchronized void clear() {
+    ensureStorage();
+    // The file is not truncated, since a background compaction may still be reading from it.
+    mIndex.clear();
+    mLiveBytes = 0;
+    mGeneration++;
+    setTail(HEADER_SIZE);
+  }
+
+  @Override
+  public synchronized void clearAndClose() throws RuntimeException {
+    try {
+      clear();
+      close();
+      FLog.d(ReactConstants.TAG, "Cleaned " + FILE_NAME);
+    } catch (Exception e) {
+      // Clearing the log has failed, delete it instead.
+      close();
+      if (mFile.delete()) {
+        FLog.d(ReactConstants.TAG, "Deleted " + FILE_NAME);
+        return;
+      }
+      // Everything failed, throw
+      throw new RuntimeException("Clearing and deleting " + FILE_NAME + " failed");
+    }
+  }
+
+  private void open() throws IOException {
+    mRandomAccessFile = new RandomAccessFile(mFile, "rw");
+    long length = mRandomAccessFile.length();
+    if (length > Integer.MAX_VALUE) {
+      throw new IOException("Log is too large to be mapped: " + length);
+    }
+    map((int) Math.max(length, INITIAL_CAPACITY));
+    MappedByteBuffer buffer = Assertions.assertNotNull(mBuffer);
+    if (length < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+      buffer.putInt(0, MAGIC);
+      buffer.putInt(4, VERSION);
+      mIndex.clear();
+      mLiveBytes = 0;
+      setTail(HEADER_SIZE);
+    } else {
+      replay(buffer.getLong(TAIL_OFFSET));
+    }
+  }
+
+  private void close() {
+    mIndex.clear();
+    mLiveBytes = 0;
+    mGeneration++;
+    mBuffer = null;
+    if (mRandomAccessFile != null) {
+      try {
+        mRandomAccessFile.close();
+      } catch (IOException e) {
+        FLog.w(ReactConstants.TAG, "Failed to close " + mFile, e);
+      }
+      mRandomAccessFile = null;
+    }
+  }
+
+  private void map(int capacity) throws IOException {
+    RandomAccessFile file = Assertions.assertNotNull(mRandomAccessFile);
+    if (file.length() < capacity) {
+      file.setLength(capacity);
+    }
+    mBuffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+  }
+
+  private void setTail(int tail) {
+    mTail = tail;
+    Assertions.assertNotNull(mBuffer).putLong(TAIL_OFFSET, tail);
+  }
+
+  /**
+   * Rebuilds the index from the records in the log, stopping at the first torn or corrupt record.
+   */
+  private void replay(long tail) {
+    MappedByteBuffer buffer = Assertions.assertNotNull(mBuffer);
+    int end = (int) Math.min(Math.max(tail, HEADER_SIZE), buffer.capacity());
+    int offset = HEADER_SIZE;
+    mIndex.clear();
+    mLiveBytes = 0;
+    while (end - offset >= RECORD_HEADER_SIZE) {
+      byte type = buffer.get(offset);
+      int keyLength = buffer.getInt(offset + 1);
+      int valueLength = buffer.getInt(offset + 5);
+      int checksum = buffer.getInt(offset + 9);
+      if ((type != RECORD_PUT && type != RECORD_REMOVE) ||
+          keyLength < 0 ||
+          valueLength < 0 ||
+          (long) keyLength + valueLength > end - offset - RECORD_HEADER_SIZE) {
+        break;
+      }
+      Entry entry = new Entry(offset, keyLength, valueLength);
+      byte[] keyBytes = readBytes(offset + RECORD_HEADER_SIZE, keyLength);
+      byte[] valueBytes = readBytes(entry.valueOffset(), valueLength);
+      if (checksum(type, keyBytes, valueBytes) != checksum) {
+        FLog.w(ReactConstants.TAG, "Found corrupt record in " + mFile + " at " + offset);
+        break;
+      }
+      applyRecord(type, new String(keyBytes, UTF_8), entry);
+      offset += entry.size();
+    }
+    setTail(offset);
+  }
+
+  /**
+   * Appends one record per key and makes them visible at once.
+   */
+  private void writeBatch(byte[] types, String[] keys, String[] values) throws IOException {
+    byte[][] keyBytes = new byte[keys.length][];
+    byte[][] valueBytes = new byte[keys.length][];
+    long batchSize = 0;
+    for (int i = 0; i < keys.length; i++) {
+      keyBytes[i] = keys[i].getBytes(UTF_8);
+      valueBytes[i] = values[i].getBytes(UTF_8);
+      batchSize += RECORD_HEADER_SIZE + keyBytes[i].length + valueBytes[i].length;
+    }
+    ensureCapacity(batchSize);
+
+    ByteBuffer out = Assertions.assertNotNull(mBuffer).duplicate();
+    out.position(mTail);
+    Entry[] entries = new Entry[keys.length];
+    for (int i = 0; i < keys.length; i++) {
+      entries[i] = new Entry(out.position(), keyBytes[i].length, valueBytes[i].length);
+      out.put(types[i]);
+      out.putInt(keyBytes[i].length);
+      out.putInt(valueBytes[i].length);
+      out.putInt(checksum(types[i], keyBytes[i], valueBytes[i]));
+      out.put(keyBytes[i]);
+      out.put(valueBytes[i]);
+    }
+    setTail(out.position());
+
+    for (int i = 0; i < keys.length; i++) {
+      applyRecord(types[i], keys[i], entries[i]);
+    }
+    maybeScheduleCompaction();
+  }
+
+  private void applyRecord(byte type, String key, Entry entry) {
+    Entry previous = type == RECORD_PUT ? mIndex.put(key, entry) : mIndex.remove(key);
+    if (previous != null) {
+      mLiveBytes -= previous.size();
+    }
+    if (type == RECORD_PUT) {
+      mLiveBytes += entry.size();
+    }
+  }
+
+  private void ensureCapacity(long batchSize) throws IOException {
+    if (mTail + batchSize > mMaximumSize) {
+      // Only compact if that frees a good part of the log, rather than rewriting the whole log for
+      // every write once it is mostly live data
+      long minGarbage =
+          Math.max(batchSize, mMaximumSize / MIN_FULL_COMPACTION_GARBAGE_DIVISOR);
+      if (getGarbageSize() < minGarbage) {
+        throw new IOException("Storage is full");
+      }
+      compact();
+      if (mTail + batchSize > mMaximumSize) {
+        throw new IOException("Storage is full");
+      }
+    }
+    int capacity = Assertions.assertNotNull(mBuffer).capacity();
+    if (mTail + batchSize > capacity) {
+      map((int) Math.min(Math.max(2L * capacity, mTail + batchSize), Integer.MAX_VALUE));
+    }
+  }
+
+  private String readValue(Entry entry) {
+    return new String(readBytes(entry.valueOffset(), entry.valueLength), UTF_8);
+  }
+
+  private byte[] readBytes(int offset, int length) {
+    byte[] bytes = new byte[length];
+    ByteBuffer in = Assertions.assertNotNull(mBuffer).duplicate();
+    in.position(offset);
+    in.get(bytes);
+    return bytes;
+  }
+
+  private int checksum(byte type, byte[] keyBytes, byte[] valueBytes) {
+    mChecksum.reset();
+    mChecksum.update(type);
+    mChecksum.update(keyBytes);
+    mChecksum.update(valueBytes);
+    return (int) mChecksum.getValue();
+  }
+
+  private int getGarbageSize() {
+    return mTail - HEADER_SIZE - mLiveBytes;
+  }
+
+  private void maybeScheduleCompaction() {
+    if (mCompactionScheduled) {
+      return;
+    }
+    int garbage = getGarbageSize();
+    boolean mostlyGarbage = garbage >= MIN_COMPACTION_GARBAGE && garbage >= mLiveBytes;
+    // Compacting ahead of time keeps writes from having to compact a full log themselves
+    boolean nearFull =
+        mTail > mMaximumSize - mMaximumSize / NEAR_FULL_HEADROOM_DIVISOR &&
+        garbage >= mMaximumSize / MIN_FULL_COMPACTION_GARBAGE_DIVISOR;
+    if (!mostlyGarbage && !nearFull) {
+      return;
+    }
+    mCompactionScheduled = true;
+    AsyncTask.THREAD_POOL_EXECUTOR.execute(
+        new Runnable() {
+          @Override
+          public void run() {
+            compactInBackground();
+          }
+        });
+  }
+
+  /**
+   * Compacts the log while holding the lock, used when the log is full.
+   */
+  private void compact() throws IOException {
+    File compacted = new File(mFile.getPath() + COMPACTION_SUFFIX);
+    RandomAccessFile out = new RandomAccessFile(compacted, "rw");
+    try {
+      out.setLength(0);
+      copyLiveRecords(out.getChannel(), Assertions.assertNotNull(mBuffer), snapshotIndex());
+      swapIn(out, compacted);
+    } finally {
+      out.close();
+      compacted.delete();
+    }
+  }
+
+  /**
+   * Copies the live records into a new log without holding the lock, which is safe since records
+   * are never modified once written. Records appended in the meantime are then copied over while
+   * holding the lock, and the new log replaces the old one.
+   */
+  private void compactInBackground() {
+    MappedByteBuffer source;
+    List<Entry> entries;
+    int end;
+    int generation;
+    synchronized (this) {
+      mCompactionScheduled = false;
+      if (mBuffer == null) {
+        return;
+      }
+      source = mBuffer;
+      entries = snapshotIndex();
+      end = mTail;
+      generation = mGeneration;
+    }
+
+    File compacted = new File(mFile.getPath() + COMPACTION_SUFFIX);
+    try {
+      RandomAccessFile out = new RandomAccessFile(compacted, "rw");
+      try {
+        out.setLength(0);
+        copyLiveRecords(out.getChannel(), source, entries);
+        synchronized (this) {
+          // The log was cleared or closed meanwhile, so the copied records may be stale.
+          if (generation != mGeneration) {
+            return;
+          }
+          ByteBuffer appended = Assertions.assertNotNull(mBuffer).duplicate();
+          appended.position(end);
+          appended.limit(mTail);
+          writeFully(out.getChannel(), appended);
+          swapIn(out, compacted);
+        }
+      } finally {
+        out.close();
+        compacted.delete();
+      }
+    } catch (IOException e) {
+      FLog.w(ReactConstants.TAG, "Failed to compact " + mFile, e);
+    }
+  }
+
+  private List<Entry> snapshotIndex() {
+    return new ArrayList<>(mIndex.values());
+  }
+
+  private static void copyLiveRecords(
+      FileChannel out,
+      MappedByteBuffer source,
+      List<Entry> entries) throws IOException {
+    out.position(HEADER_SIZE);
+    for (Entry entry : entries) {
+      ByteBuffer record = source.duplicate();
+      record.position(entry.recordOffset);
+      record.limit(entry.recordOffset + entry.size());
+      writeFully(out, record);
+    }
+  }
+
+  /**
+   * Writes the header of the compacted log and replaces the current log with it.
+   */
+  private void swapIn(RandomAccessFile out, File compacted) throws IOException {
+    FileChannel channel = out.getChannel();
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    header.putInt(MAGIC);
+    header.putInt(VERSION);
+    header.putLong(channel.position());
+    header.flip();
+    channel.position(0);
+    writeFully(channel, header);
+    channel.force(true);
+
+    close();
+    boolean renamed = compacted.renameTo(mFile);
+    open();
+    if (!renamed) {
+      throw new IOException("Failed to replace " + mFile + " with " + compacted);
+    }
+  }
+
+  private static void writeFully(FileChannel out, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      out.write(buffer);
+    }
+  }
+}
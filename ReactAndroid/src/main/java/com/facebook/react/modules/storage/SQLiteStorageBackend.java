@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.modules.storage;
+
+import javax.annotation.Nullable;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import static com.facebook.react.modules.storage.ReactDatabaseSupplier.KEY_COLUMN;
+import static com.facebook.react.modules.storage.ReactDatabaseSupplier.TABLE_CATALYST;
+import static com.facebook.react.modules.storage.ReactDatabaseSupplier.VALUE_COLUMN;
+
+/**
+ * {@link AsyncStorageBackend} that keeps all pairs in a single SQLite table, supplied by
+ * {@link ReactDatabaseSupplier}.
+ */
+public class SQLiteStorageBackend implements AsyncStorageBackend {
+
+  // SQL variable number limit, defined by SQLITE_LIMIT_VARIABLE_NUMBER:
+  // https://raw.githubusercontent.com/android/platform_external_sqlite/master/dist/sqlite3.c
+  private static final int MAX_SQL_KEYS = 999;
+
+  private final ReactDatabaseSupplier mReactDatabaseSupplier;
+
+  public SQLiteStorageBackend(Context context) {
+    mReactDatabaseSupplier = ReactDatabaseSupplier.getInstance(context);
+  }
+
+  @Override
+  public boolean ensureStorage() {
+    return mReactDatabaseSupplier.ensureDatabase();
+  }
+
+  @Override
+  public void multiGet(String[] keys, RowReader reader) {
+    String[] columns = {KEY_COLUMN, VALUE_COLUMN};
+    for (int keyStart = 0; keyStart < keys.length; keyStart += MAX_SQL_KEYS) {
+      int keyCount = Math.min(keys.length - keyStart, MAX_SQL_KEYS);
+      String[] selectionArgs = new String[keyCount];
+      System.arraycopy(keys, keyStart, selectionArgs, 0, keyCount);
+      Cursor cursor = mReactDatabaseSupplier.get().query(
+          TABLE_CATALYST,
+          columns,
+          AsyncLocalStorageUtil.buildKeySelection(keyCount),
+          selectionArgs,
+          null,
+          null,
+          null);
+      try {
+        if (cursor.moveToFirst()) {
+          do {
+            reader.onRow(cursor.getString(0), cursor.getString(1));
+          } while (cursor.moveToNext());
+        }
+      } finally {
+        cursor.close();
+      }
+    }
+  }
+
+  @Override
+  public void multiSet(String[] keys, String[] values) {
+    SQLiteDatabase db = mReactDatabaseSupplier.get();
+    String sql = "INSERT OR REPLACE INTO " + TABLE_CATALYST + " VALUES (?, ?);";
+    SQLiteStatement statement = db.compileStatement(sql);
+    db.beginTransaction();
+    try {
+      for (int idx = 0; idx < keys.length; idx++) {
+        statement.clearBindings();
+        statement.bindString(1, keys[idx]);
+        statement.bindString(2, values[idx]);
+        statement.execute();
+      }
+      db.setTransactionSuccessful();
+    } finally {
+      db.endTransaction();
+    }
+  }
+
+  @Override
+  public void multiRemove(String[] keys) {
+    SQLiteDatabase db = mReactDatabaseSupplier.get();
+    db.beginTransaction();
+    try {
+      for (int keyStart = 0; keyStart < keys.length; keyStart += MAX_SQL_KEYS) {
+        int keyCount = Math.min(keys.length - keyStart, MAX_SQL_KEYS);
+        String[] selectionArgs = new String[keyCount];
+        System.arraycopy(keys, keyStart, selectionArgs, 0, keyCount);
+        db.delete(
+            TABLE_CATALYST,
+            AsyncLocalStorageUtil.buildKeySelection(keyCount),
+            selectionArgs);
+      }
+      db.setTransactionSuccessful();
+    } finally {
+      db.endTransaction();
+    }
+  }
+
+  @Override
+  public void multiMerge(String[] keys, String[] values) throws Exception {
+    SQLiteDatabase db = mReactDatabaseSupplier.get();
+    db.beginTransaction();
+    try {
+      for (int idx = 0; idx < keys.length; idx++) {
+        if (!AsyncLocalStorageUtil.mergeImpl(db, keys[idx], values[idx])) {
+          throw new IllegalStateException("Database Error");
+        }
+      }
+      db.setTransactionSuccessful();
+    } finally {
+      db.endTransaction();
+    }
+  }
+
+  @Override
+  public void readRows(
+      @Nullable String prefix,
+      @Nullable String afterKey,
+      int limit,
+      boolean withValues,
+      RowReader reader) {
+    String[] columns = withValues ?
+        new String[] {KEY_COLUMN, VALUE_COLUMN} :
+        new String[] {KEY_COLUMN};
+    Cursor cursor = mReactDatabaseSupplier.get().query(
+        TABLE_CATALYST,
+        columns,
+        AsyncLocalStorageUtil.buildPageSelection(prefix, afterKey),
+        AsyncLocalStorageUtil.buildPageSelectionArgs(prefix, afterKey),
+        null,
+        null,
+        KEY_COLUMN + " ASC",
+        limit == NO_LIMIT ? null : String.valueOf(limit));
+    try {
+      while (cursor.moveToNext()) {
+        reader.onRow(cursor.getString(0), withValues ? cursor.getString(1) : null);
+      }
+    } finally {
+      cursor.close();
+    }
+  }
+
+  @Override
+  public void clear() {
+    mReactDatabaseSupplier.clear();
+  }
+
+  @Override
+  public void clearAndClose() throws RuntimeException {
+    mReactDatabaseSupplier.clearAndCloseDatabase();
+  }
+}
@@ -0,0 +1,271 @@
+// Copyright 2004-present Facebook. All Rights Reserved.
+
+package com.facebook.react.processing;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedSourceVersion;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.facebook.infer.annotation.SuppressFieldNotInitialized;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+import static javax.lang.model.element.Modifier.*;
+import static javax.tools.Diagnostic.Kind.ERROR;
+import static javax.tools.Diagnostic.Kind.WARNING;
+
+/**
+ * This annotation processor finds all interfaces extending JavaScriptModule and generates a class
+ * per interface that is named {@code <interfacename>$$JSModuleStub}. The class implements the
+ * interface on top of JavaScriptModuleStub, writing the arguments of each call into a
+ * WritableNativeArray by their static type, so that JavaScriptModuleRegistry does not have to fall
+ * back to a reflection based proxy.
+ *
+ * JavaScriptModule interfaces carry no annotation, so the processor looks at every type in the
+ * round and does not claim any annotations.
+ *
+ * Only the Buck build runs this processor (see ReactAndroid/DEFS). The Gradle build excludes this
+ * package, like it does for ReactPropertyProcessor, so apps built with Gradle keep using the
+ * proxies.
+ */
+@SupportedAnnotationTypes("*")
+@SupportedSourceVersion(SourceVersion.RELEASE_7)
+public class JavaScriptModuleProcessor extends AbstractProcessor {
+  private static final String BRIDGE_PACKAGE = "com.facebook.react.bridge";
+  private static final String JAVA_SCRIPT_MODULE_TYPE = BRIDGE_PACKAGE + ".JavaScriptModule";
+  private static final String STUB_SUFFIX = "$$JSModuleStub";
+
+  private static final ClassName STUB_TYPE = ClassName.get(BRIDGE_PACKAGE, "JavaScriptModuleStub");
+  private static final ClassName EXECUTOR_TOKEN_TYPE =
+      ClassName.get(BRIDGE_PACKAGE, "ExecutorToken");
+  private static final ClassName CATALYST_INSTANCE_TYPE =
+      ClassName.get(BRIDGE_PACKAGE, "CatalystInstance");
+  private static final ClassName REGISTRATION_TYPE =
+      ClassName.get(BRIDGE_PACKAGE, "JavaScriptModuleRegistration");
+  private static final ClassName NATIVE_ARRAY_TYPE =
+      ClassName.get(BRIDGE_PACKAGE, "WritableNativeArray");
+  private static final TypeName STRING_TYPE = TypeName.get(String.class);
+  private static final TypeName WRITABLE_MAP_TYPE = ClassName.get(BRIDGE_PACKAGE, "WritableMap");
+  private static final TypeName WRITABLE_ARRAY_TYPE =
+      ClassName.get(BRIDGE_PACKAGE, "WritableArray");
+
+  @SuppressFieldNotInitialized
+  private Filer mFiler;
+  @SuppressFieldNotInitialized
+  private Messager mMessager;
+  @SuppressFieldNotInitialized
+  private Elements mElements;
+  @SuppressFieldNotInitialized
+  private Types mTypes;
+
+  @Override
+  public synchronized void init(ProcessingEnvironment processingEnv) {
+    super.init(processingEnv);
+
+    mFiler = processingEnv.getFiler();
+    mMessager = processingEnv.getMessager();
+    mElements = processingEnv.getElementUtils();
+    mTypes = processingEnv.getTypeUtils();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    TypeElement moduleType = mElements.getTypeElement(JAVA_SCRIPT_MODULE_TYPE);
+    if (moduleType == null) {
+      // The bridge is not on the classpath, so there can't be any modules.
+      return false;
+    }
+
+    List<TypeElement> interfaces = new ArrayList<>();
+    for (Element element : roundEnv.getRootElements()) {
+      findModuleInterfaces(element, moduleType, interfaces);
+    }
+
+    for (TypeElement moduleInterface : interfaces) {
+      try {
+        generateStub(moduleInterface);
+      } catch (Exception e) {
+        error(moduleInterface, e.getMessage());
+      }
+    }
+
+    return false;
+  }
+
+  private void findModuleInterfaces(
+      Element element,
+      TypeElement moduleType,
+      List<TypeElement> interfaces) {
+    if (!(element instanceof TypeElement)) {
+      return;
+    }
+    TypeElement typeElement = (TypeElement) element;
+    if (typeElement.getKind() == ElementKind.INTERFACE &&
+        !typeElement.equals(moduleType) &&
+        mTypes.isAssignable(typeElement.asType(), moduleType.asType())) {
+      if (shouldIgnoreInterface(typeElement)) {
+        warning(typeElement, "No stub was generated. JavaScriptModules need to be non-private " +
+            "and non-generic. A proxy will be used instead.");
+      } else {
+        interfaces.add(typeElement);
+      }
+    }
+    for (Element enclosed : typeElement.getEnclosedElements()) {
+      findModuleInterfaces(enclosed, moduleType, interfaces);
+    }
+  }
+
+  private void generateStub(TypeElement moduleInterface) throws IOException {
+    String moduleName = moduleInterface.getSimpleName().toString();
+    ClassName interfaceName = ClassName.get(moduleInterface);
+
+    TypeSpec.Builder stubClass = TypeSpec.classBuilder(
+          getClassName(moduleInterface, interfaceName.packageName()) + STUB_SUFFIX)
+        .superclass(STUB_TYPE)
+        .addSuperinterface(interfaceName)
+        .addModifiers(PUBLIC, FINAL)
+        .addMethod(MethodSpec.constructorBuilder()
+            .addModifiers(PUBLIC)
+            .addParameter(EXECUTOR_TOKEN_TYPE, "executorToken")
+            .addParameter(CATALYST_INSTANCE_TYPE, "catalystInstance")
+            .addParameter(REGISTRATION_TYPE, "moduleRegistration")
+            .addStatement("super(executorToken, catalystInstance, moduleRegistration)")
+            .build());
+
+    Set<String> methodNames = new HashSet<>();
+    for (ExecutableElement method :
+        ElementFilter.methodsIn(mElements.getAllMembers(moduleInterface))) {
+      if (!method.getModifiers().contains(ABSTRACT) ||
+          method.getEnclosingElement().getKind() != ElementKind.INTERFACE) {
+        continue;
+      }
+      // Leave these to the proxy, which reports overloading at runtime and returns null for
+      // non-void methods, rather than failing the build.
+      if (!methodNames.add(method.getSimpleName().toString()) ||
+          method.getReturnType().getKind() != TypeKind.VOID ||
+          !method.getTypeParameters().isEmpty()) {
+        warning(method, "No stub was generated. JavaScriptModule methods need to return void " +
+            "and can be neither overloaded nor generic. A proxy will be used instead.");
+        return;
+      }
+      stubClass.addMethod(generateMethod(moduleName, method));
+    }
+
+    JavaFile javaFile = JavaFile.builder(interfaceName.packageName(), stubClass.build())
+        .addFileComment("Generated by " + getClass().getName())
+        .build();
+
+    javaFile.writeTo(mFiler);
+  }
+
+  private MethodSpec generateMethod(String moduleName, ExecutableElement method) {
+    String methodName = method.getSimpleName().toString();
+    MethodSpec.Builder builder = MethodSpec.methodBuilder(methodName)
+        .addModifiers(PUBLIC)
+        .addAnnotation(Override.class)
+        .returns(TypeName.VOID);
+
+    String argumentsName = "arguments";
+    for (VariableElement parameter : method.getParameters()) {
+      if (parameter.getSimpleName().contentEquals(argumentsName)) {
+        argumentsName = "$" + argumentsName;
+      }
+    }
+
+    CodeBlock.Builder code = CodeBlock.builder()
+        .addStatement("$T $L = new $T()", NATIVE_ARRAY_TYPE, argumentsName, NATIVE_ARRAY_TYPE);
+    for (VariableElement parameter : method.getParameters()) {
+      String parameterName = parameter.getSimpleName().toString();
+      builder.addParameter(TypeName.get(parameter.asType()), parameterName);
+      code.addStatement(getArgumentWriter(parameter.asType()), argumentsName, parameterName);
+    }
+    code.addStatement(
+        "callFunction($S, $S, $L)",
+        methodName,
+        "JSCall__" + moduleName + "_" + methodName,
+        argumentsName);
+
+    return builder.addCode(code.build()).build();
+  }
+
+  /**
+   * Returns the statement format that writes a parameter of the given type, given the names of the
+   * argument array and of the parameter. Types that are only known at runtime are converted like
+   * Arguments#fromJavaArgs does.
+   */
+  private String getArgumentWriter(TypeMirror type) {
+    TypeName typeName = TypeName.get(type);
+    if (typeName.equals(TypeName.BOOLEAN)) {
+      return "$L.pushBoolean($L)";
+    } else if (typeName.equals(TypeName.INT) ||
+        typeName.equals(TypeName.DOUBLE) ||
+        typeName.equals(TypeName.FLOAT)) {
+      return "$L.pushDouble($L)";
+    } else if (typeName.equals(STRING_TYPE)) {
+      return "pushString($L, $L)";
+    } else if (isAssignable(type, WRITABLE_MAP_TYPE)) {
+      return "pushMap($L, $L)";
+    } else if (isAssignable(type, WRITABLE_ARRAY_TYPE)) {
+      return "pushArray($L, $L)";
+    }
+    return "pushObject($L, $L)";
+  }
+
+  private boolean isAssignable(TypeMirror type, TypeName target) {
+    TypeElement targetElement = mElements.getTypeElement(target.toString());
+    return targetElement != null && mTypes.isAssignable(type, targetElement.asType());
+  }
+
+  private static String getClassName(TypeElement type, String packageName) {
+    int packageLen = packageName.length() + 1;
+    return type.getQualifiedName().toString().substring(packageLen).replace('.', '$');
+  }
+
+  private static boolean shouldIgnoreInterface(TypeElement typeElement) {
+    if (!typeElement.getTypeParameters().isEmpty()) {
+      return true;
+    }
+    for (Element element = typeElement;
+         element instanceof TypeElement;
+         element = element.getEnclosingElement()) {
+      if (element.getModifiers().contains(PRIVATE)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void error(Element element, String message) {
+    mMessager.printMessage(ERROR, message, element);
+  }
+
+  private void warning(Element element, String message) {
+    mMessager.printMessage(WARNING, message, element);
+  }
+}
@@ -19,22 +19,23 @@ public abstract class BaseViewManager<T extends View, C extends LayoutShadowNode
     extends ViewManager<T, C> {
 
   private static final String PROP_BACKGROUND_COLOR = ViewProps.BACKGROUND_COLOR;
-  private static final String PROP_TRANSFORM = "transform";
-  private static final String PROP_OPACITY = "opacity";
+  private static final String PROP_TRANSFORM = ViewProps.TRANSFORM;
+  private static final String PROP_OPACITY = ViewProps.OPACITY;
   private static final String PROP_ELEVATION = "elevation";
   private static final String PROP_Z_INDEX = "zIndex";
-  private static final String PROP_RENDER_TO_HARDWARE_TEXTURE = "renderToHardwareTextureAndroid";
+  private static final String PROP_RENDER_TO_HARDWARE_TEXTURE =
+      ViewProps.RENDER_TO_HARDWARE_TEXTURE;
   private static final String PROP_ACCESSIBILITY_LABEL = "accessibilityLabel";
   private static final String PROP_ACCESSIBILITY_COMPONENT_TYPE = "accessibilityComponentType";
   private static final String PROP_ACCESSIBILITY_LIVE_REGION = "accessibilityLiveRegion";
   private static final String PROP_IMPORTANT_FOR_ACCESSIBILITY = "importantForAccessibility";
 
   // DEPRECATED
-  private static final String PROP_ROTATION = "rotation";
-  private static final String PROP_SCALE_X = "scaleX";
-  private static final String PROP_SCALE_Y = "scaleY";
-  private static final String PROP_TRANSLATE_X = "translateX";
-  private static final String PROP_TRANSLATE_Y = "translateY";
+  private static final String PROP_ROTATION = ViewProps.ROTATION;
+  private static final String PROP_SCALE_X = ViewProps.SCALE_X;
+  private static final String PROP_SCALE_Y = ViewProps.SCALE_Y;
+  private static final String PROP_TRANSLATE_X = ViewProps.TRANSLATE_X;
+  private static final String PROP_TRANSLATE_Y = ViewProps.TRANSLATE_Y;
 
   /**
    * Used to locate views in end-to-end (UI) tests.
@@ -154,6 +155,30 @@ public abstract class BaseViewManager<T extends View, C extends LayoutShadowNode
     }
   }
 
+  /**
+   * Resets the properties handled by this class to their default values. Subclasses that support
+   * recycling their views should call it from {@link ViewManager#prepareToRecycleView}.
+   */
+  protected void resetBaseViewProperties(T view) {
+    view.clearAnimation();
+    view.setPressed(false);
+    setBackgroundColor(view, Color.TRANSPARENT);
+    resetTransformMatrix(view);
+    view.setAlpha(1);
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+      view.setElevation(0);
+    }
+    ViewGroupManager.setViewZIndex(view, 0);
+    view.setLayerType(View.LAYER_TYPE_NONE, null);
+    view.setTag(null);
+    view.setContentDescription(null);
+    view.setAccessibilityDelegate(null);
+    view.setImportantForAccessibility(View.IMPORTANT_FOR_ACCESSIBILITY_AUTO);
+    if (Build.VERSION.SDK_INT >= 19) {
+      view.setAccessibilityLiveRegion(View.ACCESSIBILITY_LIVE_REGION_NONE);
+    }
+  }
+
   private static void setTransformMatrix(View view, ReadableArray matrix) {
     for (int i = 0; i < 16; i++) {
       sTransformDecompositionArray[i] = matrix.getDouble(i);
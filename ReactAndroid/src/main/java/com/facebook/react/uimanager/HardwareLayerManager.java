@@ -0,0 +1,302 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.uimanager;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.DisplayMetrics;
+import android.view.View;
+
+/**
+ * Draws views from a hardware layer while their opacity or transform is being animated, so that
+ * each frame of the animation only composites the layer rather than redrawing the view and its
+ * subtree. To avoid creating and destroying layers back and forth:
+ *  - views animated frame by frame (see {@link #onAnimationFrame}) are only promoted once they have
+ *    been updated on a few consecutive frames, not by a single update,
+ *  - layers are only dropped a little while after the animation ends, so that an animation that
+ *    starts right after another one keeps the same layer,
+ *  - the memory used by layers is bounded, views that would exceed it are drawn without a layer.
+ *
+ * Views that already have a layer (e.g. set with renderToHardwareTexture) are left alone, and a
+ * promoted view gets back the layer type it had before, or the one set for it meanwhile (see
+ * {@link #onLayerTypeSet}), once it is demoted. Must only be used from the UI thread.
+ */
+@NotThreadSafe
+public class HardwareLayerManager {
+
+  // How many consecutive frames a view has to be animated on before it is promoted
+  private static final int FRAMES_BEFORE_PROMOTION = 2;
+  // Frames further apart than this are not considered consecutive
+  private static final long FRAME_TIMEOUT_MS = 100;
+  // How long a layer is kept around once the view stops being animated
+  private static final long DEMOTION_DELAY_MS = 250;
+  // Layers may use up to as much memory as this many full screens
+  private static final int MAX_LAYER_SCREENS = 2;
+  private static final int BYTES_PER_PIXEL = 4;
+
+  private static class LayerState {
+    private final View mView;
+    private int mRefCount;
+    private int mFrameCount;
+    private long mLastUseTimeMs;
+    private boolean mPromoted;
+    private long mLayerBytes;
+    // The layer type to give the view back once it is demoted
+    private int mRestoredLayerType;
+
+    private LayerState(View view) {
+      mView = view;
+    }
+  }
+
+  private final Map<View, LayerState> mLayerStates = new IdentityHashMap<>();
+  private final ArrayList<LayerState> mIdleLayerStates = new ArrayList<>();
+  private final Runnable mDemoteIdleLayersRunnable = new Runnable() {
+    @Override
+    public void run() {
+      mDemotionScheduled = false;
+      demoteIdleLayers(DEMOTION_DELAY_MS, null);
+    }
+  };
+  private @Nullable Handler mHandler;
+  private boolean mDemotionScheduled;
+  private long mMaxLayerBytes;
+
+  private long mLayerBytes;
+  private long mPeakLayerBytes;
+  private int mPromotionsCount;
+  private int mDemotionsCount;
+  private int mSkippedPromotionsCount;
+
+  public HardwareLayerManager() {
+    this(0);
+  }
+
+  /**
+   * @param maxLayerBytes the memory layers may use, or 0 to derive it from the size of the screen
+   */
+  /* package */ HardwareLayerManager(long maxLayerBytes) {
+    mMaxLayerBytes = maxLayerBytes;
+  }
+
+  /**
+   * To be called when an animation of the given view whose end is known starts. The view is drawn
+   * from a layer until as many calls to {@link #release} have been made.
+   */
+  public void acquire(View view) {
+    LayerState layerState = getLayerState(view);
+    layerState.mRefCount++;
+    layerState.mLastUseTimeMs = SystemClock.uptimeMillis();
+    promote(layerState);
+  }
+
+  /**
+   * To be called when an animation started with {@link #acquire} ends or is cancelled.
+   */
+  public void release(View view) {
+    LayerState layerState = mLayerStates.get(view);
+    if (layerState == null || layerState.mRefCount == 0) {
+      return;
+    }
+    layerState.mRefCount--;
+    layerState.mLastUseTimeMs = SystemClock.uptimeMillis();
+    if (layerState.mRefCount == 0) {
+      scheduleDemotion();
+    }
+  }
+
+  /**
+   * To be called for each frame on which the opacity or transform of the given view is animated,
+   * when there is no telling when the animation is going to end. The view is drawn from a layer
+   * once it has been animated on a few consecutive frames, until it hasn't been for a little while.
+   */
+  public void onAnimationFrame(View view) {
+    LayerState layerState = getLayerState(view);
+    long now = SystemClock.uptimeMillis();
+    if (now - layerState.mLastUseTimeMs > FRAME_TIMEOUT_MS) {
+      layerState.mFrameCount = 0;
+    }
+    layerState.mFrameCount++;
+    layerState.mLastUseTimeMs = now;
+    if (layerState.mFrameCount >= FRAMES_BEFORE_PROMOTION) {
+      promote(layerState);
+    }
+    scheduleDemotion();
+  }
+
+  /**
+   * To be called when the layer type of the given view is set on purpose, e.g. from the
+   * renderToHardwareTexture prop, so that the view keeps that layer type once it is demoted rather
+   * than the one it had before it was promoted.
+   */
+  public void onLayerTypeSet(View view) {
+    LayerState layerState = mLayerStates.get(view);
+    if (layerState != null && layerState.mPromoted) {
+      layerState.mRestoredLayerType = view.getLayerType();
+    }
+  }
+
+  /**
+   * To be called when the given view is dropped, so that it isn't kept around until its layer is
+   * dropped.
+   */
+  public void onDropView(View view) {
+    LayerState layerState = mLayerStates.remove(view);
+    if (layerState != null) {
+      demote(layerState);
+    }
+  }
+
+  /**
+   * Drops the layers that are only kept around in case their views are animated again, e.g. in
+   * response to memory pressure.
+   */
+  public void trim() {
+    demoteIdleLayers(0, null);
+  }
+
+  /**
+   * @return how much memory the layers of the views promoted at the moment use, estimated from
+   * their size
+   */
+  public long getLayerBytes() {
+    return mLayerBytes;
+  }
+
+  public long getPeakLayerBytes() {
+    return mPeakLayerBytes;
+  }
+
+  public int getPromotionsCount() {
+    return mPromotionsCount;
+  }
+
+  public int getDemotionsCount() {
+    return mDemotionsCount;
+  }
+
+  /**
+   * @return how many times a view was not promoted as its layer would have used too much memory
+   */
+  public int getSkippedPromotionsCount() {
+    return mSkippedPromotionsCount;
+  }
+
+  private LayerState getLayerState(View view) {
+    LayerState layerState = mLayerStates.get(view);
+    if (layerState == null) {
+      layerState = new LayerState(view);
+      mLayerStates.put(view, layerState);
+    }
+    return layerState;
+  }
+
+  private void promote(LayerState layerState) {
+    View view = layerState.mView;
+    if (layerState.mPromoted || view.getLayerType() != View.LAYER_TYPE_NONE) {
+      return;
+    }
+    long layerBytes = (long) view.getWidth() * view.getHeight() * BYTES_PER_PIXEL;
+    if (layerBytes == 0) {
+      return;
+    }
+    if (mLayerBytes + layerBytes > getMaxLayerBytes(view)) {
+      // Make room by dropping the layers kept around in case their views are animated again
+      demoteIdleLayers(FRAME_TIMEOUT_MS, layerState);
+      if (mLayerBytes + layerBytes > getMaxLayerBytes(view)) {
+        mSkippedPromotionsCount++;
+        return;
+      }
+    }
+    layerState.mRestoredLayerType = view.getLayerType();
+    view.setLayerType(View.LAYER_TYPE_HARDWARE, null);
+    layerState.mPromoted = true;
+    layerState.mLayerBytes = layerBytes;
+    mLayerBytes += layerBytes;
+    mPeakLayerBytes = Math.max(mPeakLayerBytes, mLayerBytes);
+    mPromotionsCount++;
+  }
+
+  private void demote(LayerState layerState) {
+    if (!layerState.mPromoted) {
+      return;
+    }
+    // The layer type may have been changed meanwhile, in which case it isn't ours anymore
+    View view = layerState.mView;
+    if (view.getLayerType() == View.LAYER_TYPE_HARDWARE &&
+        layerState.mRestoredLayerType != View.LAYER_TYPE_HARDWARE) {
+      view.setLayerType(layerState.mRestoredLayerType, null);
+    }
+    layerState.mPromoted = false;
+    mLayerBytes -= layerState.mLayerBytes;
+    layerState.mLayerBytes = 0;
+    mDemotionsCount++;
+  }
+
+  /**
+   * Forgets the views that aren't being animated anymore, dropping their layers.
+   *
+   * @param minIdleTimeMs how long a view must not have been animated for to be forgotten
+   * @param excludedLayerState a view that shouldn't be forgotten, e.g. as it is being promoted
+   */
+  private void demoteIdleLayers(long minIdleTimeMs, @Nullable LayerState excludedLayerState) {
+    long now = SystemClock.uptimeMillis();
+    boolean hasPendingLayers = false;
+    for (LayerState layerState : mLayerStates.values()) {
+      if (layerState.mRefCount > 0 || layerState == excludedLayerState) {
+        continue;
+      }
+      if (now - layerState.mLastUseTimeMs >= minIdleTimeMs) {
+        mIdleLayerStates.add(layerState);
+      } else {
+        hasPendingLayers = true;
+      }
+    }
+    for (int i = 0; i < mIdleLayerStates.size(); i++) {
+      LayerState layerState = mIdleLayerStates.get(i);
+      mLayerStates.remove(layerState.mView);
+      demote(layerState);
+    }
+    mIdleLayerStates.clear();
+    if (hasPendingLayers) {
+      scheduleDemotion();
+    }
+  }
+
+  private void scheduleDemotion() {
+    if (mDemotionScheduled) {
+      return;
+    }
+    if (mHandler == null) {
+      mHandler = new Handler(Looper.getMainLooper());
+    }
+    mDemotionScheduled = true;
+    mHandler.postDelayed(mDemoteIdleLayersRunnable, DEMOTION_DELAY_MS);
+  }
+
+  private long getMaxLayerBytes(View view) {
+    if (mMaxLayerBytes == 0) {
+      DisplayMetrics displayMetrics = view.getResources().getDisplayMetrics();
+      mMaxLayerBytes = (long) MAX_LAYER_SCREENS *
+          displayMetrics.widthPixels *
+          displayMetrics.heightPixels *
+          BYTES_PER_PIXEL;
+    }
+    return mMaxLayerBytes;
+  }
+}
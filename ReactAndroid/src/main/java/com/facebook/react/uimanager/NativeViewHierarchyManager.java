@@ -12,6 +12,10 @@ package com.facebook.react.uimanager;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
 import android.content.res.Resources;
 import android.util.SparseArray;
 import android.util.SparseBooleanArray;
@@ -22,17 +26,20 @@ import android.view.ViewGroup;
 import android.view.ViewParent;
 import android.widget.PopupMenu;
 
+import com.facebook.common.logging.FLog;
 import com.facebook.infer.annotation.Assertions;
 import com.facebook.react.animation.Animation;
 import com.facebook.react.animation.AnimationListener;
 import com.facebook.react.animation.AnimationRegistry;
 import com.facebook.react.bridge.Callback;
 import com.facebook.react.bridge.JSApplicationIllegalArgumentException;
+import com.facebook.react.bridge.MemoryPressure;
 import com.facebook.react.bridge.ReactContext;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.SoftAssertions;
 import com.facebook.react.bridge.UiThreadUtil;
+import com.facebook.react.common.ReactConstants;
 import com.facebook.react.touch.JSResponderHandler;
 import com.facebook.react.uimanager.layoutanimation.LayoutAnimationController;
 import com.facebook.react.uimanager.layoutanimation.LayoutAnimationListener;
@@ -68,11 +75,16 @@ public class NativeViewHierarchyManager {
   private final SparseArray<View> mTagsToViews;
   private final SparseArray<ViewManager> mTagsToViewManagers;
   private final SparseBooleanArray mRootTags;
+  private final SparseArray<ThemedReactContext> mRootViewContexts;
   private final ViewManagerRegistry mViewManagers;
   private final JSResponderHandler mJSResponderHandler = new JSResponderHandler();
   private final RootViewManager mRootViewManager;
   private final LayoutAnimationController mLayoutAnimator = new LayoutAnimationController();
 
+  private final ArrayList<View> mDroppedViews = new ArrayList<>();
+  private final ArrayList<ViewManager> mDroppedViewManagers = new ArrayList<>();
+  private final ViewPrefetcher mViewPrefetcher = new ViewPrefetcher();
+  private final HardwareLayerManager mHardwareLayerManager = new HardwareLayerManager();
   private boolean mLayoutAnimationEnabled;
 
   public NativeViewHierarchyManager(ViewManagerRegistry viewManagers) {
@@ -85,6 +97,7 @@ public class NativeViewHierarchyManager {
     mTagsToViews = new SparseArray<>();
     mTagsToViewManagers = new SparseArray<>();
     mRootTags = new SparseBooleanArray();
+    mRootViewContexts = new SparseArray<>();
     mRootViewManager = manager;
   }
 
@@ -109,6 +122,10 @@ public class NativeViewHierarchyManager {
     return mAnimationRegistry;
   }
 
+  public HardwareLayerManager getHardwareLayerManager() {
+    return mHardwareLayerManager;
+  }
+
   public void setLayoutAnimationEnabled(boolean enabled) {
     mLayoutAnimationEnabled = enabled;
   }
@@ -119,6 +136,21 @@ public class NativeViewHierarchyManager {
     ViewManager viewManager = resolveViewManager(tag);
     View viewToUpdate = resolveView(tag);
     viewManager.updateProperties(viewToUpdate, props);
+    if (props.hasKey(ViewProps.RENDER_TO_HARDWARE_TEXTURE)) {
+      mHardwareLayerManager.onLayerTypeSet(viewToUpdate);
+    }
+  }
+
+  /**
+   * To be called for each frame on which the opacity or transform of the view with the given tag
+   * is animated from the UI thread, so that it can be drawn from a hardware layer meanwhile.
+   */
+  public void onAnimationFrame(int tag) {
+    UiThreadUtil.assertOnUiThread();
+    View view = mTagsToViews.get(tag);
+    if (view != null) {
+      mHardwareLayerManager.onAnimationFrame(view);
+    }
   }
 
   public void updateViewExtraData(int tag, Object extraData) {
@@ -501,6 +533,7 @@ public class NativeViewHierarchyManager {
     mTagsToViews.put(tag, view);
     mTagsToViewManagers.put(tag, mRootViewManager);
     mRootTags.put(tag, true);
+    mRootViewContexts.put(tag, themedContext);
     view.setId(tag);
   }
 
@@ -509,6 +542,11 @@ public class NativeViewHierarchyManager {
    */
   protected void dropView(View view) {
     UiThreadUtil.assertOnUiThread();
+    dropViewAndChildren(view);
+    recycleDroppedViews();
+  }
+
+  private void dropViewAndChildren(View view) {
     if (!mRootTags.get(view.getId())) {
       // For non-root views we notify viewmanager with {@link ViewManager#onDropInstance}
       resolveViewManager(view.getId()).onDropViewInstance(view);
@@ -520,13 +558,94 @@ public class NativeViewHierarchyManager {
       for (int i = viewGroupManager.getChildCount(viewGroup) - 1; i >= 0; i--) {
         View child = viewGroupManager.getChildAt(viewGroup, i);
         if (mTagsToViews.get(child.getId()) != null) {
-          dropView(child);
+          dropViewAndChildren(child);
         }
       }
       viewGroupManager.removeAllViews(viewGroup);
     }
     mTagsToViews.remove(view.getId());
     mTagsToViewManagers.remove(view.getId());
+    mHardwareLayerManager.onDropView(view);
+    if (viewManager != null) {
+      mDroppedViews.add(view);
+      mDroppedViewManagers.add(viewManager);
+    }
+  }
+
+  /**
+   * Offers the views dropped by {@link #dropViewAndChildren} to their view managers for reuse. This
+   * only happens once the whole subtree has been dropped, as children are only detached from their
+   * parent when it drops them all at once. Views that are still attached somewhere are skipped.
+   */
+  private void recycleDroppedViews() {
+    for (int i = 0; i < mDroppedViews.size(); i++) {
+      View view = mDroppedViews.get(i);
+      if (view.getParent() == null) {
+        mDroppedViewManagers.get(i).recycleView(view);
+      }
+    }
+    mDroppedViews.clear();
+    mDroppedViewManagers.clear();
+  }
+
+  /**
+   * Frees up views kept around for reuse, and hardware layers kept around in case their views are
+   * animated again, in response to memory pressure.
+   */
+  public void trimRecycledViews(MemoryPressure level) {
+    UiThreadUtil.assertOnUiThread();
+    mViewManagers.trimRecycledViews(level);
+    if (mHardwareLayerManager.getPromotionsCount() > 0) {
+      FLog.i(
+          ReactConstants.TAG,
+          "Hardware layers: %d promotions, %d demotions, %d skipped, %d KB now, %d KB peak",
+          mHardwareLayerManager.getPromotionsCount(),
+          mHardwareLayerManager.getDemotionsCount(),
+          mHardwareLayerManager.getSkippedPromotionsCount(),
+          mHardwareLayerManager.getLayerBytes() / 1024,
+          mHardwareLayerManager.getPeakLayerBytes() / 1024);
+    }
+    mHardwareLayerManager.trim();
+  }
+
+  /**
+   * Creates ahead of time, while the UI thread is idle, the native views needed for the given
+   * number of copies of the view with the given tag and its descendants, e.g. for the rows of a
+   * list about to be scrolled into view. {@link #createView} then takes them from the pools of
+   * their view managers.
+   */
+  public void prefetchViews(int sampleTag, int count) {
+    UiThreadUtil.assertOnUiThread();
+    View sampleView = mTagsToViews.get(sampleTag);
+    if (sampleView == null ||
+        count <= 0 ||
+        !(sampleView.getContext() instanceof ThemedReactContext)) {
+      return;
+    }
+    Map<ViewManager, Integer> viewCounts = new HashMap<>();
+    countViews(sampleView, viewCounts);
+    ThemedReactContext themedContext = (ThemedReactContext) sampleView.getContext();
+    for (Map.Entry<ViewManager, Integer> viewCount : viewCounts.entrySet()) {
+      if (viewCount.getKey().canPrefetchViews()) {
+        mViewPrefetcher.prefetch(viewCount.getKey(), themedContext, count * viewCount.getValue());
+      }
+    }
+  }
+
+  private void countViews(View view, Map<ViewManager, Integer> viewCounts) {
+    ViewManager viewManager = mTagsToViewManagers.get(view.getId());
+    if (viewManager == null || mRootTags.get(view.getId())) {
+      return;
+    }
+    Integer viewCount = viewCounts.get(viewManager);
+    viewCounts.put(viewManager, viewCount == null ? 1 : viewCount + 1);
+    if (view instanceof ViewGroup && viewManager instanceof ViewGroupManager) {
+      ViewGroup viewGroup = (ViewGroup) view;
+      ViewGroupManager viewGroupManager = (ViewGroupManager) viewManager;
+      for (int i = 0; i < viewGroupManager.getChildCount(viewGroup); i++) {
+        countViews(viewGroupManager.getChildAt(viewGroup, i), viewCounts);
+      }
+    }
   }
 
   public void removeRootView(int rootViewTag) {
@@ -538,6 +657,12 @@ public class NativeViewHierarchyManager {
     View rootView = mTagsToViews.get(rootViewTag);
     dropView(rootView);
     mRootTags.delete(rootViewTag);
+    ThemedReactContext rootViewContext = mRootViewContexts.get(rootViewTag);
+    if (rootViewContext != null) {
+      mViewPrefetcher.cancel(rootViewContext);
+      mViewManagers.dropRecycledViews(rootViewContext);
+      mRootViewContexts.remove(rootViewTag);
+    }
   }
 
   /**
@@ -647,12 +772,13 @@ public class NativeViewHierarchyManager {
       Animation animation,
       @Nullable final Callback animationCallback) {
     UiThreadUtil.assertOnUiThread();
-    View view = mTagsToViews.get(reactTag);
+    final View view = mTagsToViews.get(reactTag);
     final int animationId = animation.getAnimationID();
     if (view != null) {
       animation.setAnimationListener(new AnimationListener() {
         @Override
         public void onFinished() {
+          mHardwareLayerManager.release(view);
           Animation removedAnimation = mAnimationRegistry.removeAnimation(animationId);
 
           // There's a chance that there was already a removeAnimation call enqueued on the main
@@ -666,6 +792,7 @@ public class NativeViewHierarchyManager {
 
         @Override
         public void onCancel() {
+          mHardwareLayerManager.release(view);
           Animation removedAnimation = mAnimationRegistry.removeAnimation(animationId);
 
           Assertions.assertNotNull(removedAnimation, "Animation was already removed somehow!");
@@ -674,6 +801,7 @@ public class NativeViewHierarchyManager {
           }
         }
       });
+      mHardwareLayerManager.acquire(view);
       animation.start(view);
     } else {
       // TODO(5712813): cleanup callback in JS callbacks table in case of an error
@@ -196,6 +196,15 @@ public class UIImplementation {
     mOperationsQueue.getNativeViewHierarchyManager().updateProperties(tag, props);
   }
 
+  /**
+   * Used by native animated module to let the view with the given tag be drawn from a hardware
+   * layer while it animates its opacity or transform, see {@link HardwareLayerManager}.
+   */
+  public void onViewAnimationFrameOnUIThread(int tag) {
+    UiThreadUtil.assertOnUiThread();
+    mOperationsQueue.getNativeViewHierarchyManager().onAnimationFrame(tag);
+  }
+
   protected void handleUpdateView(
       ReactShadowNode cssNode,
       String className,
@@ -18,12 +18,15 @@ import com.facebook.common.logging.FLog;
 import com.facebook.react.animation.Animation;
 import com.facebook.react.bridge.Callback;
 import com.facebook.react.bridge.LifecycleEventListener;
+import com.facebook.react.bridge.MemoryPressure;
+import com.facebook.react.bridge.MemoryPressureListener;
 import com.facebook.react.bridge.OnBatchCompleteListener;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.UiThreadUtil;
 import com.facebook.react.common.ReactConstants;
 import com.facebook.react.uimanager.debug.NotThreadSafeViewHierarchyUpdateDebugListener;
 import com.facebook.react.uimanager.events.EventDispatcher;
@@ -60,7 +63,7 @@ import com.facebook.systrace.SystraceMessage;
  * TODO(5483063): Don't dispatch the view hierarchy at the end of a batch if no UI changes occurred
  */
 public class UIManagerModule extends ReactContextBaseJavaModule implements
-    OnBatchCompleteListener, LifecycleEventListener {
+    OnBatchCompleteListener, LifecycleEventListener, MemoryPressureListener {
 
   // Keep in sync with ReactIOSTagHandles JS module - see that file for an explanation on why the
   // increment here is 10
@@ -126,6 +129,32 @@ public class UIManagerModule extends ReactContextBaseJavaModule implements
     mEventDispatcher.onCatalystInstanceDestroyed();
   }
 
+  /**
+   * Frees up native views kept around by view managers for reuse.
+   */
+  @Override
+  public void handleMemoryPressure(final MemoryPressure level) {
+    UiThreadUtil.runOnUiThread(new Runnable() {
+      @Override
+      public void run() {
+        mUIImplementation.getUIViewOperationQueue()
+            .getNativeViewHierarchyManager()
+            .trimRecycledViews(level);
+      }
+    });
+  }
+
+  /**
+   * Creates ahead of time, while the UI thread is idle, the native views needed for the given
+   * number of copies of the view with the given tag and its descendants, e.g. for the rows of a
+   * list about to be scrolled into view. Must be called from the UI thread.
+   */
+  public void prefetchViews(int sampleViewTag, int count) {
+    mUIImplementation.getUIViewOperationQueue()
+        .getNativeViewHierarchyManager()
+        .prefetchViews(sampleViewTag, count);
+  }
+
   private static Map<String, Object> createConstants(List<ViewManager> viewManagerList) {
     Systrace.beginSection(Systrace.TRACE_TAG_REACT_JAVA_BRIDGE, "CreateUIManagerConstants");
     try {
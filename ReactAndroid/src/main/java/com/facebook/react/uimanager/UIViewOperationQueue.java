@@ -529,6 +529,14 @@ public class UIViewOperationQueue {
   private final ReactApplicationContext mReactApplicationContext;
   @GuardedBy("mDispatchRunnablesLock")
   private final ArrayList<Runnable> mDispatchUIRunnables = new ArrayList<>();
+  // Only coalesces with our own posts, unlike a token other code could get hold of
+  private final Object mFlushPendingBatchesToken = new Object();
+  private final Runnable mFlushPendingBatchesRunnable = new Runnable() {
+    @Override
+    public void run() {
+      flushPendingBatches();
+    }
+  };
 
   private ArrayList<UIOperation> mOperations = new ArrayList<>();
   @GuardedBy("mNonBatchedOperationsLock")
@@ -800,13 +808,9 @@ public class UIViewOperationQueue {
     // destroyed. In this case it's no longer important to align to frames, but it is imporant to make
     // sure any late-arriving UI commands are executed.
     if (!mIsDispatchUIFrameCallbackEnqueued) {
-      UiThreadUtil.runOnUiThread(
-          new Runnable() {
-            @Override
-            public void run() {
-              flushPendingBatches();
-            }
-          });
+      mReactApplicationContext.runOnUiQueueThreadCoalesced(
+          mFlushPendingBatchesToken,
+          mFlushPendingBatchesRunnable);
     }
   }
 
@@ -15,6 +15,7 @@ import java.util.Map;
 
 import android.view.View;
 
+import com.facebook.react.bridge.MemoryPressure;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.touch.ReactInterceptingViewGroup;
 import com.facebook.react.touch.JSResponderHandler;
@@ -30,19 +31,38 @@ import com.facebook.react.uimanager.annotations.ReactPropertyHolder;
 @ReactPropertyHolder
 public abstract class ViewManager<T extends View, C extends ReactShadowNode> {
 
+  private static final int DEFAULT_RECYCLED_VIEWS_POOL_SIZE = 16;
+
+  private final ViewRecycler<T> mViewRecycler = new ViewRecycler<>(
+      DEFAULT_RECYCLED_VIEWS_POOL_SIZE,
+      new ViewRecycler.OnViewDiscardedListener<T>() {
+        @Override
+        public void onViewDiscarded(T view) {
+          // Views that were created ahead of time have never been dropped, and views that were
+          // recycled have been made like new since, so both need to be cleaned up again
+          onDropViewInstance(view);
+        }
+      });
+
   public final void updateProperties(T viewToUpdate, ReactStylesDiffMap props) {
     ViewManagerPropertyUpdater.updateProps(this, viewToUpdate, props);
     onAfterUpdateTransaction(viewToUpdate);
   }
 
   /**
-   * Creates a view and installs event emitters on it.
+   * Creates a view and installs event emitters on it, or reuses a view previously dropped with the
+   * same context if this manager supports recycling (see {@link #prepareToRecycleView}).
    */
   public final T createView(
       ThemedReactContext reactContext,
       JSResponderHandler jsResponderHandler) {
-    T view = createViewInstance(reactContext);
-    addEventEmitters(reactContext, view);
+    T view = mViewRecycler.acquire(reactContext);
+    if (view == null) {
+      long startTime = System.nanoTime();
+      view = createViewInstance(reactContext);
+      addEventEmitters(reactContext, view);
+      mViewRecycler.onViewCreated(System.nanoTime() - startTime);
+    }
     if (view instanceof ReactInterceptingViewGroup) {
       ((ReactInterceptingViewGroup) view).setOnInterceptTouchEventListener(jsResponderHandler);
     }
@@ -87,6 +107,103 @@ public abstract class ViewManager<T extends View, C extends ReactShadowNode> {
   public void onDropViewInstance(T view) {
   }
 
+  /**
+   * Subclasses can override this method to let views they created be reused after they have been
+   * dropped, instead of creating new ones, which helps when views are created and destroyed at a
+   * high rate (e.g. when scrolling through a list). It is called after
+   * {@link #onDropViewInstance}, once the view has been detached from its parent and its children
+   * have been removed, and should return the view to the state of a newly created instance: every
+   * property that may have been set by this manager must be reset to its default value, as the
+   * next {@link #updateProperties} call will only set the properties that differ from their
+   * default. Event emitters installed by {@link #addEventEmitters} are kept.
+   *
+   * @return true if the view can be reused, false (the default) if it should be thrown away
+   */
+  protected boolean prepareToRecycleView(T view) {
+    return false;
+  }
+
+  /**
+   * Subclasses that support recycling (see {@link #prepareToRecycleView}) can override this method
+   * to let their views also be created ahead of time, while the UI thread is idle, when they are
+   * about to be needed (see {@link ViewPrefetcher}). Views that are expensive to keep around
+   * unused, or that aren't recycled anyway, shouldn't be.
+   *
+   * @return true if views can be created ahead of time, false (the default) otherwise
+   */
+  protected boolean canPrefetchViews() {
+    return false;
+  }
+
+  /**
+   * Sets how many dropped views this manager keeps around to be reused. Only has an effect if the
+   * manager supports recycling, see {@link #prepareToRecycleView}.
+   */
+  public void setRecycledViewsPoolSize(int poolSize) {
+    mViewRecycler.setMaxSize(poolSize);
+  }
+
+  /**
+   * Offers a view that has been dropped, detached from its parent and emptied of its children to
+   * be reused by a later {@link #createView} call.
+   */
+  /* package */ final void recycleView(T view) {
+    if (mViewRecycler.isFull()) {
+      return;
+    }
+    long startTime = System.nanoTime();
+    boolean recyclable = prepareToRecycleView(view);
+    mViewRecycler.onViewRecycled(System.nanoTime() - startTime);
+    if (recyclable) {
+      mViewRecycler.release(view);
+    }
+  }
+
+  /**
+   * Creates a view ahead of time and adds it to the views waiting to be reused by a later
+   * {@link #createView} call, unless there are already enough of them.
+   *
+   * @return false if no view was created
+   */
+  /* package */ final boolean prefetchView(ThemedReactContext reactContext) {
+    if (!canPrefetchViews() || mViewRecycler.isFull()) {
+      return false;
+    }
+    long startTime = System.nanoTime();
+    T view = createViewInstance(reactContext);
+    addEventEmitters(reactContext, view);
+    return mViewRecycler.prefetch(view, System.nanoTime() - startTime);
+  }
+
+  /* package */ final void dropRecycledViews(ThemedReactContext reactContext) {
+    mViewRecycler.clear(reactContext);
+  }
+
+  /* package */ final void trimRecycledViews(MemoryPressure level) {
+    mViewRecycler.trim(level);
+    onMemoryPressure(level);
+  }
+
+  /**
+   * Subclasses can override this method to free up memory held by their views (e.g. caches) when
+   * the app is running low on memory. Called from the UI thread, after the views kept around for
+   * reuse have been trimmed.
+   */
+  protected void onMemoryPressure(MemoryPressure level) {
+  }
+
+  /**
+   * @return how many views this manager has created and reused so far. Must be called from the UI
+   * thread.
+   */
+  public final ViewRecyclerStats getViewRecyclerStats() {
+    return mViewRecycler.getStats(getName());
+  }
+
+  /* package */ final ViewRecycler<T> getViewRecycler() {
+    return mViewRecycler;
+  }
+
   /**
    * Subclasses can override this method to install custom event emitters on the given View. You
    * might want to override this method if your view needs to emit events besides basic touch events
@@ -13,6 +13,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import com.facebook.react.bridge.MemoryPressure;
+
 /**
  * Class that stores the mapping between native view name used in JS and the corresponding instance
  * of {@link ViewManager}.
@@ -35,4 +37,40 @@ public class ViewManagerRegistry {
       throw new IllegalViewOperationException("No ViewManager defined for class " + className);
     }
   }
+
+  /**
+   * Drops the views kept around for reuse by the view managers that were created with the given
+   * context, e.g. when its root view is removed. Must be called from the UI thread.
+   */
+  public void dropRecycledViews(ThemedReactContext reactContext) {
+    reportViewRecyclerStats();
+    for (ViewManager viewManager : mViewManagers.values()) {
+      viewManager.dropRecycledViews(reactContext);
+    }
+  }
+
+  /**
+   * Frees up views kept around for reuse by the view managers in response to memory pressure. Must
+   * be called from the UI thread.
+   */
+  public void trimRecycledViews(MemoryPressure level) {
+    reportViewRecyclerStats();
+    for (ViewManager viewManager : mViewManagers.values()) {
+      viewManager.trimRecycledViews(level);
+    }
+  }
+
+  private void reportViewRecyclerStats() {
+    ViewRecyclerMonitor.StatsListener listener = ViewRecyclerMonitor.getStatsListener();
+    if (listener == null) {
+      return;
+    }
+    for (ViewManager viewManager : mViewManagers.values()) {
+      ViewRecycler viewRecycler = viewManager.getViewRecycler();
+      if (viewRecycler.getRecycledViewsCount() > 0 ||
+          viewRecycler.getPrefetchedViewsCount() > 0) {
+        listener.onViewRecyclerStats(viewManager.getViewRecyclerStats());
+      }
+    }
+  }
 }
@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.uimanager;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import java.util.ArrayList;
+
+import android.os.Looper;
+import android.os.MessageQueue;
+
+/**
+ * Creates native views ahead of time while the UI thread is idle between frames, and adds them to
+ * the pools of their {@link ViewManager} (see {@link ViewRecycler}), so that the content about to
+ * be shown (e.g. the next rows of a list being scrolled) doesn't have to create them in the frame
+ * where it appears. A request only sets how many views of a manager should be waiting in its pool,
+ * so it is cheap to repeat it while scrolling. Must only be used from the UI thread.
+ */
+@NotThreadSafe
+/* package */ class ViewPrefetcher implements MessageQueue.IdleHandler {
+
+  // How long to spend creating views each time the UI thread goes idle, so that a frame that
+  // becomes due meanwhile isn't delayed by much
+  private static final long IDLE_TIME_BUDGET_NS = 4 * 1000 * 1000;
+
+  private static class Request {
+    private final ViewManager mViewManager;
+    private ThemedReactContext mContext;
+    private int mPoolSize;
+
+    private Request(ViewManager viewManager) {
+      mViewManager = viewManager;
+    }
+  }
+
+  private final ArrayList<Request> mRequests = new ArrayList<>();
+  private boolean mIdleHandlerAdded;
+
+  /**
+   * Asks for views of the given manager to be created with the given context while the UI thread
+   * is idle, until at least the given number of them are waiting in its pool.
+   */
+  public void prefetch(ViewManager viewManager, ThemedReactContext context, int poolSize) {
+    Request request = null;
+    for (int i = 0; i < mRequests.size(); i++) {
+      if (mRequests.get(i).mViewManager == viewManager) {
+        request = mRequests.get(i);
+        break;
+      }
+    }
+    if (request == null) {
+      request = new Request(viewManager);
+      mRequests.add(request);
+    }
+    request.mContext = context;
+    request.mPoolSize = poolSize;
+
+    if (!mIdleHandlerAdded) {
+      Looper.myQueue().addIdleHandler(this);
+      mIdleHandlerAdded = true;
+    }
+  }
+
+  /**
+   * Drops the requests for views to be created with the given context, e.g. when its root view is
+   * removed.
+   */
+  public void cancel(ThemedReactContext context) {
+    for (int i = mRequests.size() - 1; i >= 0; i--) {
+      if (mRequests.get(i).mContext == context) {
+        mRequests.remove(i);
+      }
+    }
+  }
+
+  @Override
+  public boolean queueIdle() {
+    long deadline = System.nanoTime() + IDLE_TIME_BUDGET_NS;
+    while (!mRequests.isEmpty() && System.nanoTime() < deadline) {
+      Request request = mRequests.get(mRequests.size() - 1);
+      if (request.mViewManager.getViewRecycler().size() >= request.mPoolSize ||
+          !request.mViewManager.prefetchView(request.mContext)) {
+        mRequests.remove(mRequests.size() - 1);
+      }
+    }
+    // Stay registered, to be called the next time the UI thread goes idle, if there is more to do
+    mIdleHandlerAdded = !mRequests.isEmpty();
+    return mIdleHandlerAdded;
+  }
+}
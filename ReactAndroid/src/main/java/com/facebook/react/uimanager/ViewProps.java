@@ -74,10 +74,19 @@ public class ViewProps {
   public static final String NUMBER_OF_LINES = "numberOfLines";
   public static final String LINE_BREAK_MODE = "lineBreakMode";
   public static final String ON = "on";
+  public static final String OPACITY = "opacity";
+  public static final String RENDER_TO_HARDWARE_TEXTURE = "renderToHardwareTextureAndroid";
   public static final String RESIZE_MODE = "resizeMode";
   public static final String TEXT_ALIGN = "textAlign";
   public static final String TEXT_ALIGN_VERTICAL = "textAlignVertical";
   public static final String TEXT_DECORATION_LINE = "textDecorationLine";
+  public static final String TRANSFORM = "transform";
+  // Flattened transform, e.g. as set by native animated style nodes
+  public static final String ROTATION = "rotation";
+  public static final String SCALE_X = "scaleX";
+  public static final String SCALE_Y = "scaleY";
+  public static final String TRANSLATE_X = "translateX";
+  public static final String TRANSLATE_Y = "translateY";
 
   public static final String BORDER_WIDTH = "borderWidth";
   public static final String BORDER_LEFT_WIDTH = "borderLeftWidth";
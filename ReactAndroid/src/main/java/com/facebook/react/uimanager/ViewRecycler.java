@@ -0,0 +1,272 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.uimanager;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import android.content.Context;
+import android.view.View;
+
+import com.facebook.react.bridge.MemoryPressure;
+
+/**
+ * Bounded pool of dropped views of a single {@link ViewManager}, waiting to be reused by the next
+ * {@link ViewManager#createView} call instead of creating a new instance. It also keeps track of
+ * how many views have been created and reused and how long that took, so that the time saved by
+ * recycling can be reported.
+ *
+ * Views keep a reference to the context they were created with, so a pooled view is only handed
+ * out for the same context, and the views of a given context are dropped when its root view goes
+ * away. Must only be used from the UI thread.
+ *
+ * Views can also be created ahead of time and added to the pool while the UI thread is idle (see
+ * {@link ViewPrefetcher}), in which case it also keeps track of how many of them ended up being
+ * used (hits) and how many views still had to be created on demand since (misses).
+ */
+@NotThreadSafe
+public class ViewRecycler<T extends View> {
+
+  /**
+   * Called for each pooled view that is thrown away rather than handed out, e.g. to let its
+   * manager release what it holds (see {@link ViewManager#onDropViewInstance}).
+   */
+  public interface OnViewDiscardedListener<T extends View> {
+    void onViewDiscarded(T view);
+  }
+
+  private final @Nullable OnViewDiscardedListener<T> mOnViewDiscardedListener;
+  private @Nullable View[] mViews;
+  private @Nullable boolean[] mPrefetched;
+  private int mSize;
+  private int mMaxSize;
+
+  private int mCreatedViewsCount;
+  private int mRecycledViewsCount;
+  private long mCreateTimeNs;
+  private long mRecycleTimeNs;
+
+  private int mPrefetchedViewsCount;
+  private int mPrefetchHitsCount;
+  private int mPrefetchMissesCount;
+
+  public ViewRecycler(int maxSize) {
+    this(maxSize, null);
+  }
+
+  public ViewRecycler(int maxSize, @Nullable OnViewDiscardedListener<T> onViewDiscardedListener) {
+    mOnViewDiscardedListener = onViewDiscardedListener;
+    setMaxSize(maxSize);
+  }
+
+  /**
+   * @return a pooled view created with the given context, or null if there is none. Pooled views
+   * that were created with another context are discarded.
+   */
+  @SuppressWarnings("unchecked")
+  public @Nullable T acquire(Context context) {
+    while (mSize > 0) {
+      mSize--;
+      View view = mViews[mSize];
+      mViews[mSize] = null;
+      if (view.getContext() == context) {
+        mRecycledViewsCount++;
+        if (mPrefetched[mSize]) {
+          mPrefetchHitsCount++;
+        }
+        return (T) view;
+      }
+      discard(view);
+    }
+    return null;
+  }
+
+  /**
+   * @return false if the pool is full, in which case the view was not added to it
+   */
+  public boolean release(T view) {
+    return add(view, false);
+  }
+
+  /**
+   * Adds a view created ahead of time to the pool, and records how long it took to create it.
+   *
+   * @return false if the pool is full, in which case the view was not added to it
+   */
+  public boolean prefetch(T view, long createTimeNs) {
+    if (!add(view, true)) {
+      return false;
+    }
+    mPrefetchedViewsCount++;
+    mCreateTimeNs += createTimeNs;
+    return true;
+  }
+
+  private boolean add(View view, boolean prefetched) {
+    if (isFull()) {
+      return false;
+    }
+    if (mViews == null || mViews.length < mMaxSize) {
+      View[] views = new View[mMaxSize];
+      boolean[] prefetchedViews = new boolean[mMaxSize];
+      if (mViews != null) {
+        System.arraycopy(mViews, 0, views, 0, mSize);
+        System.arraycopy(mPrefetched, 0, prefetchedViews, 0, mSize);
+      }
+      mViews = views;
+      mPrefetched = prefetchedViews;
+    }
+    mPrefetched[mSize] = prefetched;
+    mViews[mSize++] = view;
+    return true;
+  }
+
+  public boolean isFull() {
+    return mSize >= mMaxSize;
+  }
+
+  public int size() {
+    return mSize;
+  }
+
+  public int getMaxSize() {
+    return mMaxSize;
+  }
+
+  public void setMaxSize(int maxSize) {
+    if (maxSize < 0) {
+      throw new IllegalArgumentException("Invalid pool size: " + maxSize);
+    }
+    mMaxSize = maxSize;
+    trimToSize(maxSize);
+  }
+
+  /**
+   * Drops the pooled views that were created with the given context.
+   */
+  public void clear(Context context) {
+    int size = 0;
+    for (int i = 0; i < mSize; i++) {
+      View view = mViews[i];
+      mViews[i] = null;
+      if (view.getContext() != context) {
+        mPrefetched[size] = mPrefetched[i];
+        mViews[size++] = view;
+      } else {
+        discard(view);
+      }
+    }
+    mSize = size;
+  }
+
+  public void clear() {
+    trimToSize(0);
+  }
+
+  /**
+   * Frees up pooled views in response to memory pressure: half of them when the app's UI is
+   * hidden, all of them otherwise.
+   */
+  public void trim(MemoryPressure level) {
+    trimToSize(level == MemoryPressure.UI_HIDDEN ? mSize / 2 : 0);
+  }
+
+  private void trimToSize(int size) {
+    while (mSize > size) {
+      mSize--;
+      View view = mViews[mSize];
+      mViews[mSize] = null;
+      discard(view);
+    }
+    if (mSize == 0) {
+      mViews = null;
+      mPrefetched = null;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void discard(View view) {
+    if (mOnViewDiscardedListener != null) {
+      mOnViewDiscardedListener.onViewDiscarded((T) view);
+    }
+  }
+
+  /**
+   * Records that a view was created rather than taken from the pool, and how long it took.
+   */
+  public void onViewCreated(long createTimeNs) {
+    mCreatedViewsCount++;
+    mCreateTimeNs += createTimeNs;
+    if (mPrefetchedViewsCount > 0) {
+      mPrefetchMissesCount++;
+    }
+  }
+
+  /**
+   * Records how long it took to get a dropped view ready to be reused.
+   */
+  public void onViewRecycled(long recycleTimeNs) {
+    mRecycleTimeNs += recycleTimeNs;
+  }
+
+  public int getCreatedViewsCount() {
+    return mCreatedViewsCount;
+  }
+
+  public int getRecycledViewsCount() {
+    return mRecycledViewsCount;
+  }
+
+  public int getPrefetchedViewsCount() {
+    return mPrefetchedViewsCount;
+  }
+
+  /**
+   * @return how many views created ahead of time were used by {@link ViewManager#createView}
+   */
+  public int getPrefetchHitsCount() {
+    return mPrefetchHitsCount;
+  }
+
+  /**
+   * @return how many views had to be created on demand since the first one was created ahead of
+   * time, because the pool was empty
+   */
+  public int getPrefetchMissesCount() {
+    return mPrefetchMissesCount;
+  }
+
+  /**
+   * @return a snapshot of the counts above, for {@link ViewRecyclerMonitor}
+   */
+  /* package */ ViewRecyclerStats getStats(String viewManagerName) {
+    return new ViewRecyclerStats(
+        viewManagerName,
+        mCreatedViewsCount,
+        mRecycledViewsCount,
+        getTimeSavedNs(),
+        mSize,
+        mPrefetchedViewsCount,
+        mPrefetchHitsCount,
+        mPrefetchMissesCount);
+  }
+
+  /**
+   * @return an estimate of the time saved by reusing views, based on the average time it took to
+   * create one, minus the time spent getting dropped views ready to be reused
+   */
+  public long getTimeSavedNs() {
+    int createdViewsCount = mCreatedViewsCount + mPrefetchedViewsCount;
+    if (createdViewsCount == 0) {
+      return 0;
+    }
+    return mRecycledViewsCount * (mCreateTimeNs / createdViewsCount) - mRecycleTimeNs;
+  }
+}
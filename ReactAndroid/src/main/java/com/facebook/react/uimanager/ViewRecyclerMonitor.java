@@ -0,0 +1,38 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.uimanager;
+
+import javax.annotation.Nullable;
+
+/**
+ * Static class that allows how well the view managers recycle their views to be reported to a
+ * configurable listener.
+ *
+ * Once one is set, the listener gets a {@link ViewRecyclerStats} for each view manager that has
+ * recycled or prefetched views so far whenever the views kept around for reuse are dropped or trimmed, i.e. when
+ * a root view goes away and on memory pressure, from the UI thread. The stats can also be read at
+ * any time on the UI thread through {@link ViewManager#getViewRecyclerStats}.
+ */
+public class ViewRecyclerMonitor {
+
+  public interface StatsListener {
+    void onViewRecyclerStats(ViewRecyclerStats stats);
+  }
+
+  private static volatile @Nullable StatsListener sStatsListener = null;
+
+  public static void setStatsListener(@Nullable StatsListener listener) {
+    sStatsListener = listener;
+  }
+
+  /* package */ static @Nullable StatsListener getStatsListener() {
+    return sStatsListener;
+  }
+}
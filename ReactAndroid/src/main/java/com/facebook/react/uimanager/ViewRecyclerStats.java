@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.uimanager;
+
+/**
+ * How many views a {@link ViewManager} has created, created ahead of time and reused since it was
+ * created, as reported by {@link ViewRecyclerMonitor}.
+ */
+public class ViewRecyclerStats {
+
+  private final String mViewManagerName;
+  private final int mCreatedViewsCount;
+  private final int mRecycledViewsCount;
+  private final long mTimeSavedNs;
+  private final int mPooledViewsCount;
+  private final int mPrefetchedViewsCount;
+  private final int mPrefetchHitsCount;
+  private final int mPrefetchMissesCount;
+
+  /* package */ ViewRecyclerStats(
+      String viewManagerName,
+      int createdViewsCount,
+      int recycledViewsCount,
+      long timeSavedNs,
+      int pooledViewsCount,
+      int prefetchedViewsCount,
+      int prefetchHitsCount,
+      int prefetchMissesCount) {
+    mViewManagerName = viewManagerName;
+    mCreatedViewsCount = createdViewsCount;
+    mRecycledViewsCount = recycledViewsCount;
+    mTimeSavedNs = timeSavedNs;
+    mPooledViewsCount = pooledViewsCount;
+    mPrefetchedViewsCount = prefetchedViewsCount;
+    mPrefetchHitsCount = prefetchHitsCount;
+    mPrefetchMissesCount = prefetchMissesCount;
+  }
+
+  public String getViewManagerName() {
+    return mViewManagerName;
+  }
+
+  /**
+   * @return how many views were created because there was no view to reuse
+   */
+  public int getCreatedViewsCount() {
+    return mCreatedViewsCount;
+  }
+
+  /**
+   * @return how many views were reused rather than created
+   */
+  public int getRecycledViewsCount() {
+    return mRecycledViewsCount;
+  }
+
+  /**
+   * @return an estimate of the time saved by reusing views, see {@link ViewRecycler#getTimeSavedNs}
+   */
+  public long getTimeSavedNs() {
+    return mTimeSavedNs;
+  }
+
+  /**
+   * @return how many views were waiting to be reused when the stats were taken
+   */
+  public int getPooledViewsCount() {
+    return mPooledViewsCount;
+  }
+
+  /**
+   * @return how many views were created ahead of time by {@link ViewPrefetcher}
+   */
+  public int getPrefetchedViewsCount() {
+    return mPrefetchedViewsCount;
+  }
+
+  /**
+   * @return how many views created ahead of time were used, see
+   * {@link ViewRecycler#getPrefetchHitsCount}
+   */
+  public int getPrefetchHitsCount() {
+    return mPrefetchHitsCount;
+  }
+
+  /**
+   * @return how many views had to be created on demand despite prefetching, see
+   * {@link ViewRecycler#getPrefetchMissesCount}
+   */
+  public int getPrefetchMissesCount() {
+    return mPrefetchMissesCount;
+  }
+
+  @Override
+  public String toString() {
+    return mViewManagerName + ": created " + mCreatedViewsCount + " views, recycled " +
+        mRecycledViewsCount + " views, saving ~" + mTimeSavedNs / 1000000 + " ms, " +
+        mPooledViewsCount + " views pooled, prefetched " + mPrefetchedViewsCount + " views, " +
+        mPrefetchHitsCount + " prefetch hits, " + mPrefetchMissesCount + " prefetch misses";
+  }
+}
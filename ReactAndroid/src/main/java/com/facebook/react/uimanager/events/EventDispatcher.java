@@ -20,6 +20,7 @@ import android.util.LongSparseArray;
 import android.view.Choreographer;
 
 import com.facebook.infer.annotation.Assertions;
+import com.facebook.react.bridge.CatalystInstance;
 import com.facebook.react.bridge.LifecycleEventListener;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.UiThreadUtil;
@@ -234,6 +235,14 @@ public class EventDispatcher implements LifecycleEventListener {
   private class ScheduleDispatchFrameCallback implements Choreographer.FrameCallback {
     private volatile boolean mIsPosted = false;
     private boolean mShouldStop = false;
+    // Only coalesces with our own posts, unlike a token other code could get hold of
+    private final Object mMaybePostToken = new Object();
+    private final Runnable mMaybePostRunnable = new Runnable() {
+      @Override
+      public void run() {
+        maybePost();
+      }
+    };
 
     @Override
     public void doFrame(long frameTimeNanos) {
@@ -287,12 +296,8 @@ public class EventDispatcher implements LifecycleEventListener {
       if (mReactContext.isOnUiQueueThread()) {
         maybePost();
       } else {
-        mReactContext.runOnUiQueueThread(new Runnable() {
-          @Override
-          public void run() {
-            maybePost();
-          }
-        });
+        // Every event dispatched until then would otherwise post another one of these
+        mReactContext.runOnUiQueueThreadCoalesced(mMaybePostToken, mMaybePostRunnable);
       }
     }
   }
@@ -316,18 +321,25 @@ public class EventDispatcher implements LifecycleEventListener {
           if (mEventsToDispatchSize > 1) {
             Arrays.sort(mEventsToDispatch, 0, mEventsToDispatchSize, EVENT_COMPARATOR);
           }
-          for (int eventIdx = 0; eventIdx < mEventsToDispatchSize; eventIdx++) {
-            Event event = mEventsToDispatch[eventIdx];
-            // Event can be null if it has been coalesced into another event.
-            if (event == null) {
-              continue;
+          // Send all of this frame's events to JS in one go.
+          CatalystInstance catalystInstance = mReactContext.getCatalystInstance();
+          catalystInstance.beginJSCallBatch();
+          try {
+            for (int eventIdx = 0; eventIdx < mEventsToDispatchSize; eventIdx++) {
+              Event event = mEventsToDispatch[eventIdx];
+              // Event can be null if it has been coalesced into another event.
+              if (event == null) {
+                continue;
+              }
+              Systrace.endAsyncFlow(
+                  Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
+                  event.getEventName(),
+                  event.getUniqueID());
+              event.dispatch(mRCTEventEmitter);
+              event.dispose();
             }
-            Systrace.endAsyncFlow(
-                Systrace.TRACE_TAG_REACT_JAVA_BRIDGE,
-                event.getEventName(),
-                event.getUniqueID());
-            event.dispatch(mRCTEventEmitter);
-            event.dispose();
+          } finally {
+            catalystInstance.endJSCallBatch();
           }
           clearEventsToDispatch();
           mEventCookieToLastEventIdx.clear();
@@ -57,8 +57,7 @@ public class ARTGroupShadowNode extends ARTVirtualNode {
 
       for (int i = 0; i < getChildCount(); i++) {
         ARTVirtualNode child = (ARTVirtualNode) getChildAt(i);
-        child.draw(canvas, paint, opacity);
-        child.markUpdateSeen();
+        child.drawRecorded(canvas, paint, opacity);
       }
 
       restoreCanvas(canvas);
@@ -12,34 +12,120 @@ package com.facebook.react.views.art;
 import javax.annotation.Nullable;
 
 import android.content.Context;
-import android.graphics.Bitmap;
 import android.graphics.Canvas;
-import android.view.View;
+import android.graphics.Color;
+import android.graphics.Picture;
+import android.graphics.PorterDuff;
+import android.graphics.SurfaceTexture;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.view.Surface;
+import android.view.TextureView;
+
+import com.facebook.common.logging.FLog;
+import com.facebook.react.common.ReactConstants;
 
 /**
- * Custom {@link View} implementation that draws an ARTSurface React view and its children.
+ * Custom {@link TextureView} implementation that draws an ARTSurface React view and its children.
+ *
+ * The shadow node records what to draw into a {@link Picture}, which is then played back into the
+ * surface of the view from a render thread shared by all the ART surfaces, so that neither the
+ * layout thread nor the UI thread have to rasterize it, and no bitmap is allocated per update.
  */
-public class ARTSurfaceView extends View {
+public class ARTSurfaceView extends TextureView implements TextureView.SurfaceTextureListener {
+
+  private static @Nullable Handler sRenderHandler;
 
-  private @Nullable Bitmap mBitmap;
+  private final Object mLock = new Object();
+  private final Runnable mRenderRunnable = new Runnable() {
+    @Override
+    public void run() {
+      render();
+    }
+  };
+
+  // Guarded by mLock
+  private @Nullable Picture mPicture;
+  private @Nullable Surface mSurface;
+  private boolean mRenderScheduled;
 
   public ARTSurfaceView(Context context) {
     super(context);
+    setOpaque(false);
+    setSurfaceTextureListener(this);
+  }
+
+  public void setPicture(Picture picture) {
+    synchronized (mLock) {
+      mPicture = picture;
+    }
+    scheduleRender();
+  }
+
+  @Override
+  public void onSurfaceTextureAvailable(SurfaceTexture surfaceTexture, int width, int height) {
+    synchronized (mLock) {
+      mSurface = new Surface(surfaceTexture);
+    }
+    scheduleRender();
   }
 
-  public void setBitmap(Bitmap bitmap) {
-    if (mBitmap != null) {
-      mBitmap.recycle();
+  @Override
+  public void onSurfaceTextureSizeChanged(SurfaceTexture surfaceTexture, int width, int height) {
+    scheduleRender();
+  }
+
+  @Override
+  public boolean onSurfaceTextureDestroyed(SurfaceTexture surfaceTexture) {
+    // Waits for the render thread to be done with the surface, if it is drawing into it
+    synchronized (mLock) {
+      if (mSurface != null) {
+        mSurface.release();
+        mSurface = null;
+      }
     }
-    mBitmap = bitmap;
-    invalidate();
+    return true;
   }
 
   @Override
-  protected void onDraw(Canvas canvas) {
-    super.onDraw(canvas);
-    if (mBitmap != null) {
-      canvas.drawBitmap(mBitmap, 0, 0, null);
+  public void onSurfaceTextureUpdated(SurfaceTexture surfaceTexture) {
+  }
+
+  private void scheduleRender() {
+    synchronized (mLock) {
+      if (mRenderScheduled) {
+        return;
+      }
+      mRenderScheduled = true;
+    }
+    getRenderHandler().post(mRenderRunnable);
+  }
+
+  private void render() {
+    synchronized (mLock) {
+      mRenderScheduled = false;
+      if (mPicture == null || mSurface == null || !mSurface.isValid()) {
+        return;
+      }
+      Canvas canvas;
+      try {
+        canvas = mSurface.lockCanvas(null);
+      } catch (IllegalArgumentException | Surface.OutOfResourcesException e) {
+        FLog.e(ReactConstants.TAG, e.getClass().getSimpleName() + " in Surface.lockCanvas", e);
+        return;
+      }
+      canvas.drawColor(Color.TRANSPARENT, PorterDuff.Mode.CLEAR);
+      mPicture.draw(canvas);
+      mSurface.unlockCanvasAndPost(canvas);
+    }
+  }
+
+  private static synchronized Handler getRenderHandler() {
+    if (sRenderHandler == null) {
+      HandlerThread renderThread = new HandlerThread("ARTRenderThread");
+      renderThread.start();
+      sRenderHandler = new Handler(renderThread.getLooper());
     }
+    return sRenderHandler;
   }
 }
@@ -9,7 +9,7 @@
 
 package com.facebook.react.views.art;
 
-import android.graphics.Bitmap;
+import android.graphics.Picture;
 
 import com.facebook.csslayout.CSSMeasureMode;
 import com.facebook.csslayout.CSSNode;
@@ -63,6 +63,6 @@ public class ARTSurfaceViewManager extends
 
   @Override
   public void updateExtraData(ARTSurfaceView root, Object extraData) {
-    root.setBitmap((Bitmap) extraData);
+    root.setPicture((Picture) extraData);
   }
 }
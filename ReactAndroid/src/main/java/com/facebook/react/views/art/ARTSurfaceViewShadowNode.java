@@ -9,9 +9,9 @@
 
 package com.facebook.react.views.art;
 
-import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Paint;
+import android.graphics.Picture;
 
 import com.facebook.react.uimanager.LayoutShadowNode;
 import com.facebook.react.uimanager.UIViewOperationQueue;
@@ -21,6 +21,8 @@ import com.facebook.react.uimanager.UIViewOperationQueue;
  */
 public class ARTSurfaceViewShadowNode extends LayoutShadowNode {
 
+  private final Paint mPaint = new Paint();
+
   @Override
   public boolean isVirtual() {
     return false;
@@ -34,23 +36,22 @@ public class ARTSurfaceViewShadowNode extends LayoutShadowNode {
   @Override
   public void onCollectExtraUpdates(UIViewOperationQueue uiUpdater) {
     super.onCollectExtraUpdates(uiUpdater);
-    uiUpdater.enqueueUpdateExtraData(getReactTag(), drawOutput());
+    uiUpdater.enqueueUpdateExtraData(getReactTag(), recordOutput());
   }
 
-  private Object drawOutput() {
-    // TODO(7255985): Use TextureView and pass Surface from the view to draw on it asynchronously
-    // instead of passing the bitmap (which is inefficient especially in terms of memory usage)
-    Bitmap bitmap = Bitmap.createBitmap(
-        (int) getLayoutWidth(),
-        (int) getLayoutHeight(),
-        Bitmap.Config.ARGB_8888);
-    Canvas canvas = new Canvas(bitmap);
-    Paint paint = new Paint();
+  /**
+   * Records what to draw into a {@link Picture} that {@link ARTSurfaceView} plays back into its
+   * surface from its render thread. Only the nodes that were updated since the last time are
+   * recorded again, see {@link ARTVirtualNode#drawRecorded}.
+   */
+  private Picture recordOutput() {
+    Picture picture = new Picture();
+    Canvas canvas = picture.beginRecording((int) getLayoutWidth(), (int) getLayoutHeight());
     for (int i = 0; i < getChildCount(); i++) {
       ARTVirtualNode child = (ARTVirtualNode) getChildAt(i);
-      child.draw(canvas, paint, 1f);
-      child.markUpdateSeen();
+      child.drawRecorded(canvas, mPaint, 1f);
     }
-    return bitmap;
+    picture.endRecording();
+    return picture;
   }
 }
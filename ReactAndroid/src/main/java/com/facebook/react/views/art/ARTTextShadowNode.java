@@ -45,11 +45,13 @@ public class ARTTextShadowNode extends ARTShapeShadowNode {
   @ReactProp(name = "frame")
   public void setFrame(@Nullable ReadableMap frame) {
     mFrame = frame;
+    markUpdated();
   }
 
   @ReactProp(name = "alignment", defaultInt = TEXT_ALIGNMENT_LEFT)
   public void setAlignment(int alignment) {
     mTextAlignment = alignment;
+    markUpdated();
   }
 
   @Override
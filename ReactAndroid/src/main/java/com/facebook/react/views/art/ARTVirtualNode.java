@@ -14,6 +14,7 @@ import javax.annotation.Nullable;
 import android.graphics.Canvas;
 import android.graphics.Matrix;
 import android.graphics.Paint;
+import android.graphics.Picture;
 
 import com.facebook.react.bridge.JSApplicationIllegalArgumentException;
 import com.facebook.react.bridge.ReadableArray;
@@ -29,11 +30,19 @@ public abstract class ARTVirtualNode extends ReactShadowNode {
 
   protected static final float MIN_OPACITY_FOR_DRAW = 0.01f;
 
+  // How far from the origin, in each direction, the content recorded by drawRecorded may go. The
+  // content is in the coordinates of the parent, so it can be anywhere around the origin and
+  // further away than the size of the surface once scaled, e.g. when a group is scaled down.
+  // Recording bounds don't allocate anything, so they are made as large as anything drawn.
+  /* package */ static final int RECORDING_EXTENT = 1 << 15;
+
   private static final float[] sMatrixData = new float[9];
   private static final float[] sRawMatrix = new float[9];
 
   protected float mOpacity = 1f;
   private @Nullable Matrix mMatrix = new Matrix();
+  private @Nullable Picture mPicture;
+  private float mPictureOpacity;
 
   protected final float mScale;
 
@@ -48,6 +57,34 @@ public abstract class ARTVirtualNode extends ReactShadowNode {
 
   public abstract void draw(Canvas canvas, Paint paint, float opacity);
 
+  /**
+   * Draws this node by playing back what {@link #draw} recorded the last time, unless the node was
+   * updated since or is drawn with a different opacity, in which case it is recorded again. This
+   * way the paths and paints of nodes that didn't change are not set up and drawn again whenever
+   * one of their siblings is updated.
+   *
+   * A picture culls what is drawn outside of its bounds, which start at the origin. So that content
+   * at negative coordinates, e.g. in a translated group, is kept, the content is recorded offset
+   * by {@link #RECORDING_EXTENT} and moved back when played.
+   */
+  public final void drawRecorded(Canvas canvas, Paint paint, float opacity) {
+    if (mPicture == null || hasUnseenUpdates() || opacity != mPictureOpacity) {
+      Picture picture = new Picture();
+      Canvas recordingCanvas =
+          picture.beginRecording(2 * RECORDING_EXTENT, 2 * RECORDING_EXTENT);
+      recordingCanvas.translate(RECORDING_EXTENT, RECORDING_EXTENT);
+      draw(recordingCanvas, paint, opacity);
+      picture.endRecording();
+      mPicture = picture;
+      mPictureOpacity = opacity;
+    }
+    markUpdateSeen();
+    canvas.save();
+    canvas.translate(-RECORDING_EXTENT, -RECORDING_EXTENT);
+    mPicture.draw(canvas);
+    canvas.restore();
+  }
+
   /**
    * Sets up the transform matrix on the canvas before an element is drawn.
    *
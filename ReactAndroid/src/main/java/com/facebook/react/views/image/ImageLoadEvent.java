@@ -36,6 +36,7 @@ public class ImageLoadEvent extends Event<ImageLoadEvent> {
 
   private final int mEventType;
   private final @Nullable String mImageUri;
+  private final int mDecodedBytes;
 
   public ImageLoadEvent(int viewId, long timestampMs, @ImageEventType int eventType) {
     this(viewId, timestampMs, eventType, null);
@@ -46,9 +47,22 @@ public class ImageLoadEvent extends Event<ImageLoadEvent> {
     long timestampMs,
     @ImageEventType int eventType,
     @Nullable String imageUri) {
+    this(viewId, timestampMs, eventType, imageUri, -1);
+  }
+
+  /**
+   * @param decodedBytes how much memory the loaded image uses once decoded, or -1 if unknown
+   */
+  public ImageLoadEvent(
+    int viewId,
+    long timestampMs,
+    @ImageEventType int eventType,
+    @Nullable String imageUri,
+    int decodedBytes) {
     super(viewId, timestampMs);
     mEventType = eventType;
     mImageUri = imageUri;
+    mDecodedBytes = decodedBytes;
   }
 
   public static String eventNameForType(@ImageEventType int eventType) {
@@ -83,9 +97,14 @@ public class ImageLoadEvent extends Event<ImageLoadEvent> {
   @Override
   public void dispatch(RCTEventEmitter rctEventEmitter) {
     WritableMap eventData = null;
-    if (mImageUri != null) {
+    if (mImageUri != null || mDecodedBytes >= 0) {
       eventData = Arguments.createMap();
-      eventData.putString("uri", mImageUri);
+      if (mImageUri != null) {
+        eventData.putString("uri", mImageUri);
+      }
+      if (mDecodedBytes >= 0) {
+        eventData.putInt("decodedBytes", mDecodedBytes);
+      }
     }
     rctEventEmitter.receiveEvent(getViewTag(), getEventName(), eventData);
   }
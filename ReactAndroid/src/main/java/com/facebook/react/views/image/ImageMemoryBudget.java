@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.views.image;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.DisplayMetrics;
+
+import com.facebook.react.bridge.MemoryPressure;
+
+/**
+ * Keeps track of the memory used by the decoded images of the {@link ReactImageView}s of a
+ * {@link ReactImageManager}, and tells them how much to scale down the size at which they decode
+ * their images so that it stays within a budget:
+ *  - the images may use as much memory as a few screens full of pixels, past which new images are
+ *    decoded at a smaller size than their view,
+ *  - for a while after the app is told it is running low on memory
+ *    ({@link MemoryPressure#MODERATE} or worse), new images are decoded at an even smaller size.
+ *
+ * Must only be used from the UI thread.
+ */
+@NotThreadSafe
+/* package */ class ImageMemoryBudget {
+
+  // Decoded images may use up to as much memory as this many screens full of ARGB pixels
+  private static final int MAX_SCREENS = 3;
+  private static final int BYTES_PER_PIXEL = 4;
+  private static final float OVER_BUDGET_RESIZE_SCALE = 0.75f;
+  private static final float MEMORY_PRESSURE_RESIZE_SCALE = 0.5f;
+  // How long images are scaled down for after a memory pressure notification
+  private static final long MEMORY_PRESSURE_TIMEOUT_MS = 30000;
+
+  private long mMaxBytes;
+  private long mDecodedBytes;
+  private long mPeakDecodedBytes;
+  private long mMemoryPressureTimeMs = -1;
+
+  public ImageMemoryBudget() {
+    this(0);
+  }
+
+  /**
+   * @param maxBytes the memory decoded images may use, or 0 to derive it from the size of the
+   * screen
+   */
+  /* package */ ImageMemoryBudget(long maxBytes) {
+    mMaxBytes = maxBytes;
+  }
+
+  /**
+   * To be called when the decoded image shown by a view changes.
+   *
+   * @param oldBytes the size of the image it showed before, or 0
+   * @param newBytes the size of the image it shows now, or 0
+   */
+  public void onDecodedImageChanged(int oldBytes, int newBytes) {
+    mDecodedBytes += newBytes - oldBytes;
+    mPeakDecodedBytes = Math.max(mPeakDecodedBytes, mDecodedBytes);
+  }
+
+  public void onMemoryPressure(MemoryPressure level) {
+    if (level == MemoryPressure.MODERATE || level == MemoryPressure.CRITICAL) {
+      mMemoryPressureTimeMs = SystemClock.uptimeMillis();
+    }
+  }
+
+  /**
+   * @return how much to scale down the size of its view at which an image about to be loaded
+   * should be decoded, between 0 and 1
+   */
+  public float getResizeScale(Context context) {
+    float resizeScale = 1f;
+    if (mDecodedBytes > getMaxBytes(context)) {
+      resizeScale *= OVER_BUDGET_RESIZE_SCALE;
+    }
+    if (mMemoryPressureTimeMs >= 0 &&
+        SystemClock.uptimeMillis() - mMemoryPressureTimeMs < MEMORY_PRESSURE_TIMEOUT_MS) {
+      resizeScale *= MEMORY_PRESSURE_RESIZE_SCALE;
+    }
+    return resizeScale;
+  }
+
+  /**
+   * @return how much memory the images shown at the moment use
+   */
+  public long getDecodedBytes() {
+    return mDecodedBytes;
+  }
+
+  public long getPeakDecodedBytes() {
+    return mPeakDecodedBytes;
+  }
+
+  private long getMaxBytes(Context context) {
+    if (mMaxBytes == 0) {
+      DisplayMetrics displayMetrics = context.getResources().getDisplayMetrics();
+      mMaxBytes = (long) MAX_SCREENS *
+          displayMetrics.widthPixels *
+          displayMetrics.heightPixels *
+          BYTES_PER_PIXEL;
+    }
+    return mMaxBytes;
+  }
+}
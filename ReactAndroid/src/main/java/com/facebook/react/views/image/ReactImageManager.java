@@ -16,11 +16,14 @@ import java.util.Map;
 import android.graphics.Color;
 import android.graphics.PorterDuff.Mode;
 
+import com.facebook.common.logging.FLog;
 import com.facebook.csslayout.CSSConstants;
 import com.facebook.drawee.backends.pipeline.Fresco;
 import com.facebook.drawee.controller.AbstractDraweeControllerBuilder;
+import com.facebook.react.bridge.MemoryPressure;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.common.MapBuilder;
+import com.facebook.react.common.ReactConstants;
 import com.facebook.react.uimanager.PixelUtil;
 import com.facebook.react.uimanager.SimpleViewManager;
 import com.facebook.react.uimanager.ThemedReactContext;
@@ -39,6 +42,7 @@ public class ReactImageManager extends SimpleViewManager<ReactImageView> {
 
   private @Nullable AbstractDraweeControllerBuilder mDraweeControllerBuilder;
   private final @Nullable Object mCallerContext;
+  private final ImageMemoryBudget mMemoryBudget = new ImageMemoryBudget();
 
   public ReactImageManager(
       AbstractDraweeControllerBuilder draweeControllerBuilder,
@@ -69,7 +73,19 @@ public class ReactImageManager extends SimpleViewManager<ReactImageView> {
     return new ReactImageView(
         context,
         getDraweeControllerBuilder(),
-        getCallerContext());
+        getCallerContext(),
+        mMemoryBudget);
+  }
+
+  @Override
+  protected void onMemoryPressure(MemoryPressure level) {
+    FLog.i(
+        ReactConstants.TAG,
+        "%s: %d KB of decoded images shown, %d KB peak",
+        getName(),
+        mMemoryBudget.getDecodedBytes() / 1024,
+        mMemoryBudget.getPeakDecodedBytes() / 1024);
+    mMemoryBudget.onMemoryPressure(level);
   }
 
   // In JS this is Image.props.source
@@ -29,7 +29,8 @@ import android.graphics.Shader;
 import android.graphics.drawable.Animatable;
 import android.graphics.drawable.Drawable;
 
-import com.facebook.common.util.UriUtil;
+import com.facebook.cache.common.CacheKey;
+import com.facebook.cache.common.SimpleCacheKey;
 import com.facebook.csslayout.CSSConstants;
 import com.facebook.csslayout.FloatUtil;
 import com.facebook.drawee.controller.AbstractDraweeControllerBuilder;
@@ -43,6 +44,7 @@ import com.facebook.drawee.generic.GenericDraweeHierarchyBuilder;
 import com.facebook.drawee.generic.RoundingParams;
 import com.facebook.drawee.view.GenericDraweeView;
 import com.facebook.imagepipeline.common.ResizeOptions;
+import com.facebook.imagepipeline.image.CloseableImage;
 import com.facebook.imagepipeline.image.ImageInfo;
 import com.facebook.imagepipeline.request.BasePostprocessor;
 import com.facebook.imagepipeline.request.ImageRequest;
@@ -68,6 +70,10 @@ public class ReactImageView extends GenericDraweeView {
 
   public static final int REMOTE_IMAGE_FADE_DURATION_MS = 300;
 
+  // Images are decoded at the size of their view rounded up to a multiple of this, so that views of
+  // about the same size share the same decoded images in the memory cache
+  private static final int RESIZE_STEP_PX = 32;
+
   private static float[] sComputedCornerRadii = new float[4];
 
   /*
@@ -80,11 +86,26 @@ public class ReactImageView extends GenericDraweeView {
    * So for the other modes, we use a postprocessor.
    * Because the postprocessor uses a modified bitmap, that would just get cropped in
    * 'cover' mode, so we fall back to Fresco's normal implementation.
+   *
+   * The postprocessor copies the bitmap it is given, so it is only used when there are rounded
+   * corners. Its result is cached by scale type and corner radii, so that views showing the same
+   * image the same way share the same bitmap.
    */
   private static final Matrix sMatrix = new Matrix();
   private static final Matrix sInverse = new Matrix();
 
-  private class RoundedCornerPostprocessor extends BasePostprocessor {
+  private static class RoundedCornerPostprocessor extends BasePostprocessor {
+
+    private final ScalingUtils.ScaleType mScaleType;
+    private final float[] mCornerRadii;
+    private final CacheKey mCacheKey;
+
+    RoundedCornerPostprocessor(ScalingUtils.ScaleType scaleType, float[] cornerRadii) {
+      mScaleType = scaleType;
+      mCornerRadii = cornerRadii.clone();
+      mCacheKey = new SimpleCacheKey(
+          "RoundedCorner:" + scaleType + ":" + Arrays.toString(mCornerRadii));
+    }
 
     void getRadii(Bitmap source, float[] computedCornerRadii, float[] mappedRadii) {
         ScalingUtils.getTransform(
@@ -112,13 +133,8 @@ public class ReactImageView extends GenericDraweeView {
 
     @Override
     public void process(Bitmap output, Bitmap source) {
-      cornerRadii(sComputedCornerRadii);
-
       output.setHasAlpha(true);
-      if (FloatUtil.floatsEqual(sComputedCornerRadii[0], 0f) &&
-          FloatUtil.floatsEqual(sComputedCornerRadii[1], 0f) &&
-          FloatUtil.floatsEqual(sComputedCornerRadii[2], 0f) &&
-          FloatUtil.floatsEqual(sComputedCornerRadii[3], 0f)) {
+      if (!hasCornerRadii(mCornerRadii)) {
         super.process(output, source);
         return;
       }
@@ -129,7 +145,7 @@ public class ReactImageView extends GenericDraweeView {
 
       float[] radii = new float[8];
 
-      getRadii(source, sComputedCornerRadii, radii);
+      getRadii(source, mCornerRadii, radii);
 
       Path pathForBorderRadius = new Path();
 
@@ -140,6 +156,11 @@ public class ReactImageView extends GenericDraweeView {
 
       canvas.drawPath(pathForBorderRadius, paint);
     }
+
+    @Override
+    public CacheKey getPostprocessorCacheKey() {
+      return mCacheKey;
+    }
   }
 
   private final List<ImageSource> mSources;
@@ -155,7 +176,12 @@ public class ReactImageView extends GenericDraweeView {
   private ScalingUtils.ScaleType mScaleType;
   private boolean mIsDirty;
   private final AbstractDraweeControllerBuilder mDraweeControllerBuilder;
-  private final RoundedCornerPostprocessor mRoundedCornerPostprocessor;
+  private final @Nullable ImageMemoryBudget mMemoryBudget;
+  private final ControllerListener mDecodedImageListener;
+  private int mDecodedBytes;
+  // Size of the view when its image was requested, if it was to be decoded at that size
+  private int mResizedWidth;
+  private int mResizedHeight;
   private @Nullable ControllerListener mControllerListener;
   private @Nullable ControllerListener mControllerForTesting;
   private final @Nullable Object mCallerContext;
@@ -173,12 +199,39 @@ public class ReactImageView extends GenericDraweeView {
       Context context,
       AbstractDraweeControllerBuilder draweeControllerBuilder,
       @Nullable Object callerContext) {
+    this(context, draweeControllerBuilder, callerContext, null);
+  }
+
+  /* package */ ReactImageView(
+      Context context,
+      AbstractDraweeControllerBuilder draweeControllerBuilder,
+      @Nullable Object callerContext,
+      @Nullable ImageMemoryBudget memoryBudget) {
     super(context, buildHierarchy(context));
     mScaleType = ImageResizeMode.defaultValue();
     mDraweeControllerBuilder = draweeControllerBuilder;
-    mRoundedCornerPostprocessor = new RoundedCornerPostprocessor();
+    mMemoryBudget = memoryBudget;
     mCallerContext = callerContext;
     mSources = new LinkedList<>();
+    mDecodedImageListener = new BaseControllerListener<ImageInfo>() {
+      @Override
+      public void onFinalImageSet(
+          String id,
+          @Nullable ImageInfo imageInfo,
+          @Nullable Animatable animatable) {
+        setDecodedBytes(getSizeInBytes(imageInfo));
+      }
+
+      @Override
+      public void onFailure(String id, Throwable throwable) {
+        setDecodedBytes(0);
+      }
+
+      @Override
+      public void onRelease(String id) {
+        setDecodedBytes(0);
+      }
+    };
   }
 
   public void setShouldNotifyLoadEvents(boolean shouldNotify) {
@@ -202,7 +255,12 @@ public class ReactImageView extends GenericDraweeView {
             @Nullable Animatable animatable) {
           if (imageInfo != null) {
             mEventDispatcher.dispatchEvent(
-              new ImageLoadEvent(getId(), SystemClock.nanoTime(), ImageLoadEvent.ON_LOAD));
+              new ImageLoadEvent(
+                getId(),
+                SystemClock.nanoTime(),
+                ImageLoadEvent.ON_LOAD,
+                null,
+                getSizeInBytes(imageInfo)));
             mEventDispatcher.dispatchEvent(
               new ImageLoadEvent(getId(), SystemClock.nanoTime(), ImageLoadEvent.ON_LOAD_END));
           }
@@ -297,6 +355,20 @@ public class ReactImageView extends GenericDraweeView {
     // no worth marking as dirty if it already rendered..
   }
 
+  /**
+   * @return how much memory the image shown at the moment uses once decoded, or 0 if there is none
+   */
+  public int getDecodedBytes() {
+    return mDecodedBytes;
+  }
+
+  private void setDecodedBytes(int decodedBytes) {
+    if (mMemoryBudget != null) {
+      mMemoryBudget.onDecodedImageChanged(mDecodedBytes, decodedBytes);
+    }
+    mDecodedBytes = decodedBytes;
+  }
+
   private void cornerRadii(float[] computedCorners) {
     float defaultBorderRadius = !CSSConstants.isUndefined(mBorderRadius) ? mBorderRadius : 0;
 
@@ -316,7 +388,8 @@ public class ReactImageView extends GenericDraweeView {
       return;
     }
 
-    setSourceImage();
+    float resizeScale = mMemoryBudget != null ? mMemoryBudget.getResizeScale(getContext()) : 1f;
+    setSourceImage(resizeScale);
     if (mImageSource == null) {
       return;
     }
@@ -339,12 +412,11 @@ public class ReactImageView extends GenericDraweeView {
         mScaleType != ScalingUtils.ScaleType.FOCUS_CROP;
 
     RoundingParams roundingParams = hierarchy.getRoundingParams();
+    cornerRadii(sComputedCornerRadii);
 
     if (usePostprocessorScaling) {
       roundingParams.setCornersRadius(0);
     } else {
-      cornerRadii(sComputedCornerRadii);
-
       roundingParams.setCornersRadii(sComputedCornerRadii[0], sComputedCornerRadii[1], sComputedCornerRadii[2], sComputedCornerRadii[3]);
     }
 
@@ -361,9 +433,14 @@ public class ReactImageView extends GenericDraweeView {
             ? mFadeDurationMs
             : mImageSource.isResource() ? 0 : REMOTE_IMAGE_FADE_DURATION_MS);
 
-    Postprocessor postprocessor = usePostprocessorScaling ? mRoundedCornerPostprocessor : null;
+    Postprocessor postprocessor =
+        usePostprocessorScaling && hasCornerRadii(sComputedCornerRadii)
+            ? new RoundedCornerPostprocessor(mScaleType, sComputedCornerRadii)
+            : null;
 
-    ResizeOptions resizeOptions = doResize ? new ResizeOptions(getWidth(), getHeight()) : null;
+    ResizeOptions resizeOptions = doResize ? createResizeOptions(resizeScale) : null;
+    mResizedWidth = doResize ? getWidth() : 0;
+    mResizedHeight = doResize ? getHeight() : 0;
 
     ImageRequest imageRequest = ImageRequestBuilder.newBuilderWithSource(mImageSource.getUri())
         .setPostprocessor(postprocessor)
@@ -392,17 +469,19 @@ public class ReactImageView extends GenericDraweeView {
       mDraweeControllerBuilder.setLowResImageRequest(cachedImageRequest);
     }
 
-    if (mControllerListener != null && mControllerForTesting != null) {
-      ForwardingControllerListener combinedListener = new ForwardingControllerListener();
+    // The decoded image listener goes first so that the load event reports the new image
+    ForwardingControllerListener combinedListener = new ForwardingControllerListener();
+    combinedListener.addListener(mDecodedImageListener);
+    if (mControllerListener != null) {
       combinedListener.addListener(mControllerListener);
+    }
+    if (mControllerForTesting != null) {
       combinedListener.addListener(mControllerForTesting);
-      mDraweeControllerBuilder.setControllerListener(combinedListener);
-    } else if (mControllerForTesting != null) {
-      mDraweeControllerBuilder.setControllerListener(mControllerForTesting);
-    } else if (mControllerListener != null) {
-      mDraweeControllerBuilder.setControllerListener(mControllerListener);
     }
+    mDraweeControllerBuilder.setControllerListener(combinedListener);
 
+    // The image shown until now is released when the controller is reused for the new one
+    setDecodedBytes(0);
     setController(mDraweeControllerBuilder.build());
     mIsDirty = false;
   }
@@ -418,7 +497,7 @@ public class ReactImageView extends GenericDraweeView {
   protected void onSizeChanged(int w, int h, int oldw, int oldh) {
     super.onSizeChanged(w, h, oldw, oldh);
     if (w > 0 && h > 0) {
-      mIsDirty = mIsDirty || hasMultipleSources();
+      mIsDirty = mIsDirty || hasMultipleSources() || isResizedBelow(w, h);
       maybeUpdateView();
     }
   }
@@ -435,14 +514,21 @@ public class ReactImageView extends GenericDraweeView {
     return mSources.size() > 1;
   }
 
-  private void setSourceImage() {
+  /**
+   * @param resizeScale how much to scale down the size at which images are decoded, see
+   * {@link ImageMemoryBudget#getResizeScale}
+   */
+  private void setSourceImage(float resizeScale) {
     mImageSource = null;
     if (mSources.isEmpty()) {
       return;
     }
     if (hasMultipleSources()) {
-      MultiSourceResult multiSource =
-        MultiSourceHelper.getBestSourceForSize(getWidth(), getHeight(), mSources);
+      MultiSourceResult multiSource = MultiSourceHelper.getBestSourceForSize(
+        getWidth(),
+        getHeight(),
+        mSources,
+        resizeScale * resizeScale);
       mImageSource = multiSource.getBestResult();
       mCachedImageSource = multiSource.getBestResultInCache();
       return;
@@ -452,11 +538,45 @@ public class ReactImageView extends GenericDraweeView {
   }
 
   private static boolean shouldResize(ImageSource imageSource) {
-    // Resizing is inferior to scaling. See http://frescolib.org/docs/resizing-rotating.html#_
-    // We resize here only for images likely to be from the device's camera, where the app developer
-    // has no control over the original size
-    return
-      UriUtil.isLocalContentUri(imageSource.getUri()) ||
-      UriUtil.isLocalFileUri(imageSource.getUri());
+    // Decoding images at the size of their view rather than at the size of their source keeps
+    // e.g. the thumbnails of a feed of photos from each holding a full size bitmap. Resources are
+    // left alone as they are already provided at the right size for the screen density. Only
+    // JPEGs are resized, unless the app enables downsampling in its Fresco config, see
+    // FrescoModule#getDefaultConfigBuilder.
+    return !imageSource.isResource();
+  }
+
+  /**
+   * Rounds up the size at which to decode images, so that views of about the same size share the
+   * same decoded images in the memory cache rather than each decoding their own.
+   */
+  private ResizeOptions createResizeOptions(float resizeScale) {
+    return new ResizeOptions(
+      roundUpResizeDimension(getWidth() * resizeScale),
+      roundUpResizeDimension(getHeight() * resizeScale));
+  }
+
+  private static int roundUpResizeDimension(float dimension) {
+    return Math.max(1, (int) Math.ceil(dimension / RESIZE_STEP_PX)) * RESIZE_STEP_PX;
+  }
+
+  /**
+   * @return whether the image shown was decoded for a view smaller than the given size
+   */
+  private boolean isResizedBelow(int width, int height) {
+    return mResizedWidth > 0 &&
+      (roundUpResizeDimension(width) > roundUpResizeDimension(mResizedWidth) ||
+        roundUpResizeDimension(height) > roundUpResizeDimension(mResizedHeight));
+  }
+
+  private static boolean hasCornerRadii(float[] cornerRadii) {
+    return !FloatUtil.floatsEqual(cornerRadii[0], 0f) ||
+      !FloatUtil.floatsEqual(cornerRadii[1], 0f) ||
+      !FloatUtil.floatsEqual(cornerRadii[2], 0f) ||
+      !FloatUtil.floatsEqual(cornerRadii[3], 0f);
+  }
+
+  private static int getSizeInBytes(@Nullable ImageInfo imageInfo) {
+    return imageInfo instanceof CloseableImage ? ((CloseableImage) imageInfo).getSizeInBytes() : 0;
   }
 }
@@ -66,7 +66,7 @@ public class MultiSourceHelper {
    * @param sources the list of potential image sources to choose from
    * @param multiplier the area of the view will be multiplied by this number before calculating the
    *        best source; this is useful if the image will be displayed bigger than the view
-   *        (e.g. zoomed)
+   *        (e.g. zoomed), or if it will be decoded at a smaller size than the view to save memory
    */
   public static MultiSourceResult getBestSourceForSize(
     int width,
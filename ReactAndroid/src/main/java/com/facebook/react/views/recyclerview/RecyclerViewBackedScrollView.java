@@ -29,7 +29,9 @@ import com.facebook.react.views.scroll.ScrollEventType;
  * they will be detached from native view hierarchy when scrolled offscreen.
  *
  * It works by storing all child views in an array within adapter and binding appropriate views to
- * rows when requested.
+ * rows when requested. With long lists, JS can ask to be told which rows are visible (see
+ * {@link VisibleRowsChangeEvent}) and only keep the content of the rows around them mounted, so
+ * that the views stored here for the other rows are empty placeholders.
  */
 @VisibleForTesting
 public class RecyclerViewBackedScrollView extends RecyclerView {
@@ -312,11 +314,23 @@ public class RecyclerViewBackedScrollView extends RecyclerView {
   }
 
   private boolean mSendContentSizeChangeEvents;
+  private boolean mSendVisibleRowsChangeEvents;
+  private int mFirstVisibleRow = NO_POSITION;
+  private int mLastVisibleRow = NO_POSITION;
 
   public void setSendContentSizeChangeEvents(boolean sendContentSizeChangeEvents) {
     mSendContentSizeChangeEvents = sendContentSizeChangeEvents;
   }
 
+  public void setSendVisibleRowsChangeEvents(boolean sendVisibleRowsChangeEvents) {
+    mSendVisibleRowsChangeEvents = sendVisibleRowsChangeEvents;
+    mFirstVisibleRow = NO_POSITION;
+    mLastVisibleRow = NO_POSITION;
+    if (sendVisibleRowsChangeEvents) {
+      updateVisibleRows();
+    }
+  }
+
   private int calculateAbsoluteOffset() {
     int offsetY = 0;
     if (getChildCount() > 0) {
@@ -352,6 +366,40 @@ public class RecyclerViewBackedScrollView extends RecyclerView {
                 ((ReactListAdapter) getAdapter()).getTotalChildrenHeight(),
                 getWidth(),
                 getHeight()));
+
+    updateVisibleRows();
+  }
+
+  @Override
+  protected void onLayout(boolean changed, int l, int t, int r, int b) {
+    super.onLayout(changed, l, t, r, b);
+    updateVisibleRows();
+  }
+
+  /**
+   * Lets JS know which rows are visible when that changes, so that it only needs to keep the rows
+   * around them mounted and can replace the others with placeholders of the same size, which in
+   * turn lets the native views of those rows be dropped and recycled.
+   */
+  private void updateVisibleRows() {
+    if (!mSendVisibleRowsChangeEvents) {
+      return;
+    }
+    LinearLayoutManager layoutManager = (LinearLayoutManager) getLayoutManager();
+    int firstVisibleRow = layoutManager.findFirstVisibleItemPosition();
+    int lastVisibleRow = layoutManager.findLastVisibleItemPosition();
+    if (firstVisibleRow == NO_POSITION ||
+        (firstVisibleRow == mFirstVisibleRow && lastVisibleRow == mLastVisibleRow)) {
+      return;
+    }
+    mFirstVisibleRow = firstVisibleRow;
+    mLastVisibleRow = lastVisibleRow;
+    ((ReactContext) getContext()).getNativeModule(UIManagerModule.class).getEventDispatcher()
+        .dispatchEvent(new VisibleRowsChangeEvent(
+                getId(),
+                SystemClock.nanoTime(),
+                firstVisibleRow,
+                lastVisibleRow));
   }
 
   private void onTotalChildrenHeightChange(int newTotalChildrenHeight) {
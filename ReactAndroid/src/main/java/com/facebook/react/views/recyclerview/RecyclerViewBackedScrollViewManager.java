@@ -37,6 +37,11 @@ public class RecyclerViewBackedScrollViewManager extends
     view.setSendContentSizeChangeEvents(value);
   }
 
+  @ReactProp(name = "onVisibleRowsChange")
+  public void setOnVisibleRowsChange(RecyclerViewBackedScrollView view, boolean value) {
+    view.setSendVisibleRowsChangeEvents(value);
+  }
+
   @Override
   protected RecyclerViewBackedScrollView createViewInstance(ThemedReactContext reactContext) {
     return new RecyclerViewBackedScrollView(reactContext);
@@ -88,6 +93,9 @@ public class RecyclerViewBackedScrollViewManager extends
         .put(
             ContentSizeChangeEvent.EVENT_NAME,
             MapBuilder.of("registrationName", "onContentSizeChange"))
+        .put(
+            VisibleRowsChangeEvent.EVENT_NAME,
+            MapBuilder.of("registrationName", "onVisibleRowsChange"))
         .build();
   }
 }
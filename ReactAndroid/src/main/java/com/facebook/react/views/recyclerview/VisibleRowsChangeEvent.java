@@ -0,0 +1,43 @@
+// Copyright 2004-present Facebook. All Rights Reserved.
+
+package com.facebook.react.views.recyclerview;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.uimanager.events.Event;
+import com.facebook.react.uimanager.events.RCTEventEmitter;
+
+/**
+ * Event dispatched by {@link RecyclerViewBackedScrollView} when the range of rows that are at
+ * least partially visible changes, so that JS can mount the rows around it and unmount the others
+ */
+public class VisibleRowsChangeEvent extends Event<VisibleRowsChangeEvent> {
+
+  public static final String EVENT_NAME = "topVisibleRowsChange";
+
+  private final int mFirstVisibleRow;
+  private final int mLastVisibleRow;
+
+  public VisibleRowsChangeEvent(
+      int viewTag,
+      long timestampMs,
+      int firstVisibleRow,
+      int lastVisibleRow) {
+    super(viewTag, timestampMs);
+    mFirstVisibleRow = firstVisibleRow;
+    mLastVisibleRow = lastVisibleRow;
+  }
+
+  @Override
+  public String getEventName() {
+    return EVENT_NAME;
+  }
+
+  @Override
+  public void dispatch(RCTEventEmitter rctEventEmitter) {
+    WritableMap data = Arguments.createMap();
+    data.putInt("firstVisibleRow", mFirstVisibleRow);
+    data.putInt("lastVisibleRow", mLastVisibleRow);
+    rctEventEmitter.receiveEvent(getViewTag(), EVENT_NAME, data);
+  }
+}
@@ -15,6 +15,11 @@ import android.os.SystemClock;
  * Android has a bug where onScrollChanged is called twice per frame with the same params during
  * flings. We hack around that here by trying to detect that duplicate call and not dispatch it. See
  * https://code.google.com/p/android/issues/detail?id=39473
+ *
+ * It also enforces the scrollEventThrottle set from JS, so that a throttled scroll view only sends
+ * a scroll event across the bridge once per throttle interval instead of on every frame. Scroll
+ * events that are held back are not lost: the scroll view is expected to emit the last one once
+ * the interval has elapsed, or before an edge event such as the end of a drag or of a fling.
  */
 public class OnScrollDispatchHelper {
 
@@ -24,6 +29,17 @@ public class OnScrollDispatchHelper {
   private int mPrevY = Integer.MIN_VALUE;
   private long mLastScrollEventTimeMs = -(MIN_EVENT_SEPARATION_MS + 1);
 
+  private int mScrollEventThrottleMs;
+  private long mLastEmittedScrollEventTimeMs = Long.MIN_VALUE / 2;
+  private boolean mHasPendingScrollEvent;
+
+  /**
+   * Sets the minimum interval between two scroll events, 0 to not throttle them.
+   */
+  public void setScrollEventThrottle(int scrollEventThrottleMs) {
+    mScrollEventThrottleMs = Math.max(0, scrollEventThrottleMs);
+  }
+
   /**
    * Call from a ScrollView in onScrollChanged, returns true if this onScrollChanged is legit (not a
    * duplicate) and should be dispatched.
@@ -41,4 +57,39 @@ public class OnScrollDispatchHelper {
 
     return shouldDispatch;
   }
+
+  /**
+   * Call once {@link #onScrollChanged} returned true, returns true if a scroll event should be
+   * emitted now. Otherwise the event is held back because of the throttle, and
+   * {@link #consumePendingScrollEvent} should be called once {@link #getTimeUntilNextScrollEventMs}
+   * has elapsed to emit the latest position.
+   */
+  public boolean shouldEmitScrollEvent() {
+    long eventTime = SystemClock.uptimeMillis();
+    if (eventTime - mLastEmittedScrollEventTimeMs < mScrollEventThrottleMs) {
+      mHasPendingScrollEvent = true;
+      return false;
+    }
+    mLastEmittedScrollEventTimeMs = eventTime;
+    mHasPendingScrollEvent = false;
+    return true;
+  }
+
+  /**
+   * Returns true if a scroll event was held back by the throttle and should be emitted now, in
+   * which case it is no longer pending.
+   */
+  public boolean consumePendingScrollEvent() {
+    if (!mHasPendingScrollEvent) {
+      return false;
+    }
+    mLastEmittedScrollEventTimeMs = SystemClock.uptimeMillis();
+    mHasPendingScrollEvent = false;
+    return true;
+  }
+
+  public long getTimeUntilNextScrollEventMs() {
+    long elapsed = SystemClock.uptimeMillis() - mLastEmittedScrollEventTimeMs;
+    return Math.max(0, mScrollEventThrottleMs - elapsed);
+  }
 }
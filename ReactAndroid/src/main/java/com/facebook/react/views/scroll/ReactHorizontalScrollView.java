@@ -35,6 +35,12 @@ public class ReactHorizontalScrollView extends HorizontalScrollView implements
     ReactClippingViewGroup {
 
   private final OnScrollDispatchHelper mOnScrollDispatchHelper = new OnScrollDispatchHelper();
+  private final Runnable mEmitPendingScrollEventRunnable = new Runnable() {
+    @Override
+    public void run() {
+      emitPendingScrollEvent();
+    }
+  };
 
   private boolean mActivelyScrolling;
   private @Nullable Rect mClippingRect;
@@ -80,6 +86,10 @@ public class ReactHorizontalScrollView extends HorizontalScrollView implements
     mSendMomentumEvents = sendMomentumEvents;
   }
 
+  public void setScrollEventThrottle(int scrollEventThrottleMs) {
+    mOnScrollDispatchHelper.setScrollEventThrottle(scrollEventThrottleMs);
+  }
+
   public void setScrollEnabled(boolean scrollEnabled) {
     mScrollEnabled = scrollEnabled;
   }
@@ -114,6 +124,24 @@ public class ReactHorizontalScrollView extends HorizontalScrollView implements
 
       mActivelyScrolling = true;
 
+      removeCallbacks(mEmitPendingScrollEventRunnable);
+      if (mOnScrollDispatchHelper.shouldEmitScrollEvent()) {
+        ReactScrollViewHelper.emitScrollEvent(this);
+      } else {
+        postDelayed(
+            mEmitPendingScrollEventRunnable,
+            mOnScrollDispatchHelper.getTimeUntilNextScrollEventMs());
+      }
+    }
+  }
+
+  /**
+   * Emits the last scroll event held back by the scroll event throttle, if any, so that JS gets
+   * the latest position before an edge event or once the throttle interval has elapsed.
+   */
+  private void emitPendingScrollEvent() {
+    removeCallbacks(mEmitPendingScrollEventRunnable);
+    if (mOnScrollDispatchHelper.consumePendingScrollEvent()) {
       ReactScrollViewHelper.emitScrollEvent(this);
     }
   }
@@ -143,6 +171,7 @@ public class ReactHorizontalScrollView extends HorizontalScrollView implements
 
     int action = ev.getAction() & MotionEvent.ACTION_MASK;
     if (action == MotionEvent.ACTION_UP && mDragging) {
+      emitPendingScrollEvent();
       ReactScrollViewHelper.emitScrollEndDragEvent(this);
       mDragging = false;
       // After the touch finishes, we may need to do some scrolling afterwards either as a result
@@ -282,6 +311,7 @@ public class ReactHorizontalScrollView extends HorizontalScrollView implements
           }
           if (doneWithAllScrolling) {
             if (mSendMomentumEvents) {
+              emitPendingScrollEvent();
               ReactScrollViewHelper.emitScrollMomentumEndEvent(ReactHorizontalScrollView.this);
             }
             ReactHorizontalScrollView.this.mPostTouchRunnable = null;
@@ -78,6 +78,15 @@ public class ReactHorizontalScrollViewManager
     view.setSendMomentumEvents(sendMomentumEvents);
   }
 
+  /**
+   * Minimum interval in ms between two scroll events sent to JS while scrolling, 0 (the default)
+   * to send one per frame. Drag and momentum events are never throttled.
+   */
+  @ReactProp(name = "scrollEventThrottle")
+  public void setScrollEventThrottle(ReactHorizontalScrollView view, int scrollEventThrottle) {
+    view.setScrollEventThrottle(scrollEventThrottle);
+  }
+
   /**
    * Tag used for logging scroll performance on this scroll view. Will force momentum events to be
    * turned on (see setSendMomentumEvents).
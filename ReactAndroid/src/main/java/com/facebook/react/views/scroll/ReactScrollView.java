@@ -17,11 +17,15 @@ import android.graphics.Color;
 import android.graphics.Rect;
 import android.graphics.drawable.ColorDrawable;
 import android.graphics.drawable.Drawable;
+import android.os.SystemClock;
 import android.view.MotionEvent;
 import android.view.View;
+import android.view.ViewGroup;
 import android.widget.ScrollView;
 
+import com.facebook.react.bridge.ReactContext;
 import com.facebook.react.uimanager.MeasureSpecAssertions;
+import com.facebook.react.uimanager.UIManagerModule;
 import com.facebook.react.uimanager.events.NativeGestureUtil;
 import com.facebook.react.views.view.ReactClippingViewGroup;
 import com.facebook.react.views.view.ReactClippingViewGroupHelper;
@@ -36,7 +40,22 @@ import com.facebook.infer.annotation.Assertions;
  */
 public class ReactScrollView extends ScrollView implements ReactClippingViewGroup {
 
+  // How far ahead to predict where scrolling will get to, in order to prefetch the views of the
+  // rows that will be rendered by then
+  private static final long PREFETCH_HORIZON_MS = 500;
+  private static final long PREFETCH_INTERVAL_MS = 100;
+  // How many of the last children of the content to look at for a row to use as a sample
+  private static final int SAMPLE_ROW_CANDIDATES = 4;
+  // Scroll steps further apart than this don't belong to the same movement
+  private static final long VELOCITY_TIMEOUT_MS = 100;
+
   private final OnScrollDispatchHelper mOnScrollDispatchHelper = new OnScrollDispatchHelper();
+  private final Runnable mEmitPendingScrollEventRunnable = new Runnable() {
+    @Override
+    public void run() {
+      emitPendingScrollEvent();
+    }
+  };
 
   private @Nullable Rect mClippingRect;
   private boolean mDoneFlinging;
@@ -49,6 +68,11 @@ public class ReactScrollView extends ScrollView implements ReactClippingViewGrou
   private @Nullable String mScrollPerfTag;
   private @Nullable Drawable mEndBackground;
   private int mEndFillColor = Color.TRANSPARENT;
+  private int mPrefetchRows;
+  private int mLastScrollY;
+  private long mLastScrollTimeMs;
+  private long mLastPrefetchTimeMs;
+  private float mScrollVelocity;
 
   public ReactScrollView(Context context) {
     this(context, null);
@@ -63,6 +87,18 @@ public class ReactScrollView extends ScrollView implements ReactClippingViewGrou
     mSendMomentumEvents = sendMomentumEvents;
   }
 
+  public void setScrollEventThrottle(int scrollEventThrottleMs) {
+    mOnScrollDispatchHelper.setScrollEventThrottle(scrollEventThrottleMs);
+  }
+
+  /**
+   * Sets the maximum number of rows whose views are created ahead of time, while the UI thread is
+   * idle, when scrolling towards the end of the content. 0 disables prefetching.
+   */
+  public void setPrefetchRows(int prefetchRows) {
+    mPrefetchRows = prefetchRows;
+  }
+
   public void setScrollPerfTag(String scrollPerfTag) {
     mScrollPerfTag = scrollPerfTag;
   }
@@ -115,6 +151,96 @@ public class ReactScrollView extends ScrollView implements ReactClippingViewGrou
         mDoneFlinging = false;
       }
 
+      if (mPrefetchRows > 0) {
+        prefetchRows(y);
+      }
+
+      removeCallbacks(mEmitPendingScrollEventRunnable);
+      if (mOnScrollDispatchHelper.shouldEmitScrollEvent()) {
+        ReactScrollViewHelper.emitScrollEvent(this);
+      } else {
+        postDelayed(
+            mEmitPendingScrollEventRunnable,
+            mOnScrollDispatchHelper.getTimeUntilNextScrollEventMs());
+      }
+    }
+  }
+
+  /**
+   * Estimates the scroll velocity and, when scrolling is about to get close to the end of the
+   * content where lists render more rows, asks for the views of as many rows as will be scrolled
+   * through before long to be created ahead of time, using the last row as a sample.
+   */
+  private void prefetchRows(int y) {
+    long time = SystemClock.uptimeMillis();
+    long elapsed = time - mLastScrollTimeMs;
+    if (elapsed > 0 && elapsed < VELOCITY_TIMEOUT_MS) {
+      mScrollVelocity = (mScrollVelocity + (float) (y - mLastScrollY) / elapsed) / 2;
+    } else {
+      mScrollVelocity = 0;
+    }
+    mLastScrollY = y;
+    mLastScrollTimeMs = time;
+
+    View contentView = getChildAt(0);
+    if (mScrollVelocity <= 0 ||
+        time - mLastPrefetchTimeMs < PREFETCH_INTERVAL_MS ||
+        !(contentView instanceof ViewGroup)) {
+      return;
+    }
+    ViewGroup content = (ViewGroup) contentView;
+    int predictedDistance = (int) (mScrollVelocity * PREFETCH_HORIZON_MS);
+    int distanceToEnd = content.getHeight() - y - getHeight();
+    if (distanceToEnd > predictedDistance + getHeight()) {
+      return;
+    }
+    View sampleRow = findSampleRow(content);
+    if (sampleRow == null) {
+      return;
+    }
+    int rows = Math.min(
+        mPrefetchRows,
+        (predictedDistance + sampleRow.getHeight() - 1) / sampleRow.getHeight());
+    mLastPrefetchTimeMs = time;
+    ((ReactContext) getContext()).getNativeModule(UIManagerModule.class)
+        .prefetchViews(sampleRow.getId(), rows);
+  }
+
+  /**
+   * @return the last row among the last children of the content, or null if there is none. The
+   * last child is taken for a footer if it isn't of the same kind as the child before it, children
+   * without a height or outside of the content (e.g. clipped) are skipped, and of the remaining
+   * candidates the tallest is chosen, so that a separator between rows isn't taken for a row.
+   */
+  private static @Nullable View findSampleRow(ViewGroup content) {
+    int childCount = content.getChildCount();
+    int lastIndex = childCount - 1;
+    if (childCount >= 2 &&
+        content.getChildAt(lastIndex).getClass() != content.getChildAt(lastIndex - 1).getClass()) {
+      lastIndex--;
+    }
+    View sampleRow = null;
+    for (int i = lastIndex; i >= 0 && i > lastIndex - SAMPLE_ROW_CANDIDATES; i--) {
+      View child = content.getChildAt(i);
+      if (child.getHeight() == 0 ||
+          child.getTop() < 0 ||
+          child.getBottom() > content.getHeight()) {
+        continue;
+      }
+      if (sampleRow == null || child.getHeight() > sampleRow.getHeight()) {
+        sampleRow = child;
+      }
+    }
+    return sampleRow;
+  }
+
+  /**
+   * Emits the last scroll event held back by the scroll event throttle, if any, so that JS gets
+   * the latest position before an edge event or once the throttle interval has elapsed.
+   */
+  private void emitPendingScrollEvent() {
+    removeCallbacks(mEmitPendingScrollEventRunnable);
+    if (mOnScrollDispatchHelper.consumePendingScrollEvent()) {
       ReactScrollViewHelper.emitScrollEvent(this);
     }
   }
@@ -144,6 +270,7 @@ public class ReactScrollView extends ScrollView implements ReactClippingViewGrou
 
     int action = ev.getAction() & MotionEvent.ACTION_MASK;
     if (action == MotionEvent.ACTION_UP && mDragging) {
+      emitPendingScrollEvent();
       ReactScrollViewHelper.emitScrollEndDragEvent(this);
       mDragging = false;
       disableFpsListener();
@@ -198,6 +325,7 @@ public class ReactScrollView extends ScrollView implements ReactClippingViewGrou
           if (mDoneFlinging) {
             mFlinging = false;
             disableFpsListener();
+            emitPendingScrollEvent();
             ReactScrollViewHelper.emitScrollMomentumEndEvent(ReactScrollView.this);
           } else {
             mDoneFlinging = true;
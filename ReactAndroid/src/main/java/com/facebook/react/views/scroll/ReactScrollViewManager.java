@@ -86,6 +86,24 @@ public class ReactScrollViewManager
     view.setSendMomentumEvents(sendMomentumEvents);
   }
 
+  /**
+   * Minimum interval in ms between two scroll events sent to JS while scrolling, 0 (the default)
+   * to send one per frame. Drag and momentum events are never throttled.
+   */
+  @ReactProp(name = "scrollEventThrottle")
+  public void setScrollEventThrottle(ReactScrollView view, int scrollEventThrottle) {
+    view.setScrollEventThrottle(scrollEventThrottle);
+  }
+
+  /**
+   * Maximum number of rows whose native views are created ahead of time, while the UI thread is
+   * idle, when scrolling fast towards the end of the content. 0 (the default) disables it.
+   */
+  @ReactProp(name = "prefetchRows")
+  public void setPrefetchRows(ReactScrollView view, int prefetchRows) {
+    view.setPrefetchRows(prefetchRows);
+  }
+
   /**
    * Tag used for logging scroll performance on this scroll view. Will force momentum events to be
    * turned on (see setSendMomentumEvents).
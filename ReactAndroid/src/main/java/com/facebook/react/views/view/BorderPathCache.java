@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.views.view;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import android.graphics.Path;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+/**
+ * Cache of the paths used by {@link ReactViewBackgroundDrawable} to draw backgrounds and borders
+ * whose corners are not all rounded the same way, keyed by everything they depend on (bounds,
+ * corner radii and border width). Views that look alike, such as the cards of a list, then share
+ * the same paths instead of each building their own whenever they are laid out. Paths handed out
+ * are shared and must not be modified. Must only be used from the UI thread.
+ */
+@NotThreadSafe
+/* package */ class BorderPathCache {
+
+  private static final int MAX_SIZE = 64;
+
+  /**
+   * Paths for a given set of bounds, corner radii and border width.
+   */
+  public static class BorderPaths {
+    /* Background and border, inset by half of the border width so that the stroke fits in */
+    public final Path mPathForBorderRadius = new Path();
+    /* Outline of the view, used to cast its shadow */
+    public final Path mPathForBorderRadiusOutline = new Path();
+
+    private BorderPaths(Key key) {
+      RectF rect = new RectF(key.mLeft, key.mTop, key.mRight, key.mBottom);
+      rect.inset(key.mBorderWidth * 0.5f, key.mBorderWidth * 0.5f);
+      mPathForBorderRadius.addRoundRect(rect, toRadii(key.mCornerRadii, 0), Path.Direction.CW);
+      mPathForBorderRadiusOutline.addRoundRect(
+          new RectF(key.mLeft, key.mTop, key.mRight, key.mBottom),
+          toRadii(key.mCornerRadii, key.mBorderWidth / 2f),
+          Path.Direction.CW);
+    }
+
+    /**
+     * @return the x and y radii of each corner expected by {@link Path#addRoundRect}
+     */
+    private static float[] toRadii(float[] cornerRadii, float extraRadius) {
+      float[] radii = new float[8];
+      for (int i = 0; i < 4; i++) {
+        radii[2 * i] = cornerRadii[i] + extraRadius;
+        radii[2 * i + 1] = cornerRadii[i] + extraRadius;
+      }
+      return radii;
+    }
+  }
+
+  private static class Key {
+    private final int mLeft;
+    private final int mTop;
+    private final int mRight;
+    private final int mBottom;
+    private final float[] mCornerRadii;
+    private final float mBorderWidth;
+    private final int mHashCode;
+
+    private Key(Rect bounds, float[] cornerRadii, float borderWidth) {
+      mLeft = bounds.left;
+      mTop = bounds.top;
+      mRight = bounds.right;
+      mBottom = bounds.bottom;
+      mCornerRadii = cornerRadii.clone();
+      mBorderWidth = borderWidth;
+      int hashCode = mLeft;
+      hashCode = 31 * hashCode + mTop;
+      hashCode = 31 * hashCode + mRight;
+      hashCode = 31 * hashCode + mBottom;
+      hashCode = 31 * hashCode + Arrays.hashCode(mCornerRadii);
+      mHashCode = 31 * hashCode + Float.floatToIntBits(mBorderWidth);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) o;
+      return mLeft == key.mLeft &&
+          mTop == key.mTop &&
+          mRight == key.mRight &&
+          mBottom == key.mBottom &&
+          Float.compare(mBorderWidth, key.mBorderWidth) == 0 &&
+          Arrays.equals(mCornerRadii, key.mCornerRadii);
+    }
+
+    @Override
+    public int hashCode() {
+      return mHashCode;
+    }
+  }
+
+  private static final LinkedHashMap<Key, BorderPaths> sCache =
+      new LinkedHashMap<Key, BorderPaths>(MAX_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, BorderPaths> eldest) {
+          return size() > MAX_SIZE;
+        }
+      };
+
+  /**
+   * @param cornerRadii radii of the top left, top right, bottom right and bottom left corners
+   */
+  public static BorderPaths getBorderPaths(Rect bounds, float[] cornerRadii, float borderWidth) {
+    Key key = new Key(bounds, cornerRadii, borderWidth);
+    BorderPaths borderPaths = sCache.get(key);
+    if (borderPaths == null) {
+      borderPaths = new BorderPaths(key);
+      sCache.put(key, borderPaths);
+    }
+    return borderPaths;
+  }
+
+  /* package */ static int size() {
+    return sCache.size();
+  }
+
+  /* package */ static void clear() {
+    sCache.clear();
+  }
+}
@@ -0,0 +1,246 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.views.view;
+
+import java.util.Arrays;
+
+import android.graphics.Rect;
+import android.view.View;
+
+/**
+ * Index over the children of a {@link ReactViewGroup} with removeClippedSubviews enabled, so that
+ * updating which of them are attached when the clipping rect moves (e.g. on each scroll step) only
+ * touches the children that are or become visible rather than all of them. It keeps:
+ *  - the children sorted by where they start along the axis over which they are spread out the
+ *    most (the scrolling axis for lists), with a tree of where they end, to find the children
+ *    intersecting a rect along that axis,
+ *  - the positions in the array of all children of those that are attached, in the order in which
+ *    they are attached, to find the index at which to attach a child.
+ *
+ * Both are rebuilt lazily once invalidated, which happens when children are added, removed or laid
+ * out, but not when the clipping rect moves.
+ */
+/* package */ class ClippedChildrenIndex {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private boolean mBoundsValid;
+  private boolean mAttachedValid;
+
+  private boolean mVertical;
+  private int mCount;
+  private long[] mSortKeys = new long[INITIAL_CAPACITY];
+  private int[] mStarts = new int[INITIAL_CAPACITY];
+  private int[] mPositions = new int[INITIAL_CAPACITY];
+  // Tree over the children sorted by start, where each node holds the greatest end of the children
+  // below it and the leaves start at mLeavesOffset
+  private int[] mMaxEnds = new int[2 * INITIAL_CAPACITY];
+  private int mLeavesOffset;
+
+  private int[] mAttachedPositions = new int[INITIAL_CAPACITY];
+  private int mAttachedCount;
+
+  private int[] mResults = new int[INITIAL_CAPACITY];
+  private int mResultCount;
+
+  /**
+   * To be called when the bounds of a child change.
+   */
+  public void invalidateChildBounds() {
+    mBoundsValid = false;
+  }
+
+  /**
+   * To be called when children are added or removed.
+   */
+  public void invalidate() {
+    mBoundsValid = false;
+    mAttachedValid = false;
+  }
+
+  /**
+   * Rebuilds what was invalidated from the given array of all children.
+   */
+  public void update(View[] children, int count) {
+    if (!mBoundsValid) {
+      rebuildBounds(children, count);
+    }
+    if (!mAttachedValid) {
+      rebuildAttached(children, count);
+    }
+  }
+
+  /**
+   * Finds the children intersecting the given rect along the indexed axis, which can then be read
+   * with {@link #getIntersectingChild}.
+   *
+   * @return the number of children found
+   */
+  public int findIntersectingChildren(Rect rect) {
+    int start = mVertical ? rect.top : rect.left;
+    int end = mVertical ? rect.bottom : rect.right;
+    mResultCount = 0;
+    // Only the children starting before the end of the rect, which come first, can intersect it
+    int limit = lowerBound(mStarts, mCount, end);
+    collectChildrenEndingAfter(1, 0, mLeavesOffset, limit, start);
+    return mResultCount;
+  }
+
+  /**
+   * @return the position in the array of all children of a child found by
+   * {@link #findIntersectingChildren}
+   */
+  public int getIntersectingChild(int index) {
+    return mResults[index];
+  }
+
+  /**
+   * @return the index among the attached children at which to attach the child at the given
+   * position in the array of all children
+   */
+  public int getAttachIndex(int position) {
+    return lowerBound(mAttachedPositions, mAttachedCount, position);
+  }
+
+  public void onChildAttached(int index, int position) {
+    if (!mAttachedValid) {
+      return;
+    }
+    if (mAttachedCount == mAttachedPositions.length) {
+      mAttachedPositions = Arrays.copyOf(mAttachedPositions, 2 * mAttachedCount);
+    }
+    System.arraycopy(
+        mAttachedPositions,
+        index,
+        mAttachedPositions,
+        index + 1,
+        mAttachedCount - index);
+    mAttachedPositions[index] = position;
+    mAttachedCount++;
+  }
+
+  public void onChildDetached(int index) {
+    if (!mAttachedValid) {
+      return;
+    }
+    mAttachedCount--;
+    System.arraycopy(
+        mAttachedPositions,
+        index + 1,
+        mAttachedPositions,
+        index,
+        mAttachedCount - index);
+  }
+
+  private void rebuildBounds(View[] children, int count) {
+    int minLeft = Integer.MAX_VALUE;
+    int maxRight = Integer.MIN_VALUE;
+    int minTop = Integer.MAX_VALUE;
+    int maxBottom = Integer.MIN_VALUE;
+    for (int i = 0; i < count; i++) {
+      View child = children[i];
+      minLeft = Math.min(minLeft, child.getLeft());
+      maxRight = Math.max(maxRight, child.getRight());
+      minTop = Math.min(minTop, child.getTop());
+      maxBottom = Math.max(maxBottom, child.getBottom());
+    }
+    mVertical = count == 0 || (long) maxBottom - minTop >= (long) maxRight - minLeft;
+
+    if (mSortKeys.length < count) {
+      mSortKeys = new long[count];
+      mStarts = new int[count];
+      mPositions = new int[count];
+    }
+    // Sort the positions by start without boxing by keeping both in a long
+    for (int i = 0; i < count; i++) {
+      View child = children[i];
+      long start = mVertical ? child.getTop() : child.getLeft();
+      mSortKeys[i] = (start << 32) | i;
+    }
+    Arrays.sort(mSortKeys, 0, count);
+
+    int leaves = 1;
+    while (leaves < count) {
+      leaves <<= 1;
+    }
+    if (mMaxEnds.length < 2 * leaves) {
+      mMaxEnds = new int[2 * leaves];
+    }
+    for (int i = 0; i < leaves; i++) {
+      if (i < count) {
+        int position = (int) mSortKeys[i];
+        View child = children[position];
+        mStarts[i] = (int) (mSortKeys[i] >> 32);
+        mPositions[i] = position;
+        mMaxEnds[leaves + i] = mVertical ? child.getBottom() : child.getRight();
+      } else {
+        mMaxEnds[leaves + i] = Integer.MIN_VALUE;
+      }
+    }
+    for (int node = leaves - 1; node > 0; node--) {
+      mMaxEnds[node] = Math.max(mMaxEnds[2 * node], mMaxEnds[2 * node + 1]);
+    }
+    mLeavesOffset = leaves;
+    mCount = count;
+    mBoundsValid = true;
+  }
+
+  private void rebuildAttached(View[] children, int count) {
+    if (mAttachedPositions.length < count) {
+      mAttachedPositions = new int[count];
+    }
+    mAttachedCount = 0;
+    for (int i = 0; i < count; i++) {
+      if (children[i].getParent() != null) {
+        mAttachedPositions[mAttachedCount++] = i;
+      }
+    }
+    mAttachedValid = true;
+  }
+
+  private void collectChildrenEndingAfter(
+      int node,
+      int nodeStart,
+      int nodeEnd,
+      int limit,
+      int start) {
+    if (nodeStart >= limit || mMaxEnds[node] <= start) {
+      return;
+    }
+    if (node >= mLeavesOffset) {
+      if (mResultCount == mResults.length) {
+        mResults = Arrays.copyOf(mResults, 2 * mResultCount);
+      }
+      mResults[mResultCount++] = mPositions[nodeStart];
+      return;
+    }
+    int middle = (nodeStart + nodeEnd) >>> 1;
+    collectChildrenEndingAfter(2 * node, nodeStart, middle, limit, start);
+    collectChildrenEndingAfter(2 * node + 1, middle, nodeEnd, limit, start);
+  }
+
+  /**
+   * @return the index of the first of the given sorted values that is not less than the given
+   * value
+   */
+  private static int lowerBound(int[] values, int count, int value) {
+    int low = 0;
+    int high = count;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (values[middle] < value) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+}
@@ -26,6 +26,7 @@ import android.graphics.Rect;
 import android.graphics.RectF;
 import android.graphics.drawable.Drawable;
 import android.os.Build;
+import android.util.SparseArray;
 
 import com.facebook.react.common.annotations.VisibleForTesting;
 import com.facebook.csslayout.CSSConstants;
@@ -38,9 +39,11 @@ import com.facebook.csslayout.Spacing;
  * API (setter for each of those properties).
  *
  * The implementation tries to allocate as few objects as possible depending on which properties are
- * set. E.g. for views with rounded background/borders we allocate {@code mPathForBorderRadius} and
- * {@code mTempRectForBorderRadius}. In case when view have a rectangular borders we allocate
- * {@code mBorderWidthResult} and similar. When only background color is set we won't allocate any
+ * set. E.g. for views with rounded background/borders we allocate {@code mTempRectForBorderRadius},
+ * and draw it as a round rect when all the corners have the same radius. Only when they don't do we
+ * need paths, which are shared with the views that have the same size and borders (see
+ * {@link BorderPathCache}). In case when view have a rectangular borders we allocate
+ * {@code mPathForBorder}. When only background color is set we won't allocate any
  * extra/unnecessary objects.
  */
 /* package */ class ReactViewBackgroundDrawable extends Drawable {
@@ -52,7 +55,28 @@ import com.facebook.csslayout.Spacing;
     DASHED,
     DOTTED;
 
+    private static final int MAX_CACHED_PATH_EFFECTS = 16;
+
+    // Path effects are immutable, so those for a given border width are shared by all the views
+    private final SparseArray<PathEffect> mPathEffects = new SparseArray<>();
+
     public @Nullable PathEffect getPathEffect(float borderWidth) {
+      if (this == SOLID) {
+        return null;
+      }
+      int key = Float.floatToIntBits(borderWidth);
+      PathEffect pathEffect = mPathEffects.get(key);
+      if (pathEffect == null) {
+        pathEffect = createPathEffect(borderWidth);
+        if (mPathEffects.size() >= MAX_CACHED_PATH_EFFECTS) {
+          mPathEffects.clear();
+        }
+        mPathEffects.put(key, pathEffect);
+      }
+      return pathEffect;
+    }
+
+    private @Nullable PathEffect createPathEffect(float borderWidth) {
       switch (this) {
         case SOLID:
           return null;
@@ -78,12 +102,13 @@ import com.facebook.csslayout.Spacing;
 
   /* Used for rounded border and rounded background */
   private @Nullable PathEffect mPathEffectForBorderStyle;
-  private @Nullable Path mPathForBorderRadius;
-  private @Nullable Path mPathForBorderRadiusOutline;
+  private @Nullable BorderPathCache.BorderPaths mBorderPaths;
   private @Nullable Path mPathForBorder;
   private @Nullable RectF mTempRectForBorderRadius;
-  private @Nullable RectF mTempRectForBorderRadiusOutline;
+  private @Nullable float[] mTempCornerRadii;
+  private float mUniformBorderRadius;
   private boolean mNeedUpdatePathForBorderRadius = false;
+  private boolean mNeedUpdatePathEffect = false;
   private float mBorderRadius = CSSConstants.UNDEFINED;
 
   /* Used by all types of background and for drawing borders */
@@ -95,7 +120,9 @@ import com.facebook.csslayout.Spacing;
 
   @Override
   public void draw(Canvas canvas) {
-    updatePathEffect();
+    if (mNeedUpdatePathEffect) {
+      updatePathEffect();
+    }
     boolean roundedBorders = mBorderCornerRadii != null ||
         (!CSSConstants.isUndefined(mBorderRadius) && mBorderRadius > 0);
 
@@ -145,7 +172,11 @@ import com.facebook.csslayout.Spacing;
     if((!CSSConstants.isUndefined(mBorderRadius) && mBorderRadius > 0) || mBorderCornerRadii != null) {
       updatePath();
 
-      outline.setConvexPath(mPathForBorderRadiusOutline);
+      if (mBorderPaths != null) {
+        outline.setConvexPath(mBorderPaths.mPathForBorderRadiusOutline);
+      } else {
+        outline.setRoundRect(getBounds(), mUniformBorderRadius + getFullBorderWidth() / 2f);
+      }
     } else {
       outline.setRect(getBounds());
     }
@@ -159,6 +190,7 @@ import com.facebook.csslayout.Spacing;
       mBorderWidth.set(position, width);
       if (position == Spacing.ALL) {
         mNeedUpdatePathForBorderRadius = true;
+        mNeedUpdatePathEffect = true;
       }
       invalidateSelf();
     }
@@ -185,6 +217,7 @@ import com.facebook.csslayout.Spacing;
     if (mBorderStyle != borderStyle) {
       mBorderStyle = borderStyle;
       mNeedUpdatePathForBorderRadius = true;
+      mNeedUpdatePathEffect = true;
       invalidateSelf();
     }
   }
@@ -226,7 +259,7 @@ import com.facebook.csslayout.Spacing;
     if ((useColor >>> 24) != 0) { // color is not transparent
       mPaint.setColor(useColor);
       mPaint.setStyle(Paint.Style.FILL);
-      canvas.drawPath(mPathForBorderRadius, mPaint);
+      drawRoundedRect(canvas);
     }
     // maybe draw borders?
     float fullBorderWidth = getFullBorderWidth();
@@ -235,7 +268,19 @@ import com.facebook.csslayout.Spacing;
       mPaint.setColor(ColorUtil.multiplyColorAlpha(borderColor, mAlpha));
       mPaint.setStyle(Paint.Style.STROKE);
       mPaint.setStrokeWidth(fullBorderWidth);
-      canvas.drawPath(mPathForBorderRadius, mPaint);
+      drawRoundedRect(canvas);
+    }
+  }
+
+  private void drawRoundedRect(Canvas canvas) {
+    if (mBorderPaths != null) {
+      canvas.drawPath(mBorderPaths.mPathForBorderRadius, mPaint);
+    } else {
+      canvas.drawRoundRect(
+          mTempRectForBorderRadius,
+          mUniformBorderRadius,
+          mUniformBorderRadius,
+          mPaint);
     }
   }
 
@@ -244,69 +289,42 @@ import com.facebook.csslayout.Spacing;
       return;
     }
     mNeedUpdatePathForBorderRadius = false;
-    if (mPathForBorderRadius == null) {
-      mPathForBorderRadius = new Path();
+    if (mTempRectForBorderRadius == null) {
       mTempRectForBorderRadius = new RectF();
-      mPathForBorderRadiusOutline = new Path();
-      mTempRectForBorderRadiusOutline = new RectF();
+      mTempCornerRadii = new float[4];
     }
 
-    mPathForBorderRadius.reset();
-    mPathForBorderRadiusOutline.reset();
-
     mTempRectForBorderRadius.set(getBounds());
-    mTempRectForBorderRadiusOutline.set(getBounds());
     float fullBorderWidth = getFullBorderWidth();
     if (fullBorderWidth > 0) {
       mTempRectForBorderRadius.inset(fullBorderWidth * 0.5f, fullBorderWidth * 0.5f);
     }
 
     float defaultBorderRadius = !CSSConstants.isUndefined(mBorderRadius) ? mBorderRadius : 0;
-    float topLeftRadius = mBorderCornerRadii != null && !CSSConstants.isUndefined(mBorderCornerRadii[0]) ? mBorderCornerRadii[0] : defaultBorderRadius;
-    float topRightRadius = mBorderCornerRadii != null && !CSSConstants.isUndefined(mBorderCornerRadii[1]) ? mBorderCornerRadii[1] : defaultBorderRadius;
-    float bottomRightRadius = mBorderCornerRadii != null && !CSSConstants.isUndefined(mBorderCornerRadii[2]) ? mBorderCornerRadii[2] : defaultBorderRadius;
-    float bottomLeftRadius = mBorderCornerRadii != null && !CSSConstants.isUndefined(mBorderCornerRadii[3]) ? mBorderCornerRadii[3] : defaultBorderRadius;
-
-
-    mPathForBorderRadius.addRoundRect(
-        mTempRectForBorderRadius,
-        new float[] {
-          topLeftRadius,
-          topLeftRadius,
-          topRightRadius,
-          topRightRadius,
-          bottomRightRadius,
-          bottomRightRadius,
-          bottomLeftRadius,
-          bottomLeftRadius
-        },
-        Path.Direction.CW);
-
-    float extraRadiusForOutline = 0;
-
-    if (mBorderWidth != null) {
-      extraRadiusForOutline = mBorderWidth.get(Spacing.ALL) / 2f;
+    boolean uniformBorderRadius = true;
+    for (int i = 0; i < 4; i++) {
+      mTempCornerRadii[i] =
+          mBorderCornerRadii != null && !CSSConstants.isUndefined(mBorderCornerRadii[i]) ?
+              mBorderCornerRadii[i] :
+              defaultBorderRadius;
+      uniformBorderRadius &= FloatUtil.floatsEqual(mTempCornerRadii[i], mTempCornerRadii[0]);
     }
 
-    mPathForBorderRadiusOutline.addRoundRect(
-      mTempRectForBorderRadiusOutline,
-      new float[] {
-        topLeftRadius + extraRadiusForOutline,
-        topLeftRadius + extraRadiusForOutline,
-        topRightRadius + extraRadiusForOutline,
-        topRightRadius + extraRadiusForOutline,
-        bottomRightRadius + extraRadiusForOutline,
-        bottomRightRadius + extraRadiusForOutline,
-        bottomLeftRadius + extraRadiusForOutline,
-        bottomLeftRadius + extraRadiusForOutline
-      },
-      Path.Direction.CW);
+    // A round rect can be drawn directly when all the corners are the same, otherwise we need a path
+    if (uniformBorderRadius) {
+      mUniformBorderRadius = mTempCornerRadii[0];
+      mBorderPaths = null;
+    } else {
+      mBorderPaths =
+          BorderPathCache.getBorderPaths(getBounds(), mTempCornerRadii, fullBorderWidth);
+    }
   }
 
   /**
    * Set type of border
    */
   private void updatePathEffect() {
+    mNeedUpdatePathEffect = false;
     mPathEffectForBorderStyle = mBorderStyle != null
         ? mBorderStyle.getPathEffect(getFullBorderWidth())
         : null;
@@ -40,8 +40,6 @@ public class ReactViewGroup extends ViewGroup implements
   private static final int ARRAY_CAPACITY_INCREMENT = 12;
   private static final int DEFAULT_BACKGROUND_COLOR = Color.TRANSPARENT;
   private static final LayoutParams sDefaultLayoutParam = new ViewGroup.LayoutParams(0, 0);
-  /* should only be used in {@link #updateClippingToRect} */
-  private static final Rect sHelperRect = new Rect();
 
   /**
    * This listener will be set for child views when removeClippedSubview property is enabled. When
@@ -71,6 +69,7 @@ public class ReactViewGroup extends ViewGroup implements
         int oldRight,
         int oldBottom) {
       if (mParent.getRemoveClippedSubviews()) {
+        Assertions.assertNotNull(mParent.mClippedChildrenIndex).invalidateChildBounds();
         mParent.updateSubviewClipStatus(v);
       }
     }
@@ -91,6 +90,7 @@ public class ReactViewGroup extends ViewGroup implements
   private @Nullable Rect mHitSlopRect;
   private PointerEvents mPointerEvents = PointerEvents.AUTO;
   private @Nullable ChildrenLayoutChangeListener mChildrenLayoutChangeListener;
+  private @Nullable ClippedChildrenIndex mClippedChildrenIndex;
   private @Nullable ReactViewBackgroundDrawable mReactBackgroundDrawable;
   private @Nullable OnInterceptTouchEventListener mOnInterceptTouchEventListener;
   private boolean mNeedsOffscreenAlphaCompositing = false;
@@ -230,6 +230,7 @@ public class ReactViewGroup extends ViewGroup implements
       int initialSize = Math.max(12, mAllChildrenCount);
       mAllChildren = new View[initialSize];
       mChildrenLayoutChangeListener = new ChildrenLayoutChangeListener(this);
+      mClippedChildrenIndex = new ClippedChildrenIndex();
       for (int i = 0; i < mAllChildrenCount; i++) {
         View child = getChildAt(i);
         mAllChildren[i] = child;
@@ -250,6 +251,7 @@ public class ReactViewGroup extends ViewGroup implements
       mClippingRect = null;
       mAllChildrenCount = 0;
       mChildrenLayoutChangeListener = null;
+      mClippedChildrenIndex = null;
     }
   }
 
@@ -276,38 +278,56 @@ public class ReactViewGroup extends ViewGroup implements
     updateClippingToRect(mClippingRect);
   }
 
+  /**
+   * Rather than going through all the children, this only goes through the ones that are attached,
+   * to detach those that left the clipping rect, and uses {@link ClippedChildrenIndex} to find the
+   * ones that may have entered it, so that the work done on each scroll step is proportional to
+   * the number of visible children rather than to the total number of children.
+   */
   private void updateClippingToRect(Rect clippingRect) {
-    Assertions.assertNotNull(mAllChildren);
-    int clippedSoFar = 0;
-    for (int i = 0; i < mAllChildrenCount; i++) {
-      updateSubviewClipStatus(clippingRect, i, clippedSoFar);
-      if (mAllChildren[i].getParent() == null) {
-        clippedSoFar++;
+    View[] allChildren = Assertions.assertNotNull(mAllChildren);
+    ClippedChildrenIndex clippedChildrenIndex = Assertions.assertNotNull(mClippedChildrenIndex);
+    clippedChildrenIndex.update(allChildren, mAllChildrenCount);
+
+    for (int i = getChildCount() - 1; i >= 0; i--) {
+      View child = getChildAt(i);
+      if (intersects(clippingRect, child)) {
+        // If there is any intersection we need to inform the child to update its clipping rect
+        updateChildClippingRect(child);
+      } else if (!isAnimating(child)) {
+        super.removeViewsInLayout(i, 1);
+        clippedChildrenIndex.onChildDetached(i);
+        updateChildClippingRect(child);
+      }
+    }
+
+    int intersectingCount = clippedChildrenIndex.findIntersectingChildren(clippingRect);
+    for (int i = 0; i < intersectingCount; i++) {
+      int position = clippedChildrenIndex.getIntersectingChild(i);
+      View child = allChildren[position];
+      if (child.getParent() == null && intersects(clippingRect, child)) {
+        int index = clippedChildrenIndex.getAttachIndex(position);
+        super.addViewInLayout(child, index, sDefaultLayoutParam, true);
+        clippedChildrenIndex.onChildAttached(index, position);
+        invalidate();
+        updateChildClippingRect(child);
       }
     }
   }
 
   private void updateSubviewClipStatus(Rect clippingRect, int idx, int clippedSoFar) {
     View child = Assertions.assertNotNull(mAllChildren)[idx];
-    sHelperRect.set(child.getLeft(), child.getTop(), child.getRight(), child.getBottom());
-    boolean intersects = clippingRect
-        .intersects(sHelperRect.left, sHelperRect.top, sHelperRect.right, sHelperRect.bottom);
+    boolean intersects = intersects(clippingRect, child);
     boolean needUpdateClippingRecursive = false;
-    // We never want to clip children that are being animated, as this can easily break layout :
-    // when layout animation changes size and/or position of views contained inside a listview that
-    // clips offscreen children, we need to ensure that, when view exits the viewport, final size
-    // and position is set prior to removing the view from its listview parent.
-    // Otherwise, when view gets re-attached again, i.e when it re-enters the viewport after scroll,
-    // it won't be size and located properly.
-    Animation animation = child.getAnimation();
-    boolean isAnimating = animation != null && !animation.hasEnded();
-    if (!intersects && child.getParent() != null && !isAnimating) {
+    if (!intersects && child.getParent() != null && !isAnimating(child)) {
       // We can try saving on invalidate call here as the view that we remove is out of visible area
       // therefore invalidation is not necessary.
       super.removeViewsInLayout(idx - clippedSoFar, 1);
+      Assertions.assertNotNull(mClippedChildrenIndex).onChildDetached(idx - clippedSoFar);
       needUpdateClippingRecursive = true;
     } else if (intersects && child.getParent() == null) {
       super.addViewInLayout(child, idx - clippedSoFar, sDefaultLayoutParam, true);
+      Assertions.assertNotNull(mClippedChildrenIndex).onChildAttached(idx - clippedSoFar, idx);
       invalidate();
       needUpdateClippingRecursive = true;
     } else if (intersects) {
@@ -315,13 +335,36 @@ public class ReactViewGroup extends ViewGroup implements
       needUpdateClippingRecursive = true;
     }
     if (needUpdateClippingRecursive) {
-      if (child instanceof ReactClippingViewGroup) {
-        // we don't use {@link sHelperRect} until the end of this loop, therefore it's safe
-        // to call this method that may write to the same {@link sHelperRect} object.
-        ReactClippingViewGroup clippingChild = (ReactClippingViewGroup) child;
-        if (clippingChild.getRemoveClippedSubviews()) {
-          clippingChild.updateClippingRect();
-        }
+      updateChildClippingRect(child);
+    }
+  }
+
+  private static boolean intersects(Rect clippingRect, View child) {
+    return clippingRect.intersects(
+        child.getLeft(),
+        child.getTop(),
+        child.getRight(),
+        child.getBottom());
+  }
+
+  /**
+   * We never want to clip children that are being animated, as this can easily break layout :
+   * when layout animation changes size and/or position of views contained inside a listview that
+   * clips offscreen children, we need to ensure that, when view exits the viewport, final size
+   * and position is set prior to removing the view from its listview parent.
+   * Otherwise, when view gets re-attached again, i.e when it re-enters the viewport after scroll,
+   * it won't be size and located properly.
+   */
+  private static boolean isAnimating(View child) {
+    Animation animation = child.getAnimation();
+    return animation != null && !animation.hasEnded();
+  }
+
+  private static void updateChildClippingRect(View child) {
+    if (child instanceof ReactClippingViewGroup) {
+      ReactClippingViewGroup clippingChild = (ReactClippingViewGroup) child;
+      if (clippingChild.getRemoveClippedSubviews()) {
+        clippingChild.updateClippingRect();
       }
     }
   }
@@ -335,9 +378,7 @@ public class ReactViewGroup extends ViewGroup implements
     Assertions.assertNotNull(mAllChildren);
 
     // do fast check whether intersect state changed
-    sHelperRect.set(subview.getLeft(), subview.getTop(), subview.getRight(), subview.getBottom());
-    boolean intersects = mClippingRect
-        .intersects(sHelperRect.left, sHelperRect.top, sHelperRect.right, sHelperRect.bottom);
+    boolean intersects = intersects(mClippingRect, subview);
 
     // If it was intersecting before, should be attached to the parent
     boolean oldIntersects = (subview.getParent() != null);
@@ -404,6 +445,7 @@ public class ReactViewGroup extends ViewGroup implements
     Assertions.assertNotNull(mClippingRect);
     Assertions.assertNotNull(mAllChildren);
     addInArray(child, index);
+    Assertions.assertNotNull(mClippedChildrenIndex).invalidate();
     // we add view as "clipped" and then run {@link #updateSubviewClipStatus} to conditionally
     // attach it
     int clippedSoFar = 0;
@@ -422,6 +464,7 @@ public class ReactViewGroup extends ViewGroup implements
     Assertions.assertNotNull(mAllChildren);
     view.removeOnLayoutChangeListener(mChildrenLayoutChangeListener);
     int index = indexOfChildInAllChildren(view);
+    Assertions.assertNotNull(mClippedChildrenIndex).invalidate();
     if (mAllChildren[index].getParent() != null) {
       int clippedSoFar = 0;
       for (int i = 0; i < index; i++) {
@@ -442,6 +485,7 @@ public class ReactViewGroup extends ViewGroup implements
     }
     removeAllViewsInLayout();
     mAllChildrenCount = 0;
+    Assertions.assertNotNull(mClippedChildrenIndex).invalidate();
   }
 
   private int indexOfChildInAllChildren(View child) {
@@ -526,6 +570,21 @@ public class ReactViewGroup extends ViewGroup implements
     return mHitSlopRect;
   }
 
+  /**
+   * Returns the view to the state of a newly created instance so that it can be reused, see
+   * {@link ReactViewManager#prepareToRecycleView}. Must only be called once the view has no
+   * children.
+   */
+  /*package*/ void resetForRecycling() {
+    setRemoveClippedSubviews(false);
+    mReactBackgroundDrawable = null;
+    super.setBackground(null);
+    mHitSlopRect = null;
+    mPointerEvents = PointerEvents.AUTO;
+    mNeedsOffscreenAlphaCompositing = false;
+    setFocusable(false);
+  }
+
   public void setHitSlopRect(@Nullable Rect rect) {
     mHitSlopRect = rect;
   }
@@ -156,6 +156,23 @@ public class ReactViewManager extends ViewGroupManager<ReactViewGroup> {
     return new ReactViewGroup(context);
   }
 
+  @Override
+  protected boolean prepareToRecycleView(ReactViewGroup view) {
+    // Subclasses may set properties on their views that would not be reset here
+    if (getClass() != ReactViewManager.class) {
+      return false;
+    }
+    view.resetForRecycling();
+    resetBaseViewProperties(view);
+    return true;
+  }
+
+  @Override
+  protected boolean canPrefetchViews() {
+    // Only recycled views are prefetched, see prepareToRecycleView
+    return getClass() == ReactViewManager.class;
+  }
+
   @Override
   public Map<String, Integer> getCommandsMap() {
     return MapBuilder.of("hotspotUpdate", CMD_HOTSPOT_UPDATE, "setPressed", CMD_SET_PRESSED);
@@ -105,6 +105,15 @@ void Bridge::setGlobalVariable(const std::string& propName, const std::string& j
   });
 }
 
+void Bridge::setGlobalVariableUTF8(
+    const std::string& propName,
+    std::shared_ptr<const JSBigUTF8String> jsonValue) {
+  // Only the pointer is captured, the executor reads the value in place
+  runOnExecutorQueue(*m_mainExecutorToken, [=] (JSExecutor* executor) {
+    executor->setGlobalVariableUTF8(propName, jsonValue);
+  });
+}
+
 void* Bridge::getJavaScriptContext() {
   // TODO(cjhopman): this seems unsafe unless we require that it is only called on the main js queue.
   return m_mainExecutor->getJavaScriptContext();
@@ -92,6 +92,9 @@ public:
     const std::string& startupCode,
     const std::string& sourceURL);
   void setGlobalVariable(const std::string& propName, const std::string& jsonValue);
+  void setGlobalVariableUTF8(
+    const std::string& propName,
+    std::shared_ptr<const JSBigUTF8String> jsonValue);
   void* getJavaScriptContext();
   bool supportsProfiling();
   void startProfiler(const std::string& title);
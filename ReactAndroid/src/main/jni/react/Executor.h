@@ -19,6 +19,29 @@ namespace react {
 
 class Bridge;
 class JSExecutor;
+
+/**
+ * Read only, null terminated UTF-8 text that the executor may use without copying it, for
+ * values that are too big to copy around as a std::string, like the native modules config.
+ * Implementations may wrap memory they don't own, e.g. a Java direct buffer, and must keep it
+ * alive and unchanged for as long as they exist.
+ */
+class JSBigUTF8String {
+public:
+  JSBigUTF8String() = default;
+
+  // Not copyable
+  JSBigUTF8String(const JSBigUTF8String&) = delete;
+  JSBigUTF8String& operator=(const JSBigUTF8String&) = delete;
+
+  virtual ~JSBigUTF8String() {}
+
+  // Null terminated
+  virtual const char* c_str() const = 0;
+  // Size in bytes, without the terminator
+  virtual size_t size() const = 0;
+};
+
 class JSExecutorFactory {
 public:
   virtual std::unique_ptr<JSExecutor> createJSExecutor(Bridge *bridge) = 0;
@@ -60,6 +83,15 @@ public:
   virtual void setGlobalVariable(
     const std::string& propName,
     const std::string& jsonValue) = 0;
+  /**
+   * Like setGlobalVariable, for JSON that executors can read in place. By default it is copied
+   * into a std::string.
+   */
+  virtual void setGlobalVariableUTF8(
+      const std::string& propName,
+      std::shared_ptr<const JSBigUTF8String> jsonValue) {
+    setGlobalVariable(propName, std::string(jsonValue->c_str(), jsonValue->size()));
+  };
   virtual void* getJavaScriptContext() {
     return nullptr;
   };
@@ -319,10 +319,21 @@ void JSCExecutor::invokeCallback(const double callbackId, const folly::dynamic&
 }
 
 void JSCExecutor::setGlobalVariable(const std::string& propName, const std::string& jsonValue) {
+  setGlobalVariableFromJSON(propName, jsonValue.c_str());
+}
+
+void JSCExecutor::setGlobalVariableUTF8(
+    const std::string& propName,
+    std::shared_ptr<const JSBigUTF8String> jsonValue) {
+  // JSC converts the null terminated UTF-8 straight from the caller's memory
+  setGlobalVariableFromJSON(propName, jsonValue->c_str());
+}
+
+void JSCExecutor::setGlobalVariableFromJSON(const std::string& propName, const char* jsonValue) {
   auto globalObject = JSContextGetGlobalObject(m_context);
   String jsPropertyName(propName.c_str());
 
-  String jsValueJSON(jsonValue.c_str());
+  String jsValueJSON(jsonValue);
   auto valueToInject = JSValueMakeFromJSONString(m_context, jsValueJSON);
 
   JSObjectSetProperty(m_context, globalObject, jsPropertyName, valueToInject, 0, NULL);
@@ -67,6 +67,9 @@ public:
   virtual void setGlobalVariable(
     const std::string& propName,
     const std::string& jsonValue) override;
+  virtual void setGlobalVariableUTF8(
+    const std::string& propName,
+    std::shared_ptr<const JSBigUTF8String> jsonValue) override;
   virtual void* getJavaScriptContext() override;
   virtual bool supportsProfiling() override;
   virtual void startProfiler(const std::string &titleString) override;
@@ -120,6 +123,7 @@ private:
   void terminateOwnedWebWorker(int worker);
   Object createMessageObject(const std::string& msgData);
   bool usePreparsingAndStringRef();
+  void setGlobalVariableFromJSON(const std::string& propName, const char* jsonValue);
 
   static JSValueRef nativeStartWorker(
       JSContextRef ctx,
@@ -329,6 +329,59 @@ static void setGlobalVariable(JNIEnv* env, jobject obj, jstring propName, jstrin
   bridge->setGlobalVariable(fromJString(env, propName), fromJString(env, jsonValue));
 }
 
+/**
+ * Wraps the bytes of a Java direct buffer without copying them. The global reference keeps the
+ * buffer alive until the JS thread is done with it.
+ */
+class DirectByteBufferUTF8String : public JSBigUTF8String {
+public:
+  DirectByteBufferUTF8String(global_ref<jobject>&& buffer, const char* data, size_t size) :
+    m_buffer(std::move(buffer)),
+    m_data(data),
+    m_size(size) {}
+
+  const char* c_str() const override {
+    return m_data;
+  }
+
+  size_t size() const override {
+    return m_size;
+  }
+
+private:
+  global_ref<jobject> m_buffer;
+  const char* m_data;
+  size_t m_size;
+};
+
+static void setGlobalVariableUTF8(
+    JNIEnv* env,
+    jobject obj,
+    jstring propName,
+    jobject jsonValue,
+    jint length) {
+  auto jsonData = static_cast<const char*>(env->GetDirectBufferAddress(jsonValue));
+  if (!jsonData) {
+    jni::throwNewJavaException(
+      "java/lang/IllegalArgumentException",
+      "setGlobalVariableUTF8 needs a direct ByteBuffer");
+  }
+  if (length < 0 ||
+      env->GetDirectBufferCapacity(jsonValue) <= length ||
+      jsonData[length] != '\0') {
+    jni::throwNewJavaException(
+      "java/lang/IllegalArgumentException",
+      "setGlobalVariableUTF8 needs a zero byte after the JSON");
+  }
+  auto bridge = extractRefPtr<CountableBridge>(env, obj);
+  bridge->setGlobalVariableUTF8(
+    fromJString(env, propName),
+    std::make_shared<DirectByteBufferUTF8String>(
+      make_global(wrap_alias(jsonValue)),
+      jsonData,
+      length));
+}
+
 static jlong getJavaScriptContext(JNIEnv *env, jobject obj) {
   auto bridge = extractRefPtr<CountableBridge>(env, obj);
   return (uintptr_t) bridge->getJavaScriptContext();
@@ -490,6 +543,10 @@ extern "C" JNIEXPORT jint JNI_OnLoad(JavaVM* vm, void* reserved) {
         makeNativeMethod("callFunction", bridge::callFunction),
         makeNativeMethod("invokeCallback", bridge::invokeCallback),
         makeNativeMethod("setGlobalVariable", bridge::setGlobalVariable),
+        makeNativeMethod(
+          "setGlobalVariableUTF8",
+          "(Ljava/lang/String;Ljava/nio/ByteBuffer;I)V",
+          bridge::setGlobalVariableUTF8),
         makeNativeMethod("getMainExecutorToken", "()Lcom/facebook/react/bridge/ExecutorToken;", bridge::getMainExecutorToken),
         makeNativeMethod("supportsProfiling", bridge::supportsProfiling),
         makeNativeMethod("startProfiler", bridge::startProfiler),
@@ -2,6 +2,10 @@
 
 #include "MethodInvoker.h"
 
+#include <chrono>
+
+#include <fb/log.h>
+
 #ifdef WITH_FBSYSTRACE
 #include <fbsystrace.h>
 #endif
@@ -9,7 +13,10 @@
 #include "ModuleRegistryHolder.h"
 #include "JCallback.h"
 #include "JExecutorToken.h"
+#include "NativeCommon.h"
 #include "ReadableNativeArray.h"
+#include "WritableNativeArray.h"
+#include "WritableNativeMap.h"
 
 namespace facebook {
 namespace react {
@@ -18,6 +25,9 @@ namespace {
 
 using dynamic_iterator = folly::dynamic::const_iterator;
 
+// Sync hooks block the JS thread, calls that take longer than this are logged
+constexpr auto kSlowSyncHookThreshold = std::chrono::milliseconds(5);
+
 struct JPromiseImpl : public jni::JavaClass<JPromiseImpl> {
   constexpr static auto kJavaDescriptor = "Lcom/facebook/react/bridge/PromiseImpl;";
 
@@ -79,6 +89,70 @@ jobject valueOf(jfloat value) {
   return kValueOf(kClass, value).release();
 }
 
+jboolean booleanValue(jobject value) {
+  static auto kClass = jni::findClassStatic("java/lang/Boolean");
+  static auto kBooleanValue = kClass->getMethod<jboolean()>("booleanValue");
+  return kBooleanValue(value);
+}
+
+jint intValue(jobject value) {
+  static auto kClass = jni::findClassStatic("java/lang/Number");
+  static auto kIntValue = kClass->getMethod<jint()>("intValue");
+  return kIntValue(value);
+}
+
+jdouble doubleValue(jobject value) {
+  static auto kClass = jni::findClassStatic("java/lang/Number");
+  static auto kDoubleValue = kClass->getMethod<jdouble()>("doubleValue");
+  return kDoubleValue(value);
+}
+
+folly::dynamic consumeMap(jobject value) {
+  static auto kClass = WritableNativeMap::javaClassStatic();
+  if (!jni::Environment::current()->IsInstanceOf(value, kClass.get())) {
+    throw std::invalid_argument("Sync hooks can only return maps created by Arguments.createMap()");
+  }
+  auto map = jni::wrap_alias(static_cast<WritableNativeMap::javaobject>(value));
+  return map->cthis()->consume();
+}
+
+folly::dynamic consumeArray(jobject value) {
+  static auto kClass = WritableNativeArray::javaClassStatic();
+  if (!jni::Environment::current()->IsInstanceOf(value, kClass.get())) {
+    throw std::invalid_argument(
+      "Sync hooks can only return arrays created by Arguments.createArray()");
+  }
+  auto array = jni::wrap_alias(static_cast<WritableNativeArray::javaobject>(value))->cthis();
+  exceptions::throwIfObjectAlreadyConsumed(array, "Returned array already consumed");
+  array->isConsumed = true;
+  return std::move(array->array);
+}
+
+// Converts the object returned by a sync hook whose return type is a reference type
+folly::dynamic objectToDynamic(char type, jobject value) {
+  if (value == nullptr) {
+    return nullptr;
+  }
+  switch (type) {
+    case 'Z':
+      return static_cast<bool>(booleanValue(value));
+    case 'I':
+      return static_cast<int64_t>(intValue(value));
+    case 'F':
+    case 'D':
+      return doubleValue(value);
+    case 'S':
+      return jni::wrap_alias(static_cast<jstring>(value))->toStdString();
+    case 'M':
+      return consumeMap(value);
+    case 'A':
+      return consumeArray(value);
+    default:
+      LOG(FATAL) << "Unknown return type: " << type;
+      return nullptr;
+  }
+}
+
 bool isNullable(char type) {
   switch (type) {
     case 'Z':
@@ -181,7 +255,7 @@ MethodInvoker::MethodInvoker(jni::alias_ref<JReflectMethod::javaobject> method,
  traceName_(std::move(traceName)),
  isSync_(isSync) {
    CHECK(signature_.at(1) == '.') << "Improper module method signature";
-   CHECK(!isSync || signature_.at(0) == 'v') << "Non-sync hooks cannot have a non-void return type";
+   CHECK(isSync || signature_.at(0) == 'v') << "Non-sync hooks cannot have a non-void return type";
  }
 
 MethodCallResult MethodInvoker::invoke(std::weak_ptr<Instance>& instance, JBaseJavaModule::javaobject module, ExecutorToken token, const folly::dynamic& params) {
@@ -207,22 +281,58 @@ MethodCallResult MethodInvoker::invoke(std::weak_ptr<Instance>& instance, JBaseJ
   });
 
   // TODO(t10768795): Use fbjni here
-  folly::dynamic ret = folly::dynamic::object();
+  auto env = jni::Environment::current();
+  auto start = std::chrono::steady_clock::now();
+  folly::dynamic ret = nullptr;
   bool isReturnUndefined = false;
   char returnType = signature_.at(0);
+  // Primitive return values are read straight from the JNI call, without boxing them
   switch (returnType) {
     case 'v':
-      jni::Environment::current()->CallVoidMethodA(module, method_, args);
-      ret = nullptr;
+      env->CallVoidMethodA(module, method_, args);
       isReturnUndefined = true;
       break;
+    case 'z':
+      ret = static_cast<bool>(env->CallBooleanMethodA(module, method_, args));
+      break;
+    case 'i':
+      ret = static_cast<int64_t>(env->CallIntMethodA(module, method_, args));
+      break;
+    case 'f':
+      ret = static_cast<double>(env->CallFloatMethodA(module, method_, args));
+      break;
+    case 'd':
+      ret = env->CallDoubleMethodA(module, method_, args);
+      break;
+    case 'Z':
+    case 'I':
+    case 'F':
+    case 'D':
+    case 'S':
+    case 'M':
+    case 'A': {
+      jobject value = env->CallObjectMethodA(module, method_, args);
+      jni::throwPendingJniExceptionAsCppException();
+      ret = objectToDynamic(returnType, value);
+      break;
+    }
     default:
       LOG(FATAL) << "Unknown return type: " << returnType;
-    // TODO: other cases
   }
 
   jni::throwPendingJniExceptionAsCppException();
 
+  if (isSync_) {
+    auto elapsed = std::chrono::duration_cast<std::chrono::milliseconds>(
+      std::chrono::steady_clock::now() - start);
+    if (elapsed >= kSlowSyncHookThreshold) {
+      FBLOGW(
+        "Sync hook %s blocked the JS thread for %lld ms, use a @ReactMethod instead",
+        traceName_.c_str(),
+        static_cast<long long>(elapsed.count()));
+    }
+  }
+
   return MethodCallResult{ret, isReturnUndefined};
 }
 
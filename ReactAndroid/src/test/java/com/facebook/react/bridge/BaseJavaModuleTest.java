@@ -27,6 +27,8 @@ import org.robolectric.RobolectricTestRunner;
 
 import com.facebook.soloader.SoLoader;
 
+import static org.fest.assertions.api.Assertions.assertThat;
+
 /**
  * Tests for {@link BaseJavaModule}
  */
@@ -69,6 +71,25 @@ public class BaseJavaModuleTest {
     asyncMethod.invoke(null, null, mArguments);
   }
 
+  @Test
+  public void testSyncHookSignatures() {
+    Map<String, NativeModule.SyncNativeHook> hooks = new MethodsModule().getSyncHooks();
+
+    assertThat(getHookSignature(hooks, "getInt")).isEqualTo("i.");
+    assertThat(getHookSignature(hooks, "getBoolean")).isEqualTo("z.S");
+    assertThat(getHookSignature(hooks, "getDouble")).isEqualTo("d.");
+    assertThat(getHookSignature(hooks, "getBoxedDouble")).isEqualTo("D.");
+    assertThat(getHookSignature(hooks, "getString")).isEqualTo("S.i");
+    assertThat(getHookSignature(hooks, "getMap")).isEqualTo("M.");
+    assertThat(getHookSignature(hooks, "doSomething")).isEqualTo("v.");
+  }
+
+  private static String getHookSignature(
+      Map<String, NativeModule.SyncNativeHook> hooks,
+      String name) {
+    return ((BaseJavaModule.SyncJavaHook) hooks.get(name)).getSignature();
+  }
+
   private static class MethodsModule extends BaseJavaModule {
     @Override
     public String getName() {
@@ -82,5 +103,39 @@ public class BaseJavaModuleTest {
     @ReactMethod
     public void asyncMethod(int a, Promise p) {
     }
+
+    @ReactSyncHook
+    public int getInt() {
+      return 0;
+    }
+
+    @ReactSyncHook
+    public boolean getBoolean(String a) {
+      return false;
+    }
+
+    @ReactSyncHook
+    public double getDouble() {
+      return 0;
+    }
+
+    @ReactSyncHook
+    public Double getBoxedDouble() {
+      return null;
+    }
+
+    @ReactSyncHook
+    public String getString(int a) {
+      return null;
+    }
+
+    @ReactSyncHook
+    public WritableMap getMap() {
+      return null;
+    }
+
+    @ReactSyncHook
+    public void doSomething() {
+    }
   }
 }
@@ -44,4 +44,79 @@ public class JavaOnlyArrayTest {
       assertThat(values.getType(i)).isEqualTo(expectedTypes[i]);
     }
   }
+
+  @Test
+  public void testPushAndGet() {
+    JavaOnlyArray array = new JavaOnlyArray();
+    for (int i = 0; i < 20; i++) {
+      array.pushInt(i);
+    }
+    array.pushDouble(0.5);
+    array.pushBoolean(true);
+    array.pushString("string");
+    array.pushNull();
+
+    assertThat(array.size()).isEqualTo(24);
+    assertThat(array.getInt(19)).isEqualTo(19);
+    assertThat(array.getDouble(19)).isEqualTo(19.);
+    assertThat(array.getDouble(20)).isEqualTo(0.5);
+    assertThat(array.getBoolean(21)).isTrue();
+    assertThat(array.getString(22)).isEqualTo("string");
+    assertThat(array.isNull(23)).isTrue();
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testGetOutOfBounds() {
+    JavaOnlyArray.of(1).getInt(1);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testGetStringOutOfBounds() {
+    JavaOnlyArray.of("string").getString(1);
+  }
+
+  @Test(expected = UnexpectedNativeTypeException.class)
+  public void testGetStringOfWrongType() {
+    JavaOnlyArray.of(1).getString(0);
+  }
+
+  @Test(expected = UnexpectedNativeTypeException.class)
+  public void testGetMapOfWrongType() {
+    JavaOnlyArray.of(new JavaOnlyArray()).getMap(0);
+  }
+
+  @Test(expected = UnexpectedNativeTypeException.class)
+  public void testGetArrayOfWrongType() {
+    JavaOnlyArray.of(new JavaOnlyMap()).getArray(0);
+  }
+
+  @Test
+  public void testGetNullObjects() {
+    JavaOnlyArray array = JavaOnlyArray.of(null, null, null);
+
+    assertThat(array.getString(0)).isNull();
+    assertThat(array.getMap(1)).isNull();
+    assertThat(array.getArray(2)).isNull();
+  }
+
+  @Test
+  public void testClear() {
+    JavaOnlyArray array = JavaOnlyArray.of(1, "two");
+    array.clear();
+
+    assertThat(array.size()).isEqualTo(0);
+    array.pushDouble(3);
+    assertThat(array).isEqualTo(JavaOnlyArray.of(3.));
+  }
+
+  @Test
+  public void testEqualsAndHashCode() {
+    JavaOnlyArray array = JavaOnlyArray.of(1, 2., "three", JavaOnlyMap.of("four", 4));
+    JavaOnlyArray sameValues = JavaOnlyArray.of(1, 2., "three", JavaOnlyMap.of("four", 4));
+
+    assertThat(array).isEqualTo(sameValues);
+    assertThat(array.hashCode()).isEqualTo(sameValues.hashCode());
+    assertThat(array).isNotEqualTo(JavaOnlyArray.of(1., 2., "three", JavaOnlyMap.of("four", 4)));
+    assertThat(array.toString()).isEqualTo("[1, 2.0, three, {four=4}]");
+  }
 }
@@ -0,0 +1,294 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.bridge;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link JavaOnlyMap}
+ */
+public class JavaOnlyMapTest {
+
+  @Test
+  public void testGetType() throws Exception {
+    JavaOnlyMap values = JavaOnlyMap.of(
+        "int", 1,
+        "float", 2f,
+        "double", 3.,
+        "string", "4",
+        "boolean", false,
+        "array", JavaOnlyArray.of(),
+        "map", JavaOnlyMap.of(),
+        "null", null);
+
+    assertThat(values.getType("int")).isEqualTo(ReadableType.Number);
+    assertThat(values.getType("float")).isEqualTo(ReadableType.Number);
+    assertThat(values.getType("double")).isEqualTo(ReadableType.Number);
+    assertThat(values.getType("string")).isEqualTo(ReadableType.String);
+    assertThat(values.getType("boolean")).isEqualTo(ReadableType.Boolean);
+    assertThat(values.getType("array")).isEqualTo(ReadableType.Array);
+    assertThat(values.getType("map")).isEqualTo(ReadableType.Map);
+    assertThat(values.getType("null")).isEqualTo(ReadableType.Null);
+  }
+
+  @Test
+  public void testPutAndGet() {
+    JavaOnlyMap map = new JavaOnlyMap();
+    map.putInt("int", 42);
+    map.putDouble("double", 1.5);
+    map.putBoolean("boolean", true);
+    map.putString("string", "value");
+    map.putNull("null");
+
+    assertThat(map.size()).isEqualTo(5);
+    assertThat(map.getInt("int")).isEqualTo(42);
+    assertThat(map.getDouble("int")).isEqualTo(42.);
+    assertThat(map.getDouble("double")).isEqualTo(1.5);
+    assertThat(map.getBoolean("boolean")).isTrue();
+    assertThat(map.getString("string")).isEqualTo("value");
+    assertThat(map.isNull("null")).isTrue();
+    assertThat(map.hasKey("null")).isTrue();
+    assertThat(map.isNull("missing")).isTrue();
+    assertThat(map.hasKey("missing")).isFalse();
+    assertThat(map.getString("null")).isNull();
+
+    map.putDouble("int", 2.5);
+    assertThat(map.size()).isEqualTo(5);
+    assertThat(map.getDouble("int")).isEqualTo(2.5);
+  }
+
+  @Test(expected = NoSuchKeyException.class)
+  public void testGetMissingNumber() {
+    new JavaOnlyMap().getDouble("missing");
+  }
+
+  @Test(expected = UnexpectedNativeTypeException.class)
+  public void testGetNumberOfWrongType() {
+    JavaOnlyMap.of("string", "value").getInt("string");
+  }
+
+  @Test(expected = NoSuchKeyException.class)
+  public void testGetMissingString() {
+    new JavaOnlyMap().getString("missing");
+  }
+
+  @Test(expected = NoSuchKeyException.class)
+  public void testGetMissingMap() {
+    new JavaOnlyMap().getMap("missing");
+  }
+
+  @Test(expected = NoSuchKeyException.class)
+  public void testGetMissingArray() {
+    new JavaOnlyMap().getArray("missing");
+  }
+
+  @Test(expected = UnexpectedNativeTypeException.class)
+  public void testGetStringOfWrongType() {
+    JavaOnlyMap.of("number", 1).getString("number");
+  }
+
+  @Test(expected = UnexpectedNativeTypeException.class)
+  public void testGetMapOfWrongType() {
+    JavaOnlyMap.of("array", new JavaOnlyArray()).getMap("array");
+  }
+
+  @Test(expected = UnexpectedNativeTypeException.class)
+  public void testGetArrayOfWrongType() {
+    JavaOnlyMap.of("string", "value").getArray("string");
+  }
+
+  @Test
+  public void testGrowsAndIteratesInInsertionOrder() {
+    JavaOnlyMap map = new JavaOnlyMap();
+    for (int i = 0; i < 100; i++) {
+      map.putInt("key" + i, i);
+    }
+
+    List<String> keys = new ArrayList<>();
+    ReadableMapKeySetIterator iterator = map.keySetIterator();
+    while (iterator.hasNextKey()) {
+      String key = iterator.nextKey();
+      assertThat(map.getInt(key)).isEqualTo(keys.size());
+      keys.add(key);
+    }
+    assertThat(keys).hasSize(100);
+    assertThat(keys.get(0)).isEqualTo("key0");
+    assertThat(keys.get(99)).isEqualTo("key99");
+  }
+
+  @Test
+  public void testClear() {
+    JavaOnlyMap map = JavaOnlyMap.of("a", 1, "b", "two");
+    map.clear();
+
+    assertThat(map.size()).isEqualTo(0);
+    assertThat(map.hasKey("a")).isFalse();
+    assertThat(map.keySetIterator().hasNextKey()).isFalse();
+
+    map.putDouble("b", 3);
+    assertThat(map.getDouble("b")).isEqualTo(3.);
+    assertThat(map).isEqualTo(JavaOnlyMap.of("b", 3.));
+  }
+
+  @Test
+  public void testMerge() {
+    JavaOnlyMap map = JavaOnlyMap.of("a", 1, "b", 2);
+    map.merge(JavaOnlyMap.of("b", "two", "c", true));
+
+    assertThat(map).isEqualTo(JavaOnlyMap.of("a", 1, "b", "two", "c", true));
+  }
+
+  @Test
+  public void testMergeCopiesNestedValuesOfOtherMaps() {
+    JavaOnlyMap content = JavaOnlyMap.of(
+        "a", 1.,
+        "b", JavaOnlyMap.of("c", "d", "e", JavaOnlyArray.of(true, null)),
+        "f", JavaOnlyArray.of(2., JavaOnlyMap.of("g", "h"), JavaOnlyArray.of("i")));
+    JavaOnlyMap map = new JavaOnlyMap();
+    map.merge(new OtherMap(content));
+
+    assertThat(map).isEqualTo(content);
+    assertThat(map.getMap("b").getArray("e").getBoolean(0)).isTrue();
+    assertThat(map.getArray("f").getMap(1).getString("g")).isEqualTo("h");
+    assertThat(map.getArray("f").getArray(2).getString(0)).isEqualTo("i");
+  }
+
+  @Test
+  public void testEqualsAndHashCode() {
+    JavaOnlyMap map = JavaOnlyMap.of("a", 1, "b", 2., "c", JavaOnlyArray.of("d"));
+    JavaOnlyMap sameEntries = JavaOnlyMap.of("c", JavaOnlyArray.of("d"), "b", 2., "a", 1);
+
+    assertThat(map).isEqualTo(sameEntries);
+    assertThat(map.hashCode()).isEqualTo(sameEntries.hashCode());
+    assertThat(map).isNotEqualTo(JavaOnlyMap.of("a", 1., "b", 2., "c", JavaOnlyArray.of("d")));
+    assertThat(map).isNotEqualTo(JavaOnlyMap.of("a", 1, "b", 2.));
+  }
+
+  /**
+   * A ReadableMap that isn't a JavaOnlyMap, like the native ones, viewing a JavaOnlyMap
+   */
+  private static class OtherMap implements ReadableMap {
+
+    private final JavaOnlyMap mMap;
+
+    OtherMap(JavaOnlyMap map) {
+      mMap = map;
+    }
+
+    @Override
+    public boolean hasKey(String name) {
+      return mMap.hasKey(name);
+    }
+
+    @Override
+    public boolean isNull(String name) {
+      return mMap.isNull(name);
+    }
+
+    @Override
+    public boolean getBoolean(String name) {
+      return mMap.getBoolean(name);
+    }
+
+    @Override
+    public double getDouble(String name) {
+      return mMap.getDouble(name);
+    }
+
+    @Override
+    public int getInt(String name) {
+      return mMap.getInt(name);
+    }
+
+    @Override
+    public String getString(String name) {
+      return mMap.getString(name);
+    }
+
+    @Override
+    public ReadableArray getArray(String name) {
+      return new OtherArray(mMap.getArray(name));
+    }
+
+    @Override
+    public ReadableMap getMap(String name) {
+      return new OtherMap(mMap.getMap(name));
+    }
+
+    @Override
+    public ReadableType getType(String name) {
+      return mMap.getType(name);
+    }
+
+    @Override
+    public ReadableMapKeySetIterator keySetIterator() {
+      return mMap.keySetIterator();
+    }
+  }
+
+  private static class OtherArray implements ReadableArray {
+
+    private final JavaOnlyArray mArray;
+
+    OtherArray(JavaOnlyArray array) {
+      mArray = array;
+    }
+
+    @Override
+    public int size() {
+      return mArray.size();
+    }
+
+    @Override
+    public boolean isNull(int index) {
+      return mArray.isNull(index);
+    }
+
+    @Override
+    public boolean getBoolean(int index) {
+      return mArray.getBoolean(index);
+    }
+
+    @Override
+    public double getDouble(int index) {
+      return mArray.getDouble(index);
+    }
+
+    @Override
+    public int getInt(int index) {
+      return mArray.getInt(index);
+    }
+
+    @Override
+    public String getString(int index) {
+      return mArray.getString(index);
+    }
+
+    @Override
+    public ReadableArray getArray(int index) {
+      return new OtherArray(mArray.getArray(index));
+    }
+
+    @Override
+    public ReadableMap getMap(int index) {
+      return new OtherMap(mArray.getMap(index));
+    }
+
+    @Override
+    public ReadableType getType(int index) {
+      return mArray.getType(index);
+    }
+  }
+}
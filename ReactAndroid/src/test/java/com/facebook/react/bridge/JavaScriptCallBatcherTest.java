@@ -0,0 +1,200 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.bridge;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.rule.PowerMockRule;
+import org.robolectric.RobolectricTestRunner;
+
+import com.facebook.soloader.SoLoader;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for batching JS calls with {@link JavaScriptCallBatcher}
+ */
+@PrepareForTest({ReadableNativeArray.class, WritableNativeArray.class, SoLoader.class})
+@RunWith(RobolectricTestRunner.class)
+@PowerMockIgnore({"org.mockito.*", "org.robolectric.*", "android.*"})
+public class JavaScriptCallBatcherTest {
+
+  @Rule
+  public PowerMockRule rule = new PowerMockRule();
+
+  private static final int MAX_BATCH_SIZE = 3;
+
+  /**
+   * Records the bridge calls the batcher makes, describing each batch by its entries.
+   */
+  private static class RecordingBatcher extends JavaScriptCallBatcher {
+    private final List<String> mBridgeCalls;
+
+    private RecordingBatcher(final List<String> bridgeCalls) {
+      super(
+          new CallTarget() {
+            @Override
+            public void callFunctionNow(
+                ExecutorToken executorToken,
+                String module,
+                String method,
+                NativeArray arguments,
+                String tracingName) {
+              if (module.equals("BatchedCalls")) {
+                // Described by createBatchArguments
+                return;
+              }
+              bridgeCalls.add(module + "." + method);
+            }
+          },
+          MAX_BATCH_SIZE);
+      mBridgeCalls = bridgeCalls;
+    }
+
+    @Override
+    /* package */ NativeArray createBatchArguments(List<BatchedCall> calls) {
+      StringBuilder description = new StringBuilder("batch:");
+      for (BatchedCall call : calls) {
+        description.append(' ');
+        if (call.isCallback()) {
+          description.append("callback").append(call.getCallbackID());
+        } else {
+          description.append(call.getModule()).append('.').append(call.getMethod());
+        }
+      }
+      mBridgeCalls.add(description.toString());
+      return null;
+    }
+  }
+
+  private List<String> mBridgeCalls;
+  private JavaScriptCallBatcher mBatcher;
+  private ExecutorToken mExecutorToken;
+
+  @Before
+  public void setUp() {
+    // WritableNativeArray loads the native library
+    PowerMockito.mockStatic(SoLoader.class);
+    mBridgeCalls = new ArrayList<>();
+    mBatcher = new RecordingBatcher(mBridgeCalls);
+    mExecutorToken = mock(ExecutorToken.class);
+  }
+
+  @Test
+  public void testDoesNotBatchOutsideOfBatch() {
+    assertThat(mBatcher.addCall(mExecutorToken, "Module", "method", createArguments())).isFalse();
+    assertThat(mBatcher.addCallback(mExecutorToken, 1, createArguments())).isFalse();
+    assertThat(mBridgeCalls).isEmpty();
+  }
+
+  @Test
+  public void testCoalescesCallsUntilOutermostBatchEnds() {
+    mBatcher.beginBatch();
+    assertThat(mBatcher.addCall(mExecutorToken, "Module", "first", createArguments())).isTrue();
+    mBatcher.beginBatch();
+    assertThat(mBatcher.addCallback(mExecutorToken, 7, createArguments())).isTrue();
+    mBatcher.endBatch();
+    assertThat(mBridgeCalls).isEmpty();
+
+    mBatcher.endBatch();
+    assertThat(mBridgeCalls).containsExactly("batch: Module.first callback7");
+    assertThat(mBatcher.getFlushedBatchCount()).isEqualTo(1);
+    assertThat(mBatcher.getBatchedCallCount()).isEqualTo(2);
+    assertThat(mBatcher.getSavedTransitionCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void testFlushesFullBatch() {
+    mBatcher.beginBatch();
+    for (int i = 0; i < MAX_BATCH_SIZE + 1; i++) {
+      mBatcher.addCall(mExecutorToken, "Module", "method" + i, createArguments());
+    }
+    assertThat(mBridgeCalls).containsExactly("batch: Module.method0 Module.method1 Module.method2");
+
+    mBatcher.endBatch();
+    assertThat(mBridgeCalls).hasSize(2);
+    assertThat(mBridgeCalls.get(1)).isEqualTo("batch: Module.method3");
+    assertThat(mBatcher.getAverageBatchSize()).isEqualTo(2.0);
+  }
+
+  @Test
+  public void testKeepsOrderWithUnbatchedCalls() {
+    mBatcher.beginBatch();
+    mBatcher.addCall(mExecutorToken, "Module", "first", createArguments());
+    // Arrays that aren't writable can't be moved into the batch
+    NativeArray readableArguments = PowerMockito.mock(ReadableNativeArray.class);
+    if (!mBatcher.addCall(mExecutorToken, "Module", "second", readableArguments)) {
+      mBridgeCalls.add("Module.second");
+    }
+    mBatcher.addCall(mExecutorToken, "Module", "third", createArguments());
+    mBatcher.endBatch();
+
+    assertThat(mBridgeCalls)
+        .containsExactly("batch: Module.first", "Module.second", "batch: Module.third");
+  }
+
+  @Test
+  public void testFlushesWhenExecutorTokenChanges() {
+    mBatcher.beginBatch();
+    mBatcher.addCall(mExecutorToken, "Module", "first", createArguments());
+    mBatcher.addCall(mock(ExecutorToken.class), "Module", "second", createArguments());
+    mBatcher.endBatch();
+
+    assertThat(mBridgeCalls).containsExactly("batch: Module.first", "batch: Module.second");
+  }
+
+  @Test
+  public void testBatchesArePerThread() throws Exception {
+    mBatcher.beginBatch();
+    final boolean[] batched = new boolean[1];
+    Thread thread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        batched[0] = mBatcher.addCall(mExecutorToken, "Module", "method", createArguments());
+      }
+    });
+    thread.start();
+    thread.join();
+    mBatcher.endBatch();
+
+    assertThat(batched[0]).isFalse();
+    assertThat(mBridgeCalls).isEmpty();
+  }
+
+  @Test
+  public void testDropsPendingCallsOnShutdown() {
+    mBatcher.beginBatch();
+    mBatcher.addCall(mExecutorToken, "Module", "first", createArguments());
+    mBatcher.shutdown();
+    assertThat(mBatcher.addCall(mExecutorToken, "Module", "second", createArguments())).isFalse();
+    mBatcher.endBatch();
+
+    assertThat(mBridgeCalls).isEmpty();
+    assertThat(mBatcher.getFlushedBatchCount()).isEqualTo(0);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testUnbalancedEndBatchThrows() {
+    mBatcher.endBatch();
+  }
+
+  private static WritableNativeArray createArguments() {
+    return PowerMockito.mock(WritableNativeArray.class);
+  }
+}
@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.bridge;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.rule.PowerMockRule;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for looking up {@link JavaScriptModule}s with {@link JavaScriptModuleRegistry}.
+ */
+@PrepareForTest({Arguments.class})
+@RunWith(RobolectricTestRunner.class)
+@PowerMockIgnore({"org.mockito.*", "org.robolectric.*", "android.*"})
+public class JavaScriptModuleRegistryTest {
+
+  @Rule
+  public PowerMockRule rule = new PowerMockRule();
+
+  public interface ProxiedModule extends JavaScriptModule {
+    void doSomething(int value);
+  }
+
+  public interface StubbedModule extends JavaScriptModule {
+    void doSomething(int value);
+  }
+
+  /**
+   * Stands in for the stub JavaScriptModuleProcessor generates for {@link StubbedModule}, found by
+   * the registry by its name.
+   */
+  public static final class StubbedModule$$JSModuleStub
+      extends JavaScriptModuleStub
+      implements StubbedModule {
+
+    public StubbedModule$$JSModuleStub(
+        ExecutorToken executorToken,
+        CatalystInstance catalystInstance,
+        JavaScriptModuleRegistration moduleRegistration) {
+      super(executorToken, catalystInstance, moduleRegistration);
+    }
+
+    @Override
+    public void doSomething(int value) {
+      // A generated stub would write the value into a WritableNativeArray, which needs the native
+      // library
+      callFunction("doSomething", "JSCall__StubbedModule_doSomething", null);
+    }
+  }
+
+  private CatalystInstance mCatalystInstance;
+  private JavaScriptModuleRegistry mRegistry;
+
+  @Before
+  public void setUp() {
+    mCatalystInstance = mock(CatalystInstance.class);
+    mRegistry = new JavaScriptModuleRegistry(Arrays.asList(
+        new JavaScriptModuleRegistration(ProxiedModule.class),
+        new JavaScriptModuleRegistration(StubbedModule.class)));
+  }
+
+  @Test
+  public void testUsesGeneratedStub() {
+    ExecutorToken executorToken = mock(ExecutorToken.class);
+    StubbedModule module =
+        mRegistry.getJavaScriptModule(mCatalystInstance, executorToken, StubbedModule.class);
+    assertThat(module).isInstanceOf(StubbedModule$$JSModuleStub.class);
+
+    module.doSomething(42);
+    verify(mCatalystInstance).callFunction(
+        eq(executorToken),
+        eq("StubbedModule"),
+        eq("doSomething"),
+        (NativeArray) isNull(),
+        eq("JSCall__StubbedModule_doSomething"));
+  }
+
+  @Test
+  public void testFallsBackToProxy() {
+    // Arguments.fromJavaArgs needs the native library
+    PowerMockito.mockStatic(Arguments.class);
+    ExecutorToken executorToken = mock(ExecutorToken.class);
+
+    ProxiedModule module =
+        mRegistry.getJavaScriptModule(mCatalystInstance, executorToken, ProxiedModule.class);
+    assertThat(Proxy.isProxyClass(module.getClass())).isTrue();
+
+    module.doSomething(42);
+    verify(mCatalystInstance).callFunction(
+        eq(executorToken),
+        eq("ProxiedModule"),
+        eq("doSomething"),
+        (NativeArray) isNull(),
+        eq("JSCall__ProxiedModule_doSomething"));
+  }
+
+  @Test
+  public void testCachesModulesPerToken() {
+    ExecutorToken executorToken = mock(ExecutorToken.class);
+    ExecutorToken otherExecutorToken = mock(ExecutorToken.class);
+
+    StubbedModule module =
+        mRegistry.getJavaScriptModule(mCatalystInstance, executorToken, StubbedModule.class);
+    StubbedModule otherModule =
+        mRegistry.getJavaScriptModule(mCatalystInstance, otherExecutorToken, StubbedModule.class);
+
+    assertThat(otherModule).isNotSameAs(module);
+    // Looked up again once the last used token has changed
+    assertThat(
+        mRegistry.getJavaScriptModule(mCatalystInstance, executorToken, StubbedModule.class))
+        .isSameAs(module);
+    assertThat(
+        mRegistry.getJavaScriptModule(mCatalystInstance, otherExecutorToken, StubbedModule.class))
+        .isSameAs(otherModule);
+  }
+
+  @Test(expected = AssertionError.class)
+  public void testFailsForUnregisteredModule() {
+    new JavaScriptModuleRegistry(Arrays.<JavaScriptModuleRegistration>asList())
+        .getJavaScriptModule(mCatalystInstance, mock(ExecutorToken.class), StubbedModule.class);
+  }
+}
@@ -168,6 +168,80 @@ public class NativeModuleRegistryTest {
     assertThat(secondLevel.get("inception").asBoolean()).isTrue();
   }
 
+  @Test
+  public void testModuleQueueName() throws Exception {
+    NativeModuleRegistry registry = new NativeModuleRegistry.Builder()
+        .add(new IOQueueModule())
+        .build();
+    assertThat(registry.getModuleQueueName(0)).isEqualTo("io");
+
+    registry = new NativeModuleRegistry.Builder()
+        .add(new MethodsModule())
+        .build();
+    assertThat(registry.getModuleQueueName(0)).isNull();
+  }
+
+  @Test
+  public void testModuleDescriptionsKey() throws Exception {
+    NativeModuleRegistry registry = new NativeModuleRegistry.Builder()
+        .add(new ConstantsModule())
+        .add(new MethodsModule())
+        .build();
+    NativeModuleRegistry sameRegistry = new NativeModuleRegistry.Builder()
+        .add(new ConstantsModule())
+        .add(new MethodsModule())
+        .build();
+    NativeModuleRegistry otherRegistry = new NativeModuleRegistry.Builder()
+        .add(new OnlyConstantsModule())
+        .add(new MethodsModule())
+        .build();
+
+    NativeModuleRegistry.ModuleDescriptionsKey key = registry.getModuleDescriptionsKey();
+    assertThat(key).isEqualTo(sameRegistry.getModuleDescriptionsKey());
+    assertThat(key).isNotEqualTo(otherRegistry.getModuleDescriptionsKey());
+
+    StringWriter stringWriter = new StringWriter();
+    JsonWriter writer = new JsonWriter(stringWriter);
+    registry.writeModuleDescriptions(writer, key);
+    writer.close();
+    assertThat(stringWriter.toString()).isEqualTo(getModuleDescriptions(registry));
+  }
+
+  @Test
+  public void testModuleDescriptionsKeyComparesListConstantsByValue() throws Exception {
+    NativeModuleRegistry.ModuleDescriptionsKey key = new NativeModuleRegistry.Builder()
+        .add(new ListConstantsModule())
+        .build()
+        .getModuleDescriptionsKey();
+    NativeModuleRegistry.ModuleDescriptionsKey sameKey = new NativeModuleRegistry.Builder()
+        .add(new ListConstantsModule())
+        .build()
+        .getModuleDescriptionsKey();
+
+    assertThat(key).isEqualTo(sameKey);
+    assertThat(key.hashCode()).isEqualTo(sameKey.hashCode());
+  }
+
+  @Test
+  public void testModuleDescriptionsKeyKeepsConstantsAtTheTime() throws Exception {
+    MutableConstantsModule module = new MutableConstantsModule();
+    NativeModuleRegistry registry = new NativeModuleRegistry.Builder().add(module).build();
+
+    NativeModuleRegistry.ModuleDescriptionsKey key = registry.getModuleDescriptionsKey();
+    module.mConstants.put("orientation", "landscape");
+    module.mNestedConstants.add("more");
+    assertThat(registry.getModuleDescriptionsKey()).isNotEqualTo(key);
+
+    StringWriter stringWriter = new StringWriter();
+    JsonWriter writer = new JsonWriter(stringWriter);
+    registry.writeModuleDescriptions(writer, key);
+    writer.close();
+    JsonNode constants =
+        parse(stringWriter.toString()).get("MutableConstantsModule").get("constants");
+    assertThat(constants.get("orientation").asText()).isEqualTo("portrait");
+    assertThat(constants.get("nested").size()).isEqualTo(0);
+  }
+
   private JsonNode parse(String json) throws Exception {
     ObjectMapper mapper = new ObjectMapper();
     return mapper.readTree(json);
@@ -213,6 +287,61 @@ public class NativeModuleRegistryTest {
     }
   }
 
+  private static class IOQueueModule extends BaseJavaModule implements CustomQueueModule {
+
+    @Override
+    public String getName() {
+      return "IOQueueModule";
+    }
+
+    @Override
+    public String getQueueName() {
+      return "io";
+    }
+
+    @ReactMethod
+    public void readFile(String path) {
+    }
+  }
+
+  private static class ListConstantsModule extends BaseJavaModule {
+
+    @Override
+    public String getName() {
+      return "ListConstantsModule";
+    }
+
+    @Override
+    public Map<String, Object> getConstants() {
+      // New lists every time, as JS arrays in constants usually are
+      HashMap<String, Object> constants = new HashMap<String, Object>();
+      constants.put("sizes", Arrays.asList(1, 2, 3));
+      constants.put("locales", MapBuilder.of("en", Arrays.asList("US", "GB")));
+      return constants;
+    }
+  }
+
+  private static class MutableConstantsModule extends BaseJavaModule {
+    // Returned every time and changed in place
+    private final Map<String, Object> mConstants = new HashMap<>();
+    private final List<Object> mNestedConstants = new ArrayList<>();
+
+    private MutableConstantsModule() {
+      mConstants.put("orientation", "portrait");
+      mConstants.put("nested", mNestedConstants);
+    }
+
+    @Override
+    public String getName() {
+      return "MutableConstantsModule";
+    }
+
+    @Override
+    public Map<String, Object> getConstants() {
+      return mConstants;
+    }
+  }
+
   private static class ConstantsModule extends BaseJavaModule {
 
     @Override
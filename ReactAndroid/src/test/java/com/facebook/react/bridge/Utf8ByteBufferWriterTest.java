@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.bridge;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+public class Utf8ByteBufferWriterTest {
+
+  @Test
+  public void sameJsonAsStringWriter() throws IOException {
+    StringWriter stringWriter = new StringWriter();
+    writeDocument(new JsonWriter(stringWriter));
+    // Small enough to have to grow a few times
+    Utf8ByteBufferWriter byteBufferWriter = new Utf8ByteBufferWriter(4);
+    writeDocument(new JsonWriter(byteBufferWriter));
+
+    byte[] expected = stringWriter.toString().getBytes("UTF-8");
+    ByteBuffer buffer = byteBufferWriter.getBuffer();
+    byte[] actual = new byte[buffer.remaining()];
+    buffer.get(actual);
+    assertThat(actual).isEqualTo(expected);
+    assertThat(byteBufferWriter.size()).isEqualTo(expected.length);
+  }
+
+  @Test
+  public void bufferIsFollowedByZeroByte() {
+    // Fills the initial capacity exactly, so the terminator needs the buffer to grow
+    Utf8ByteBufferWriter writer = new Utf8ByteBufferWriter(4);
+    writer.write("{}{}");
+
+    ByteBuffer buffer = writer.getBuffer();
+    assertThat(buffer.limit()).isEqualTo(4);
+    assertThat(buffer.capacity()).isGreaterThan(4);
+    assertThat(buffer.get(4)).isEqualTo((byte) 0);
+    assertThat(writer.toString()).isEqualTo("{}{}");
+  }
+
+  @Test
+  public void surrogatePairSplitAcrossWrites() {
+    Utf8ByteBufferWriter writer = new Utf8ByteBufferWriter();
+    writer.write('\uD83D');
+    writer.write('\uDCA9');
+    assertThat(writer.toString()).isEqualTo("\uD83D\uDCA9");
+    assertThat(writer.size()).isEqualTo(4);
+  }
+
+  @Test
+  public void writeLong() {
+    Utf8ByteBufferWriter writer = new Utf8ByteBufferWriter(1);
+    writer.writeLong(0);
+    writer.write(',');
+    writer.writeLong(-42);
+    writer.write(',');
+    writer.writeLong(Long.MAX_VALUE);
+    writer.write(',');
+    writer.writeLong(Long.MIN_VALUE);
+    assertThat(writer.toString())
+        .isEqualTo("0,-42," + Long.MAX_VALUE + "," + Long.MIN_VALUE);
+  }
+
+  @Test
+  public void reset() {
+    Utf8ByteBufferWriter writer = new Utf8ByteBufferWriter();
+    writer.write("first");
+    writer.reset();
+    writer.write("second");
+    assertThat(writer.toString()).isEqualTo("second");
+  }
+
+  private static void writeDocument(JsonWriter writer) throws IOException {
+    writer.beginObject();
+    writer.name("ascii").value("hello!");
+    writer.name("escapes").value("\t\"quoted\"\\\n\u0001 ");
+    writer.name("nonAscii").value("caf\u00e9 \u4e2d \uD83D\uDCA9");
+    writer.name("numbers").beginArray()
+        .value(0)
+        .value(-1234567890123L)
+        .value(1.5)
+        .value((Number) 42)
+        .endArray();
+    writer.name("null").nullValue();
+    writer.endObject();
+    writer.close();
+  }
+}
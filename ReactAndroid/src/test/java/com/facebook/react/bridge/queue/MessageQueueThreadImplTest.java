@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.bridge.queue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link MessageQueueThreadImpl}.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class MessageQueueThreadImplTest {
+
+  private static final int REQUEST_COUNT = 100;
+
+  private MessageQueueThreadImpl mQueueThread;
+  private int mRunCount;
+  private final Runnable mCountingRunnable = new Runnable() {
+    @Override
+    public void run() {
+      mRunCount++;
+    }
+  };
+
+  @Before
+  public void setUp() {
+    mQueueThread = MessageQueueThreadImpl.create(
+        MessageQueueThreadSpec.mainThreadSpec(),
+        mock(QueueThreadExceptionHandler.class));
+    ShadowLooper.pauseMainLooper();
+    mRunCount = 0;
+  }
+
+  @Test
+  public void testQueueDepthWithoutCoalescing() {
+    for (int i = 0; i < REQUEST_COUNT; i++) {
+      mQueueThread.runOnQueue(mCountingRunnable);
+    }
+    assertThat(mQueueThread.getQueueDepth()).isEqualTo(REQUEST_COUNT);
+
+    ShadowLooper.runUiThreadTasks();
+    assertThat(mRunCount).isEqualTo(REQUEST_COUNT);
+  }
+
+  @Test
+  public void testQueueDepthWithCoalescing() {
+    Object token = new Object();
+    assertThat(mQueueThread.runOnQueueCoalesced(token, mCountingRunnable)).isTrue();
+    for (int i = 1; i < REQUEST_COUNT; i++) {
+      assertThat(mQueueThread.runOnQueueCoalesced(token, mCountingRunnable)).isFalse();
+    }
+    assertThat(mQueueThread.getQueueDepth()).isEqualTo(1);
+
+    ShadowLooper.runUiThreadTasks();
+    assertThat(mRunCount).isEqualTo(1);
+    assertThat(mQueueThread.getQueueDepth()).isEqualTo(0);
+  }
+
+  @Test
+  public void testCoalescingIsPerToken() {
+    mQueueThread.runOnQueueCoalesced(new Object(), mCountingRunnable);
+    mQueueThread.runOnQueueCoalesced(new Object(), mCountingRunnable);
+    assertThat(mQueueThread.getQueueDepth()).isEqualTo(2);
+  }
+
+  @Test
+  public void testSubmittingWhileRunningEnqueuesAgain() {
+    final Object token = new Object();
+    mQueueThread.runOnQueueCoalesced(
+        token,
+        new Runnable() {
+          @Override
+          public void run() {
+            mRunCount++;
+            assertThat(mQueueThread.runOnQueueCoalesced(token, mCountingRunnable)).isTrue();
+          }
+        });
+
+    ShadowLooper.runUiThreadTasks();
+    assertThat(mRunCount).isEqualTo(2);
+  }
+}
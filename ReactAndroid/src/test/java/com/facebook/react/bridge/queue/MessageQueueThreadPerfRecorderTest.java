@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.bridge.queue;
+
+import android.os.Looper;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link MessageQueueThreadPerfRecorder} and the queue depth kept by
+ * {@link MessageQueueThreadHandler}.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class MessageQueueThreadPerfRecorderTest {
+
+  private static final Runnable NO_OP = new Runnable() {
+    @Override
+    public void run() {
+    }
+  };
+
+  @After
+  public void tearDown() {
+    MessageQueueThreadPerfMonitor.setPerfStatsListener(null);
+  }
+
+  @Test
+  public void testHistogramBuckets() {
+    assertThat(MessageQueueThreadPerfStats.getHistogramBucket(0)).isEqualTo(0);
+    assertThat(MessageQueueThreadPerfStats.getHistogramBucket(1)).isEqualTo(1);
+    assertThat(MessageQueueThreadPerfStats.getHistogramBucket(3)).isEqualTo(2);
+    assertThat(MessageQueueThreadPerfStats.getHistogramBucket(4)).isEqualTo(3);
+    assertThat(MessageQueueThreadPerfStats.getHistogramBucket(100000))
+        .isEqualTo(MessageQueueThreadPerfStats.HISTOGRAM_BUCKET_COUNT - 1);
+  }
+
+  @Test
+  public void testReportsOncePerInterval() {
+    MessageQueueThreadPerfMonitor.PerfStatsListener listener =
+        mock(MessageQueueThreadPerfMonitor.PerfStatsListener.class);
+    MessageQueueThreadPerfRecorder recorder = new MessageQueueThreadPerfRecorder("js");
+
+    recorder.recordTask(1000, 0, 500000, 1, listener);
+    recorder.recordTask(2000, 10, 20000000, 3, listener);
+    verify(listener, never()).onPerfStats(any(MessageQueueThreadPerfStats.class));
+
+    recorder.recordTask(1000 + MessageQueueThreadPerfMonitor.REPORT_INTERVAL_MS, 2, 0, 1, listener);
+
+    ArgumentCaptor<MessageQueueThreadPerfStats> captor =
+        ArgumentCaptor.forClass(MessageQueueThreadPerfStats.class);
+    verify(listener).onPerfStats(captor.capture());
+    MessageQueueThreadPerfStats stats = captor.getValue();
+    assertThat(stats.getQueueName()).isEqualTo("js");
+    assertThat(stats.getTaskCount()).isEqualTo(3);
+    assertThat(stats.getIntervalMs()).isEqualTo(MessageQueueThreadPerfMonitor.REPORT_INTERVAL_MS);
+    assertThat(stats.getLatencyCount(0)).isEqualTo(1);
+    assertThat(stats.getLatencyCount(MessageQueueThreadPerfStats.getHistogramBucket(10)))
+        .isEqualTo(1);
+    assertThat(stats.getExecutionCount(0)).isEqualTo(2);
+    assertThat(stats.getLongestTaskMs()).isEqualTo(20.0);
+    assertThat(stats.getAverageLatencyMs()).isEqualTo(4.0);
+    assertThat(stats.getMaxQueueDepth()).isEqualTo(3);
+  }
+
+  @Test
+  public void testHandlerCountsPendingTasks() {
+    MessageQueueThreadHandler handler = new MessageQueueThreadHandler(
+        Looper.getMainLooper(),
+        mock(QueueThreadExceptionHandler.class),
+        "main_ui");
+    ShadowLooper.pauseMainLooper();
+
+    handler.post(NO_OP);
+    handler.post(NO_OP);
+    handler.postDelayed(NO_OP, 1000);
+    assertThat(handler.getQueueDepth()).isEqualTo(3);
+
+    ShadowLooper.runUiThreadTasks();
+    assertThat(handler.getQueueDepth()).isEqualTo(1);
+
+    ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+    assertThat(handler.getQueueDepth()).isEqualTo(0);
+  }
+
+  @Test
+  public void testHandlerForgetsRemovedTasks() {
+    MessageQueueThreadHandler handler = new MessageQueueThreadHandler(
+        Looper.getMainLooper(),
+        mock(QueueThreadExceptionHandler.class),
+        "main_ui");
+    ShadowLooper.pauseMainLooper();
+    Runnable removedTask = new Runnable() {
+      @Override
+      public void run() {
+      }
+    };
+
+    handler.post(NO_OP);
+    handler.post(removedTask);
+    handler.removeCallbacks(removedTask);
+    // Still counted until the queue has no task left
+    handler.syncQueueDepth();
+    assertThat(handler.getQueueDepth()).isEqualTo(2);
+
+    ShadowLooper.runUiThreadTasks();
+    handler.syncQueueDepth();
+    assertThat(handler.getQueueDepth()).isEqualTo(0);
+
+    handler.post(removedTask);
+    handler.removeCallbacks(removedTask);
+    handler.syncQueueDepth();
+    assertThat(handler.getQueueDepth()).isEqualTo(0);
+  }
+}
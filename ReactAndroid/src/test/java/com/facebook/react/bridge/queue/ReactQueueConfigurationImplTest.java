@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.bridge.queue;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for the threads {@link ReactQueueConfigurationImpl} creates for its queues.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ReactQueueConfigurationImplTest {
+
+  private ReactQueueConfigurationImpl mQueueConfiguration;
+
+  @After
+  public void tearDown() {
+    if (mQueueConfiguration != null) {
+      mQueueConfiguration.destroy();
+    }
+  }
+
+  @Test
+  public void testJSAndNativeModulesQueuesWithSameSpecGetTheirOwnThreads() {
+    MessageQueueThreadSpec spec = MessageQueueThreadSpec.newBackgroundThreadSpec("shared");
+    mQueueConfiguration = create(
+        ReactQueueConfigurationSpec.builder()
+            .setJSQueueThreadSpec(spec)
+            .setNativeModulesQueueThreadSpec(spec));
+
+    assertThat(mQueueConfiguration.getJSQueueThread())
+        .isNotSameAs(mQueueConfiguration.getNativeModulesQueueThread());
+  }
+
+  @Test
+  public void testNamedQueuesWithSameSpecShareTheirThread() {
+    MessageQueueThreadSpec nativeModulesSpec =
+        MessageQueueThreadSpec.newBackgroundThreadSpec("native_modules");
+    MessageQueueThreadSpec ioSpec = MessageQueueThreadSpec.newBackgroundThreadSpec("io");
+    mQueueConfiguration = create(
+        ReactQueueConfigurationSpec.builder()
+            .setJSQueueThreadSpec(MessageQueueThreadSpec.newBackgroundThreadSpec("js"))
+            .setNativeModulesQueueThreadSpec(nativeModulesSpec)
+            .addNativeModulesQueueThreadSpec("disk", ioSpec)
+            .addNativeModulesQueueThreadSpec("network", ioSpec)
+            .addNativeModulesQueueThreadSpec("layout", nativeModulesSpec));
+
+    MessageQueueThread ioThread = mQueueConfiguration.getNativeModulesQueueThread("disk");
+    assertThat(mQueueConfiguration.getNativeModulesQueueThread("network")).isSameAs(ioThread);
+    assertThat(ioThread).isNotSameAs(mQueueConfiguration.getNativeModulesQueueThread());
+    // Named queues never share the default native modules queue thread
+    assertThat(mQueueConfiguration.getNativeModulesQueueThread("layout"))
+        .isNotSameAs(mQueueConfiguration.getNativeModulesQueueThread());
+    // Unknown names fall back to the default native modules queue
+    assertThat(mQueueConfiguration.getNativeModulesQueueThread("unknown"))
+        .isSameAs(mQueueConfiguration.getNativeModulesQueueThread());
+  }
+
+  private static ReactQueueConfigurationImpl create(ReactQueueConfigurationSpec.Builder builder) {
+    return ReactQueueConfigurationImpl.create(
+        builder.build(),
+        mock(QueueThreadExceptionHandler.class));
+  }
+}
@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.cxxbridge;
+
+import com.facebook.react.bridge.BaseJavaModule;
+import com.facebook.react.bridge.CatalystInstance;
+import com.facebook.react.bridge.CustomQueueModule;
+import com.facebook.react.bridge.ExecutorToken;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableNativeArray;
+import com.facebook.react.bridge.queue.MessageQueueThread;
+import com.facebook.react.bridge.queue.ReactQueueConfiguration;
+import com.facebook.soloader.SoLoader;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.rule.PowerMockRule;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for invoking module methods through {@link JavaModuleWrapper}.
+ */
+@PrepareForTest({ReadableNativeArray.class, SoLoader.class})
+@RunWith(RobolectricTestRunner.class)
+@PowerMockIgnore({"org.mockito.*", "org.robolectric.*", "android.*"})
+public class JavaModuleWrapperTest {
+
+  @Rule
+  public PowerMockRule rule = new PowerMockRule();
+
+  // Public, so that its methods can be invoked by reflection
+  public static class IOQueueModule extends BaseJavaModule implements CustomQueueModule {
+
+    private int mCallCount;
+
+    @Override
+    public String getName() {
+      return "IOQueueModule";
+    }
+
+    @Override
+    public String getQueueName() {
+      return "io";
+    }
+
+    @ReactMethod
+    public void readFile() {
+      mCallCount++;
+    }
+  }
+
+  private CatalystInstance mCatalystInstance;
+  private ReactCallback mBridgeCallback;
+  private MessageQueueThread mModuleQueueThread;
+  private IOQueueModule mModule;
+  private JavaModuleWrapper mWrapper;
+  private ReadableNativeArray mParameters;
+
+  @Before
+  public void setUp() {
+    // ReadableNativeArray loads the native library
+    PowerMockito.mockStatic(SoLoader.class);
+    mParameters = PowerMockito.mock(ReadableNativeArray.class);
+    when(mParameters.size()).thenReturn(0);
+
+    mModuleQueueThread = mock(MessageQueueThread.class);
+    ReactQueueConfiguration queueConfiguration = mock(ReactQueueConfiguration.class);
+    when(queueConfiguration.getNativeModulesQueueThread("io")).thenReturn(mModuleQueueThread);
+    mCatalystInstance = mock(CatalystInstance.class);
+    when(mCatalystInstance.getReactQueueConfiguration()).thenReturn(queueConfiguration);
+    mBridgeCallback = mock(ReactCallback.class);
+
+    mModule = new IOQueueModule();
+    mWrapper = new JavaModuleWrapper(mCatalystInstance, mBridgeCallback, mModule);
+    mWrapper.getMethodDescriptors();
+  }
+
+  @Test
+  public void testPostedCallIsPendingUntilItHasRun() {
+    when(mModuleQueueThread.isOnThread()).thenReturn(false);
+
+    mWrapper.invoke(mock(ExecutorToken.class), 0, mParameters);
+
+    ArgumentCaptor<Runnable> call = ArgumentCaptor.forClass(Runnable.class);
+    verify(mModuleQueueThread).runOnQueue(call.capture());
+    verify(mBridgeCallback).incrementPendingJSCalls();
+    verify(mBridgeCallback, never()).decrementPendingJSCalls();
+    assertThat(mModule.mCallCount).isEqualTo(0);
+
+    call.getValue().run();
+    assertThat(mModule.mCallCount).isEqualTo(1);
+    InOrder inOrder = inOrder(mBridgeCallback);
+    inOrder.verify(mBridgeCallback).incrementPendingJSCalls();
+    inOrder.verify(mBridgeCallback).decrementPendingJSCalls();
+  }
+
+  @Test
+  public void testPostedCallIsNoLongerPendingOnceDestroyed() {
+    when(mModuleQueueThread.isOnThread()).thenReturn(false);
+
+    mWrapper.invoke(mock(ExecutorToken.class), 0, mParameters);
+    ArgumentCaptor<Runnable> call = ArgumentCaptor.forClass(Runnable.class);
+    verify(mModuleQueueThread).runOnQueue(call.capture());
+
+    when(mCatalystInstance.isDestroyed()).thenReturn(true);
+    call.getValue().run();
+    assertThat(mModule.mCallCount).isEqualTo(0);
+    verify(mBridgeCallback).decrementPendingJSCalls();
+  }
+
+  @Test
+  public void testCallOnModuleQueueRunsRightAway() {
+    when(mModuleQueueThread.isOnThread()).thenReturn(true);
+
+    mWrapper.invoke(mock(ExecutorToken.class), 0, mParameters);
+
+    assertThat(mModule.mCallCount).isEqualTo(1);
+    verify(mModuleQueueThread, never()).runOnQueue(any(Runnable.class));
+    verify(mBridgeCallback, never()).incrementPendingJSCalls();
+  }
+}
@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.modules.image;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.facebook.datasource.SimpleDataSource;
+import com.facebook.drawee.backends.pipeline.Fresco;
+import com.facebook.imagepipeline.core.ImagePipeline;
+import com.facebook.imagepipeline.request.ImageRequest;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.JavaOnlyArray;
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactTestHelper;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.rule.PowerMockRule;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for resolving the promises of {@link ImageLoaderModule#prefetchImages} batches
+ */
+@PrepareForTest({Arguments.class, Fresco.class})
+@RunWith(RobolectricTestRunner.class)
+@PowerMockIgnore({"org.mockito.*", "org.robolectric.*", "android.*"})
+public class ImageLoaderModuleTest {
+
+  @Rule
+  public PowerMockRule rule = new PowerMockRule();
+
+  private final Map<String, SimpleDataSource<Void>> mDataSources = new HashMap<>();
+  private ImageLoaderModule mModule;
+
+  @Before
+  public void setup() {
+    PowerMockito.mockStatic(Arguments.class);
+    PowerMockito.when(Arguments.createMap()).thenAnswer(new Answer<Object>() {
+      @Override
+      public Object answer(InvocationOnMock invocation) throws Throwable {
+        return new JavaOnlyMap();
+      }
+    });
+
+    ImagePipeline imagePipeline = mock(ImagePipeline.class);
+    when(imagePipeline.prefetchToDiskCache(any(ImageRequest.class), any()))
+        .thenAnswer(new Answer<Object>() {
+          @Override
+          public Object answer(InvocationOnMock invocation) throws Throwable {
+            ImageRequest request = (ImageRequest) invocation.getArguments()[0];
+            SimpleDataSource<Void> dataSource = SimpleDataSource.create();
+            mDataSources.put(request.getSourceUri().toString(), dataSource);
+            return dataSource;
+          }
+        });
+    PowerMockito.mockStatic(Fresco.class);
+    PowerMockito.when(Fresco.getImagePipeline()).thenReturn(imagePipeline);
+
+    mModule = new ImageLoaderModule(ReactTestHelper.createCatalystContextForTest());
+  }
+
+  @Test
+  public void testBatchIsResolvedOnceAllItsRequestsFinish() {
+    Promise promise = mock(Promise.class);
+    mModule.prefetchImages(JavaOnlyArray.of(request(1), request(2)), promise);
+
+    succeed(1);
+    verify(promise, never()).resolve(any());
+
+    fail(2);
+    verify(promise).resolve(JavaOnlyMap.of("1", true, "2", false));
+  }
+
+  @Test
+  public void testDuplicateIdsAreWaitedForOnce() {
+    Promise promise = mock(Promise.class);
+    mModule.prefetchImages(JavaOnlyArray.of(request(1), request(1), request(2)), promise);
+
+    succeed(1);
+    verify(promise, never()).resolve(any());
+
+    succeed(2);
+    verify(promise).resolve(JavaOnlyMap.of("1", true, "2", true));
+  }
+
+  @Test
+  public void testIdSharedByBatchesResolvesEach() {
+    Promise firstPromise = mock(Promise.class);
+    Promise secondPromise = mock(Promise.class);
+    mModule.prefetchImages(JavaOnlyArray.of(request(1), request(2)), firstPromise);
+    mModule.prefetchImages(JavaOnlyArray.of(request(2), request(3)), secondPromise);
+
+    succeed(2);
+    verify(firstPromise, never()).resolve(any());
+    verify(secondPromise, never()).resolve(any());
+
+    succeed(1);
+    verify(firstPromise).resolve(JavaOnlyMap.of("1", true, "2", true));
+    verify(secondPromise, never()).resolve(any());
+
+    fail(3);
+    verify(secondPromise).resolve(JavaOnlyMap.of("2", true, "3", false));
+  }
+
+  @Test
+  public void testEmptyBatchIsResolvedRightAway() {
+    Promise promise = mock(Promise.class);
+    mModule.prefetchImages(JavaOnlyArray.of(), promise);
+
+    verify(promise).resolve(new JavaOnlyMap());
+  }
+
+  private static JavaOnlyMap request(int id) {
+    // Visible, so that up to three of them run at the same time
+    return JavaOnlyMap.of("id", id, "uri", uri(id), "priority", "visible");
+  }
+
+  private static String uri(int id) {
+    return "http://facebook.github.io/react/img/" + id + ".png";
+  }
+
+  private void succeed(int id) {
+    mDataSources.get(uri(id)).setResult(null);
+  }
+
+  private void fail(int id) {
+    mDataSources.get(uri(id)).setFailure(new Exception());
+  }
+}
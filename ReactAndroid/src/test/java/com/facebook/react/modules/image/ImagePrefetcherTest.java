@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.modules.image;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import android.net.Uri;
+
+import com.facebook.datasource.DataSource;
+import com.facebook.datasource.SimpleDataSource;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Tests for scheduling image prefetches with {@link ImagePrefetcher}
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ImagePrefetcherTest {
+
+  private static class TestImagePrefetcher extends ImagePrefetcher {
+
+    private final List<String> mFetchedUris = new ArrayList<>();
+    private final Map<String, SimpleDataSource<Void>> mDataSources = new HashMap<>();
+
+    private TestImagePrefetcher(OnPrefetchFinishedListener listener) {
+      super(new Object(), listener);
+    }
+
+    @Override
+    protected DataSource<?> fetch(Uri uri, int priority, int cache) {
+      SimpleDataSource<Void> dataSource = SimpleDataSource.create();
+      mFetchedUris.add(uri.toString());
+      mDataSources.put(uri.toString(), dataSource);
+      return dataSource;
+    }
+
+    private void succeed(String uri) {
+      mDataSources.get(uri).setResult(null);
+    }
+  }
+
+  private final Map<Integer, Boolean> mResults = new HashMap<>();
+  private TestImagePrefetcher mImagePrefetcher;
+
+  @Before
+  public void setup() {
+    mImagePrefetcher = new TestImagePrefetcher(
+        new ImagePrefetcher.OnPrefetchFinishedListener() {
+          @Override
+          public void onPrefetchFinished(int requestId, boolean success) {
+            mResults.put(requestId, success);
+          }
+        });
+  }
+
+  @Test
+  public void testRequestsStartInOrderOfPriority() {
+    prefetch(1, ImagePrefetcher.PRIORITY_SPECULATIVE);
+    prefetch(2, ImagePrefetcher.PRIORITY_SPECULATIVE);
+    prefetch(3, ImagePrefetcher.PRIORITY_NEAR);
+    prefetch(4, ImagePrefetcher.PRIORITY_VISIBLE);
+    prefetch(5, ImagePrefetcher.PRIORITY_NEAR);
+    assertThat(mImagePrefetcher.mFetchedUris).containsExactly("img://1", "img://3", "img://4");
+    assertThat(mImagePrefetcher.getPendingCount()).isEqualTo(2);
+
+    mImagePrefetcher.succeed("img://4");
+    assertThat(mResults.get(4)).isTrue();
+    assertThat(mImagePrefetcher.mFetchedUris).contains("img://5");
+
+    // Only one speculative request runs at a time
+    mImagePrefetcher.succeed("img://3");
+    assertThat(mImagePrefetcher.mFetchedUris).excludes("img://2");
+    mImagePrefetcher.succeed("img://1");
+    assertThat(mImagePrefetcher.mFetchedUris).contains("img://2");
+  }
+
+  @Test
+  public void testPriorityOfWaitingRequestIsUpdated() {
+    prefetch(1, ImagePrefetcher.PRIORITY_NEAR);
+    prefetch(2, ImagePrefetcher.PRIORITY_NEAR);
+    prefetch(3, ImagePrefetcher.PRIORITY_NEAR);
+    prefetch(4, ImagePrefetcher.PRIORITY_NEAR);
+    prefetch(5, ImagePrefetcher.PRIORITY_NEAR);
+    prefetch(5, ImagePrefetcher.PRIORITY_VISIBLE);
+
+    mImagePrefetcher.succeed("img://1");
+    assertThat(mImagePrefetcher.mFetchedUris)
+        .containsExactly("img://1", "img://2", "img://3", "img://5");
+  }
+
+  @Test
+  public void testWaitingRequestIsReplacedWhenItsUriChanges() {
+    for (int id = 1; id <= 4; id++) {
+      prefetch(id, ImagePrefetcher.PRIORITY_NEAR);
+    }
+    mImagePrefetcher.prefetch(
+        4,
+        Uri.parse("img://other"),
+        ImagePrefetcher.PRIORITY_NEAR,
+        ImagePrefetcher.CACHE_DISK);
+    assertThat(mImagePrefetcher.getPendingCount()).isEqualTo(1);
+
+    mImagePrefetcher.succeed("img://1");
+    assertThat(mImagePrefetcher.mFetchedUris)
+        .containsExactly("img://1", "img://2", "img://3", "img://other");
+    mImagePrefetcher.succeed("img://other");
+    assertThat(mResults.get(4)).isTrue();
+  }
+
+  @Test
+  public void testCancel() {
+    for (int id = 1; id <= 4; id++) {
+      prefetch(id, ImagePrefetcher.PRIORITY_VISIBLE);
+    }
+    mImagePrefetcher.cancel(4);
+    assertThat(mResults.get(4)).isFalse();
+    mImagePrefetcher.cancel(1);
+    assertThat(mResults.get(1)).isFalse();
+    assertThat(mImagePrefetcher.mDataSources.get("img://1").isClosed()).isTrue();
+    assertThat(mImagePrefetcher.mFetchedUris)
+        .containsExactly("img://1", "img://2", "img://3");
+
+    mImagePrefetcher.cancelAll();
+    assertThat(mImagePrefetcher.getRunningCount()).isEqualTo(0);
+    assertThat(mResults).hasSize(4);
+  }
+
+  private void prefetch(int id, int priority) {
+    mImagePrefetcher.prefetch(id, Uri.parse("img://" + id), priority, ImagePrefetcher.CACHE_DISK);
+  }
+}
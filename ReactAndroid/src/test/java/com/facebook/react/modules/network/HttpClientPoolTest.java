@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.modules.network;
+
+import okhttp3.OkHttpClient;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link HttpClientPool}.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class HttpClientPoolTest {
+
+  @Test
+  public void testDefaultPriorityUsesBaseClient() {
+    OkHttpClient baseClient = new OkHttpClient();
+    HttpClientPool pool = new HttpClientPool(baseClient);
+
+    assertThat(pool.getClient(null, baseClient.readTimeoutMillis())).isSameAs(baseClient);
+  }
+
+  @Test
+  public void testPrioritiesHaveSeparateDispatchers() {
+    OkHttpClient baseClient = new OkHttpClient();
+    HttpClientPool pool = new HttpClientPool(baseClient);
+    pool.setMaxRequests(HttpClientPool.PRIORITY_LOW, 1, 1);
+    int timeout = baseClient.readTimeoutMillis();
+
+    OkHttpClient high = pool.getClient(HttpClientPool.PRIORITY_HIGH, timeout);
+    OkHttpClient low = pool.getClient(HttpClientPool.PRIORITY_LOW, timeout);
+
+    assertThat(high.dispatcher()).isNotSameAs(baseClient.dispatcher());
+    assertThat(low.dispatcher()).isNotSameAs(high.dispatcher());
+    assertThat(low.dispatcher().getMaxRequests()).isEqualTo(1);
+    assertThat(low.connectionPool()).isSameAs(baseClient.connectionPool());
+    assertThat(pool.getClient(HttpClientPool.PRIORITY_HIGH, timeout)).isSameAs(high);
+    assertThat(pool.getClient("unknown", timeout))
+        .isSameAs(pool.getClient(HttpClientPool.PRIORITY_NORMAL, timeout));
+  }
+
+  @Test
+  public void testTimeoutClientsAreCached() {
+    OkHttpClient baseClient = new OkHttpClient();
+    HttpClientPool pool = new HttpClientPool(baseClient);
+
+    OkHttpClient client = pool.getClient(HttpClientPool.PRIORITY_LOW, 1234);
+    assertThat(client.readTimeoutMillis()).isEqualTo(1234);
+    assertThat(pool.getClient(HttpClientPool.PRIORITY_LOW, 1234)).isSameAs(client);
+    assertThat(client.dispatcher())
+        .isSameAs(pool.getClient(HttpClientPool.PRIORITY_LOW, 0).dispatcher());
+    assertThat(pool.getClient(null, 1234)).isNotSameAs(client);
+  }
+
+  @Test
+  public void testTimeoutClientsCacheIsBounded() {
+    OkHttpClient baseClient = new OkHttpClient();
+    HttpClientPool pool = new HttpClientPool(baseClient);
+    int maxClients = HttpClientPool.MAX_TIMEOUT_CLIENTS;
+
+    OkHttpClient[] clients = new OkHttpClient[maxClients + 1];
+    for (int timeout = 1; timeout <= maxClients; timeout++) {
+      clients[timeout] = pool.getClient(HttpClientPool.PRIORITY_LOW, timeout);
+    }
+    assertThat(pool.getClient(HttpClientPool.PRIORITY_LOW, 1)).isSameAs(clients[1]);
+    pool.getClient(HttpClientPool.PRIORITY_LOW, maxClients + 1);
+
+    // The least recently used client makes room for the new one
+    assertThat(pool.getClient(HttpClientPool.PRIORITY_LOW, 1)).isSameAs(clients[1]);
+    assertThat(pool.getClient(HttpClientPool.PRIORITY_LOW, 2)).isNotSameAs(clients[2]);
+  }
+
+  @Test
+  public void testDispatcherClientsCoverEveryPriority() {
+    OkHttpClient baseClient = new OkHttpClient();
+    HttpClientPool pool = new HttpClientPool(baseClient);
+    assertThat(pool.getDispatcherClients()).containsExactly(baseClient);
+
+    OkHttpClient high = pool.getClient(HttpClientPool.PRIORITY_HIGH, 1234);
+    OkHttpClient low = pool.getClient(HttpClientPool.PRIORITY_LOW, baseClient.readTimeoutMillis());
+
+    assertThat(pool.getDispatcherClients()).hasSize(3);
+    assertThat(pool.getDispatcherClients()).contains(baseClient, low);
+    assertThat(pool.getDispatcherClients().get(1).dispatcher()).isSameAs(high.dispatcher());
+  }
+}
@@ -9,10 +9,15 @@
 
 package com.facebook.react.modules.network;
 
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.InputStream;
 import java.util.Arrays;
 import java.util.List;
 
+import android.net.Uri;
+
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.ExecutorToken;
 import com.facebook.react.bridge.JavaOnlyArray;
@@ -25,12 +30,16 @@ import com.facebook.react.common.network.OkHttpCallUtil;
 import com.facebook.react.modules.core.DeviceEventManagerModule.RCTDeviceEventEmitter;
 
 import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.Headers;
 import okhttp3.MediaType;
 import okhttp3.MultipartBody;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import okhttp3.Request;
 import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
 import okio.Buffer;
 import org.junit.Rule;
 import org.junit.Test;
@@ -95,7 +104,8 @@ public class NetworkingModuleTest {
       JavaOnlyArray.of(),
       null,
       true,
-      0);
+      0,
+      null);
 
     ArgumentCaptor<Request> argumentCaptor = ArgumentCaptor.forClass(Request.class);
     verify(httpClient).newCall(argumentCaptor.capture());
@@ -126,7 +136,8 @@ public class NetworkingModuleTest {
       JavaOnlyArray.from(invalidHeaders),
       null,
       true,
-      0);
+      0,
+      null);
 
     verifyErrorEmit(emitter, 0);
   }
@@ -153,7 +164,8 @@ public class NetworkingModuleTest {
       JavaOnlyArray.of(),
       body,
       true,
-      0);
+      0,
+      null);
 
     verifyErrorEmit(emitter, 0);
   }
@@ -210,7 +222,8 @@ public class NetworkingModuleTest {
       JavaOnlyArray.of(JavaOnlyArray.of("Content-Type", "text/plain")),
       body,
       true,
-      0);
+      0,
+      null);
 
     ArgumentCaptor<Request> argumentCaptor = ArgumentCaptor.forClass(Request.class);
     verify(httpClient).newCall(argumentCaptor.capture());
@@ -249,7 +262,8 @@ public class NetworkingModuleTest {
       JavaOnlyArray.from(headers),
       null,
       true,
-      0);
+      0,
+      null);
     ArgumentCaptor<Request> argumentCaptor = ArgumentCaptor.forClass(Request.class);
     verify(httpClient).newCall(argumentCaptor.capture());
     Headers requestHeaders = argumentCaptor.getValue().headers();
@@ -298,7 +312,8 @@ public class NetworkingModuleTest {
       new JavaOnlyArray(),
       body,
       true,
-      0);
+      0,
+      null);
 
     // verify url, method, headers
     ArgumentCaptor<Request> argumentCaptor = ArgumentCaptor.forClass(Request.class);
@@ -358,7 +373,8 @@ public class NetworkingModuleTest {
       JavaOnlyArray.from(headers),
       body,
       true,
-      0);
+      0,
+      null);
 
     // verify url, method, headers
     ArgumentCaptor<Request> argumentCaptor = ArgumentCaptor.forClass(Request.class);
@@ -456,7 +472,8 @@ public class NetworkingModuleTest {
       JavaOnlyArray.from(headers),
       body,
       true,
-      0);
+      0,
+      null);
 
     // verify RequestBodyPart for image
     PowerMockito.verifyStatic(times(1));
@@ -485,6 +502,72 @@ public class NetworkingModuleTest {
     assertThat(bodyRequestBody.get(1).contentLength()).isEqualTo("imageUri".getBytes().length);
   }
 
+  @Test
+  public void testSendRequestToFile() throws Exception {
+    RCTDeviceEventEmitter emitter = mock(RCTDeviceEventEmitter.class);
+    ReactApplicationContext context = mock(ReactApplicationContext.class);
+    when(context.getJSModule(any(ExecutorToken.class), any(Class.class))).thenReturn(emitter);
+
+    final byte[] body = new byte[] {0, 1, 2, (byte) 0xff, (byte) 0xfe};
+    OkHttpClient httpClient = mock(OkHttpClient.class);
+    when(httpClient.newCall(any(Request.class))).thenAnswer(new Answer<Object>() {
+      @Override
+      public Object answer(InvocationOnMock invocation) throws Throwable {
+        final Request request = (Request) invocation.getArguments()[0];
+        final Call callMock = mock(Call.class);
+        Mockito.doAnswer(new Answer<Void>() {
+          @Override
+          public Void answer(InvocationOnMock invocation) throws Throwable {
+            Response response = new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .body(ResponseBody.create(MediaType.parse("application/octet-stream"), body))
+                .build();
+            ((Callback) invocation.getArguments()[0]).onResponse(callMock, response);
+            return null;
+          }
+        }).when(callMock).enqueue(any(Callback.class));
+        return callMock;
+      }
+    });
+    NetworkingModule networkingModule = new NetworkingModule(context, "", httpClient);
+
+    mockEvents();
+
+    File destination = File.createTempFile("download", null);
+    try {
+      networkingModule.sendRequestToFile(
+        mock(ExecutorToken.class),
+        "GET",
+        "http://somedomain/image.png",
+        1,
+        JavaOnlyArray.of(),
+        null,
+        0,
+        destination.getPath(),
+        null);
+
+      ArgumentCaptor<WritableArray> captor = ArgumentCaptor.forClass(WritableArray.class);
+      verify(emitter).emit(eq("didReceiveNetworkFile"), captor.capture());
+      assertThat(captor.getValue().getInt(0)).isEqualTo(1);
+      assertThat(captor.getValue().getString(1)).isEqualTo(Uri.fromFile(destination).toString());
+      assertThat(captor.getValue().getDouble(2)).isEqualTo(body.length);
+
+      byte[] written = new byte[(int) destination.length()];
+      DataInputStream input = new DataInputStream(new FileInputStream(destination));
+      try {
+        input.readFully(written);
+      } finally {
+        input.close();
+      }
+      assertThat(written).isEqualTo(body);
+      verify(emitter, times(0)).emit(eq("didReceiveNetworkData"), any(WritableArray.class));
+    } finally {
+      destination.delete();
+    }
+  }
+
   @Test
   public void testCancelAllCallsOnCatalystInstanceDestroy() throws Exception {
     PowerMockito.mockStatic(OkHttpCallUtil.class);
@@ -516,7 +599,8 @@ public class NetworkingModuleTest {
         JavaOnlyArray.of(),
         null,
         true,
-        0);
+        0,
+        null);
     }
     verify(httpClient, times(3)).newCall(any(Request.class));
 
@@ -562,7 +646,8 @@ public class NetworkingModuleTest {
         JavaOnlyArray.of(),
         null,
         true,
-        0);
+        0,
+        null);
     }
     verify(httpClient, times(3)).newCall(any(Request.class));
 
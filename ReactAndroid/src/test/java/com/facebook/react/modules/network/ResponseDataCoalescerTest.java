@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.modules.network;
+
+import java.util.Arrays;
+import java.util.List;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.JavaOnlyArray;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.modules.core.DeviceEventManagerModule.RCTDeviceEventEmitter;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.rule.PowerMockRule;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link ResponseDataCoalescer}.
+ */
+@PrepareForTest({Arguments.class})
+@RunWith(RobolectricTestRunner.class)
+@PowerMockIgnore({"org.mockito.*", "org.robolectric.*", "android.*"})
+public class ResponseDataCoalescerTest {
+
+  private static final long FLUSH_INTERVAL_NS = 60L * 1000 * 1000000; // one minute
+
+  @Rule
+  public PowerMockRule rule = new PowerMockRule();
+
+  private RCTDeviceEventEmitter mEmitter;
+  private ProgressResponseBody mResponseBody;
+
+  @Before
+  public void setUp() {
+    PowerMockito.mockStatic(Arguments.class);
+    Mockito.when(Arguments.createArray()).thenAnswer(
+        new Answer<WritableArray>() {
+          @Override
+          public WritableArray answer(InvocationOnMock invocation) throws Throwable {
+            return new JavaOnlyArray();
+          }
+        });
+    mEmitter = mock(RCTDeviceEventEmitter.class);
+    mResponseBody = new ProgressResponseBody(
+        ResponseBody.create(MediaType.parse("text/plain"), "abcdef"));
+  }
+
+  @Test
+  public void testCoalescesChunksWithinInterval() {
+    ResponseDataCoalescer coalescer = new ResponseDataCoalescer(
+        new Handler(Looper.getMainLooper()),
+        mEmitter,
+        1,
+        mResponseBody,
+        FLUSH_INTERVAL_NS,
+        1024);
+    ShadowLooper.pauseMainLooper();
+
+    coalescer.append("ab".toCharArray(), 2);
+    coalescer.append("cd".toCharArray(), 2);
+    coalescer.append("ef".toCharArray(), 2);
+    coalescer.finish();
+
+    List<String> chunks = captureChunks(2);
+    assertThat(chunks).containsExactly("ab", "cdef");
+    verify(mEmitter, times(2))
+        .emit(eq("didReceiveNetworkDataProgress"), Mockito.any(WritableArray.class));
+  }
+
+  @Test
+  public void testFlushesWhenMaxSizeIsReached() {
+    ResponseDataCoalescer coalescer = new ResponseDataCoalescer(
+        new Handler(Looper.getMainLooper()),
+        mEmitter,
+        1,
+        mResponseBody,
+        FLUSH_INTERVAL_NS,
+        4);
+    ShadowLooper.pauseMainLooper();
+
+    coalescer.append("ab".toCharArray(), 2);
+    coalescer.append("cd".toCharArray(), 2);
+    coalescer.append("ef".toCharArray(), 2);
+    coalescer.append("gh".toCharArray(), 2);
+
+    assertThat(captureChunks(2)).containsExactly("ab", "cdef");
+  }
+
+  @Test
+  public void testSendsNothingAfterCancel() {
+    ResponseDataCoalescer coalescer = new ResponseDataCoalescer(
+        new Handler(Looper.getMainLooper()),
+        mEmitter,
+        1,
+        mResponseBody,
+        FLUSH_INTERVAL_NS,
+        1024);
+    ShadowLooper.pauseMainLooper();
+
+    coalescer.append("ab".toCharArray(), 2);
+    coalescer.append("cd".toCharArray(), 2);
+    coalescer.cancel();
+    coalescer.append("ef".toCharArray(), 2);
+    coalescer.finish();
+    ShadowLooper.idleMainLooper(FLUSH_INTERVAL_NS / 1000000);
+
+    assertThat(captureChunks(1)).containsExactly("ab");
+  }
+
+  private List<String> captureChunks(int count) {
+    ArgumentCaptor<WritableArray> captor = ArgumentCaptor.forClass(WritableArray.class);
+    verify(mEmitter, times(count)).emit(eq("didReceiveNetworkData"), captor.capture());
+    List<WritableArray> events = captor.getAllValues();
+    String[] chunks = new String[events.size()];
+    for (int i = 0; i < chunks.length; i++) {
+      assertThat(events.get(i).getInt(0)).isEqualTo(1);
+      chunks[i] = events.get(i).getString(1);
+    }
+    return Arrays.asList(chunks);
+  }
+}
@@ -0,0 +1,167 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.modules.storage;
+
+import javax.annotation.Nullable;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Checks that {@link MappedLogStorageBackend} stores the same data as the default
+ * {@link SQLiteStorageBackend} for the same sequence of set, merge and remove batches.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class AsyncStorageBackendsTest {
+
+  private static final int KEY_COUNT = 200;
+  private static final int BATCH_SIZE = 50;
+
+  private File mLogFile;
+  private SQLiteStorageBackend mSQLiteBackend;
+  private MappedLogStorageBackend mLogBackend;
+
+  @Before
+  public void setUp() {
+    mLogFile = new File(RuntimeEnvironment.application.getFilesDir(), "backends.log");
+    mLogFile.delete();
+    mSQLiteBackend = new SQLiteStorageBackend(RuntimeEnvironment.application);
+    mLogBackend = new MappedLogStorageBackend(mLogFile);
+    assertThat(mSQLiteBackend.ensureStorage()).isTrue();
+    assertThat(mLogBackend.ensureStorage()).isTrue();
+  }
+
+  @After
+  public void tearDown() {
+    mSQLiteBackend.clearAndClose();
+    mLogBackend.clearAndClose();
+    RuntimeEnvironment.application.deleteDatabase(ReactDatabaseSupplier.DATABASE_NAME);
+    ReactDatabaseSupplier.deleteInstance();
+    mLogFile.delete();
+  }
+
+  @Test
+  public void testBackendsStoreSameData() throws Exception {
+    runWorkload(mSQLiteBackend);
+    runWorkload(mLogBackend);
+
+    List<String> sqliteRows = readAll(mSQLiteBackend);
+    assertThat(sqliteRows).hasSize(KEY_COUNT - KEY_COUNT / 10);
+    assertThat(readAll(mLogBackend)).isEqualTo(sqliteRows);
+  }
+
+  @Test
+  public void testBackendsMergeSameValues() throws Exception {
+    runWorkload(mSQLiteBackend);
+    runWorkload(mLogBackend);
+
+    String[] keys = {"key1", "key2", "key3"};
+    assertThat(multiGet(mLogBackend, keys)).isEqualTo(multiGet(mSQLiteBackend, keys));
+    JSONObject merged = new JSONObject(multiGet(mLogBackend, new String[] {"key1"}).get(0)
+        .substring("key1=".length()));
+    assertThat(merged.getString("value")).isEqualTo("1");
+    assertThat(merged.getString("delta")).isEqualTo("1");
+  }
+
+  @Test
+  public void testBackendsPageKeysInSameOrder() throws Exception {
+    // SQLite orders keys by their UTF-8 bytes, which puts U+1F600 (a surrogate pair in Java)
+    // after U+FB01, unlike String.compareTo
+    String[] keys = {"\uD83D\uDE00", "\uFB01", "\uFB01\uD83D\uDE00", "a"};
+    String[] values = {"1", "2", "3", "4"};
+    mSQLiteBackend.multiSet(keys, values);
+    mLogBackend.multiSet(keys, values);
+
+    List<String> sqliteRows = readAll(mSQLiteBackend);
+    assertThat(sqliteRows)
+        .containsExactly("a=4", "\uFB01=2", "\uFB01\uD83D\uDE00=3", "\uD83D\uDE00=1");
+    assertThat(readAll(mLogBackend)).isEqualTo(sqliteRows);
+    assertThat(readPage(mLogBackend, null, "\uFB01"))
+        .isEqualTo(readPage(mSQLiteBackend, null, "\uFB01"));
+    assertThat(readPage(mLogBackend, "\uFB01", "\uFB01"))
+        .isEqualTo(readPage(mSQLiteBackend, "\uFB01", "\uFB01"));
+  }
+
+  /**
+   * Sets every key, merges into each of them, then removes every tenth one, in batches.
+   */
+  private static void runWorkload(AsyncStorageBackend backend) throws Exception {
+    String[] keys = new String[KEY_COUNT];
+    String[] values = new String[KEY_COUNT];
+    String[] deltas = new String[KEY_COUNT];
+    for (int i = 0; i < KEY_COUNT; i++) {
+      keys[i] = "key" + i;
+      values[i] = new JSONObject().put("value", String.valueOf(i)).toString();
+      deltas[i] = new JSONObject().put("delta", String.valueOf(i)).toString();
+    }
+    for (int batchStart = 0; batchStart < KEY_COUNT; batchStart += BATCH_SIZE) {
+      backend.multiSet(slice(keys, batchStart), slice(values, batchStart));
+    }
+    for (int batchStart = 0; batchStart < KEY_COUNT; batchStart += BATCH_SIZE) {
+      backend.multiMerge(slice(keys, batchStart), slice(deltas, batchStart));
+    }
+    String[] removedKeys = new String[KEY_COUNT / 10];
+    for (int i = 0; i < removedKeys.length; i++) {
+      removedKeys[i] = keys[i * 10];
+    }
+    backend.multiRemove(removedKeys);
+  }
+
+  private static List<String> readAll(AsyncStorageBackend backend) throws Exception {
+    List<String> rows = new ArrayList<>();
+    backend.readRows(null, null, AsyncStorageBackend.NO_LIMIT, true, createReader(rows));
+    return rows;
+  }
+
+  private static List<String> readPage(
+      AsyncStorageBackend backend,
+      @Nullable String prefix,
+      String afterKey) throws Exception {
+    List<String> rows = new ArrayList<>();
+    backend.readRows(prefix, afterKey, 2, true, createReader(rows));
+    return rows;
+  }
+
+  private static List<String> multiGet(AsyncStorageBackend backend, String[] keys)
+      throws Exception {
+    List<String> rows = new ArrayList<>();
+    for (String key : keys) {
+      // One key at a time, as backends may return the rows of a batch in any order
+      backend.multiGet(new String[] {key}, createReader(rows));
+    }
+    return rows;
+  }
+
+  private static AsyncStorageBackend.RowReader createReader(final List<String> rows) {
+    return new AsyncStorageBackend.RowReader() {
+      @Override
+      public void onRow(String key, @Nullable String value) {
+        rows.add(key + "=" + value);
+      }
+    };
+  }
+
+  private static String[] slice(String[] array, int start) {
+    String[] slice = new String[Math.min(BATCH_SIZE, array.length - start)];
+    System.arraycopy(array, start, slice, 0, slice.length);
+    return slice;
+  }
+}
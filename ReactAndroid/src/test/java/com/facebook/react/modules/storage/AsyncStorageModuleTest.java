@@ -319,6 +319,54 @@ public class AsyncStorageModuleTest {
         });
   }
 
+  @Test
+  public void testGetKeysPage() {
+    JavaOnlyArray keyValues = new JavaOnlyArray();
+    keyValues.pushArray(getArray("a:1", "1"));
+    keyValues.pushArray(getArray("b:1", "2"));
+    keyValues.pushArray(getArray("b:2", "3"));
+    keyValues.pushArray(getArray("b:3", "4"));
+    keyValues.pushArray(getArray("c:1", "5"));
+    mStorage.multiSet(keyValues, mock(Callback.class));
+
+    Callback firstPageCallback = mock(Callback.class);
+    mStorage.getKeysPage("b:", null, 2, firstPageCallback);
+    Mockito.verify(firstPageCallback, Mockito.times(1))
+        .invoke(null, getArray("b:1", "b:2"), "b:2");
+
+    Callback lastPageCallback = mock(Callback.class);
+    mStorage.getKeysPage("b:", "b:2", 2, lastPageCallback);
+    Mockito.verify(lastPageCallback, Mockito.times(1)).invoke(null, getArray("b:3"), null);
+
+    Callback allKeysCallback = mock(Callback.class);
+    mStorage.getKeysPage(null, "b:3", 10, allKeysCallback);
+    Mockito.verify(allKeysCallback, Mockito.times(1)).invoke(null, getArray("c:1"), null);
+  }
+
+  @Test
+  public void testMultiGetPage() {
+    JavaOnlyArray keyValues = new JavaOnlyArray();
+    keyValues.pushArray(getArray("a*1", "1"));
+    keyValues.pushArray(getArray("ab1", "2"));
+    keyValues.pushArray(getArray("a*2", "3"));
+    mStorage.multiSet(keyValues, mock(Callback.class));
+
+    // Wildcards in the prefix only match themselves.
+    Callback callback = mock(Callback.class);
+    mStorage.multiGetPage("a*", null, 10, callback);
+    Mockito.verify(callback, Mockito.times(1)).invoke(
+        null,
+        JavaOnlyArray.of(getArray("a*1", "1"), getArray("a*2", "3")),
+        null);
+
+    Callback invalidCallback = mock(Callback.class);
+    mStorage.multiGetPage(null, null, 0, invalidCallback);
+    Mockito.verify(invalidCallback, Mockito.times(1)).invoke(
+        AsyncStorageErrorUtil.getInvalidPageSizeError(),
+        null,
+        null);
+  }
+
   private static JSONArray createJSONArray(Object... objects) {
     return new JSONArray(Arrays.asList(objects));
   }
@@ -0,0 +1,236 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.modules.storage;
+
+import javax.annotation.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link MappedLogStorageBackend}.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class MappedLogStorageBackendTest {
+
+  private File mFile;
+  private MappedLogStorageBackend mBackend;
+
+  @Before
+  public void setUp() throws IOException {
+    mFile = File.createTempFile(MappedLogStorageBackend.FILE_NAME, null);
+    mFile.delete();
+    mBackend = new MappedLogStorageBackend(mFile);
+    assertThat(mBackend.ensureStorage()).isTrue();
+  }
+
+  @After
+  public void tearDown() {
+    mBackend.clearAndClose();
+    mFile.delete();
+  }
+
+  @Test
+  public void testSetGetRemove() throws Exception {
+    mBackend.multiSet(new String[] {"foo1", "foo2"}, new String[] {"bar1", "bar2"});
+    mBackend.multiSet(new String[] {"foo1"}, new String[] {"baz1"});
+    mBackend.multiRemove(new String[] {"foo2", "fakeKey"});
+
+    List<String> rows = readAll(mBackend);
+    assertThat(rows).containsExactly("foo1=baz1");
+
+    mBackend.clear();
+    assertThat(readAll(mBackend)).isEmpty();
+  }
+
+  @Test
+  public void testMultiGetSkipsMissingKeys() throws Exception {
+    mBackend.multiSet(new String[] {"foo1", "foo2"}, new String[] {"bar1", "bar2"});
+
+    final List<String> rows = new ArrayList<>();
+    mBackend.multiGet(
+        new String[] {"foo2", "fakeKey", "foo2"},
+        new AsyncStorageBackend.RowReader() {
+          @Override
+          public void onRow(String key, @Nullable String value) {
+            rows.add(key + "=" + value);
+          }
+        });
+    assertThat(rows).containsExactly("foo2=bar2");
+  }
+
+  @Test
+  public void testMergeSameKeyInOneBatch() throws Exception {
+    mBackend.multiSet(new String[] {"merge"}, new String[] {"{\"a\":1}"});
+    mBackend.multiMerge(
+        new String[] {"merge", "merge", "new"},
+        new String[] {"{\"b\":{\"c\":2}}", "{\"b\":{\"d\":3}}", "{\"e\":4}"});
+
+    assertThat(readAll(mBackend)).containsExactly(
+        "merge={\"a\":1,\"b\":{\"c\":2,\"d\":3}}",
+        "new={\"e\":4}");
+  }
+
+  @Test
+  public void testReadRowsWithPrefixAndCursor() throws Exception {
+    mBackend.multiSet(
+        new String[] {"a:1", "b:1", "b:2", "b:3", "c:1"},
+        new String[] {"1", "2", "3", "4", "5"});
+
+    final List<String> keys = new ArrayList<>();
+    AsyncStorageBackend.RowReader reader = new AsyncStorageBackend.RowReader() {
+      @Override
+      public void onRow(String key, @Nullable String value) {
+        assertThat(value).isNull();
+        keys.add(key);
+      }
+    };
+
+    mBackend.readRows("b:", null, 2, false, reader);
+    assertThat(keys).containsExactly("b:1", "b:2");
+
+    keys.clear();
+    mBackend.readRows("b:", "b:2", 2, false, reader);
+    assertThat(keys).containsExactly("b:3");
+
+    keys.clear();
+    mBackend.readRows("b:", "a:9", AsyncStorageBackend.NO_LIMIT, false, reader);
+    assertThat(keys).containsExactly("b:1", "b:2", "b:3");
+  }
+
+  @Test
+  public void testReopenReplaysLog() throws Exception {
+    mBackend.multiSet(new String[] {"foo1", "foo2"}, new String[] {"bar1", "bar2"});
+    mBackend.multiRemove(new String[] {"foo1"});
+
+    MappedLogStorageBackend reopened = new MappedLogStorageBackend(mFile);
+    assertThat(readAll(reopened)).containsExactly("foo2=bar2");
+  }
+
+  @Test
+  public void testReopenIgnoresCorruptRecord() throws Exception {
+    mBackend.multiSet(new String[] {"foo1"}, new String[] {"bar1"});
+    long firstBatchEnd = tail();
+    mBackend.multiSet(new String[] {"foo2"}, new String[] {"bar2"});
+
+    // Flip the last byte of the second record's value.
+    RandomAccessFile file = new RandomAccessFile(mFile, "rw");
+    try {
+      file.seek(tail() - 1);
+      file.write('X');
+    } finally {
+      file.close();
+    }
+
+    MappedLogStorageBackend reopened = new MappedLogStorageBackend(mFile);
+    assertThat(readAll(reopened)).containsExactly("foo1=bar1");
+    assertThat(tail()).isEqualTo(firstBatchEnd);
+  }
+
+  @Test
+  public void testCompactsWhenFull() throws Exception {
+    mBackend.setMaximumSize(64 * 1024);
+    String value = createValue(1000);
+    for (int i = 0; i < 200; i++) {
+      mBackend.multiSet(new String[] {"key" + (i % 10)}, new String[] {value + i});
+    }
+
+    List<String> rows = readAll(mBackend);
+    assertThat(rows.size()).isEqualTo(10);
+    assertThat(rows.get(0)).isEqualTo("key0=" + value + 190);
+    assertThat(tail()).isLessThan(64 * 1024);
+  }
+
+  @Test(expected = IOException.class)
+  public void testFailsWhenFullOfLiveData() throws Exception {
+    mBackend.setMaximumSize(16 * 1024);
+    String value = createValue(1000);
+    for (int i = 0; i < 20; i++) {
+      mBackend.multiSet(new String[] {"key" + i}, new String[] {value});
+    }
+  }
+
+  @Test
+  public void testDoesNotCompactFullLogWithLittleGarbage() throws Exception {
+    mBackend.setMaximumSize(16 * 1024);
+    String value = createValue(1000);
+    for (int i = 0; i < 15; i++) {
+      mBackend.multiSet(new String[] {"key" + i}, new String[] {value});
+    }
+    // Overwriting a value leaves far less garbage than an eighth of the maximum size
+    mBackend.multiSet(new String[] {"key0"}, new String[] {value});
+    long fullTail = tail();
+
+    try {
+      mBackend.multiSet(new String[] {"key1"}, new String[] {value});
+      fail("Expected the log to be full");
+    } catch (IOException e) {
+      // Expected
+    }
+    assertThat(tail()).isEqualTo(fullTail);
+  }
+
+  @Test
+  public void testOrdersKeysByUTF8Bytes() throws Exception {
+    // U+1F600 is encoded as a surrogate pair, which String.compareTo orders before U+FB01
+    mBackend.multiSet(
+        new String[] {"\uD83D\uDE00", "\uFB01", "a"},
+        new String[] {"emoji", "ligature", "letter"});
+
+    assertThat(readAll(mBackend))
+        .containsExactly("a=letter", "\uFB01=ligature", "\uD83D\uDE00=emoji");
+  }
+
+  private long tail() throws IOException {
+    RandomAccessFile file = new RandomAccessFile(mFile, "r");
+    try {
+      file.seek(8);
+      return file.readLong();
+    } finally {
+      file.close();
+    }
+  }
+
+  private static String createValue(int length) {
+    StringBuilder value = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      value.append((char) ('a' + i % 26));
+    }
+    return value.toString();
+  }
+
+  private static List<String> readAll(AsyncStorageBackend backend) throws Exception {
+    final List<String> rows = new ArrayList<>();
+    backend.readRows(
+        null,
+        null,
+        AsyncStorageBackend.NO_LIMIT,
+        true,
+        new AsyncStorageBackend.RowReader() {
+          @Override
+          public void onRow(String key, @Nullable String value) {
+            rows.add(key + "=" + value);
+          }
+        });
+    return rows;
+  }
+}
@@ -0,0 +1,212 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.processing;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Tests for the stubs {@link JavaScriptModuleProcessor} generates, by compiling module interfaces
+ * with it.
+ */
+public class JavaScriptModuleProcessorTest {
+
+  private File mOutputDir;
+  private DiagnosticCollector<JavaFileObject> mDiagnostics;
+
+  @Before
+  public void setUp() throws IOException {
+    mOutputDir = Files.createTempDirectory("processor").toFile();
+    mDiagnostics = new DiagnosticCollector<>();
+  }
+
+  @After
+  public void tearDown() {
+    deleteRecursively(mOutputDir);
+  }
+
+  @Test
+  public void testGeneratesTypedStub() throws IOException {
+    assertThat(compile(
+        "test.EventEmitter",
+        "package test;\n" +
+            "import com.facebook.react.bridge.JavaScriptModule;\n" +
+            "import com.facebook.react.bridge.WritableMap;\n" +
+            "public interface EventEmitter extends JavaScriptModule {\n" +
+            "  void emit(String eventName, int count, boolean flag, WritableMap data);\n" +
+            "  void emitAny(Object data);\n" +
+            "}\n")).isTrue();
+
+    String stub = readGeneratedSource("test/EventEmitter$$JSModuleStub.java");
+    assertThat(stub)
+        .contains("extends JavaScriptModuleStub")
+        .contains("implements EventEmitter")
+        .contains("arguments.pushDouble(count)")
+        .contains("arguments.pushBoolean(flag)")
+        .contains("pushString(arguments, eventName)")
+        .contains("pushMap(arguments, data)")
+        .contains("pushObject(arguments, data)")
+        .contains("callFunction(\"emit\", \"JSCall__EventEmitter_emit\", arguments)");
+    assertThat(new File(mOutputDir, "test/EventEmitter$$JSModuleStub.class").exists()).isTrue();
+  }
+
+  @Test
+  public void testRenamesArgumentsArrayOnClash() throws IOException {
+    assertThat(compile(
+        "test.Module",
+        "package test;\n" +
+            "public interface Module extends com.facebook.react.bridge.JavaScriptModule {\n" +
+            "  void call(String arguments);\n" +
+            "}\n")).isTrue();
+
+    assertThat(readGeneratedSource("test/Module$$JSModuleStub.java"))
+        .contains("pushString($arguments, arguments)");
+  }
+
+  @Test
+  public void testNamesNestedInterfaceStubsAfterBinaryName() throws IOException {
+    assertThat(compile(
+        "test.Outer",
+        "package test;\n" +
+            "public class Outer {\n" +
+            "  public interface Inner extends com.facebook.react.bridge.JavaScriptModule {\n" +
+            "    void call();\n" +
+            "  }\n" +
+            "}\n")).isTrue();
+
+    assertThat(readGeneratedSource("test/Outer$Inner$$JSModuleStub.java"))
+        .contains("callFunction(\"call\", \"JSCall__Inner_call\", arguments)");
+  }
+
+  @Test
+  public void testLeavesUnsupportedModulesToProxy() {
+    assertThat(compile(
+        "test.Unsupported",
+        "package test;\n" +
+            "import com.facebook.react.bridge.JavaScriptModule;\n" +
+            "public class Unsupported {\n" +
+            "  public interface Overloaded extends JavaScriptModule {\n" +
+            "    void call(int value);\n" +
+            "    void call(String value);\n" +
+            "  }\n" +
+            "  public interface Generic<T> extends JavaScriptModule {\n" +
+            "    void call(T value);\n" +
+            "  }\n" +
+            "  public interface NonVoid extends JavaScriptModule {\n" +
+            "    int call();\n" +
+            "  }\n" +
+            "}\n")).isTrue();
+
+    assertThat(new File(mOutputDir, "test/Unsupported$Overloaded$$JSModuleStub.java").exists())
+        .isFalse();
+    assertThat(new File(mOutputDir, "test/Unsupported$Generic$$JSModuleStub.java").exists())
+        .isFalse();
+    assertThat(new File(mOutputDir, "test/Unsupported$NonVoid$$JSModuleStub.java").exists())
+        .isFalse();
+    assertThat(getWarningCount()).isEqualTo(3);
+  }
+
+  /**
+   * Compiles the given source with the processor, into the output directory.
+   *
+   * @return whether compilation succeeded
+   */
+  private boolean compile(String className, String source) {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    StandardJavaFileManager fileManager =
+        compiler.getStandardFileManager(mDiagnostics, null, Charset.forName("UTF-8"));
+    try {
+      fileManager.setLocation(
+          StandardLocation.CLASS_OUTPUT,
+          Collections.singletonList(mOutputDir));
+      fileManager.setLocation(
+          StandardLocation.SOURCE_OUTPUT,
+          Collections.singletonList(mOutputDir));
+      List<String> options = Arrays.asList(
+          "-classpath",
+          System.getProperty("java.class.path"));
+      JavaCompiler.CompilationTask task = compiler.getTask(
+          null,
+          fileManager,
+          mDiagnostics,
+          options,
+          null,
+          Collections.singletonList(new SourceFile(className, source)));
+      task.setProcessors(Collections.singletonList(new JavaScriptModuleProcessor()));
+      return task.call();
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private String readGeneratedSource(String path) throws IOException {
+    return new String(
+        Files.readAllBytes(new File(mOutputDir, path).toPath()),
+        Charset.forName("UTF-8"));
+  }
+
+  private int getWarningCount() {
+    int count = 0;
+    for (Diagnostic<? extends JavaFileObject> diagnostic : mDiagnostics.getDiagnostics()) {
+      if (diagnostic.getKind() == Diagnostic.Kind.WARNING &&
+          diagnostic.getMessage(null).contains("A proxy will be used instead")) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static void deleteRecursively(File file) {
+    File[] children = file.listFiles();
+    if (children != null) {
+      for (File child : children) {
+        deleteRecursively(child);
+      }
+    }
+    file.delete();
+  }
+
+  private static class SourceFile extends SimpleJavaFileObject {
+    private final String mSource;
+
+    private SourceFile(String className, String source) {
+      super(
+          URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension),
+          Kind.SOURCE);
+      mSource = source;
+    }
+
+    @Override
+    public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+      return mSource;
+    }
+  }
+}
@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.uimanager;
+
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.modules.junit4.rule.PowerMockRule;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.shadows.ShadowLooper;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Tests for promoting animated views to hardware layers with {@link HardwareLayerManager}
+ */
+@RunWith(RobolectricTestRunner.class)
+@PowerMockIgnore({"org.mockito.*", "org.robolectric.*", "android.*"})
+public class HardwareLayerManagerTest {
+
+  @Rule
+  public PowerMockRule rule = new PowerMockRule();
+
+  private static final int SIZE = 100;
+  private static final long LAYER_BYTES = SIZE * SIZE * 4;
+
+  private HardwareLayerManager mHardwareLayerManager;
+
+  @Before
+  public void setup() {
+    mHardwareLayerManager = new HardwareLayerManager(2 * LAYER_BYTES);
+  }
+
+  @Test
+  public void testLayerIsKeptUntilAfterAnimationEnds() {
+    View view = createView();
+    mHardwareLayerManager.acquire(view);
+    assertThat(view.getLayerType()).isEqualTo(View.LAYER_TYPE_HARDWARE);
+    assertThat(mHardwareLayerManager.getLayerBytes()).isEqualTo(LAYER_BYTES);
+
+    mHardwareLayerManager.release(view);
+    assertThat(view.getLayerType()).isEqualTo(View.LAYER_TYPE_HARDWARE);
+    mHardwareLayerManager.acquire(view);
+    mHardwareLayerManager.release(view);
+    ShadowLooper.idleMainLooper(1000);
+    assertThat(view.getLayerType()).isEqualTo(View.LAYER_TYPE_NONE);
+    assertThat(mHardwareLayerManager.getPromotionsCount()).isEqualTo(1);
+    assertThat(mHardwareLayerManager.getDemotionsCount()).isEqualTo(1);
+    assertThat(mHardwareLayerManager.getLayerBytes()).isEqualTo(0);
+  }
+
+  @Test
+  public void testViewIsPromotedAfterConsecutiveFrames() {
+    View view = createView();
+    mHardwareLayerManager.onAnimationFrame(view);
+    assertThat(view.getLayerType()).isEqualTo(View.LAYER_TYPE_NONE);
+    ShadowLooper.idleMainLooper(16);
+    mHardwareLayerManager.onAnimationFrame(view);
+    assertThat(view.getLayerType()).isEqualTo(View.LAYER_TYPE_HARDWARE);
+
+    ShadowLooper.idleMainLooper(1000);
+    assertThat(view.getLayerType()).isEqualTo(View.LAYER_TYPE_NONE);
+  }
+
+  @Test
+  public void testViewWithLayerIsLeftAlone() {
+    View view = createView();
+    view.setLayerType(View.LAYER_TYPE_SOFTWARE, null);
+    mHardwareLayerManager.acquire(view);
+    mHardwareLayerManager.release(view);
+    ShadowLooper.idleMainLooper(1000);
+
+    assertThat(view.getLayerType()).isEqualTo(View.LAYER_TYPE_SOFTWARE);
+    assertThat(mHardwareLayerManager.getPromotionsCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void testLayerTypeSetWhilePromotedIsKept() {
+    View view = createView();
+    mHardwareLayerManager.acquire(view);
+    // e.g. renderToHardwareTextureAndroid set by JS during the animation
+    view.setLayerType(View.LAYER_TYPE_HARDWARE, null);
+    mHardwareLayerManager.onLayerTypeSet(view);
+    mHardwareLayerManager.release(view);
+    ShadowLooper.idleMainLooper(1000);
+
+    assertThat(view.getLayerType()).isEqualTo(View.LAYER_TYPE_HARDWARE);
+    assertThat(mHardwareLayerManager.getDemotionsCount()).isEqualTo(1);
+    assertThat(mHardwareLayerManager.getLayerBytes()).isEqualTo(0);
+  }
+
+  @Test
+  public void testLayerMemoryIsBounded() {
+    View[] views = {createView(), createView(), createView()};
+    for (View view : views) {
+      mHardwareLayerManager.acquire(view);
+    }
+    assertThat(views[2].getLayerType()).isEqualTo(View.LAYER_TYPE_NONE);
+    assertThat(mHardwareLayerManager.getSkippedPromotionsCount()).isEqualTo(1);
+
+    // Layers kept around after their animation ended make room for new ones
+    mHardwareLayerManager.release(views[0]);
+    mHardwareLayerManager.release(views[2]);
+    ShadowLooper.idleMainLooper(200);
+    mHardwareLayerManager.acquire(views[2]);
+    assertThat(views[0].getLayerType()).isEqualTo(View.LAYER_TYPE_NONE);
+    assertThat(views[2].getLayerType()).isEqualTo(View.LAYER_TYPE_HARDWARE);
+    assertThat(mHardwareLayerManager.getPeakLayerBytes()).isEqualTo(2 * LAYER_BYTES);
+  }
+
+  @Test
+  public void testTrimAndDropView() {
+    View view = createView();
+    View otherView = createView();
+    mHardwareLayerManager.acquire(view);
+    mHardwareLayerManager.acquire(otherView);
+    mHardwareLayerManager.release(view);
+
+    mHardwareLayerManager.trim();
+    assertThat(view.getLayerType()).isEqualTo(View.LAYER_TYPE_NONE);
+    assertThat(otherView.getLayerType()).isEqualTo(View.LAYER_TYPE_HARDWARE);
+    mHardwareLayerManager.onDropView(otherView);
+    assertThat(otherView.getLayerType()).isEqualTo(View.LAYER_TYPE_NONE);
+    assertThat(mHardwareLayerManager.getLayerBytes()).isEqualTo(0);
+  }
+
+  private static View createView() {
+    View view = new View(RuntimeEnvironment.application);
+    view.layout(0, 0, SIZE, SIZE);
+    return view;
+  }
+}
@@ -0,0 +1,328 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.uimanager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import android.view.View;
+
+import com.facebook.react.bridge.CatalystInstance;
+import com.facebook.react.bridge.MemoryPressure;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactTestHelper;
+import com.facebook.react.touch.JSResponderHandler;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.modules.junit4.rule.PowerMockRule;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Tests for recycling views through {@link ViewManager} and {@link ViewRecycler}, and creating
+ * them ahead of time with {@link ViewPrefetcher}
+ */
+@RunWith(RobolectricTestRunner.class)
+@PowerMockIgnore({"org.mockito.*", "org.robolectric.*", "android.*"})
+public class ViewRecyclerTest {
+
+  @Rule
+  public PowerMockRule rule = new PowerMockRule();
+
+  private static class RecyclingViewManager extends SimpleViewManager<View> {
+
+    private final boolean mRecycling;
+    private int mPreparedViewsCount;
+    private int mDroppedViewsCount;
+
+    RecyclingViewManager(boolean recycling) {
+      mRecycling = recycling;
+    }
+
+    @Override
+    protected View createViewInstance(ThemedReactContext reactContext) {
+      return new View(reactContext);
+    }
+
+    @Override
+    protected boolean prepareToRecycleView(View view) {
+      mPreparedViewsCount++;
+      resetBaseViewProperties(view);
+      return mRecycling;
+    }
+
+    @Override
+    protected boolean canPrefetchViews() {
+      return mRecycling;
+    }
+
+    @Override
+    public void onDropViewInstance(View view) {
+      mDroppedViewsCount++;
+    }
+
+    @Override
+    public String getName() {
+      return "RecyclingView";
+    }
+  }
+
+  private ReactApplicationContext mContext;
+  private ThemedReactContext mThemedContext;
+  private JSResponderHandler mJSResponderHandler;
+
+  @Before
+  public void setup() {
+    mContext = new ReactApplicationContext(RuntimeEnvironment.application);
+    CatalystInstance catalystInstanceMock = ReactTestHelper.createMockCatalystInstance();
+    mContext.initializeWithInstance(catalystInstanceMock);
+    mThemedContext = new ThemedReactContext(mContext, mContext);
+    mJSResponderHandler = new JSResponderHandler();
+  }
+
+  @After
+  public void tearDown() {
+    ViewRecyclerMonitor.setStatsListener(null);
+  }
+
+  @Test
+  public void testDroppedViewIsReused() {
+    RecyclingViewManager manager = new RecyclingViewManager(true);
+    View view = manager.createView(mThemedContext, mJSResponderHandler);
+    view.setAlpha(0.5f);
+    manager.recycleView(view);
+
+    View recycledView = manager.createView(mThemedContext, mJSResponderHandler);
+    assertThat(recycledView).isSameAs(view);
+    assertThat(recycledView.getAlpha()).isEqualTo(1f);
+    assertThat(manager.getViewRecycler().getCreatedViewsCount()).isEqualTo(1);
+    assertThat(manager.getViewRecycler().getRecycledViewsCount()).isEqualTo(1);
+    assertThat(manager.createView(mThemedContext, mJSResponderHandler)).isNotSameAs(view);
+  }
+
+  @Test
+  public void testViewIsNotReusedUnlessManagerOptsIn() {
+    RecyclingViewManager manager = new RecyclingViewManager(false);
+    View view = manager.createView(mThemedContext, mJSResponderHandler);
+    manager.recycleView(view);
+
+    assertThat(manager.mPreparedViewsCount).isEqualTo(1);
+    assertThat(manager.createView(mThemedContext, mJSResponderHandler)).isNotSameAs(view);
+    assertThat(manager.getViewRecycler().getRecycledViewsCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void testViewIsNotReusedWithAnotherContext() {
+    RecyclingViewManager manager = new RecyclingViewManager(true);
+    View view = manager.createView(mThemedContext, mJSResponderHandler);
+    manager.recycleView(view);
+
+    ThemedReactContext otherContext =
+        new ThemedReactContext(mContext, RuntimeEnvironment.application);
+    assertThat(manager.createView(otherContext, mJSResponderHandler)).isNotSameAs(view);
+    assertThat(manager.getViewRecycler().size()).isEqualTo(0);
+  }
+
+  @Test
+  public void testPoolIsBounded() {
+    RecyclingViewManager manager = new RecyclingViewManager(true);
+    manager.setRecycledViewsPoolSize(2);
+    for (int i = 0; i < 3; i++) {
+      manager.recycleView(new View(mThemedContext));
+    }
+
+    assertThat(manager.getViewRecycler().size()).isEqualTo(2);
+    assertThat(manager.mPreparedViewsCount).isEqualTo(2);
+    manager.setRecycledViewsPoolSize(1);
+    assertThat(manager.getViewRecycler().size()).isEqualTo(1);
+  }
+
+  @Test
+  public void testTrimOnMemoryPressure() {
+    RecyclingViewManager manager = new RecyclingViewManager(true);
+    for (int i = 0; i < 4; i++) {
+      manager.recycleView(new View(mThemedContext));
+    }
+
+    manager.trimRecycledViews(MemoryPressure.UI_HIDDEN);
+    assertThat(manager.getViewRecycler().size()).isEqualTo(2);
+    manager.trimRecycledViews(MemoryPressure.MODERATE);
+    assertThat(manager.getViewRecycler().size()).isEqualTo(0);
+  }
+
+  @Test
+  public void testDropRecycledViewsOfContext() {
+    RecyclingViewManager manager = new RecyclingViewManager(true);
+    ThemedReactContext otherContext =
+        new ThemedReactContext(mContext, RuntimeEnvironment.application);
+    manager.recycleView(new View(mThemedContext));
+    manager.recycleView(new View(otherContext));
+    manager.recycleView(new View(mThemedContext));
+
+    manager.dropRecycledViews(mThemedContext);
+    assertThat(manager.getViewRecycler().size()).isEqualTo(1);
+    assertThat(manager.createView(otherContext, mJSResponderHandler).getContext())
+        .isSameAs(otherContext);
+    assertThat(manager.getViewRecycler().getRecycledViewsCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void testDiscardedViewsAreDropped() {
+    RecyclingViewManager manager = new RecyclingViewManager(true);
+    ThemedReactContext otherContext =
+        new ThemedReactContext(mContext, RuntimeEnvironment.application);
+    for (int i = 0; i < 4; i++) {
+      manager.recycleView(new View(mThemedContext));
+    }
+    manager.recycleView(new View(otherContext));
+
+    manager.createView(mThemedContext, mJSResponderHandler);
+    assertThat(manager.mDroppedViewsCount).isEqualTo(1);
+    manager.trimRecycledViews(MemoryPressure.UI_HIDDEN);
+    assertThat(manager.mDroppedViewsCount).isEqualTo(3);
+    manager.recycleView(new View(otherContext));
+    manager.dropRecycledViews(mThemedContext);
+    assertThat(manager.mDroppedViewsCount).isEqualTo(4);
+    manager.setRecycledViewsPoolSize(0);
+    assertThat(manager.mDroppedViewsCount).isEqualTo(5);
+    assertThat(manager.getViewRecycler().size()).isEqualTo(0);
+  }
+
+  @Test
+  public void testStatsAreReportedBeforeTrimming() {
+    RecyclingViewManager manager = new RecyclingViewManager(true);
+    RecyclingViewManager otherManager = new RecyclingViewManager(false) {
+      @Override
+      public String getName() {
+        return "OtherView";
+      }
+    };
+    ViewManagerRegistry registry =
+        new ViewManagerRegistry(Arrays.<ViewManager>asList(manager, otherManager));
+    final List<ViewRecyclerStats> reportedStats = new ArrayList<>();
+    ViewRecyclerMonitor.setStatsListener(new ViewRecyclerMonitor.StatsListener() {
+      @Override
+      public void onViewRecyclerStats(ViewRecyclerStats stats) {
+        reportedStats.add(stats);
+      }
+    });
+
+    manager.recycleView(manager.createView(mThemedContext, mJSResponderHandler));
+    manager.createView(mThemedContext, mJSResponderHandler);
+    manager.recycleView(new View(mThemedContext));
+    otherManager.recycleView(otherManager.createView(mThemedContext, mJSResponderHandler));
+    registry.trimRecycledViews(MemoryPressure.MODERATE);
+
+    // Managers that haven't recycled anything aren't reported
+    assertThat(reportedStats).hasSize(1);
+    ViewRecyclerStats stats = reportedStats.get(0);
+    assertThat(stats.getViewManagerName()).isEqualTo("RecyclingView");
+    assertThat(stats.getCreatedViewsCount()).isEqualTo(1);
+    assertThat(stats.getRecycledViewsCount()).isEqualTo(1);
+    assertThat(stats.getPooledViewsCount()).isEqualTo(1);
+    assertThat(manager.getViewRecyclerStats().getPooledViewsCount()).isEqualTo(0);
+
+    reportedStats.clear();
+    registry.dropRecycledViews(mThemedContext);
+    assertThat(reportedStats).hasSize(1);
+  }
+
+  @Test
+  public void testPrefetchedViewIsUsed() {
+    RecyclingViewManager manager = new RecyclingViewManager(true);
+    ViewPrefetcher prefetcher = new ViewPrefetcher();
+    prefetcher.prefetch(manager, mThemedContext, 2);
+    assertThat(prefetcher.queueIdle()).isFalse();
+
+    ViewRecycler viewRecycler = manager.getViewRecycler();
+    assertThat(viewRecycler.size()).isEqualTo(2);
+    assertThat(viewRecycler.getPrefetchedViewsCount()).isEqualTo(2);
+    for (int i = 0; i < 3; i++) {
+      manager.createView(mThemedContext, mJSResponderHandler);
+    }
+    assertThat(viewRecycler.getPrefetchHitsCount()).isEqualTo(2);
+    assertThat(viewRecycler.getPrefetchMissesCount()).isEqualTo(1);
+    assertThat(viewRecycler.getCreatedViewsCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void testPrefetchStatsAreReported() {
+    RecyclingViewManager manager = new RecyclingViewManager(true);
+    ViewManagerRegistry registry =
+        new ViewManagerRegistry(Arrays.<ViewManager>asList(manager));
+    final List<ViewRecyclerStats> reportedStats = new ArrayList<>();
+    ViewRecyclerMonitor.setStatsListener(new ViewRecyclerMonitor.StatsListener() {
+      @Override
+      public void onViewRecyclerStats(ViewRecyclerStats stats) {
+        reportedStats.add(stats);
+      }
+    });
+    ViewPrefetcher prefetcher = new ViewPrefetcher();
+    prefetcher.prefetch(manager, mThemedContext, 2);
+    prefetcher.queueIdle();
+
+    // Reported even though none of the prefetched views has been used yet
+    registry.trimRecycledViews(MemoryPressure.UI_HIDDEN);
+    assertThat(reportedStats).hasSize(1);
+    assertThat(reportedStats.get(0).getPrefetchedViewsCount()).isEqualTo(2);
+    assertThat(reportedStats.get(0).getPrefetchHitsCount()).isEqualTo(0);
+
+    manager.createView(mThemedContext, mJSResponderHandler);
+    manager.createView(mThemedContext, mJSResponderHandler);
+    ViewRecyclerStats stats = manager.getViewRecyclerStats();
+    assertThat(stats.getPrefetchHitsCount()).isEqualTo(1);
+    assertThat(stats.getPrefetchMissesCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void testPrefetchTopsUpPool() {
+    RecyclingViewManager manager = new RecyclingViewManager(true);
+    manager.recycleView(new View(mThemedContext));
+    ViewPrefetcher prefetcher = new ViewPrefetcher();
+    prefetcher.prefetch(manager, mThemedContext, 3);
+    prefetcher.prefetch(manager, mThemedContext, 4);
+    prefetcher.queueIdle();
+
+    assertThat(manager.getViewRecycler().size()).isEqualTo(4);
+    assertThat(manager.getViewRecycler().getPrefetchedViewsCount()).isEqualTo(3);
+    manager.createView(mThemedContext, mJSResponderHandler);
+    assertThat(manager.getViewRecycler().getPrefetchHitsCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void testCancelPrefetch() {
+    RecyclingViewManager manager = new RecyclingViewManager(true);
+    ViewPrefetcher prefetcher = new ViewPrefetcher();
+    prefetcher.prefetch(manager, mThemedContext, 2);
+    prefetcher.cancel(mThemedContext);
+    prefetcher.queueIdle();
+
+    assertThat(manager.getViewRecycler().size()).isEqualTo(0);
+  }
+
+  @Test
+  public void testViewsAreNotPrefetchedUnlessManagerOptsIn() {
+    RecyclingViewManager manager = new RecyclingViewManager(false);
+    ViewPrefetcher prefetcher = new ViewPrefetcher();
+    prefetcher.prefetch(manager, mThemedContext, 2);
+    assertThat(prefetcher.queueIdle()).isFalse();
+
+    assertThat(manager.getViewRecycler().size()).isEqualTo(0);
+    assertThat(manager.getViewRecycler().getPrefetchedViewsCount()).isEqualTo(0);
+  }
+}
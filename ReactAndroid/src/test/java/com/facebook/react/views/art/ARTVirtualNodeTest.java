@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.views.art;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.util.DisplayMetrics;
+
+import com.facebook.react.uimanager.DisplayMetricsHolder;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.modules.junit4.rule.PowerMockRule;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for drawing {@link ARTVirtualNode}s through the pictures recorded by
+ * {@link ARTVirtualNode#drawRecorded}
+ */
+@RunWith(RobolectricTestRunner.class)
+@PowerMockIgnore({"org.mockito.*", "org.robolectric.*", "android.*"})
+public class ARTVirtualNodeTest {
+
+  @Rule
+  public PowerMockRule rule = new PowerMockRule();
+
+  private static class CountingNode extends ARTVirtualNode {
+    private int mDrawCount;
+
+    @Override
+    public void draw(Canvas canvas, Paint paint, float opacity) {
+      mDrawCount++;
+    }
+  }
+
+  private Paint mPaint;
+
+  @Before
+  public void setup() {
+    DisplayMetricsHolder.setWindowDisplayMetrics(new DisplayMetrics());
+    mPaint = new Paint();
+  }
+
+  @After
+  public void teardown() {
+    DisplayMetricsHolder.setWindowDisplayMetrics(null);
+  }
+
+  @Test
+  public void testRecordsAgainOnlyWhenUpdated() {
+    CountingNode node = new CountingNode();
+    node.drawRecorded(mock(Canvas.class), mPaint, 1f);
+    node.drawRecorded(mock(Canvas.class), mPaint, 1f);
+    assertThat(node.mDrawCount).isEqualTo(1);
+
+    node.setOpacity(0.5f);
+    node.drawRecorded(mock(Canvas.class), mPaint, 1f);
+    assertThat(node.mDrawCount).isEqualTo(2);
+
+    node.drawRecorded(mock(Canvas.class), mPaint, 0.5f);
+    assertThat(node.mDrawCount).isEqualTo(3);
+  }
+
+  @Test
+  public void testPlaysBackRecordingOffsetFromOrigin() {
+    CountingNode node = new CountingNode();
+    Canvas canvas = mock(Canvas.class);
+    node.drawRecorded(canvas, mPaint, 1f);
+
+    // The content is recorded offset so that it isn't culled at negative coordinates
+    InOrder inOrder = inOrder(canvas);
+    inOrder.verify(canvas).save();
+    inOrder.verify(canvas).translate(
+        -ARTVirtualNode.RECORDING_EXTENT,
+        -ARTVirtualNode.RECORDING_EXTENT);
+    inOrder.verify(canvas).restore();
+  }
+}
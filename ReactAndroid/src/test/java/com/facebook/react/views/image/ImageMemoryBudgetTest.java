@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.views.image;
+
+import android.os.SystemClock;
+
+import com.facebook.react.bridge.MemoryPressure;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.modules.junit4.rule.PowerMockRule;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Tests for scaling down decoded images with {@link ImageMemoryBudget}
+ */
+@RunWith(RobolectricTestRunner.class)
+@PowerMockIgnore({"org.mockito.*", "org.robolectric.*", "android.*"})
+public class ImageMemoryBudgetTest {
+
+  @Rule
+  public PowerMockRule rule = new PowerMockRule();
+
+  private static final int MAX_BYTES = 1000;
+
+  private ImageMemoryBudget mMemoryBudget;
+
+  @Before
+  public void setup() {
+    mMemoryBudget = new ImageMemoryBudget(MAX_BYTES);
+  }
+
+  @Test
+  public void testImagesAreScaledDownOverBudget() {
+    mMemoryBudget.onDecodedImageChanged(0, 600);
+    mMemoryBudget.onDecodedImageChanged(0, 400);
+    assertThat(getResizeScale()).isEqualTo(1f);
+
+    mMemoryBudget.onDecodedImageChanged(400, 500);
+    assertThat(getResizeScale()).isLessThan(1f);
+    assertThat(mMemoryBudget.getDecodedBytes()).isEqualTo(1100);
+
+    mMemoryBudget.onDecodedImageChanged(600, 0);
+    assertThat(getResizeScale()).isEqualTo(1f);
+    assertThat(mMemoryBudget.getPeakDecodedBytes()).isEqualTo(1100);
+  }
+
+  @Test
+  public void testImagesAreScaledDownUnderMemoryPressure() {
+    mMemoryBudget.onMemoryPressure(MemoryPressure.UI_HIDDEN);
+    assertThat(getResizeScale()).isEqualTo(1f);
+
+    mMemoryBudget.onMemoryPressure(MemoryPressure.MODERATE);
+    float resizeScale = getResizeScale();
+    assertThat(resizeScale).isLessThan(1f);
+    mMemoryBudget.onDecodedImageChanged(0, 2 * MAX_BYTES);
+    assertThat(getResizeScale()).isLessThan(resizeScale);
+
+    SystemClock.sleep(60000);
+    mMemoryBudget.onDecodedImageChanged(2 * MAX_BYTES, 0);
+    assertThat(getResizeScale()).isEqualTo(1f);
+  }
+
+  private float getResizeScale() {
+    return mMemoryBudget.getResizeScale(RuntimeEnvironment.application);
+  }
+}
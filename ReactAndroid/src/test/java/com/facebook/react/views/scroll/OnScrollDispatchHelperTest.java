@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.views.scroll;
+
+import android.os.SystemClock;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.modules.junit4.rule.PowerMockRule;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Tests for throttling scroll events with {@link OnScrollDispatchHelper}
+ */
+@RunWith(RobolectricTestRunner.class)
+@PowerMockIgnore({"org.mockito.*", "org.robolectric.*", "android.*"})
+public class OnScrollDispatchHelperTest {
+
+  @Rule
+  public PowerMockRule rule = new PowerMockRule();
+
+  @Test
+  public void testEveryScrollIsEmittedWithoutThrottle() {
+    OnScrollDispatchHelper helper = new OnScrollDispatchHelper();
+    for (int y = 1; y <= 3; y++) {
+      assertThat(helper.onScrollChanged(0, y)).isTrue();
+      assertThat(helper.shouldEmitScrollEvent()).isTrue();
+      SystemClock.sleep(16);
+    }
+    assertThat(helper.consumePendingScrollEvent()).isFalse();
+  }
+
+  @Test
+  public void testScrollEventsAreThrottled() {
+    OnScrollDispatchHelper helper = new OnScrollDispatchHelper();
+    helper.setScrollEventThrottle(100);
+
+    assertThat(helper.onScrollChanged(0, 1)).isTrue();
+    assertThat(helper.shouldEmitScrollEvent()).isTrue();
+    SystemClock.sleep(16);
+    assertThat(helper.onScrollChanged(0, 2)).isTrue();
+    assertThat(helper.shouldEmitScrollEvent()).isFalse();
+    assertThat(helper.getTimeUntilNextScrollEventMs()).isEqualTo(84);
+
+    SystemClock.sleep(84);
+    assertThat(helper.consumePendingScrollEvent()).isTrue();
+    assertThat(helper.consumePendingScrollEvent()).isFalse();
+    assertThat(helper.getTimeUntilNextScrollEventMs()).isEqualTo(100);
+  }
+
+  @Test
+  public void testScrollEventIsEmittedOnceThrottleIntervalElapsed() {
+    OnScrollDispatchHelper helper = new OnScrollDispatchHelper();
+    helper.setScrollEventThrottle(50);
+
+    assertThat(helper.onScrollChanged(0, 1)).isTrue();
+    assertThat(helper.shouldEmitScrollEvent()).isTrue();
+    SystemClock.sleep(20);
+    assertThat(helper.onScrollChanged(0, 2)).isTrue();
+    assertThat(helper.shouldEmitScrollEvent()).isFalse();
+    SystemClock.sleep(30);
+    assertThat(helper.onScrollChanged(0, 3)).isTrue();
+    assertThat(helper.shouldEmitScrollEvent()).isTrue();
+    assertThat(helper.consumePendingScrollEvent()).isFalse();
+  }
+}
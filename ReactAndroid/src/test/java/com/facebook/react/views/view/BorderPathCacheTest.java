@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.views.view;
+
+import android.graphics.Rect;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.modules.junit4.rule.PowerMockRule;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Tests for sharing the paths of rounded backgrounds and borders with {@link BorderPathCache}
+ */
+@RunWith(RobolectricTestRunner.class)
+@PowerMockIgnore({"org.mockito.*", "org.robolectric.*", "android.*"})
+public class BorderPathCacheTest {
+
+  @Rule
+  public PowerMockRule rule = new PowerMockRule();
+
+  private static final float[] RADII = new float[] {10, 10, 0, 0};
+
+  @Before
+  public void setup() {
+    BorderPathCache.clear();
+  }
+
+  @Test
+  public void testSameBordersSharePaths() {
+    BorderPathCache.BorderPaths paths =
+        BorderPathCache.getBorderPaths(new Rect(0, 0, 100, 50), RADII, 2);
+
+    assertThat(BorderPathCache.getBorderPaths(new Rect(0, 0, 100, 50), RADII.clone(), 2))
+        .isSameAs(paths);
+    assertThat(BorderPathCache.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void testDifferentBordersDontSharePaths() {
+    BorderPathCache.BorderPaths paths =
+        BorderPathCache.getBorderPaths(new Rect(0, 0, 100, 50), RADII, 2);
+
+    assertThat(BorderPathCache.getBorderPaths(new Rect(0, 0, 100, 60), RADII, 2))
+        .isNotSameAs(paths);
+    assertThat(BorderPathCache.getBorderPaths(new Rect(0, 0, 100, 50), RADII, 1))
+        .isNotSameAs(paths);
+    float[] otherRadii = new float[] {0, 0, 10, 10};
+    assertThat(BorderPathCache.getBorderPaths(new Rect(0, 0, 100, 50), otherRadii, 2))
+        .isNotSameAs(paths);
+  }
+
+  @Test
+  public void testCacheIsBounded() {
+    for (int i = 0; i < 1000; i++) {
+      BorderPathCache.getBorderPaths(new Rect(0, 0, 100, i), RADII, 0);
+    }
+
+    assertThat(BorderPathCache.size()).isLessThan(1000);
+  }
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2015-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.react.views.view;
+
+import android.view.View;
+import android.widget.FrameLayout;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.modules.junit4.rule.PowerMockRule;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+/**
+ * Tests for attaching and detaching the children of a {@link ReactViewGroup} with
+ * removeClippedSubviews enabled as it scrolls.
+ */
+@RunWith(RobolectricTestRunner.class)
+@PowerMockIgnore({"org.mockito.*", "org.robolectric.*", "android.*"})
+public class ReactViewGroupClippingTest {
+
+  @Rule
+  public PowerMockRule rule = new PowerMockRule();
+
+  private static final int SIZE = 100;
+  private static final int ROW_HEIGHT = 30;
+  private static final int ROWS = 50;
+
+  private ReactViewGroup mViewGroup;
+
+  @Before
+  public void setup() {
+    FrameLayout parent = new FrameLayout(RuntimeEnvironment.application);
+    mViewGroup = new ReactViewGroup(RuntimeEnvironment.application);
+    parent.addView(mViewGroup);
+    mViewGroup.layout(0, 0, SIZE, SIZE);
+    mViewGroup.setRemoveClippedSubviews(true);
+    for (int i = 0; i < ROWS; i++) {
+      View row = new View(RuntimeEnvironment.application);
+      mViewGroup.addViewWithSubviewClippingEnabled(row, i);
+      row.layout(0, i * ROW_HEIGHT, SIZE, (i + 1) * ROW_HEIGHT);
+    }
+  }
+
+  @Test
+  public void testOnlyVisibleRowsAreAttached() {
+    assertAttachedRows(0, 4);
+  }
+
+  @Test
+  public void testScrolling() {
+    scrollTo(45);
+    assertAttachedRows(1, 5);
+    scrollTo(1000);
+    assertAttachedRows(33, 37);
+    scrollTo(975);
+    assertAttachedRows(32, 36);
+    scrollTo(0);
+    assertAttachedRows(0, 4);
+  }
+
+  @Test
+  public void testAddingAndRemovingRows() {
+    scrollTo(100);
+    View row = mViewGroup.getChildAtWithSubviewClippingEnabled(4);
+    mViewGroup.removeViewWithSubviewClippingEnabled(row);
+    assertThat(row.getParent()).isNull();
+    assertThat(mViewGroup.getAllChildrenCount()).isEqualTo(ROWS - 1);
+
+    mViewGroup.addViewWithSubviewClippingEnabled(row, 0);
+    assertThat(row.getParent()).isSameAs(mViewGroup);
+    scrollTo(300);
+    assertThat(row.getParent()).isNull();
+    assertAttachedRows(10, 14);
+  }
+
+  @Test
+  public void testMovingRow() {
+    View row = mViewGroup.getChildAtWithSubviewClippingEnabled(20);
+    row.layout(0, 50, SIZE, 50 + ROW_HEIGHT);
+    assertThat(row.getParent()).isSameAs(mViewGroup);
+    scrollTo(20);
+    assertThat(mViewGroup.getChildCount()).isEqualTo(5);
+    assertThat(mViewGroup.getChildAt(3))
+        .isSameAs(mViewGroup.getChildAtWithSubviewClippingEnabled(3));
+    assertThat(mViewGroup.getChildAt(4)).isSameAs(row);
+  }
+
+  private void scrollTo(int y) {
+    mViewGroup.scrollTo(0, y);
+    mViewGroup.updateClippingRect();
+  }
+
+  /**
+   * Asserts that the rows in [first, last) are attached in order, and no other.
+   */
+  private void assertAttachedRows(int first, int last) {
+    assertThat(mViewGroup.getChildCount()).isEqualTo(last - first);
+    for (int i = first; i < last; i++) {
+      assertThat(mViewGroup.getChildAt(i - first))
+          .isSameAs(mViewGroup.getChildAtWithSubviewClippingEnabled(i));
+    }
+  }
+}
@@ -642,11 +642,31 @@ JSValueRef JSCExecutor::nativeCallSyncHook(
       *this,
       moduleId,
       methodId,
-      argsJson);
+      folly::parseJson(argsJson));
   if (result.isUndefined) {
     return JSValueMakeUndefined(m_context);
   }
-  return Value::fromJSON(m_context, String(folly::toJson(result.result).c_str()));
+  // Scalars, which most sync hooks return, don't need a round trip through JSON
+  const folly::dynamic& value = result.result;
+  switch (value.type()) {
+    case folly::dynamic::NULLT:
+      return JSValueMakeNull(m_context);
+    case folly::dynamic::BOOL:
+      return JSValueMakeBoolean(m_context, value.getBool());
+    case folly::dynamic::INT64:
+      return JSValueMakeNumber(m_context, value.getInt());
+    case folly::dynamic::DOUBLE:
+      return JSValueMakeNumber(m_context, value.getDouble());
+    case folly::dynamic::STRING:
+      // JSStringCreateWithUTF8CString stops at the first NUL
+      if (value.getString().find('\0') == std::string::npos) {
+        return JSValueMakeString(m_context, String(value.c_str()));
+      }
+      break;
+    default:
+      break;
+  }
+  return Value::fromJSON(m_context, String(folly::toJson(value).c_str()));
 }
 
 static JSValueRef nativeInjectHMRUpdate(